@@ -4,9 +4,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Configuration class for async processing
@@ -14,6 +16,7 @@ import java.util.concurrent.Executor;
  */
 @Configuration
 @EnableAsync
+@EnableScheduling
 @Slf4j
 public class AsyncConfiguration {
 
@@ -70,4 +73,38 @@ public class AsyncConfiguration {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Task executor for scatter-gather vector searches (latency-bound, never rejects)
+     */
+    @Bean(name = "vectorSearchExecutor")
+    public Executor vectorSearchExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(cores * 4);
+        executor.setThreadNamePrefix("vector-search-");
+        // A saturated pool degrades to searching on the request thread instead of failing the query
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Task executor for parallel PDF page-range extraction (CPU-bound, never rejects)
+     */
+    @Bean(name = "pdfExtractionExecutor")
+    public Executor pdfExtractionExecutor(ExtractionConfiguration extractionConfig) {
+        int workers = extractionConfig.getEffectiveParallelism();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * 16);
+        executor.setThreadNamePrefix("pdf-extraction-");
+        // A saturated pool extracts the range on the submitting thread instead of failing the upload
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,37 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for text extraction settings
+ * Follows SRP - Single responsibility: Extraction configuration management
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.extraction")
+@Data
+public class ExtractionConfiguration {
+
+    /**
+     * PDFs with at least this many pages are extracted in parallel page ranges
+     */
+    private int parallelPageThreshold = 64;
+
+    /**
+     * Pages per range handed to one extraction worker
+     */
+    private int pagesPerRange = 16;
+
+    /**
+     * Extraction workers (0 = available processors)
+     */
+    private int parallelism = 0;
+
+    /**
+     * Effective worker count
+     */
+    public int getEffectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
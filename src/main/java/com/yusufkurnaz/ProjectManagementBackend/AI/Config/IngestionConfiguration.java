@@ -0,0 +1,100 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Configuration class for the staged ingestion pipeline
+ * Follows SRP - Single responsibility: Ingestion configuration management
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.ingestion")
+@Data
+public class IngestionConfiguration {
+
+    /**
+     * Jobs this node works on at once (claimed from processing_jobs as slots free up)
+     */
+    private int maxInFlight = 32;
+
+    /**
+     * Bounded queue in front of each stage after extraction
+     */
+    private int queueCapacity = 8;
+
+    private int extractWorkers = 2;
+
+    private int chunkWorkers = 1;
+
+    private int embedWorkers = 2;
+
+    private int persistWorkers = 1;
+
+    /**
+     * Chunk texts per embedding call (progress is reported after each batch)
+     */
+    private int embedBatchSize = 32;
+
+    /**
+     * Retry-After sent with a shed upload
+     */
+    private int retryAfterSeconds = 30;
+
+    /**
+     * Due ingest jobs (all nodes) above which uploads are shed; jobs scheduled for later do not count
+     */
+    private int maxQueued = 500;
+
+    /**
+     * How often each node claims due jobs from processing_jobs
+     */
+    private long pollIntervalMs = 1000;
+
+    /**
+     * Job lease (visibility timeout); renewed every third of it while the job runs
+     */
+    private int leaseSeconds = 300;
+
+    private int maxAttempts = 5;
+
+    private int backoffBaseSeconds = 30;
+
+    private int backoffMaxSeconds = 3600;
+
+    /**
+     * How often documents with unembedded chunks are queued for re-embedding
+     */
+    private long embedSweepIntervalMs = 300000;
+
+    /**
+     * Default throughput cap of bulk reprocessing (jobs made available per minute)
+     */
+    private int reprocessPerMinute = 30;
+
+    /**
+     * Copy extraction, chunks and embeddings from an already processed upload with the same content hash
+     */
+    private boolean reuseDuplicates = true;
+
+    /**
+     * Reuse stored embeddings of chunks with identical text (text_hash) instead of embedding them again
+     */
+    private boolean reuseChunkEmbeddings = true;
+
+    /**
+     * Users allowed to run queue administration (bulk reprocess, dead letters); empty = nobody
+     */
+    private List<UUID> adminUserIds = new ArrayList<>();
+
+    /**
+     * Whether the user may run queue administration across all users' documents
+     */
+    public boolean isAdmin(UUID userId) {
+        return userId != null && adminUserIds.contains(userId);
+    }
+}
@@ -0,0 +1,275 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Config;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMetric;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuantization;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorStorage;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for vector search settings
+ * Follows SRP - Single responsibility: Vector engine configuration management
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.vector")
+@Data
+public class VectorSearchConfiguration {
+
+    public static final String ENGINE_PGVECTOR = "pgvector";
+    public static final String ENGINE_HNSW = "hnsw";
+    public static final String ENGINE_IVFPQ = "ivfpq";
+    public static final String ENGINE_PARTITIONED = "partitioned";
+
+    private boolean enabled = true;
+
+    /**
+     * Search engine: pgvector (database), hnsw (in-process graph), ivfpq (in-process compressed lists)
+     * or partitioned (one in-process graph per uploader)
+     */
+    private String engine = ENGINE_PGVECTOR;
+
+    private int dimension = 384;
+
+    /**
+     * Distance metric; must match the operator class of idx_chunks_embedding_hnsw
+     * Stored embeddings are unit length (V6), so INNER_PRODUCT ranks and scores like cosine
+     */
+    private VectorMetric metric = VectorMetric.INNER_PRODUCT;
+
+    private float similarityThreshold = 0.7f;
+
+    private int maxResults = 50;
+
+    /**
+     * Expose the benchmark endpoints (they sample every user's embeddings in the request thread)
+     */
+    private boolean diagnosticsEnabled = false;
+
+    private Pgvector pgvector = new Pgvector();
+
+    private Hnsw hnsw = new Hnsw();
+
+    private IvfPq ivfpq = new IvfPq();
+
+    private Partitioned partitioned = new Partitioned();
+
+    private Hybrid hybrid = new Hybrid();
+
+    private Hierarchical hierarchical = new Hierarchical();
+
+    private Mmr mmr = new Mmr();
+
+    private Neighbors neighbors = new Neighbors();
+
+    private Store store = new Store();
+
+    @Data
+    public static class Pgvector {
+
+        /**
+         * Default hnsw.ef_search (candidate list size) when a query does not set one
+         */
+        private Integer efSearch = 64;
+
+        /**
+         * Default ivfflat.probes when a query does not set one
+         */
+        private Integer probes = 10;
+
+        /**
+         * hnsw.iterative_scan for filtered queries (pgvector >= 0.8: strict_order, relaxed_order); null = leave unset
+         */
+        private String iterativeScan;
+
+        /**
+         * Embedding column similarity queries read: float32, halfvec-shadow (V7 column) or halfvec (after db/halfvec/cutover_chunk_embeddings_to_halfvec.sql)
+         */
+        private VectorStorage storage = VectorStorage.FLOAT32;
+    }
+
+    @Data
+    public static class Hnsw {
+
+        /**
+         * Max links per node on upper levels (level 0 uses 2 * m)
+         */
+        private int m = 16;
+
+        private int efConstruction = 200;
+
+        private int efSearch = 64;
+
+        private String snapshotPath = "./data/vector-index/hnsw.snapshot";
+
+        /**
+         * Rebuild the graph when tombstones exceed this share of all nodes
+         */
+        private double compactionThreshold = 0.2;
+
+        private long compactionIntervalMs = 300000;
+
+        private int bootstrapPageSize = 2000;
+
+        /**
+         * Filters matching at most this many chunks are scored exactly instead of traversing the graph
+         */
+        private int exactSearchThreshold = 2000;
+
+        /**
+         * Vector precision in the graph: NONE (float32) or INT8 (re-scored from the embedding store)
+         */
+        private VectorQuantization quantization = VectorQuantization.NONE;
+
+        /**
+         * INT8: quantized candidates fetched per requested result for exact re-ranking
+         */
+        private int rerankFactor = 3;
+
+        /**
+         * INT8: vectors used to calibrate the per-dimension ranges
+         */
+        private int calibrationSampleSize = 10000;
+    }
+
+    @Data
+    public static class IvfPq {
+
+        /**
+         * Coarse k-means partitions (inverted lists)
+         */
+        private int lists = 1024;
+
+        /**
+         * PQ subspaces = bytes per vector; must divide the dimension (384 / 48 = 8 dims per byte, 32x smaller)
+         */
+        private int subspaces = 48;
+
+        /**
+         * Lists scanned per query when it does not set probes; higher = better recall, slower
+         */
+        private int nprobe = 16;
+
+        /**
+         * Embeddings sampled for k-means training
+         */
+        private int trainingSampleSize = 50000;
+
+        /**
+         * Retrain once the live vector count grows by this factor over the training-time count
+         */
+        private double retrainGrowthFactor = 2.0;
+
+        /**
+         * Retrain (rebuild without tombstones) when tombstones exceed this share of all vectors
+         */
+        private double compactionThreshold = 0.2;
+
+        private long maintenanceIntervalMs = 600000;
+
+        /**
+         * Approximate candidates per requested result re-scored from the embedding store
+         */
+        private int rerankFactor = 4;
+
+        private int exactSearchThreshold = 2000;
+
+        private int bootstrapPageSize = 2000;
+
+        private String snapshotPath = "./data/vector-index/ivfpq.snapshot";
+    }
+
+    @Data
+    public static class Partitioned {
+
+        /**
+         * Max parallel partition groups per query (the calling thread searches one of them)
+         */
+        private int searchParallelism = 4;
+
+        /**
+         * Drop a partition from memory after this long without searches; reloaded on demand (0 = keep all)
+         */
+        private long idleEvictionMs = 0;
+
+        private long maintenanceIntervalMs = 300000;
+    }
+
+    @Data
+    public static class Hybrid {
+
+        /**
+         * Reciprocal-rank fusion constant; larger values flatten the advantage of top ranks
+         */
+        private int rrfK = 60;
+
+        /**
+         * Max time to wait for the lexical leg before answering with vector results only
+         */
+        private long lexicalTimeoutMs = 2000;
+    }
+
+    @Data
+    public static class Hierarchical {
+
+        /**
+         * Two-stage pgvector search: top documents by document embedding, then only their chunks
+         * Opt-in: trades recall for speed (a single relevant chunk can be averaged away in a long
+         * document, and documents without a document embedding yet are not candidates)
+         */
+        private boolean enabled = false;
+
+        /**
+         * Documents selected in the first stage when a query does not set documentCandidates
+         */
+        private int documentCandidates = 20;
+    }
+
+    @Data
+    public static class Mmr {
+
+        /**
+         * Candidates fetched per requested result when MMR diversification is on
+         */
+        private int candidateFactor = 4;
+    }
+
+    @Data
+    public static class Neighbors {
+
+        /**
+         * Neighbours stored per chunk and per document; larger lookups fall back to a live search
+         */
+        private int k = 20;
+
+        /**
+         * Stale lists recomputed per sweep and kind (chunks, documents)
+         */
+        private int batchSize = 200;
+
+        private long sweepIntervalMs = 60000;
+    }
+
+    @Data
+    public static class Store {
+
+        /**
+         * Directory of the memory-mapped embedding segments
+         */
+        private String path = "./data/vector-store";
+
+        /**
+         * Vectors per segment file; changing it invalidates existing files (rebuilt from the database)
+         */
+        private int segmentCapacity = 65536;
+
+        /**
+         * Rewrite the segments when tombstones exceed this share of all slots
+         */
+        private double compactionThreshold = 0.2;
+
+        private long maintenanceIntervalMs = 300000;
+
+        private int bootstrapPageSize = 2000;
+    }
+}
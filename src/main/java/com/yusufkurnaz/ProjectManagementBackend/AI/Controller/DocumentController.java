@@ -3,7 +3,10 @@ package com.yusufkurnaz.ProjectManagementBackend.AI.Controller;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Dto.request.DocumentUploadRequest;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Dto.response.DocumentProcessingResponse;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion.IngestionRejectedException;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentIngestionService;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentProcessingService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.VectorSearchService;
 import com.yusufkurnaz.ProjectManagementBackend.Common.Dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -33,6 +37,8 @@ import java.util.UUID;
 public class DocumentController {
 
     private final DocumentProcessingService documentProcessingService;
+    private final DocumentIngestionService documentIngestionService;
+    private final VectorSearchService vectorSearchService;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Upload document for processing", 
@@ -45,30 +51,26 @@ public class DocumentController {
         log.info("Uploading document: {} for user: {}", file.getOriginalFilename(), authentication.getName());
         
         try {
-            // Validate file
-            documentProcessingService.validateFile(file);
-            
             UUID userId = UUID.fromString(authentication.getName());
             
-            // Process document
-            Document document = documentProcessingService.processDocument(
+            // Store and queue; extraction, chunking and embedding run in the ingestion pipeline
+            Document document = documentIngestionService.submit(
                     file, 
                     userId, 
-                    request.getCleanUserTags()
+                    request.getCleanUserTags(),
+                    request.getCleanDomainTags()
             );
             
-            // Add domain tags if provided
-            if (!request.getCleanDomainTags().isEmpty()) {
-                document = documentProcessingService.addDomainTags(
-                        document.getId(), 
-                        request.getCleanDomainTags()
-                );
-            }
-            
             DocumentProcessingResponse response = mapToResponse(document);
             
-            return ResponseEntity.ok(ApiResponse.success(response, "Document uploaded and processing started"));
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(response, "Document uploaded and processing started"));
             
+        } catch (IngestionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+                    
         } catch (IllegalArgumentException e) {
             log.warn("Invalid file upload request: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -157,7 +159,7 @@ public class DocumentController {
             
             DocumentProcessingResponse response = mapToResponse(document);
             
-            return ResponseEntity.ok(ApiResponse.success(response, "Document reprocessing started"));
+            return ResponseEntity.ok(ApiResponse.success(response, "Document reprocessing queued"));
             
         } catch (Exception e) {
             log.error("Error reprocessing document", e);
@@ -218,6 +220,42 @@ public class DocumentController {
         }
     }
 
+    @GetMapping("/{documentId}/related")
+    @Operation(summary = "Get related documents", 
+               description = "Most similar documents by content, read from the precomputed neighbour graph")
+    public ResponseEntity<ApiResponse<List<DocumentProcessingResponse>>> getRelatedDocuments(
+            @Parameter(description = "Document ID") @PathVariable String documentId,
+            @Parameter(description = "Maximum number of documents") @RequestParam(defaultValue = "5") int limit,
+            Authentication authentication) {
+        
+        try {
+            UUID docId = UUID.fromString(documentId);
+            Document document = documentProcessingService.getDocumentStatus(docId);
+            
+            // Check if user has access to this document
+            UUID userId = UUID.fromString(authentication.getName());
+            if (!document.getUploadedBy().equals(userId)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(ApiResponse.error("Access denied to this document"));
+            }
+            
+            List<DocumentProcessingResponse> responses = vectorSearchService.findRelatedDocuments(docId, limit).stream()
+                    .map(this::mapToResponse)
+                    .toList();
+            
+            return ResponseEntity.ok(ApiResponse.success(responses));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Document not found"));
+                    
+        } catch (Exception e) {
+            log.error("Error retrieving related documents", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve related documents: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/statistics")
     @Operation(summary = "Get document statistics", 
                description = "Get processing statistics for the authenticated user")
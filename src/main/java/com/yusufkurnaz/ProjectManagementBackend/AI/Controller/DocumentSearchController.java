@@ -143,10 +143,10 @@ public class DocumentSearchController {
 
         log.debug("Calculating similarity between texts by user: {}", userId);
 
-        float[] embedding1 = vectorSearchService.getTextEmbedding(text1);
-        float[] embedding2 = vectorSearchService.getTextEmbedding(text2);
+        // Both texts embedded in one backend request
+        List<float[]> embeddings = vectorSearchService.getTextEmbeddings(List.of(text1, text2));
         
-        float similarity = vectorSearchService.calculateSimilarity(embedding1, embedding2);
+        float similarity = vectorSearchService.calculateSimilarity(embeddings.get(0), embeddings.get(1));
 
         return ResponseEntity.ok(
                 ApiResponse.success(similarity, "Similarity calculated successfully"));
@@ -0,0 +1,166 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Controller;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.IngestionConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Dto.response.ProcessingJobResponse;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentIngestionService;
+import com.yusufkurnaz.ProjectManagementBackend.Common.Dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST Controller for ingestion queue administration
+ * Follows SRP - Single responsibility: HTTP request handling for processing jobs
+ *
+ * Administration endpoints act on every user's documents and are limited to
+ * app.ingestion.admin-user-ids (empty by default, i.e. disabled).
+ */
+@RestController
+@RequestMapping("/api/v1/ai/ingestion")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "AI Ingestion Controller", description = "Processing job queue status and administration")
+public class IngestionController {
+
+    private final DocumentIngestionService documentIngestionService;
+    private final IngestionConfiguration ingestionConfig;
+
+    @GetMapping("/status")
+    @Operation(summary = "Get ingestion status", 
+               description = "Job counts, this node's slots and per-stage queue depth")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getIngestionStatus() {
+        
+        try {
+            return ResponseEntity.ok(ApiResponse.success(documentIngestionService.getPipelineStatus()));
+            
+        } catch (Exception e) {
+            log.error("Error retrieving ingestion status", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve ingestion status: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/reprocess")
+    @Operation(summary = "Bulk reprocess documents", 
+               description = "Queue failed or empty documents (and documents with unembedded chunks) at a capped rate")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> bulkReprocess(
+            @Parameter(description = "Jobs made available per minute") @RequestParam(required = false) Integer perMinute,
+            @Parameter(description = "Also re-embed chunks without embedding") @RequestParam(defaultValue = "true") boolean includeMissingEmbeddings,
+            Authentication authentication) {
+        
+        if (!isAdmin(authentication)) {
+            return forbidden();
+        }
+        
+        try {
+            UUID userId = UUID.fromString(authentication.getName());
+            Map<String, Object> result = documentIngestionService.scheduleBulkReprocess(
+                    perMinute, includeMissingEmbeddings, userId);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(result, "Reprocessing scheduled"));
+            
+        } catch (Exception e) {
+            log.error("Error scheduling bulk reprocessing", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to schedule reprocessing: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/dead")
+    @Operation(summary = "Get dead-lettered jobs", 
+               description = "Jobs that failed on every attempt, most recent first")
+    public ResponseEntity<ApiResponse<List<ProcessingJobResponse>>> getDeadLetters(
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        if (!isAdmin(authentication)) {
+            return forbidden();
+        }
+        
+        try {
+            List<ProcessingJobResponse> responses = documentIngestionService
+                    .getDeadLetters(page, Math.min(Math.max(1, size), 200))
+                    .map(this::mapToResponse)
+                    .getContent();
+            
+            return ResponseEntity.ok(ApiResponse.success(responses));
+            
+        } catch (Exception e) {
+            log.error("Error retrieving dead-lettered jobs", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve dead-lettered jobs: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/jobs/{jobId}/retry")
+    @Operation(summary = "Retry dead-lettered job", 
+               description = "Queue a dead-lettered job again with a fresh set of attempts")
+    public ResponseEntity<ApiResponse<Void>> retryDeadLetter(
+            @Parameter(description = "Job ID") @PathVariable String jobId,
+            Authentication authentication) {
+        
+        if (!isAdmin(authentication)) {
+            return forbidden();
+        }
+        
+        try {
+            if (!documentIngestionService.retryDeadLetter(UUID.fromString(jobId))) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("Job is not dead-lettered or its document already has a pending job"));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Job queued for retry"));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Invalid job id: " + jobId));
+                    
+        } catch (Exception e) {
+            log.error("Error retrying job", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retry job: " + e.getMessage()));
+        }
+    }
+
+    private boolean isAdmin(Authentication authentication) {
+        try {
+            return authentication != null && ingestionConfig.isAdmin(UUID.fromString(authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> forbidden() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("Ingestion administration is not allowed for this user"));
+    }
+
+    /**
+     * Map entity to response DTO
+     */
+    private ProcessingJobResponse mapToResponse(ProcessingJob job) {
+        return ProcessingJobResponse.builder()
+                .jobId(job.getId().toString())
+                .documentId(job.getDocumentId().toString())
+                .jobType(job.getJobType())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .maxAttempts(job.getMaxAttempts())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
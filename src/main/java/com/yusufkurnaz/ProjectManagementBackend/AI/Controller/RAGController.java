@@ -54,7 +54,8 @@ public class RAGController {
                     userId,
                     request.getDomainTags(),
                     request.getMaxChunks(),
-                    request.getMinSimilarity()
+                    request.getMinSimilarity(),
+                    request.getMmrLambda()
             );
             
             if (response.getErrorMessage() != null) {
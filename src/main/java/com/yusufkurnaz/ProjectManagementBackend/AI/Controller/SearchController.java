@@ -1,9 +1,15 @@
 package com.yusufkurnaz.ProjectManagementBackend.AI.Controller;
 
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Dto.request.SimilaritySearchRequest;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Dto.response.SimilaritySearchResponse;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.VectorSearchService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkFilter;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.QuantizationReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.StorageBenchmarkReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
 import com.yusufkurnaz.ProjectManagementBackend.Common.Dto.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +23,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * REST Controller for vector similarity search operations
@@ -29,7 +36,11 @@ import java.util.List;
 @Tag(name = "AI Search Controller", description = "Vector-based similarity search operations")
 public class SearchController {
 
+    private static final int MAX_QUANTIZATION_SAMPLE = 5000;
+    private static final int MAX_BENCHMARK_QUERIES = 200;
+
     private final VectorSearchService vectorSearchService;
+    private final VectorSearchConfiguration vectorConfig;
 
     @PostMapping("/similarity")
     @Operation(summary = "Similarity search", 
@@ -43,19 +54,21 @@ public class SearchController {
         
         try {
             long startTime = System.currentTimeMillis();
+            UUID userId = UUID.fromString(authentication.getName());
             
-            List<DocumentChunk> results = vectorSearchService.findSimilarContent(
+            List<ScoredChunk> results = vectorSearchService.searchScored(
                     request.getQuery(),
-                    request.getCleanDomainTags(),
-                    request.getMinSimilarityScore(),
-                    request.getLimit()
+                    request.toVectorQuery(userId)
             );
             
             long searchTime = System.currentTimeMillis() - startTime;
             
-            SimilaritySearchResponse response = buildSearchResponse(
+            SimilaritySearchResponse response = buildScoredSearchResponse(
                     request.getQuery(), results, searchTime
             );
+            if (Boolean.TRUE.equals(request.getGroupByDocument())) {
+                response.groupResultsByDocument();
+            }
             
             return ResponseEntity.ok(ApiResponse.success(response, 
                     String.format("Found %d similar results", results.size())));
@@ -81,13 +94,16 @@ public class SearchController {
         try {
             long startTime = System.currentTimeMillis();
             
-            List<DocumentChunk> results = vectorSearchService.semanticSearch(
-                    query, includeTypes, excludeTypes, limit
+            List<ScoredChunk> results = vectorSearchService.searchScored(
+                    query, VectorQuery.builder()
+                            .filter(ChunkFilter.contentTypes(includeTypes, excludeTypes))
+                            .limit(limit)
+                            .build()
             );
             
             long searchTime = System.currentTimeMillis() - startTime;
             
-            SimilaritySearchResponse response = buildSearchResponse(query, results, searchTime);
+            SimilaritySearchResponse response = buildScoredSearchResponse(query, results, searchTime);
             
             return ResponseEntity.ok(ApiResponse.success(response, 
                     String.format("Found %d semantic results", results.size())));
@@ -194,6 +210,62 @@ public class SearchController {
         }
     }
 
+    @GetMapping("/quantization-report")
+    @Operation(summary = "Int8 quantization report",
+               description = "Recall@k and memory per million vectors of int8 quantization on a sample of stored embeddings")
+    public ResponseEntity<ApiResponse<QuantizationReport>> quantizationReport(
+            @Parameter(description = "Neighbours compared per query") @RequestParam(defaultValue = "10") Integer k,
+            @Parameter(description = "Embeddings sampled") @RequestParam(defaultValue = "2000") Integer sampleSize) {
+
+        if (!vectorConfig.isDiagnosticsEnabled()) {
+            return diagnosticsDisabled();
+        }
+
+        log.info("Evaluating int8 quantization (k={}, sampleSize={})", k, sampleSize);
+
+        try {
+            int boundedK = Math.min(Math.max(1, k), 100);
+            QuantizationReport report = vectorSearchService.evaluateQuantization(
+                    boundedK, Math.min(Math.max(sampleSize, boundedK + 1), MAX_QUANTIZATION_SAMPLE));
+            return ResponseEntity.ok(ApiResponse.success(report));
+
+        } catch (Exception e) {
+            log.error("Error evaluating quantization", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Quantization report failed: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/storage-benchmark")
+    @Operation(summary = "Half-precision storage benchmark",
+               description = "Recall@k, latency and size of the halfvec embedding column compared to float32")
+    public ResponseEntity<ApiResponse<StorageBenchmarkReport>> storageBenchmark(
+            @Parameter(description = "Neighbours compared per query") @RequestParam(defaultValue = "10") Integer k,
+            @Parameter(description = "Stored embeddings used as queries") @RequestParam(defaultValue = "100") Integer queryCount) {
+
+        if (!vectorConfig.isDiagnosticsEnabled()) {
+            return diagnosticsDisabled();
+        }
+
+        log.info("Benchmarking halfvec storage (k={}, queryCount={})", k, queryCount);
+
+        try {
+            StorageBenchmarkReport report = vectorSearchService.benchmarkHalfPrecision(
+                    Math.min(Math.max(1, k), 100), Math.min(Math.max(1, queryCount), MAX_BENCHMARK_QUERIES));
+            return ResponseEntity.ok(ApiResponse.success(report));
+
+        } catch (Exception e) {
+            log.error("Error benchmarking halfvec storage", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Storage benchmark failed: " + e.getMessage()));
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> diagnosticsDisabled() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("Search diagnostics are disabled (app.vector.diagnostics-enabled)"));
+    }
+
     /**
      * Build search response from results
      */
@@ -203,7 +275,30 @@ public class SearchController {
         }
         
         List<SimilaritySearchResponse.SimilarContentResult> results = chunks.stream()
-                .map(this::mapChunkToResult)
+                .map(chunk -> mapChunkToResult(chunk, null))
+                .toList();
+        
+        SimilaritySearchResponse response = SimilaritySearchResponse.builder()
+                .query(query)
+                .results(results)
+                .searchTimeMs(searchTimeMs)
+                .build();
+        
+        response.calculateStatistics();
+        
+        return response;
+    }
+
+    /**
+     * Build search response from scored results (similarity from the search engine)
+     */
+    private SimilaritySearchResponse buildScoredSearchResponse(String query, List<ScoredChunk> scoredChunks, Long searchTimeMs) {
+        if (scoredChunks.isEmpty()) {
+            return SimilaritySearchResponse.empty(query, searchTimeMs);
+        }
+        
+        List<SimilaritySearchResponse.SimilarContentResult> results = scoredChunks.stream()
+                .map(scored -> mapChunkToResult(scored.chunk(), scored.score()))
                 .toList();
         
         SimilaritySearchResponse response = SimilaritySearchResponse.builder()
@@ -218,16 +313,16 @@ public class SearchController {
     }
 
     /**
-     * Map DocumentChunk to SimilarContentResult
+     * Map DocumentChunk to SimilarContentResult (similarityScore null when not scored)
      */
-    private SimilaritySearchResponse.SimilarContentResult mapChunkToResult(DocumentChunk chunk) {
+    private SimilaritySearchResponse.SimilarContentResult mapChunkToResult(DocumentChunk chunk, Float similarityScore) {
         return SimilaritySearchResponse.SimilarContentResult.builder()
                 .chunkId(chunk.getId().toString())
                 .documentId(chunk.getDocument().getId().toString())
                 .documentTitle(chunk.getDocument().getOriginalFilename())
                 .chunkText(chunk.getChunkText())
                 .chunkSummary(chunk.getChunkSummary())
-                .similarityScore(chunk.getConfidenceScore()) // This would be calculated in service
+                .similarityScore(similarityScore)
                 .pageNumber(chunk.getPageNumber())
                 .sectionTitle(chunk.getSectionTitle())
                 .contentType(chunk.getContentType())
@@ -46,6 +46,13 @@ public class RAGQueryRequest {
     @Builder.Default
     private Float minSimilarity = 0.3f;
     
+    /**
+     * MMR çeşitlendirme katsayısı (0.0 - 1.0, opsiyonel)
+     * 1.0 = sadece benzerlik, düşük değerler birbirine çok benzeyen chunk'ları eler
+     * null = çeşitlendirme yok
+     */
+    private Float mmrLambda;
+    
     /**
      * Konuşma geçmişi (konuşmalı RAG için)
      */
@@ -94,6 +101,10 @@ public class RAGQueryRequest {
             return false;
         }
         
+        if (mmrLambda != null && (mmrLambda < 0.0f || mmrLambda > 1.0f)) {
+            return false;
+        }
+        
         return true;
     }
 }
@@ -1,5 +1,7 @@
 package com.yusufkurnaz.ProjectManagementBackend.AI.Dto.request;
 
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkFilter;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
@@ -12,6 +14,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Request DTO for similarity search operations
@@ -52,6 +55,46 @@ public class SimilaritySearchRequest {
     @Builder.Default
     private String languageCode = "tr";
 
+    /**
+     * HNSW candidate list size for this query (higher = better recall, slower)
+     */
+    @Min(value = 1, message = "efSearch must be at least 1")
+    @Max(value = 1000, message = "efSearch cannot exceed 1000")
+    private Integer efSearch;
+
+    /**
+     * IVFFlat / IVF-PQ lists to probe for this query (higher = better recall, slower)
+     */
+    @Min(value = 1, message = "probes must be at least 1")
+    @Max(value = 1000, message = "probes cannot exceed 1000")
+    private Integer probes;
+
+    /**
+     * MMR relevance/diversity trade-off (1.0 = relevance only); null = no diversification
+     */
+    @DecimalMin(value = "0.0", message = "mmrLambda must be between 0.0 and 1.0")
+    @DecimalMax(value = "1.0", message = "mmrLambda must be between 0.0 and 1.0")
+    private Float mmrLambda;
+
+    /**
+     * Documents pre-selected by document embedding before chunks are scored; 0 = search all chunks
+     */
+    @Min(value = 0, message = "documentCandidates cannot be negative")
+    @Max(value = 500, message = "documentCandidates cannot exceed 500")
+    private Integer documentCandidates;
+
+    /**
+     * Search only documents uploaded by the caller (a single partition on the partitioned engine)
+     */
+    @Builder.Default
+    private Boolean ownDocumentsOnly = false;
+
+    /**
+     * Also return results grouped per document
+     */
+    @Builder.Default
+    private Boolean groupByDocument = false;
+
     /**
      * Get clean domain tags
      */
@@ -88,12 +131,41 @@ public class SimilaritySearchRequest {
                 .toList();
     }
 
+    /**
+     * Convert to vector query options (embedding is set by the search service)
+     */
+    public VectorQuery toVectorQuery() {
+        return VectorQuery.builder()
+                .domainTags(getCleanDomainTags())
+                .minSimilarity(minSimilarityScore)
+                .limit(limit)
+                .efSearch(efSearch)
+                .probes(probes)
+                .mmrLambda(mmrLambda)
+                .documentCandidates(documentCandidates)
+                .build();
+    }
+
+    /**
+     * Vector query options scoped to the caller's own documents when ownDocumentsOnly is set
+     */
+    public VectorQuery toVectorQuery(UUID userId) {
+        VectorQuery query = toVectorQuery();
+        if (!Boolean.TRUE.equals(ownDocumentsOnly) || userId == null) {
+            return query;
+        }
+        return query.toBuilder()
+                .filter(ChunkFilter.and(query.getFilter(), ChunkFilter.uploadedBy(userId)))
+                .build();
+    }
+
     /**
      * Validate search parameters
      */
     public boolean isValid() {
         return query != null && !query.trim().isEmpty() && 
                limit > 0 && limit <= 50 &&
-               minSimilarityScore >= 0.0f && minSimilarityScore <= 1.0f;
+               minSimilarityScore >= 0.0f && minSimilarityScore <= 1.0f &&
+               (mmrLambda == null || (mmrLambda >= 0.0f && mmrLambda <= 1.0f));
     }
 }
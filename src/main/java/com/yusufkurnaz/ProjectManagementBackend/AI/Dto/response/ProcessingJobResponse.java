@@ -0,0 +1,40 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response DTO for processing queue jobs
+ * Follows SRP - Single responsibility: Job status data transfer
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProcessingJobResponse {
+
+    private String jobId;
+
+    private String documentId;
+
+    private ProcessingJob.Type jobType;
+
+    private ProcessingJob.Status status;
+
+    private Integer attempts;
+
+    private Integer maxAttempts;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -147,8 +148,22 @@ public class RAGQueryResponse {
             Long responseTime,
             QueryMetadata metadata) {
         
+        return success(query, response, chunks, Map.of(), responseTime, metadata);
+    }
+    
+    /**
+     * Başarılı RAG cevabı oluştur (retrieval skorları ile, chunk id -> similarity)
+     */
+    public static RAGQueryResponse success(
+            String query, 
+            String response, 
+            List<DocumentChunk> chunks,
+            Map<UUID, Float> similarityScores,
+            Long responseTime,
+            QueryMetadata metadata) {
+        
         List<SourceChunk> sourceChunks = chunks.stream()
-                .map(chunk -> SourceChunk.fromDocumentChunk(chunk, null))
+                .map(chunk -> SourceChunk.fromDocumentChunk(chunk, similarityScores.get(chunk.getId())))
                 .toList();
                 
         return RAGQueryResponse.builder()
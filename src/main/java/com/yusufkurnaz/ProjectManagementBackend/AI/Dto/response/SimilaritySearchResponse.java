@@ -7,7 +7,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Response DTO for similarity search operations
@@ -32,6 +36,9 @@ public class SimilaritySearchResponse {
     
     private List<SimilarContentResult> results;
     
+    // Same results grouped per document, only when requested
+    private List<DocumentResultGroup> documents;
+    
     private List<String> suggestedTags;
     
     private List<String> relatedQueries;
@@ -73,6 +80,22 @@ public class SimilaritySearchResponse {
         private List<SimilarDiagramResponse> relatedDiagrams;
     }
     
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class DocumentResultGroup {
+        
+        private String documentId;
+        
+        private String documentTitle;
+        
+        private Float bestSimilarityScore;
+        
+        private List<SimilarContentResult> results;
+    }
+    
     /**
      * Create empty response for no results
      */
@@ -85,6 +108,29 @@ public class SimilaritySearchResponse {
                 .build();
     }
     
+    /**
+     * Group results per document, keeping result order (documents in order of their first result)
+     */
+    public void groupResultsByDocument() {
+        Map<String, DocumentResultGroup> groups = new LinkedHashMap<>();
+        if (results != null) {
+            for (SimilarContentResult result : results) {
+                DocumentResultGroup group = groups.computeIfAbsent(result.getDocumentId(), id ->
+                        DocumentResultGroup.builder()
+                                .documentId(id)
+                                .documentTitle(result.getDocumentTitle())
+                                .results(new ArrayList<>())
+                                .build());
+                group.getResults().add(result);
+                Float score = result.getSimilarityScore();
+                if (score != null && (group.getBestSimilarityScore() == null || score > group.getBestSimilarityScore())) {
+                    group.setBestSimilarityScore(score);
+                }
+            }
+        }
+        this.documents = new ArrayList<>(groups.values());
+    }
+    
     /**
      * Calculate search statistics
      */
@@ -93,10 +139,12 @@ public class SimilaritySearchResponse {
             this.totalResults = results.size();
             this.maxSimilarityScore = results.stream()
                     .map(SimilarContentResult::getSimilarityScore)
+                    .filter(Objects::nonNull)
                     .max(Float::compareTo)
                     .orElse(0.0f);
             this.minSimilarityScore = results.stream()
                     .map(SimilarContentResult::getSimilarityScore)
+                    .filter(Objects::nonNull)
                     .min(Float::compareTo)
                     .orElse(0.0f);
         }
@@ -1,5 +1,6 @@
 package com.yusufkurnaz.ProjectManagementBackend.AI.Entity;
 
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.type.PgVectorType;
 import com.yusufkurnaz.ProjectManagementBackend.Common.Model.BaseProcessor;
 import com.yusufkurnaz.ProjectManagementBackend.Common.Model.enums.FileType;
 import jakarta.persistence.*;
@@ -8,7 +9,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -89,6 +92,13 @@ public class Document extends BaseProcessor {
     @Column(name = "quality_score")
     private Float qualityScore; // Text extraction quality (0.0 - 1.0)
 
+    // Belge vektörü: chunk embedding ortalaması (unit length), iki aşamalı arama için
+    // Maintained in SQL (DocumentRepository.refreshDocumentEmbedding), so entity saves never overwrite it
+    @Type(PgVectorType.class)
+    @Column(name = "document_embedding", columnDefinition = "vector(384)", insertable = false, updatable = false)
+    @ToString.Exclude
+    private float[] documentEmbedding;
+
     // Bidirectional relationship with chunks
     @OneToMany(mappedBy = "document", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @Builder.Default
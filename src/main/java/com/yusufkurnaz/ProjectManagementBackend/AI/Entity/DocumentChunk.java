@@ -1,5 +1,8 @@
 package com.yusufkurnaz.ProjectManagementBackend.AI.Entity;
 
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.type.PgVectorType;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorCodec;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMath;
 import com.yusufkurnaz.ProjectManagementBackend.Common.Model.BaseEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -7,7 +10,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Type;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 /**
  * Document chunk entity with vector embeddings for similarity search
@@ -29,12 +39,24 @@ public class DocumentChunk extends BaseEntity {
     @Column(name = "chunk_text", columnDefinition = "TEXT", nullable = false)
     private String chunkText;
 
+    // SHA-256 of chunk_text (V11): chunks with the same text reuse one embedding
+    @Column(name = "text_hash", length = 64)
+    private String textHash;
+
     @Column(name = "chunk_index", nullable = false)
     private Integer chunkIndex;
 
-    // ⭐ VECTOR EMBEDDING - pgvector kullanıyor
+    // ⭐ VECTOR EMBEDDING - pgvector kullanıyor (binary codec, decoded once per load)
+    // V7 keeps a halfvec copy in embedding_half (trigger); after the halfvec cutover this column is halfvec(384)
+    @Type(PgVectorType.class)
     @Column(name = "embedding", columnDefinition = "vector(384)")
-    private String embedding; // Hugging Face all-MiniLM-L6-v2 output (384 dimensions)
+    @ToString.Exclude
+    private float[] embedding; // Hugging Face all-MiniLM-L6-v2 output (384 dimensions)
+
+    // Embedding stored at unit length: cosine == inner product (V6 backfilled older rows)
+    @Column(name = "embedding_normalized", nullable = false)
+    @Builder.Default
+    private Boolean embeddingNormalized = false;
 
     @Column(name = "page_number")
     private Integer pageNumber;
@@ -66,49 +88,57 @@ public class DocumentChunk extends BaseEntity {
     private String languageDetected = "tr";
 
     /**
-     * Convert vector string to float array for similarity calculations
+     * SHA-256 (hex) of the UTF-8 text, same value as V11's SQL backfill
      */
-    public float[] getEmbeddingAsFloatArray() {
-        if (embedding == null || embedding.trim().isEmpty()) {
-            return new float[0];
+    public static String hashText(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(
+                    (text != null ? text : "").getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        
-        // Parse PostgreSQL vector format: [0.1, 0.2, 0.3, ...]
-        String vectorStr = embedding.replace("[", "").replace("]", "");
-        String[] parts = vectorStr.split(",");
-        float[] result = new float[parts.length];
-        
-        for (int i = 0; i < parts.length; i++) {
-            result[i] = Float.parseFloat(parts[i].trim());
-        }
-        
-        return result;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateTextHash() {
+        this.textHash = hashText(chunkText);
+    }
+
+    /**
+     * Get embedding as float array for similarity calculations
+     * Returns the decoded array cached on the entity (no parsing)
+     */
+    public float[] getEmbeddingAsFloatArray() {
+        return embedding != null ? embedding : VectorCodec.EMPTY;
     }
 
     /**
-     * Set embedding from float array
+     * Set embedding from float array, normalized to unit length once at ingest
      */
     public void setEmbeddingFromFloatArray(float[] embeddingArray) {
         if (embeddingArray == null || embeddingArray.length == 0) {
             this.embedding = null;
+            this.embeddingNormalized = false;
             return;
         }
-        
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < embeddingArray.length; i++) {
-            if (i > 0) sb.append(",");
-            sb.append(embeddingArray[i]);
-        }
-        sb.append("]");
-        
-        this.embedding = sb.toString();
+        this.embedding = VectorMath.isUnitLength(embeddingArray) ? embeddingArray : VectorMath.normalize(embeddingArray);
+        this.embeddingNormalized = true;
+    }
+
+    /**
+     * Check if the stored embedding is unit length (dot product == cosine)
+     */
+    public boolean hasNormalizedEmbedding() {
+        return hasEmbedding() && Boolean.TRUE.equals(embeddingNormalized);
     }
 
     /**
      * Check if chunk has valid embedding
      */
     public boolean hasEmbedding() {
-        return embedding != null && !embedding.trim().isEmpty();
+        return embedding != null && embedding.length > 0;
     }
 
     /**
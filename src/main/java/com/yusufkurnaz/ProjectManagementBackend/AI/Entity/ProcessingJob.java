@@ -0,0 +1,67 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Entity;
+
+import com.yusufkurnaz.ProjectManagementBackend.Common.Model.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Durable processing job (V10), leased by one node at a time
+ * Follows SRP - Single responsibility: Job queue row representation
+ *
+ * Rows are created and moved between states by native statements in
+ * ProcessingJobRepository; the entity is the read model.
+ */
+@Entity
+@Table(name = "processing_jobs")
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class ProcessingJob extends BaseEntity {
+
+    public enum Type {
+        INGEST_DOCUMENT, // extract, chunk, embed and persist from the stored file (upload or reprocess)
+        EMBED_CHUNKS     // embed the document's chunks that have no embedding yet
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, DEAD
+    }
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_type", nullable = false)
+    private Type jobType;
+
+    @Column(name = "document_id", nullable = false)
+    private UUID documentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "max_attempts", nullable = false)
+    private Integer maxAttempts;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "lease_owner")
+    private String leaseOwner;
+
+    @Column(name = "leased_until")
+    private LocalDateTime leasedUntil;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,78 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Entity.type;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorCodec;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+import java.util.Arrays;
+
+/**
+ * JDBC representation of a pgvector halfvec value (float16 per dimension)
+ * Decoded to float32 on read; values are rounded to float16 when written
+ */
+public class PgHalfVector extends PGobject implements PGBinaryObject {
+
+    public static final String TYPE_NAME = "halfvec";
+
+    private float[] vector;
+
+    public PgHalfVector() {
+        this.type = TYPE_NAME;
+    }
+
+    public PgHalfVector(float[] vector) {
+        this();
+        this.vector = vector;
+    }
+
+    public float[] toArray() {
+        return vector;
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.vector = VectorCodec.parseText(value);
+    }
+
+    @Override
+    public String getValue() {
+        return VectorCodec.formatText(vector);
+    }
+
+    @Override
+    public boolean isNull() {
+        return vector == null;
+    }
+
+    @Override
+    public void setByteValue(byte[] value, int offset) {
+        this.vector = VectorCodec.readPgHalfBinary(value, offset);
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector != null ? VectorCodec.pgHalfBinaryLength(vector.length) : 0;
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        VectorCodec.writePgHalfBinary(vector, bytes, offset);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PgHalfVector other && Arrays.equals(vector, other.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        PgHalfVector copy = (PgHalfVector) super.clone();
+        copy.vector = vector != null ? vector.clone() : null;
+        return copy;
+    }
+}
@@ -0,0 +1,82 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Entity.type;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorCodec;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+import java.util.Arrays;
+
+/**
+ * JDBC representation of a pgvector value
+ * Supports the binary send/recv protocol so embeddings do not pass through
+ * decimal strings when the connection has the type registered
+ */
+public class PgVector extends PGobject implements PGBinaryObject {
+
+    public static final String TYPE_NAME = "vector";
+
+    private float[] vector;
+
+    public PgVector() {
+        this.type = TYPE_NAME;
+    }
+
+    public PgVector(float[] vector) {
+        this();
+        this.vector = vector;
+    }
+
+    public float[] toArray() {
+        return vector;
+    }
+
+    @Override
+    public void setValue(String value) {
+        this.vector = VectorCodec.parseText(value);
+    }
+
+    /**
+     * Text form is only requested by the driver when binary transfer is unavailable
+     */
+    @Override
+    public String getValue() {
+        return VectorCodec.formatText(vector);
+    }
+
+    @Override
+    public boolean isNull() {
+        return vector == null;
+    }
+
+    @Override
+    public void setByteValue(byte[] value, int offset) {
+        this.vector = VectorCodec.readPgBinary(value, offset);
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector != null ? VectorCodec.pgBinaryLength(vector.length) : 0;
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        VectorCodec.writePgBinary(vector, bytes, offset);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof PgVector other && Arrays.equals(vector, other.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(vector);
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        PgVector copy = (PgVector) super.clone();
+        copy.vector = vector != null ? vector.clone() : null;
+        return copy;
+    }
+}
@@ -0,0 +1,125 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Entity.type;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorCodec;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.usertype.UserType;
+import org.postgresql.PGConnection;
+import org.postgresql.util.PGobject;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Hibernate mapping between a pgvector column and a primitive float[]
+ * Embeddings are decoded once per row load and kept as float[] on the entity
+ *
+ * Reads both vector and halfvec columns (halfvec is widened to float32). Writes
+ * send float32; Postgres casts to halfvec when the column has been converted.
+ */
+public class PgVectorType implements UserType<float[]> {
+
+    // Physical connections that already know the PgVector binary codec
+    private static final Set<PGConnection> REGISTERED_CONNECTIONS =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    @Override
+    public int getSqlType() {
+        return Types.OTHER;
+    }
+
+    @Override
+    public Class<float[]> returnedClass() {
+        return float[].class;
+    }
+
+    @Override
+    public boolean equals(float[] x, float[] y) {
+        return Arrays.equals(x, y);
+    }
+
+    @Override
+    public int hashCode(float[] x) {
+        return Arrays.hashCode(x);
+    }
+
+    @Override
+    public float[] nullSafeGet(ResultSet rs, int position, SharedSessionContractImplementor session, Object owner)
+            throws SQLException {
+        Statement statement = rs.getStatement();
+        if (statement != null) {
+            registerVectorType(statement.getConnection());
+        }
+
+        Object value = rs.getObject(position);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof PgVector vector) {
+            return vector.toArray();
+        }
+        if (value instanceof PgHalfVector halfVector) {
+            return halfVector.toArray();
+        }
+        if (value instanceof PGobject object) {
+            return VectorCodec.parseText(object.getValue());
+        }
+        return VectorCodec.parseText(value.toString());
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, float[] value, int index, SharedSessionContractImplementor session)
+            throws SQLException {
+        if (value == null || value.length == 0) {
+            st.setNull(index, Types.OTHER);
+            return;
+        }
+
+        registerVectorType(st.getConnection());
+        st.setObject(index, new PgVector(value));
+    }
+
+    @Override
+    public float[] deepCopy(float[] value) {
+        return value != null ? value.clone() : null;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return true;
+    }
+
+    @Override
+    public Serializable disassemble(float[] value) {
+        return deepCopy(value);
+    }
+
+    @Override
+    public float[] assemble(Serializable cached, Object owner) {
+        return deepCopy((float[]) cached);
+    }
+
+    /**
+     * Register PgVector / PgHalfVector on the physical connection so pgjdbc enables
+     * binary send/receive for the vector and halfvec OIDs
+     */
+    public static void registerVectorType(Connection connection) throws SQLException {
+        if (connection == null || !connection.isWrapperFor(PGConnection.class)) {
+            return;
+        }
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        if (REGISTERED_CONNECTIONS.add(pgConnection)) {
+            pgConnection.addDataType(PgVector.TYPE_NAME, PgVector.class);
+            pgConnection.addDataType(PgHalfVector.TYPE_NAME, PgHalfVector.class);
+        }
+    }
+}
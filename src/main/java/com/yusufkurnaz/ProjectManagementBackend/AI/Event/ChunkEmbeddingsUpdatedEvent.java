@@ -0,0 +1,11 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published after chunk embeddings of a document have been persisted
+ * Consumed by local vector indexes for incremental updates
+ */
+public record ChunkEmbeddingsUpdatedEvent(UUID documentId, List<UUID> chunkIds) {
+}
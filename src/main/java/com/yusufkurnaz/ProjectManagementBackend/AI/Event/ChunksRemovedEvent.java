@@ -0,0 +1,10 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published after chunks of a document have been deleted
+ */
+public record ChunksRemovedEvent(UUID documentId, List<UUID> chunkIds) {
+}
@@ -0,0 +1,9 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Event;
+
+import java.util.UUID;
+
+/**
+ * Published after a document has been soft deleted (is_active = false)
+ */
+public record DocumentDeactivatedEvent(UUID documentId) {
+}
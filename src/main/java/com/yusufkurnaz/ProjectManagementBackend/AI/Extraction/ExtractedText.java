@@ -0,0 +1,40 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Extraction;
+
+import java.util.Arrays;
+
+/**
+ * Extracted document text with the offsets its pages start at
+ *
+ * @param text        full text of the document
+ * @param pageOffsets offset in text where each page starts, index 0 = page 1; empty without page structure
+ */
+public record ExtractedText(String text, int[] pageOffsets) {
+
+    private static final int[] NO_PAGES = new int[0];
+
+    /**
+     * Text without page structure (plain text files)
+     */
+    public static ExtractedText of(String text) {
+        return new ExtractedText(text, NO_PAGES);
+    }
+
+    /**
+     * 1-based page containing the character at offset, null without page structure
+     */
+    public Integer pageAt(int offset) {
+        if (pageOffsets == null || pageOffsets.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(pageOffsets, offset);
+        if (index < 0) {
+            index = -index - 2; // last page starting before offset
+        } else {
+            // Empty pages share their start offset with the next page; the text belongs to the last of them
+            while (index + 1 < pageOffsets.length && pageOffsets[index + 1] == offset) {
+                index++;
+            }
+        }
+        return Math.max(0, index) + 1;
+    }
+}
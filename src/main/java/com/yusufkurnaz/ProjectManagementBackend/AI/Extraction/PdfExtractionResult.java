@@ -0,0 +1,46 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Extraction;
+
+/**
+ * Text of a PDF with per-page extraction timing
+ *
+ * @param text        page texts concatenated in page order
+ * @param pageCount   pages in the document
+ * @param ranges      page ranges the work was split into (1 = sequential path)
+ * @param pageMillis  extraction time of each page, index 0 = page 1
+ * @param pageOffsets offset in text where each page starts, index 0 = page 1
+ * @param elapsedMs   wall-clock time of the whole extraction
+ */
+public record PdfExtractionResult(String text, int pageCount, int ranges, long[] pageMillis, int[] pageOffsets,
+                                  long elapsedMs) {
+
+    /**
+     * Text with its page boundaries, for page-aware chunking
+     */
+    public ExtractedText toExtractedText() {
+        return new ExtractedText(text, pageOffsets);
+    }
+
+    /**
+     * 1-based number of the slowest page, 0 for an empty document
+     */
+    public int slowestPage() {
+        int slowest = -1;
+        for (int i = 0; i < pageMillis.length; i++) {
+            if (slowest < 0 || pageMillis[i] > pageMillis[slowest]) {
+                slowest = i;
+            }
+        }
+        return slowest + 1;
+    }
+
+    /**
+     * Sum of per-page times; above elapsedMs when ranges ran concurrently
+     */
+    public long totalPageMillis() {
+        long total = 0;
+        for (long millis : pageMillis) {
+            total += millis;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,47 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Embedding reuse by chunk text hash
+ * Follows SRP - Single responsibility: Deciding which chunk texts still need the embedding model
+ *
+ * Known embeddings (already stored for the same text, or computed earlier in the batch)
+ * are keyed by text hash. Only one text per distinct unknown hash is sent to the model,
+ * so repeated boilerplate inside a document is embedded once as well.
+ */
+public final class EmbeddingReuse {
+
+    private EmbeddingReuse() {
+    }
+
+    /**
+     * Positions whose text must be embedded: first occurrence of each hash without a known embedding
+     */
+    public static List<Integer> missingIndexes(List<String> hashes, Map<String, float[]> known) {
+        List<Integer> missing = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < hashes.size(); i++) {
+            String hash = hashes.get(i);
+            if (!known.containsKey(hash) && seen.add(hash)) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Embedding per position from the known ones; null where the hash is still unknown
+     */
+    public static List<float[]> assemble(List<String> hashes, Map<String, float[]> known) {
+        List<float[]> embeddings = new ArrayList<>(hashes.size());
+        for (String hash : hashes) {
+            embeddings.add(known.get(hash));
+        }
+        return embeddings;
+    }
+}
@@ -0,0 +1,42 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Extraction.ExtractedText;
+import com.yusufkurnaz.ProjectManagementBackend.Common.Model.enums.FileType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One leased document travelling through the ingestion stages
+ * Follows SRP - Single responsibility: Carrying intermediate results between stages
+ *
+ * Each stage fills in its output before handing the job to the next queue; the
+ * queue hand-off publishes the writes to the next stage's worker. queuedJob is the
+ * processing_jobs row this node holds the lease on.
+ */
+@Getter
+@Setter
+public class IngestionJob {
+
+    private final ProcessingJob queuedJob;
+    private final UUID documentId;
+    private final Path file;
+    private final FileType fileType;
+    private final long acceptedAt = System.currentTimeMillis();
+
+    private ExtractedText extractedText;
+    private List<DocumentChunk> chunks;
+    private List<float[]> embeddings;
+
+    public IngestionJob(ProcessingJob queuedJob, Path file, FileType fileType) {
+        this.queuedJob = queuedJob;
+        this.documentId = queuedJob.getDocumentId();
+        this.file = file;
+        this.fileType = fileType;
+    }
+}
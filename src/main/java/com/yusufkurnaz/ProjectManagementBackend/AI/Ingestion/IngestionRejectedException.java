@@ -0,0 +1,17 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the ingestion pipeline is full and an upload is shed
+ */
+@Getter
+public class IngestionRejectedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public IngestionRejectedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
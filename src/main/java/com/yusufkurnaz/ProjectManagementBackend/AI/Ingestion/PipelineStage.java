@@ -0,0 +1,114 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One pipeline stage: a bounded queue drained by a fixed number of workers
+ * Follows SRP - Single responsibility: Queueing and running one kind of work
+ *
+ * {@link #put} blocks while the queue is full, so a slow stage holds back the
+ * workers feeding it instead of letting work pile up in memory; {@link #offer}
+ * is the non-blocking variant for request threads.
+ */
+@Slf4j
+public class PipelineStage<T> {
+
+    /**
+     * Work done by a stage worker for one item
+     */
+    @FunctionalInterface
+    public interface Handler<T> {
+        void handle(T item) throws InterruptedException;
+    }
+
+    private final String name;
+    private final int workerCount;
+    private final BlockingQueue<T> queue;
+    private final Handler<T> handler;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+
+    public PipelineStage(String name, int workerCount, int capacity, Handler<T> handler) {
+        this.name = name;
+        this.workerCount = Math.max(1, workerCount);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.handler = handler;
+    }
+
+    public synchronized void start() {
+        for (int i = workers.size(); i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "ingest-" + name + "-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public synchronized void stop() {
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    /**
+     * Enqueue without waiting; false when the queue is full
+     */
+    public boolean offer(T item) {
+        return queue.offer(item);
+    }
+
+    /**
+     * Enqueue, waiting for space (backpressure on the caller)
+     */
+    public void put(T item) throws InterruptedException {
+        queue.put(item);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    // Private helper methods
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            T item;
+            try {
+                item = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            active.incrementAndGet();
+            try {
+                handler.handle(item);
+                completed.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Unhandled error in ingestion stage {}: {}", name, e.getMessage(), e);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+    }
+}
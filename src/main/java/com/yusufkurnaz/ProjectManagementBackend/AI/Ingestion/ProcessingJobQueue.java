@@ -0,0 +1,135 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.IngestionConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.ProcessingJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Durable job queue over the processing_jobs table (V10)
+ * Follows SRP - Single responsibility: Leasing, retry and dead-letter bookkeeping
+ *
+ * Every node identifies itself with a lease owner id; completion and failure only
+ * apply while the node still owns the lease, so a job reclaimed after a lease
+ * expiry is never finished twice. Failed attempts are retried after an exponential,
+ * jittered backoff; after max attempts the job is dead-lettered.
+ */
+@Component
+@Slf4j
+public class ProcessingJobQueue {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final ProcessingJobRepository jobRepository;
+    private final IngestionConfiguration ingestionConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public ProcessingJobQueue(
+            ProcessingJobRepository jobRepository,
+            IngestionConfiguration ingestionConfig,
+            TransactionTemplate transactionTemplate) {
+        this.jobRepository = jobRepository;
+        this.ingestionConfig = ingestionConfig;
+        this.transactionTemplate = transactionTemplate;
+        this.owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Queue a job (joins the caller's transaction); false when one is already pending for the document
+     */
+    public boolean enqueue(ProcessingJob.Type type, UUID documentId, UUID requestedBy, double delaySeconds) {
+        return jobRepository.enqueue(type.name(), documentId, ingestionConfig.getMaxAttempts(),
+                Math.max(0, delaySeconds), requestedBy) > 0;
+    }
+
+    /**
+     * Lease up to limit due jobs for this node
+     */
+    public List<ProcessingJob> claim(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status ->
+                jobRepository.claim(owner, limit, ingestionConfig.getLeaseSeconds()));
+    }
+
+    public void renewLeases(Collection<UUID> jobIds) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        Integer renewed = transactionTemplate.execute(status ->
+                jobRepository.renewLeases(jobIds, owner, ingestionConfig.getLeaseSeconds()));
+        if (renewed != null && renewed < jobIds.size()) {
+            log.warn("Lost {} of {} job leases (expired and reclaimed by another node)", jobIds.size() - renewed, jobIds.size());
+        }
+    }
+
+    public void complete(UUID jobId) {
+        Integer updated = transactionTemplate.execute(status -> jobRepository.complete(jobId, owner));
+        if (updated == null || updated == 0) {
+            log.warn("Job {} finished after its lease was lost", jobId);
+        }
+    }
+
+    /**
+     * Record a failed attempt; true when the job was dead-lettered
+     */
+    public boolean fail(ProcessingJob job, String error) {
+        String message = truncate(error);
+        if (job.getAttempts() >= job.getMaxAttempts()) {
+            transactionTemplate.execute(status -> jobRepository.deadLetter(job.getId(), owner, message));
+            log.error("Job {} ({} of document {}) dead-lettered after {} attempts: {}",
+                    job.getId(), job.getJobType(), job.getDocumentId(), job.getAttempts(), message);
+            return true;
+        }
+
+        double delay = backoffSeconds(job.getAttempts(), ingestionConfig.getBackoffBaseSeconds(),
+                ingestionConfig.getBackoffMaxSeconds(), ThreadLocalRandom.current().nextDouble());
+        transactionTemplate.execute(status -> jobRepository.retryLater(job.getId(), owner, delay, message));
+        log.warn("Job {} ({} of document {}) attempt {} failed, retrying in {}s: {}",
+                job.getId(), job.getJobType(), job.getDocumentId(), job.getAttempts(), Math.round(delay), message);
+        return false;
+    }
+
+    /**
+     * Dead-letter without running (lease expired on every attempt)
+     */
+    public void deadLetter(ProcessingJob job, String error) {
+        transactionTemplate.execute(status -> jobRepository.deadLetter(job.getId(), owner, truncate(error)));
+    }
+
+    public boolean requeueDead(UUID jobId) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> jobRepository.requeueDead(jobId) > 0));
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Delay before retry n (1-based): base * 2^(n-1), capped at max, with +/-20% jitter
+     * so jobs failing together do not retry in lockstep
+     */
+    static double backoffSeconds(int attempt, int baseSeconds, int maxSeconds, double random) {
+        double delay = Math.min(maxSeconds, baseSeconds * Math.pow(2, Math.max(0, attempt - 1)));
+        return delay * (0.8 + 0.4 * random);
+    }
+
+    // Private helper methods
+
+    private String truncate(String error) {
+        if (error == null) {
+            return "Unknown error";
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -1,20 +1,31 @@
 package com.yusufkurnaz.ProjectManagementBackend.AI.Repository;
 
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkEmbeddingRow;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorHit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Repository for DocumentChunk with vector similarity search capabilities
  * Follows ISP - Interface segregation with specific vector operations
  */
 @Repository
-public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UUID> {
+public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UUID>, DocumentChunkRepositoryCustom {
 
     /**
      * Find chunks by document ID
@@ -27,53 +38,34 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
     List<DocumentChunk> findByDocumentIdAndPageNumberOrderByChunkIndex(UUID documentId, Integer pageNumber);
 
     /**
-     * Vector similarity search using pgvector
-     * ⭐ EN ÖNEMLİ SORGU - Benzer dokümanları bul
+     * Load chunks by id keeping the order of the given ids (e.g. vector hits)
      */
-    @Query(value = """
-        SELECT dc.* FROM document_chunks dc
-        INNER JOIN ai_documents d ON dc.document_id = d.id
-        WHERE dc.embedding IS NOT NULL 
-        AND d.is_active = true
-        AND (:domainTags IS NULL OR EXISTS (
-            SELECT 1 FROM document_domain_tags ddt 
-            WHERE ddt.document_id = d.id 
-            AND ddt.tag = ANY(CAST(:domainTags AS text[]))
-        ))
-        ORDER BY dc.embedding <-> CAST(:queryEmbedding AS vector) 
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<DocumentChunk> findSimilarChunks(
-            @Param("queryEmbedding") String queryEmbedding,
-            @Param("domainTags") String[] domainTags,
-            @Param("limit") Integer limit
-    );
+    default List<DocumentChunk> findAllByIdInOrder(List<UUID> chunkIds) {
+        if (chunkIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, DocumentChunk> chunksById = findAllById(chunkIds).stream()
+                .collect(Collectors.toMap(DocumentChunk::getId, Function.identity()));
+        return chunkIds.stream()
+                .map(chunksById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
 
     /**
-     * Vector similarity search with minimum similarity threshold
+     * Attach chunk entities to vector hits (one query), keeping hit order and scores
      */
-    @Query(value = """
-        SELECT dc.*, 
-               (1 - (dc.embedding <-> CAST(:queryEmbedding AS vector))) as similarity_score
-        FROM document_chunks dc
-        INNER JOIN ai_documents d ON dc.document_id = d.id
-        WHERE dc.embedding IS NOT NULL 
-        AND d.is_active = true
-        AND (1 - (dc.embedding <-> CAST(:queryEmbedding AS vector))) >= :minSimilarity
-        AND (:domainTags IS NULL OR EXISTS (
-            SELECT 1 FROM document_domain_tags ddt 
-            WHERE ddt.document_id = d.id 
-            AND ddt.tag = ANY(CAST(:domainTags AS text[]))
-        ))
-        ORDER BY similarity_score DESC
-        LIMIT :limit
-        """, nativeQuery = true)
-    List<Object[]> findSimilarChunksWithScore(
-            @Param("queryEmbedding") String queryEmbedding,
-            @Param("minSimilarity") Float minSimilarity,
-            @Param("domainTags") String[] domainTags,
-            @Param("limit") Integer limit
-    );
+    default List<ScoredChunk> findScoredChunks(List<VectorHit> hits) {
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, DocumentChunk> chunksById = findAllById(hits.stream().map(VectorHit::chunkId).toList()).stream()
+                .collect(Collectors.toMap(DocumentChunk::getId, Function.identity()));
+        return hits.stream()
+                .filter(hit -> chunksById.containsKey(hit.chunkId()))
+                .map(hit -> new ScoredChunk(hit.chunkId(), hit.score(), chunksById.get(hit.chunkId())))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
 
     /**
      * Find chunks by content type (for specific domain searches)
@@ -103,6 +95,18 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
            "AND dc.document.isActive = true ORDER BY dc.createdAt ASC")
     List<DocumentChunk> findChunksWithoutEmbeddings();
 
+    /**
+     * Chunks of a document still without embedding (re-embedding jobs)
+     */
+    List<DocumentChunk> findByDocumentIdAndEmbeddingIsNullOrderByChunkIndex(UUID documentId);
+
+    /**
+     * Processed documents that have chunks without embedding (re-embedding sweep)
+     */
+    @Query("SELECT DISTINCT dc.document.id FROM DocumentChunk dc WHERE dc.embedding IS NULL " +
+           "AND dc.document.isActive = true AND dc.document.processingStatus = 'COMPLETED'")
+    List<UUID> findDocumentIdsWithChunksMissingEmbeddings(Pageable pageable);
+
     /**
      * Find chunks by multiple domain tags (OR condition)
      */
@@ -132,6 +136,56 @@ public interface DocumentChunkRepository extends JpaRepository<DocumentChunk, UU
         """, nativeQuery = true)
     Object getChunkStatistics();
 
+    /**
+     * Keyset-paged embeddings of active documents (local vector index bootstrap)
+     */
+    @Query("SELECT new com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkEmbeddingRow(" +
+           "dc.id, dc.document.id, dc.contentType, dc.document.uploadedBy, dc.embedding) FROM DocumentChunk dc " +
+           "WHERE dc.embedding IS NOT NULL AND dc.document.isActive = true AND dc.id > :afterId " +
+           "ORDER BY dc.id")
+    List<ChunkEmbeddingRow> findActiveEmbeddingsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Keyset-paged embeddings of one uploader's active documents (owner partition load)
+     */
+    @Query("SELECT new com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkEmbeddingRow(" +
+           "dc.id, dc.document.id, dc.contentType, dc.document.uploadedBy, dc.embedding) FROM DocumentChunk dc " +
+           "WHERE dc.embedding IS NOT NULL AND dc.document.isActive = true " +
+           "AND dc.document.uploadedBy = :uploadedBy AND dc.id > :afterId ORDER BY dc.id")
+    List<ChunkEmbeddingRow> findActiveEmbeddingsByUploaderAfter(@Param("uploadedBy") UUID uploadedBy,
+                                                                @Param("afterId") UUID afterId,
+                                                                Pageable pageable);
+
+    /**
+     * Embeddings of specific chunks of active documents
+     */
+    @Query("SELECT new com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkEmbeddingRow(" +
+           "dc.id, dc.document.id, dc.contentType, dc.document.uploadedBy, dc.embedding) FROM DocumentChunk dc " +
+           "WHERE dc.id IN :chunkIds AND dc.embedding IS NOT NULL AND dc.document.isActive = true")
+    List<ChunkEmbeddingRow> findEmbeddingsByIds(@Param("chunkIds") Collection<UUID> chunkIds);
+
+    /**
+     * Embeddings changed after a point in time (snapshot catch-up)
+     */
+    @Query("SELECT new com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkEmbeddingRow(" +
+           "dc.id, dc.document.id, dc.contentType, dc.document.uploadedBy, dc.embedding) FROM DocumentChunk dc " +
+           "WHERE dc.embedding IS NOT NULL AND dc.document.isActive = true AND dc.updatedAt > :since")
+    List<ChunkEmbeddingRow> findEmbeddingsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Ids of all embedded chunks of active documents (snapshot catch-up)
+     */
+    @Query("SELECT dc.id FROM DocumentChunk dc " +
+           "WHERE dc.embedding IS NOT NULL AND dc.document.isActive = true")
+    List<UUID> findActiveEmbeddedChunkIds();
+
+    /**
+     * Ids of the embedded chunks of one uploader's active documents (owner partition catch-up)
+     */
+    @Query("SELECT dc.id FROM DocumentChunk dc " +
+           "WHERE dc.embedding IS NOT NULL AND dc.document.isActive = true AND dc.document.uploadedBy = :uploadedBy")
+    List<UUID> findActiveEmbeddedChunkIdsByUploader(@Param("uploadedBy") UUID uploadedBy);
+
     /**
      * Delete chunks by document ID (cascade cleanup)
      */
@@ -0,0 +1,108 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Repository;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkFilter;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.DocumentHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.StorageBenchmarkReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorStorage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Custom vector query operations for DocumentChunkRepository
+ * Follows ISP - Dynamic pgvector SQL kept apart from derived queries
+ */
+public interface DocumentChunkRepositoryCustom {
+
+    /**
+     * Nearest chunks for the configured metric with true similarity scores
+     * Uses the embedding index (operator matches its operator class)
+     */
+    List<VectorHit> searchSimilar(VectorQuery query);
+
+    /**
+     * Same search against an explicit embedding column (storage benchmark)
+     */
+    List<VectorHit> searchSimilar(VectorQuery query, VectorStorage storage);
+
+    /**
+     * First stage of two-stage search: active documents closest to the query by document embedding
+     * The filter keeps documents with at least one matching chunk; minSimilarity is left to the chunk stage
+     */
+    List<UUID> searchDocuments(VectorQuery query, int documentLimit);
+
+    /**
+     * Second stage of two-stage search: exact scoring of the chunks of the given documents only
+     */
+    List<VectorHit> searchSimilarInDocuments(VectorQuery query, Collection<UUID> documentIds);
+
+    /**
+     * Whether the column of a storage mode exists (the halfvec shadow column only lives between V7 and the cutover)
+     */
+    boolean hasStorage(VectorStorage storage);
+
+    /**
+     * Average stored embedding size (sampled) and HNSW index size of a storage mode
+     */
+    StorageBenchmarkReport.Footprint storageFootprint(VectorStorage storage);
+
+    /**
+     * Chunks matching the query text (stored Turkish tsvector), best ts_rank first
+     * Applies the filter and limit of the query; embedding and minSimilarity are ignored
+     */
+    List<VectorHit> searchLexical(String queryText, VectorQuery query);
+
+    /**
+     * Embedded chunks of active documents whose neighbour list is missing or older than the chunk row
+     */
+    List<UUID> findChunksWithStaleNeighbors(int limit);
+
+    /**
+     * Recompute and store the k nearest chunks of a chunk (ANN through the embedding index)
+     * Edges pointing at the chunk are re-scored and the chunk is offered to its neighbours' lists,
+     * which are trimmed back to k. Runs in the caller's transaction; false when there is nothing to index
+     */
+    boolean refreshChunkNeighbors(UUID chunkId, int k);
+
+    /**
+     * Stored neighbours of a chunk, best first; only neighbours in active documents that match the filter
+     */
+    List<VectorHit> findChunkNeighbors(UUID chunkId, ChunkFilter filter, int limit);
+
+    /**
+     * Active documents with an embedding whose neighbour list is missing or older than the document row
+     */
+    List<UUID> findDocumentsWithStaleNeighbors(int limit);
+
+    /**
+     * Document-level counterpart of refreshChunkNeighbors (document_embedding)
+     */
+    boolean refreshDocumentNeighbors(UUID documentId, int k);
+
+    /**
+     * Stored neighbours of a document, best first; only active documents with one of the tags (empty = any)
+     */
+    List<DocumentHit> findDocumentNeighbors(UUID documentId, Collection<String> domainTags, int limit);
+
+    /**
+     * Mark the chunk and document lists that point into a document stale (it was deactivated)
+     * Returns the number of invalidated lists
+     */
+    int invalidateNeighborListsPointingTo(UUID documentId);
+
+    /**
+     * Copy every chunk of a processed document, embeddings included, to another document in one INSERT ... SELECT
+     * Runs in the caller's transaction; returns the ids of the copies that carry an embedding
+     */
+    List<UUID> copyChunks(UUID sourceDocumentId, UUID targetDocumentId);
+
+    /**
+     * One stored unit-length embedding per chunk text hash (hashes nobody has embedded yet are absent)
+     * Looked up in bounded batches of hashes; embeddings are decoded in binary like the other embedding reads
+     */
+    Map<String, float[]> findEmbeddingsByTextHash(Collection<String> textHashes);
+}
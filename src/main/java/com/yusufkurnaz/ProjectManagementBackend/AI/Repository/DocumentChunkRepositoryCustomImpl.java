@@ -0,0 +1,567 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Repository;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkFilter;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.DocumentHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.StorageBenchmarkReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMetric;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorStorage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * pgvector implementation of DocumentChunkRepositoryCustom
+ * Generates operator-consistent SQL for the configured VectorMetric
+ *
+ * ANN tuning is applied with set_config(..., true), i.e. SET LOCAL semantics,
+ * so it only lasts for the surrounding transaction. Lexical search reads the
+ * stored text_search tsvector column instead of recomputing to_tsvector per row.
+ * The embedding column and query cast follow app.vector.pgvector.storage (vector or halfvec).
+ * Neighbour graphs (V9) are computed with the same operators, source row against candidates.
+ * Duplicate content (V11) is copied or looked up in SQL so no embedding has to be recomputed.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentChunkRepositoryCustomImpl implements DocumentChunkRepositoryCustom {
+
+    private static final String QUERY_PARAMETER = "queryEmbedding";
+    private static final int FOOTPRINT_SAMPLE_ROWS = 1000;
+    private static final int TEXT_HASH_BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final VectorSearchConfiguration vectorConfig;
+
+    @Override
+    public List<VectorHit> searchSimilar(VectorQuery vectorQuery) {
+        return searchSimilar(vectorQuery, vectorConfig.getPgvector().getStorage());
+    }
+
+    @Override
+    public List<VectorHit> searchSimilar(VectorQuery vectorQuery, VectorStorage storage) {
+        VectorMetric metric = vectorConfig.getMetric();
+        ChunkFilter filter = vectorQuery.effectiveFilter();
+        applyTuning(vectorQuery, filter != null);
+
+        String column = "dc." + storage.getColumn();
+        String queryVector = storage.castSql(QUERY_PARAMETER);
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT dc.id, ").append(metric.similaritySql(column, queryVector))
+                .append(" AS similarity_score FROM document_chunks dc")
+                .append(" INNER JOIN ai_documents d ON dc.document_id = d.id")
+                .append(" WHERE ").append(column).append(" IS NOT NULL AND d.is_active = true");
+
+        if (vectorQuery.hasMinSimilarity()) {
+            sql.append(" AND ").append(metric.distanceSql(column, queryVector))
+               .append(" <= :maxDistance");
+        }
+        Map<String, Object> filterParameters = new HashMap<>();
+        if (filter != null) {
+            sql.append(" AND ").append(renderFilter(filter, filterParameters));
+        }
+        sql.append(" ORDER BY ").append(metric.distanceSql(column, queryVector))
+           .append(" LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter(QUERY_PARAMETER, vectorQuery.getEmbedding())
+                .setParameter("limit", vectorQuery.getLimit());
+        if (vectorQuery.hasMinSimilarity()) {
+            query.setParameter("maxDistance", metric.maxDistance(vectorQuery.getMinSimilarity()));
+        }
+        filterParameters.forEach(query::setParameter);
+
+        return toHits(query);
+    }
+
+    @Override
+    public List<UUID> searchDocuments(VectorQuery vectorQuery, int documentLimit) {
+        VectorMetric metric = vectorConfig.getMetric();
+        ChunkFilter filter = vectorQuery.effectiveFilter();
+        applyTuning(vectorQuery.toBuilder().limit(documentLimit).build(), filter != null);
+
+        // Document embeddings are always float32 (one row per document)
+        String queryVector = VectorStorage.FLOAT32.castSql(QUERY_PARAMETER);
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT d.id FROM ai_documents d")
+                .append(" WHERE d.document_embedding IS NOT NULL AND d.is_active = true");
+
+        Map<String, Object> filterParameters = new HashMap<>();
+        if (filter != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM document_chunks dc WHERE dc.document_id = d.id AND ")
+               .append(renderFilter(filter, filterParameters)).append(")");
+        }
+        sql.append(" ORDER BY ").append(metric.distanceSql("d.document_embedding", queryVector))
+           .append(" LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter(QUERY_PARAMETER, vectorQuery.getEmbedding())
+                .setParameter("limit", documentLimit);
+        filterParameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object> rows = query.getResultList();
+        return rows.stream().map(UUID.class::cast).toList();
+    }
+
+    @Override
+    public List<VectorHit> searchSimilarInDocuments(VectorQuery vectorQuery, Collection<UUID> documentIds) {
+        VectorMetric metric = vectorConfig.getMetric();
+        ChunkFilter filter = vectorQuery.effectiveFilter();
+
+        // MATERIALIZED keeps the planner from walking the global chunk index with a post-filter:
+        // only the candidate documents' chunks (idx_chunks_document_id) are scored, exactly
+        VectorStorage storage = vectorConfig.getPgvector().getStorage();
+        String queryVector = storage.castSql(QUERY_PARAMETER);
+        StringBuilder sql = new StringBuilder()
+                .append("WITH candidates AS MATERIALIZED (")
+                .append("SELECT dc.id, ").append(metric.distanceSql("dc." + storage.getColumn(), queryVector))
+                .append(" AS distance FROM document_chunks dc")
+                .append(" INNER JOIN ai_documents d ON dc.document_id = d.id")
+                .append(" WHERE dc.document_id = ANY(CAST(:documentIds AS uuid[]))")
+                .append(" AND dc.").append(storage.getColumn()).append(" IS NOT NULL AND d.is_active = true");
+
+        Map<String, Object> filterParameters = new HashMap<>();
+        if (filter != null) {
+            sql.append(" AND ").append(renderFilter(filter, filterParameters));
+        }
+        sql.append(") SELECT id, ").append(metric.similarityOfDistanceSql("distance"))
+           .append(" AS similarity_score FROM candidates");
+        if (vectorQuery.hasMinSimilarity()) {
+            sql.append(" WHERE distance <= :maxDistance");
+        }
+        sql.append(" ORDER BY distance LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter(QUERY_PARAMETER, vectorQuery.getEmbedding())
+                .setParameter("documentIds", documentIds.stream().map(UUID::toString).toArray(String[]::new))
+                .setParameter("limit", vectorQuery.getLimit());
+        if (vectorQuery.hasMinSimilarity()) {
+            query.setParameter("maxDistance", metric.maxDistance(vectorQuery.getMinSimilarity()));
+        }
+        filterParameters.forEach(query::setParameter);
+
+        return toHits(query);
+    }
+
+    @Override
+    public boolean hasStorage(VectorStorage storage) {
+        Object found = entityManager.createNativeQuery(
+                        "SELECT EXISTS (SELECT 1 FROM information_schema.columns"
+                                + " WHERE table_name = 'document_chunks' AND column_name = :column"
+                                + " AND udt_name = :sqlType)")
+                .setParameter("column", storage.getColumn())
+                .setParameter("sqlType", storage.getSqlType())
+                .getSingleResult();
+        return Boolean.TRUE.equals(found);
+    }
+
+    @Override
+    public StorageBenchmarkReport.Footprint storageFootprint(VectorStorage storage) {
+        // Sampled: a full-table pg_column_size scan would read every embedding
+        Object[] row = (Object[]) entityManager.createNativeQuery(
+                        "SELECT COALESCE(AVG(pg_column_size(s.embedding)), 0),"
+                                + " COALESCE(pg_relation_size(to_regclass(:indexName)), 0)"
+                                + " FROM (SELECT dc." + storage.getColumn() + " AS embedding FROM document_chunks dc"
+                                + " WHERE dc." + storage.getColumn() + " IS NOT NULL LIMIT :sampleRows) s")
+                .setParameter("indexName", storage.getIndexName())
+                .setParameter("sampleRows", FOOTPRINT_SAMPLE_ROWS)
+                .getSingleResult();
+        return new StorageBenchmarkReport.Footprint(((Number) row[0]).doubleValue(), ((Number) row[1]).longValue());
+    }
+
+    @Override
+    public List<VectorHit> searchLexical(String queryText, VectorQuery vectorQuery) {
+        ChunkFilter filter = vectorQuery.effectiveFilter();
+
+        // websearch syntax: quoted phrases, OR and -exclusions; tsquery computed once per query
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT dc.id, ts_rank_cd(dc.text_search, q.query) AS lexical_rank FROM document_chunks dc")
+                .append(" INNER JOIN ai_documents d ON dc.document_id = d.id")
+                .append(" CROSS JOIN websearch_to_tsquery('turkish', :queryText) AS q(query)")
+                .append(" WHERE dc.text_search @@ q.query AND d.is_active = true");
+
+        Map<String, Object> filterParameters = new HashMap<>();
+        if (filter != null) {
+            sql.append(" AND ").append(renderFilter(filter, filterParameters));
+        }
+        sql.append(" ORDER BY lexical_rank DESC LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("queryText", queryText)
+                .setParameter("limit", vectorQuery.getLimit());
+        filterParameters.forEach(query::setParameter);
+
+        return toHits(query);
+    }
+
+    @Override
+    public List<UUID> findChunksWithStaleNeighbors(int limit) {
+        String column = "dc." + vectorConfig.getPgvector().getStorage().getColumn();
+        @SuppressWarnings("unchecked")
+        List<Object> rows = entityManager.createNativeQuery(
+                        "SELECT dc.id FROM document_chunks dc"
+                                + " INNER JOIN ai_documents d ON dc.document_id = d.id"
+                                + " LEFT JOIN chunk_neighbor_lists l ON l.chunk_id = dc.id"
+                                + " WHERE " + column + " IS NOT NULL AND d.is_active = true"
+                                + " AND (l.chunk_id IS NULL OR l.source_updated_at < dc.updated_at)"
+                                + " ORDER BY dc.updated_at LIMIT :limit")
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream().map(UUID.class::cast).toList();
+    }
+
+    @Override
+    public boolean refreshChunkNeighbors(UUID chunkId, int k) {
+        VectorMetric metric = vectorConfig.getMetric();
+        String column = vectorConfig.getPgvector().getStorage().getColumn();
+
+        // Read the version first: a change committed after this read leaves the list stale, never lost
+        @SuppressWarnings("unchecked")
+        List<Object> source = entityManager.createNativeQuery(
+                        "SELECT dc.updated_at FROM document_chunks dc"
+                                + " INNER JOIN ai_documents d ON dc.document_id = d.id"
+                                + " WHERE dc.id = :id AND dc." + column + " IS NOT NULL AND d.is_active = true")
+                .setParameter("id", chunkId)
+                .getResultList();
+        if (source.isEmpty()) {
+            return false;
+        }
+
+        applyTuning(VectorQuery.builder().limit(k + 1).build(), false);
+        String nearest = "SELECT c.id, n.id, " + metric.similaritySql("n." + column, "c." + column)
+                + " FROM document_chunks c CROSS JOIN LATERAL ("
+                + "SELECT n.id, n." + column + " FROM document_chunks n"
+                + " INNER JOIN ai_documents d ON n.document_id = d.id"
+                + " WHERE n." + column + " IS NOT NULL AND d.is_active = true AND n.id <> c.id"
+                + " ORDER BY " + metric.distanceSql("n." + column, "c." + column) + " LIMIT :k) n"
+                + " WHERE c.id = :id";
+        String rescore = "UPDATE chunk_neighbors e SET similarity = "
+                + metric.similaritySql("x." + column, "c." + column)
+                + " FROM document_chunks x, document_chunks c"
+                + " WHERE e.neighbor_id = :id AND x.id = e.chunk_id AND c.id = :id AND x." + column + " IS NOT NULL";
+
+        storeNeighbors("chunk_neighbors", "chunk_neighbor_lists", "chunk_id", chunkId, source.get(0), nearest, rescore, k);
+        return true;
+    }
+
+    @Override
+    public List<VectorHit> findChunkNeighbors(UUID chunkId, ChunkFilter filter, int limit) {
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT e.neighbor_id, e.similarity FROM chunk_neighbors e")
+                .append(" INNER JOIN document_chunks dc ON dc.id = e.neighbor_id")
+                .append(" INNER JOIN ai_documents d ON dc.document_id = d.id")
+                .append(" WHERE e.chunk_id = :chunkId AND d.is_active = true");
+
+        Map<String, Object> filterParameters = new HashMap<>();
+        if (filter != null) {
+            sql.append(" AND ").append(renderFilter(filter, filterParameters));
+        }
+        sql.append(" ORDER BY e.similarity DESC LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("chunkId", chunkId)
+                .setParameter("limit", limit);
+        filterParameters.forEach(query::setParameter);
+
+        return toHits(query);
+    }
+
+    @Override
+    public List<UUID> findDocumentsWithStaleNeighbors(int limit) {
+        @SuppressWarnings("unchecked")
+        List<Object> rows = entityManager.createNativeQuery(
+                        "SELECT d.id FROM ai_documents d"
+                                + " LEFT JOIN document_neighbor_lists l ON l.document_id = d.id"
+                                + " WHERE d.document_embedding IS NOT NULL AND d.is_active = true"
+                                + " AND (l.document_id IS NULL OR l.source_updated_at < d.updated_at)"
+                                + " ORDER BY d.updated_at LIMIT :limit")
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream().map(UUID.class::cast).toList();
+    }
+
+    @Override
+    public boolean refreshDocumentNeighbors(UUID documentId, int k) {
+        VectorMetric metric = vectorConfig.getMetric();
+        String column = "document_embedding"; // always float32 (one row per document)
+
+        @SuppressWarnings("unchecked")
+        List<Object> source = entityManager.createNativeQuery(
+                        "SELECT d.updated_at FROM ai_documents d"
+                                + " WHERE d.id = :id AND d." + column + " IS NOT NULL AND d.is_active = true")
+                .setParameter("id", documentId)
+                .getResultList();
+        if (source.isEmpty()) {
+            return false;
+        }
+
+        applyTuning(VectorQuery.builder().limit(k + 1).build(), false);
+        String nearest = "SELECT c.id, n.id, " + metric.similaritySql("n." + column, "c." + column)
+                + " FROM ai_documents c CROSS JOIN LATERAL ("
+                + "SELECT n.id, n." + column + " FROM ai_documents n"
+                + " WHERE n." + column + " IS NOT NULL AND n.is_active = true AND n.id <> c.id"
+                + " ORDER BY " + metric.distanceSql("n." + column, "c." + column) + " LIMIT :k) n"
+                + " WHERE c.id = :id";
+        String rescore = "UPDATE document_neighbors e SET similarity = "
+                + metric.similaritySql("x." + column, "c." + column)
+                + " FROM ai_documents x, ai_documents c"
+                + " WHERE e.neighbor_id = :id AND x.id = e.document_id AND c.id = :id AND x." + column + " IS NOT NULL";
+
+        storeNeighbors("document_neighbors", "document_neighbor_lists", "document_id", documentId, source.get(0),
+                nearest, rescore, k);
+        return true;
+    }
+
+    @Override
+    public List<DocumentHit> findDocumentNeighbors(UUID documentId, Collection<String> domainTags, int limit) {
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT e.neighbor_id, e.similarity FROM document_neighbors e")
+                .append(" INNER JOIN ai_documents d ON d.id = e.neighbor_id")
+                .append(" WHERE e.document_id = :documentId AND d.is_active = true");
+
+        Map<String, Object> filterParameters = new HashMap<>();
+        if (domainTags != null && !domainTags.isEmpty()) {
+            sql.append(" AND ").append(renderFilter(ChunkFilter.anyTag(domainTags), filterParameters));
+        }
+        sql.append(" ORDER BY e.similarity DESC LIMIT :limit");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("documentId", documentId)
+                .setParameter("limit", limit);
+        filterParameters.forEach(query::setParameter);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<DocumentHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new DocumentHit((UUID) row[0], ((Number) row[1]).floatValue()));
+        }
+        return hits;
+    }
+
+    @Override
+    public int invalidateNeighborListsPointingTo(UUID documentId) {
+        int chunkLists = entityManager.createNativeQuery(
+                        "DELETE FROM chunk_neighbor_lists WHERE chunk_id IN ("
+                                + "SELECT e.chunk_id FROM chunk_neighbors e"
+                                + " INNER JOIN document_chunks dc ON dc.id = e.neighbor_id"
+                                + " WHERE dc.document_id = :documentId)")
+                .setParameter("documentId", documentId)
+                .executeUpdate();
+        int documentLists = entityManager.createNativeQuery(
+                        "DELETE FROM document_neighbor_lists WHERE document_id IN ("
+                                + "SELECT e.document_id FROM document_neighbors e WHERE e.neighbor_id = :documentId)")
+                .setParameter("documentId", documentId)
+                .executeUpdate();
+        return chunkLists + documentLists;
+    }
+
+    @Override
+    public List<UUID> copyChunks(UUID sourceDocumentId, UUID targetDocumentId) {
+        // embedding_half (V7 trigger) and text_search (generated) are derived on insert
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(
+                        "INSERT INTO document_chunks (id, document_id, chunk_text, text_hash, chunk_index, embedding,"
+                                + " embedding_normalized, page_number, section_title, start_position, end_position,"
+                                + " token_count, confidence_score, content_type, technical_level, language_detected,"
+                                + " created_at, updated_at, is_active, created_by, updated_by)"
+                                + " SELECT gen_random_uuid(), t.id, dc.chunk_text, dc.text_hash, dc.chunk_index, dc.embedding,"
+                                + " dc.embedding_normalized, dc.page_number, dc.section_title, dc.start_position, dc.end_position,"
+                                + " dc.token_count, dc.confidence_score, dc.content_type, dc.technical_level, dc.language_detected,"
+                                + " NOW(), NOW(), dc.is_active, t.created_by, t.created_by"
+                                + " FROM document_chunks dc INNER JOIN ai_documents t ON t.id = :targetDocumentId"
+                                + " WHERE dc.document_id = :sourceDocumentId"
+                                + " RETURNING id, embedding IS NOT NULL")
+                .setParameter("sourceDocumentId", sourceDocumentId)
+                .setParameter("targetDocumentId", targetDocumentId)
+                .getResultList();
+
+        List<UUID> embedded = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (Boolean.TRUE.equals(row[1])) {
+                embedded.add((UUID) row[0]);
+            }
+        }
+        return embedded;
+    }
+
+    @Override
+    public Map<String, float[]> findEmbeddingsByTextHash(Collection<String> textHashes) {
+        Map<String, float[]> embeddings = new HashMap<>();
+        List<String> hashes = new ArrayList<>(textHashes);
+
+        for (int from = 0; from < hashes.size(); from += TEXT_HASH_BATCH_SIZE) {
+            List<String> batch = hashes.subList(from, Math.min(hashes.size(), from + TEXT_HASH_BATCH_SIZE));
+
+            // One chunk per hash in SQL, then its embedding through the entity mapping (binary PgVectorType)
+            @SuppressWarnings("unchecked")
+            List<Object> ids = entityManager.createNativeQuery(
+                            "SELECT DISTINCT ON (dc.text_hash) dc.id FROM document_chunks dc"
+                                    + " WHERE dc.text_hash IN (:textHashes) AND dc.embedding IS NOT NULL"
+                                    + " AND dc.embedding_normalized = true"
+                                    + " ORDER BY dc.text_hash, dc.updated_at DESC")
+                    .setParameter("textHashes", batch)
+                    .getResultList();
+            List<UUID> chunkIds = ids.stream().map(UUID.class::cast).toList();
+            if (chunkIds.isEmpty()) {
+                continue;
+            }
+
+            List<Object[]> rows = entityManager.createQuery(
+                            "SELECT dc.textHash, dc.embedding FROM DocumentChunk dc WHERE dc.id IN :chunkIds",
+                            Object[].class)
+                    .setParameter("chunkIds", chunkIds)
+                    .getResultList();
+            for (Object[] row : rows) {
+                embeddings.put((String) row[0], (float[]) row[1]);
+            }
+        }
+        return embeddings;
+    }
+
+    // Private helper methods
+
+    /**
+     * Replace the source's neighbour list, re-score edges pointing at it and offer it to the
+     * lists of its new neighbours (symmetric similarity); those lists are trimmed back to k
+     */
+    private void storeNeighbors(String edgeTable, String listTable, String idColumn, UUID id,
+                                Object sourceUpdatedAt, String nearestSql, String rescoreSql, int k) {
+        entityManager.createNativeQuery("DELETE FROM " + edgeTable + " WHERE " + idColumn + " = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                        "INSERT INTO " + edgeTable + " (" + idColumn + ", neighbor_id, similarity) " + nearestSql)
+                .setParameter("id", id)
+                .setParameter("k", k)
+                .executeUpdate();
+        entityManager.createNativeQuery(rescoreSql)
+                .setParameter("id", id)
+                .executeUpdate();
+
+        // Only neighbours that already have a list; the others get theirs computed in full later
+        entityManager.createNativeQuery(
+                        "INSERT INTO " + edgeTable + " (" + idColumn + ", neighbor_id, similarity)"
+                                + " SELECT e.neighbor_id, e." + idColumn + ", e.similarity FROM " + edgeTable + " e"
+                                + " INNER JOIN " + listTable + " l ON l." + idColumn + " = e.neighbor_id"
+                                + " WHERE e." + idColumn + " = :id"
+                                + " ON CONFLICT (" + idColumn + ", neighbor_id) DO UPDATE SET similarity = EXCLUDED.similarity")
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                        "DELETE FROM " + edgeTable + " t USING ("
+                                + "SELECT " + idColumn + " AS source_id, neighbor_id, ROW_NUMBER() OVER ("
+                                + "PARTITION BY " + idColumn + " ORDER BY similarity DESC) AS position"
+                                + " FROM " + edgeTable + " WHERE " + idColumn + " IN ("
+                                + "SELECT neighbor_id FROM " + edgeTable + " WHERE " + idColumn + " = :id)) r"
+                                + " WHERE t." + idColumn + " = r.source_id AND t.neighbor_id = r.neighbor_id"
+                                + " AND r.position > :k")
+                .setParameter("id", id)
+                .setParameter("k", k)
+                .executeUpdate();
+
+        entityManager.createNativeQuery(
+                        "INSERT INTO " + listTable + " (" + idColumn + ", source_updated_at, computed_at)"
+                                + " VALUES (:id, :sourceUpdatedAt, NOW())"
+                                + " ON CONFLICT (" + idColumn + ") DO UPDATE"
+                                + " SET source_updated_at = EXCLUDED.source_updated_at, computed_at = NOW()")
+                .setParameter("id", id)
+                .setParameter("sourceUpdatedAt", sourceUpdatedAt)
+                .executeUpdate();
+    }
+
+    private List<VectorHit> toHits(Query query) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<VectorHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            hits.add(new VectorHit((UUID) row[0], ((Number) row[1]).floatValue()));
+        }
+        return hits;
+    }
+
+    /**
+     * Per-query hnsw.ef_search / ivfflat.probes (transaction scoped)
+     */
+    private void applyTuning(VectorQuery vectorQuery, boolean filtered) {
+        VectorSearchConfiguration.Pgvector defaults = vectorConfig.getPgvector();
+        Integer efSearch = vectorQuery.getEfSearch() != null ? vectorQuery.getEfSearch() : defaults.getEfSearch();
+        Integer probes = vectorQuery.getProbes() != null ? vectorQuery.getProbes() : defaults.getProbes();
+
+        if (efSearch != null) {
+            // ef_search below LIMIT silently truncates results
+            setLocal("hnsw.ef_search", Math.max(efSearch, vectorQuery.getLimit()));
+        }
+        if (probes != null) {
+            setLocal("ivfflat.probes", probes);
+        }
+        if (filtered && defaults.getIterativeScan() != null) {
+            // Without it a selective filter can leave fewer than LIMIT rows from the index scan
+            setLocal("hnsw.iterative_scan", defaults.getIterativeScan());
+        }
+    }
+
+    /**
+     * ChunkFilter as a SQL predicate over dc (chunk) and d (document); never evaluates to NULL,
+     * so NOT behaves like the bitmap complement used by the local engine
+     */
+    private String renderFilter(ChunkFilter filter, Map<String, Object> parameters) {
+        String parameter = "f" + parameters.size();
+
+        if (filter instanceof ChunkFilter.AnyTag anyTag) {
+            parameters.put(parameter, anyTag.tags().toArray(new String[0]));
+            return "EXISTS (SELECT 1 FROM document_domain_tags ddt WHERE ddt.document_id = d.id"
+                    + " AND ddt.tag = ANY(CAST(:" + parameter + " AS text[])))";
+        }
+        if (filter instanceof ChunkFilter.ContentTypeIn contentTypeIn) {
+            parameters.put(parameter, contentTypeIn.contentTypes().toArray(new String[0]));
+            return "(dc.content_type IS NOT NULL AND dc.content_type = ANY(CAST(:" + parameter + " AS text[])))";
+        }
+        if (filter instanceof ChunkFilter.UploadedBy uploadedBy) {
+            parameters.put(parameter, uploadedBy.userId());
+            return "d.uploaded_by = :" + parameter;
+        }
+        if (filter instanceof ChunkFilter.And and) {
+            return joinFilters(and.filters(), " AND ", parameters);
+        }
+        if (filter instanceof ChunkFilter.Or or) {
+            return joinFilters(or.filters(), " OR ", parameters);
+        }
+        if (filter instanceof ChunkFilter.Not not) {
+            return "NOT " + renderFilter(not.filter(), parameters);
+        }
+        throw new IllegalArgumentException("Unsupported chunk filter: " + filter);
+    }
+
+    private String joinFilters(List<ChunkFilter> filters, String operator, Map<String, Object> parameters) {
+        if (filters.isEmpty()) {
+            return operator.trim().equals("AND") ? "TRUE" : "FALSE";
+        }
+        List<String> parts = new ArrayList<>(filters.size());
+        for (ChunkFilter child : filters) {
+            parts.add(renderFilter(child, parameters));
+        }
+        return "(" + String.join(operator, parts) + ")";
+    }
+
+    private void setLocal(String setting, Object value) {
+        entityManager.createNativeQuery("SELECT set_config(:setting, :value, true)")
+                .setParameter("setting", setting)
+                .setParameter("value", String.valueOf(value))
+                .getSingleResult();
+        log.debug("Vector query tuning: {}={}", setting, value);
+    }
+}
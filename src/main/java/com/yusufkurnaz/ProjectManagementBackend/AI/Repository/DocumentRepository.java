@@ -6,12 +6,18 @@ import com.yusufkurnaz.ProjectManagementBackend.Common.Model.enums.ProcessingSta
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,6 +28,17 @@ import java.util.UUID;
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, UUID> {
 
+    /**
+     * Documents by id in the given order (ranked lookups); missing ids are skipped
+     */
+    default List<Document> findAllByIdInOrder(List<UUID> ids) {
+        Map<UUID, Document> byId = new HashMap<>();
+        findAllById(ids).forEach(document -> byId.put(document.getId(), document));
+        List<Document> ordered = new ArrayList<>(ids.size());
+        ids.stream().map(byId::get).filter(Objects::nonNull).forEach(ordered::add);
+        return ordered;
+    }
+
     /**
      * Find documents by uploader
      */
@@ -42,6 +59,16 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
      */
     Optional<Document> findByContentHashAndIsActiveTrue(String contentHash);
 
+    /**
+     * Processed documents with the same content, oldest first (upload-time reuse of extraction and chunks)
+     */
+    @Query("SELECT d FROM Document d WHERE d.contentHash = :contentHash AND d.id <> :excludedId " +
+           "AND d.processingStatus = 'COMPLETED' AND d.totalChunks > 0 AND d.isActive = true " +
+           "ORDER BY d.completedAt ASC")
+    List<Document> findProcessedByContentHash(@Param("contentHash") String contentHash,
+                                              @Param("excludedId") UUID excludedId,
+                                              Pageable pageable);
+
     /**
      * Find documents by domain tags - ⭐ ETİKETLEME SİSTEMİ
      */
@@ -54,6 +81,33 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
         """, nativeQuery = true)
     List<Document> findByDomainTags(@Param("domainTags") String[] domainTags);
 
+    /**
+     * (document id, domain tag) pairs of the given documents (local vector filter bitmaps)
+     */
+    @Query("SELECT d.id, t FROM Document d JOIN d.domainTags t WHERE d.id IN :documentIds")
+    List<Object[]> findDomainTagPairs(@Param("documentIds") Collection<UUID> documentIds);
+
+    /**
+     * Recompute the document embedding (unit-length mean of its chunk embeddings; null without embedded chunks)
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE ai_documents d
+        SET document_embedding = (
+            SELECT l2_normalize(AVG(dc.embedding))
+            FROM document_chunks dc
+            WHERE dc.document_id = d.id AND dc.embedding IS NOT NULL)
+        WHERE d.id = :documentId
+        """, nativeQuery = true)
+    int refreshDocumentEmbedding(@Param("documentId") UUID documentId);
+
+    /**
+     * Set processing progress without loading the document (pipeline stage updates)
+     */
+    @Modifying
+    @Query("UPDATE Document d SET d.progressPercentage = :progress WHERE d.id = :documentId")
+    int updateProgress(@Param("documentId") UUID documentId, @Param("progress") int progress);
+
     /**
      * Find documents by user tags
      */
@@ -151,10 +205,11 @@ public interface DocumentRepository extends JpaRepository<Document, UUID> {
      * Search documents by text content (full-text search)
      */
     @Query(value = """
-        SELECT d.* FROM ai_documents d 
-        WHERE to_tsvector('turkish', COALESCE(d.extracted_text, '')) @@ plainto_tsquery('turkish', :searchText)
+        SELECT d.* FROM ai_documents d
+        CROSS JOIN plainto_tsquery('turkish', :searchText) AS q(query)
+        WHERE d.text_search @@ q.query
         AND d.is_active = true
-        ORDER BY ts_rank(to_tsvector('turkish', COALESCE(d.extracted_text, '')), plainto_tsquery('turkish', :searchText)) DESC
+        ORDER BY ts_rank(d.text_search, q.query) DESC
         """, nativeQuery = true)
     List<Document> searchByTextContent(@Param("searchText") String searchText);
 }
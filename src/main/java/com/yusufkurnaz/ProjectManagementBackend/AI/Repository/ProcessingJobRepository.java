@@ -0,0 +1,138 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Repository;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the durable processing job queue (V10)
+ * State changes are single statements guarded by status / lease owner, so
+ * concurrent nodes never act on the same job twice.
+ */
+@Repository
+public interface ProcessingJobRepository extends JpaRepository<ProcessingJob, UUID> {
+
+    /**
+     * Queue a job unless one of the same type is already pending for the document; 1 when queued
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO processing_jobs (id, job_type, document_id, status, attempts, max_attempts, available_at, created_by)
+        VALUES (gen_random_uuid(), :jobType, :documentId, 'QUEUED', 0, :maxAttempts,
+                NOW() + make_interval(secs => :delaySeconds), CAST(:createdBy AS uuid))
+        ON CONFLICT (job_type, document_id) WHERE status IN ('QUEUED', 'RUNNING') DO NOTHING
+        """, nativeQuery = true)
+    int enqueue(@Param("jobType") String jobType,
+                @Param("documentId") UUID documentId,
+                @Param("maxAttempts") int maxAttempts,
+                @Param("delaySeconds") double delaySeconds,
+                @Param("createdBy") UUID createdBy);
+
+    /**
+     * Lease up to limit due jobs (queued and available, or running with an expired lease)
+     * Locked rows are skipped, so nodes polling at the same time claim disjoint jobs.
+     */
+    @Query(value = """
+        WITH due AS (
+            SELECT id FROM processing_jobs
+            WHERE (status = 'QUEUED' AND available_at <= NOW())
+               OR (status = 'RUNNING' AND leased_until < NOW())
+            ORDER BY available_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED)
+        UPDATE processing_jobs j
+        SET status = 'RUNNING',
+            lease_owner = :owner,
+            leased_until = NOW() + make_interval(secs => :leaseSeconds),
+            attempts = j.attempts + 1
+        FROM due
+        WHERE j.id = due.id
+        RETURNING j.*
+        """, nativeQuery = true)
+    List<ProcessingJob> claim(@Param("owner") String owner,
+                              @Param("limit") int limit,
+                              @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * Renew the leases this node still holds
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE processing_jobs
+        SET leased_until = NOW() + make_interval(secs => :leaseSeconds)
+        WHERE id IN (:jobIds) AND status = 'RUNNING' AND lease_owner = :owner
+        """, nativeQuery = true)
+    int renewLeases(@Param("jobIds") Collection<UUID> jobIds,
+                    @Param("owner") String owner,
+                    @Param("leaseSeconds") int leaseSeconds);
+
+    @Modifying
+    @Query(value = """
+        UPDATE processing_jobs
+        SET status = 'SUCCEEDED', completed_at = NOW(), lease_owner = NULL, leased_until = NULL, last_error = NULL
+        WHERE id = :jobId AND status = 'RUNNING' AND lease_owner = :owner
+        """, nativeQuery = true)
+    int complete(@Param("jobId") UUID jobId, @Param("owner") String owner);
+
+    /**
+     * Back to the queue after delaySeconds (failed attempt)
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE processing_jobs
+        SET status = 'QUEUED', available_at = NOW() + make_interval(secs => :delaySeconds),
+            lease_owner = NULL, leased_until = NULL, last_error = :error
+        WHERE id = :jobId AND status = 'RUNNING' AND lease_owner = :owner
+        """, nativeQuery = true)
+    int retryLater(@Param("jobId") UUID jobId,
+                   @Param("owner") String owner,
+                   @Param("delaySeconds") double delaySeconds,
+                   @Param("error") String error);
+
+    @Modifying
+    @Query(value = """
+        UPDATE processing_jobs
+        SET status = 'DEAD', completed_at = NOW(), lease_owner = NULL, leased_until = NULL, last_error = :error
+        WHERE id = :jobId AND status = 'RUNNING' AND lease_owner = :owner
+        """, nativeQuery = true)
+    int deadLetter(@Param("jobId") UUID jobId, @Param("owner") String owner, @Param("error") String error);
+
+    /**
+     * Give a dead-lettered job a fresh set of attempts
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE processing_jobs
+        SET status = 'QUEUED', attempts = 0, available_at = NOW(), completed_at = NULL
+        WHERE id = :jobId AND status = 'DEAD'
+          AND NOT EXISTS (SELECT 1 FROM processing_jobs p
+                          WHERE p.job_type = processing_jobs.job_type AND p.document_id = processing_jobs.document_id
+                            AND p.status IN ('QUEUED', 'RUNNING'))
+        """, nativeQuery = true)
+    int requeueDead(@Param("jobId") UUID jobId);
+
+    long countByStatus(ProcessingJob.Status status);
+
+    /**
+     * Ingest jobs waiting for a worker right now (upload shedding)
+     * Jobs scheduled for later (bulk reprocess spacing, retry backoff) are not backlog yet
+     */
+    @Query(value = """
+        SELECT COUNT(*) FROM processing_jobs
+        WHERE status = 'QUEUED' AND available_at <= NOW() AND job_type = 'INGEST_DOCUMENT'
+        """, nativeQuery = true)
+    long countDueIngestJobs();
+
+    boolean existsByJobTypeAndDocumentIdAndStatus(ProcessingJob.Type jobType, UUID documentId, ProcessingJob.Status status);
+
+    Page<ProcessingJob> findByStatusOrderByUpdatedAtDesc(ProcessingJob.Status status, Pageable pageable);
+}
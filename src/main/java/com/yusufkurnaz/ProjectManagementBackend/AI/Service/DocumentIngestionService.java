@@ -0,0 +1,46 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Service;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import org.springframework.data.domain.Page;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service interface for asynchronous document ingestion
+ * Follows ISP - Interface segregation principle
+ */
+public interface DocumentIngestionService {
+
+    /**
+     * Store the upload, create its document and queue it for processing
+     * Returns immediately; progress is tracked on the document.
+     * Throws IngestionRejectedException when the job backlog is full.
+     */
+    Document submit(MultipartFile file, UUID userId, List<String> userTags, List<String> domainTags);
+
+    /**
+     * Queue reprocessing of failed/empty documents (and re-embedding of documents with
+     * unembedded chunks), spread out to at most perMinute jobs becoming due per minute
+     * Documents without a stored file are skipped and reported as needing a re-upload
+     */
+    Map<String, Object> scheduleBulkReprocess(Integer perMinute, boolean includeMissingEmbeddings, UUID requestedBy);
+
+    /**
+     * Dead-lettered jobs, most recent first
+     */
+    Page<ProcessingJob> getDeadLetters(int page, int size);
+
+    /**
+     * Give a dead-lettered job a fresh set of attempts; false when not dead or already re-queued
+     */
+    boolean retryDeadLetter(UUID jobId);
+
+    /**
+     * Job counts, this node's slots and per-stage queue depth
+     */
+    Map<String, Object> getPipelineStatus();
+}
@@ -2,8 +2,11 @@ package com.yusufkurnaz.ProjectManagementBackend.AI.Service;
 
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Extraction.ExtractedText;
+import com.yusufkurnaz.ProjectManagementBackend.Common.Model.enums.FileType;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,20 +22,31 @@ public interface DocumentProcessingService {
      */
     Document processDocument(MultipartFile file, UUID userId, List<String> userTags);
 
+    /**
+     * Store an upload and build its (unsaved) document entity
+     */
+    Document createDocument(MultipartFile file, UUID userId, List<String> userTags);
+
+    /**
+     * Extract the text of a document's stored file onto the entity (text, page count)
+     * The result keeps the page boundaries (PDF) for page-aware chunking
+     */
+    ExtractedText extractDocumentText(Document document);
+
     /**
      * Reprocess existing document (for failed or incomplete processing)
      */
     Document reprocessDocument(UUID documentId);
 
     /**
-     * Extract text from document file
+     * Extract text from a stored document file
      */
-    String extractTextFromFile(MultipartFile file);
+    String extractTextFromFile(Path path, FileType fileType);
 
     /**
-     * Chunk document text into smaller pieces
+     * Chunk document text into smaller pieces, tagged with position and page (when known)
      */
-    List<DocumentChunk> chunkDocument(Document document, String extractedText);
+    List<DocumentChunk> chunkDocument(Document document, ExtractedText extractedText);
 
     /**
      * Generate embeddings for document chunks
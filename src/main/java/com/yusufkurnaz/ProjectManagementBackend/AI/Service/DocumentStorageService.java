@@ -0,0 +1,28 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+/**
+ * Service interface for storing uploaded document files
+ * Follows ISP - Interface segregation principle
+ */
+public interface DocumentStorageService {
+
+    /**
+     * Stream the upload once to content-addressed storage, hashing it on the way
+     */
+    StoredFile store(MultipartFile file);
+
+    /**
+     * Resolve a stored filename to its location under the upload directory
+     */
+    Path resolve(String storedFilename);
+
+    /**
+     * An upload as written to disk
+     */
+    record StoredFile(Path path, String storedFilename, String contentHash, long size) {
+    }
+}
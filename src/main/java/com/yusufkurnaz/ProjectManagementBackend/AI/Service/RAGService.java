@@ -28,12 +28,28 @@ public interface RAGService {
      * @param minSimilarity Minimum benzerlik skoru (0.0 - 1.0)
      * @return RAG cevabı
      */
+    default RAGQueryResponse queryWithRAG(
+            String query,
+            UUID userId,
+            List<String> domainTags,
+            Integer maxChunks,
+            Float minSimilarity) {
+        return queryWithRAG(query, userId, domainTags, maxChunks, minSimilarity, null);
+    }
+
+    /**
+     * RAG query with MMR diversification of the retrieved chunks
+     * Örtüşen (overlap) komşu chunk'lar context bütçesini tüketmez
+     *
+     * @param mmrLambda MMR katsayısı (1.0 = sadece benzerlik); null = çeşitlendirme yok
+     */
     RAGQueryResponse queryWithRAG(
             String query,
             UUID userId,
             List<String> domainTags,
             Integer maxChunks,
-            Float minSimilarity
+            Float minSimilarity,
+            Float mmrLambda
     );
 
     /**
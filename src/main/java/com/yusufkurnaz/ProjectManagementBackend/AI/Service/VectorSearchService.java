@@ -1,8 +1,15 @@
 package com.yusufkurnaz.ProjectManagementBackend.AI.Service;
 
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.QuantizationReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.StorageBenchmarkReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredOrdinal;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Service interface for vector-based similarity search
@@ -21,8 +28,33 @@ public interface VectorSearchService {
             Integer limit
     );
 
+    /**
+     * Scored search with full query options (filters, ef_search / probes tuning)
+     * queryText is embedded exactly once; the embedding of the options is ignored
+     */
+    List<ScoredChunk> searchScored(String queryText, VectorQuery options);
+
+    /**
+     * Scored search for an already embedded query (query.embedding must be set)
+     */
+    List<ScoredChunk> searchScored(VectorQuery query);
+
+    /**
+     * Hybrid retrieval: chunk full-text search and vector search fused by reciprocal rank
+     * Exact terms (error codes, class names) are found even when their embedding is not close;
+     * each leg fetches options.limit candidates. Scores remain vector similarities.
+     */
+    List<ScoredChunk> searchHybrid(String queryText, VectorQuery options);
+
+    /**
+     * Top chunks of a single document for an embedded query (document-scoped RAG)
+     * Scored from the memory-mapped embedding store when it is loaded, otherwise from the database
+     */
+    List<ScoredChunk> searchDocument(float[] queryEmbedding, UUID documentId, int limit, float minSimilarity);
+
     /**
      * Find similar documents by existing chunk
+     * Served from the precomputed neighbour graph when it holds enough matching neighbours
      */
     List<DocumentChunk> findSimilarToChunk(
             String chunkId, 
@@ -30,6 +62,12 @@ public interface VectorSearchService {
             Integer limit
     );
 
+    /**
+     * Documents most similar to a document (document pages)
+     * Read from the precomputed neighbour graph; a live document-embedding search until it is computed
+     */
+    List<Document> findRelatedDocuments(UUID documentId, int limit);
+
     /**
      * Semantic search across all documents
      */
@@ -46,11 +84,37 @@ public interface VectorSearchService {
      */
     float[] getTextEmbedding(String text);
 
+    /**
+     * Get embedding vectors for several texts in one backend call
+     * Result order matches the input order
+     */
+    List<float[]> getTextEmbeddings(List<String> texts);
+
     /**
      * Calculate similarity between two text embeddings
+     * Expects unit-length embeddings (as returned by getTextEmbedding/getTextEmbeddings),
+     * for which cosine similarity is the inner product
      */
     float calculateSimilarity(float[] embedding1, float[] embedding2);
 
+    /**
+     * Score one query against many candidate embeddings in a single batch
+     * Returns candidate indexes with cosine similarity >= minSimilarity, best first, at most k
+     */
+    List<ScoredOrdinal> findTopKSimilar(float[] queryEmbedding, List<float[]> candidates, int k, float minSimilarity);
+
+    /**
+     * Measure int8 quantization recall@k and memory on a sample of stored embeddings
+     * Used to choose app.vector.hnsw.quantization per deployment
+     */
+    QuantizationReport evaluateQuantization(int k, int sampleSize);
+
+    /**
+     * Compare recall@k, latency and size of the halfvec shadow column against float32
+     * Stored embeddings are used as queries; only available between V7 and the halfvec cutover
+     */
+    StorageBenchmarkReport benchmarkHalfPrecision(int k, int queryCount);
+
     /**
      * Find related content suggestions
      */
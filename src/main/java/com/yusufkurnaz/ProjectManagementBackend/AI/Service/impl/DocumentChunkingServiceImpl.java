@@ -2,13 +2,17 @@ package com.yusufkurnaz.ProjectManagementBackend.AI.Service.impl;
 
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunkEmbeddingsUpdatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunksRemovedEvent;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentChunkingService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMath;
 import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +34,7 @@ public class DocumentChunkingServiceImpl implements DocumentChunkingService {
     private final DocumentRepository documentRepository;
     private final DocumentChunkRepository chunkRepository;
     private final EmbeddingService embeddingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.ai.chunk.default-size:1000}")
     private int defaultChunkSize;
@@ -191,6 +196,11 @@ public class DocumentChunkingServiceImpl implements DocumentChunkingService {
     public void deleteDocumentChunks(UUID documentId) {
         List<DocumentChunk> chunks = chunkRepository.findByDocumentIdOrderByChunkIndex(documentId);
         chunkRepository.deleteAll(chunks);
+        if (!chunks.isEmpty()) {
+            documentRepository.refreshDocumentEmbedding(documentId);
+            eventPublisher.publishEvent(new ChunksRemovedEvent(
+                    documentId, chunks.stream().map(DocumentChunk::getId).toList()));
+        }
         log.info("Deleted {} chunks for document {}", chunks.size(), documentId);
     }
 
@@ -429,19 +439,22 @@ public class DocumentChunkingServiceImpl implements DocumentChunkingService {
             List<float[]> embeddings = embeddingService.embedBatch(texts);
             
             // Update chunks with embeddings
+            List<DocumentChunk> embedded = new ArrayList<>();
             for (int i = 0; i < chunks.size() && i < embeddings.size(); i++) {
                 DocumentChunk chunk = chunks.get(i);
                 float[] embedding = embeddings.get(i);
                 
-                if (embedding != null && embedding.length > 0) {
+                if (embedding != null && embedding.length > 0 && VectorMath.norm(embedding) > 0f) { // zero vector = failed
                     chunk.setEmbeddingFromFloatArray(embedding);
                     chunkRepository.save(chunk);
+                    embedded.add(chunk);
                     log.debug("Generated embedding for chunk {} (dimension: {})", 
                             chunk.getId(), embedding.length);
                 } else {
                     log.warn("Failed to generate embedding for chunk {}", chunk.getId());
                 }
             }
+            publishEmbeddingsUpdated(embedded);
             
             log.info("Completed async embedding generation for {} chunks", chunks.size());
             
@@ -460,18 +473,34 @@ public class DocumentChunkingServiceImpl implements DocumentChunkingService {
     private void generateEmbeddingsIndividually(List<DocumentChunk> chunks) {
         log.info("Fallback: Generating embeddings individually for {} chunks", chunks.size());
         
+        List<DocumentChunk> embedded = new ArrayList<>();
         for (DocumentChunk chunk : chunks) {
             try {
                 float[] embedding = embeddingService.embedText(chunk.getChunkText());
-                if (embedding != null && embedding.length > 0) {
+                if (embedding != null && embedding.length > 0 && VectorMath.norm(embedding) > 0f) { // zero vector = failed
                     chunk.setEmbeddingFromFloatArray(embedding);
                     chunkRepository.save(chunk);
+                    embedded.add(chunk);
                 }
             } catch (Exception e) {
                 log.error("Error generating individual embedding for chunk {}: {}", 
                         chunk.getId(), e.getMessage());
             }
         }
+        publishEmbeddingsUpdated(embedded);
+    }
+
+    /**
+     * Refresh the document embedding and notify local vector indexes about persisted embeddings
+     */
+    private void publishEmbeddingsUpdated(List<DocumentChunk> embedded) {
+        if (embedded.isEmpty()) {
+            return;
+        }
+        UUID documentId = embedded.get(0).getDocument().getId();
+        documentRepository.refreshDocumentEmbedding(documentId);
+        eventPublisher.publishEvent(new ChunkEmbeddingsUpdatedEvent(
+                documentId, embedded.stream().map(DocumentChunk::getId).toList()));
     }
 }
 
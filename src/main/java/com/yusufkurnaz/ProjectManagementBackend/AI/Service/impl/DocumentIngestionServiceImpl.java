@@ -0,0 +1,643 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Service.impl;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.IngestionConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunkEmbeddingsUpdatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Extraction.ExtractedText;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion.EmbeddingReuse;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion.IngestionJob;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion.IngestionRejectedException;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion.PipelineStage;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion.ProcessingJobQueue;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.ProcessingJobRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentChunkingService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentIngestionService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentProcessingService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMath;
+import com.yusufkurnaz.ProjectManagementBackend.Common.Model.enums.ProcessingStatus;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of DocumentIngestionService
+ * Follows SRP - Single responsibility: Running queued jobs through the ingestion stages
+ *
+ * Work is recorded in processing_jobs (V10) in the same transaction as the document,
+ * so it survives restarts and is shared by all nodes. Each node claims due jobs up to
+ * app.ingestion.max-in-flight, renews their leases while they run and feeds them into
+ * extract -> chunk -> embed -> persist stages (own workers, bounded queues; a full
+ * queue blocks the stage feeding it). Re-embedding jobs use their own stage. Uploads
+ * are shed (503 + Retry-After) once app.ingestion.max-queued due jobs are waiting;
+ * future-dated bulk reprocess and backoff jobs do not count.
+ * progressPercentage is advanced by every stage and by each embedding batch.
+ * An upload whose content hash matches a processed document copies that document's
+ * text, chunks and embeddings instead of being queued; chunk texts that were embedded
+ * before (text_hash) reuse the stored embedding, so only new text reaches the model.
+ */
+@Service
+@Slf4j
+public class DocumentIngestionServiceImpl implements DocumentIngestionService {
+
+    private static final int PROGRESS_EXTRACTED = 30;
+    private static final int PROGRESS_CHUNKED = 40;
+    private static final int PROGRESS_EMBEDDED = 90;
+    private static final int EMBED_SWEEP_BATCH = 100;
+    private static final int NEEDS_REUPLOAD_REPORT_LIMIT = 100;
+
+    private final DocumentRepository documentRepository;
+    private final DocumentChunkRepository chunkRepository;
+    private final ProcessingJobRepository jobRepository;
+    private final DocumentProcessingService documentProcessingService;
+    private final DocumentChunkingService documentChunkingService;
+    private final EmbeddingService embeddingService;
+    private final ProcessingJobQueue jobQueue;
+    private final IngestionConfiguration ingestionConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Semaphore inFlight;
+    private final Set<UUID> leasedJobs = ConcurrentHashMap.newKeySet();
+    private final PipelineStage<IngestionJob> persistStage;
+    private final PipelineStage<IngestionJob> embedStage;
+    private final PipelineStage<IngestionJob> chunkStage;
+    private final PipelineStage<IngestionJob> extractStage;
+    private final PipelineStage<ProcessingJob> reembedStage;
+
+    public DocumentIngestionServiceImpl(
+            DocumentRepository documentRepository,
+            DocumentChunkRepository chunkRepository,
+            ProcessingJobRepository jobRepository,
+            DocumentProcessingService documentProcessingService,
+            DocumentChunkingService documentChunkingService,
+            EmbeddingService embeddingService,
+            ProcessingJobQueue jobQueue,
+            IngestionConfiguration ingestionConfig,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher) {
+        this.documentRepository = documentRepository;
+        this.chunkRepository = chunkRepository;
+        this.jobRepository = jobRepository;
+        this.documentProcessingService = documentProcessingService;
+        this.documentChunkingService = documentChunkingService;
+        this.embeddingService = embeddingService;
+        this.jobQueue = jobQueue;
+        this.ingestionConfig = ingestionConfig;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+
+        int capacity = ingestionConfig.getQueueCapacity();
+        this.inFlight = new Semaphore(ingestionConfig.getMaxInFlight());
+        this.persistStage = new PipelineStage<>("persist", ingestionConfig.getPersistWorkers(), capacity,
+                job -> runStage(job, this::persist, null));
+        this.embedStage = new PipelineStage<>("embed", ingestionConfig.getEmbedWorkers(), capacity,
+                job -> runStage(job, this::embed, persistStage));
+        this.chunkStage = new PipelineStage<>("chunk", ingestionConfig.getChunkWorkers(), capacity,
+                job -> runStage(job, this::chunk, embedStage));
+        // Claims never exceed the free slots, so dispatching into the first queues never waits
+        this.extractStage = new PipelineStage<>("extract", ingestionConfig.getExtractWorkers(),
+                ingestionConfig.getMaxInFlight(), job -> runStage(job, this::extract, chunkStage));
+        this.reembedStage = new PipelineStage<>("reembed", 1, ingestionConfig.getMaxInFlight(), this::reembed);
+    }
+
+    @PostConstruct
+    public void start() {
+        stages().forEach(PipelineStage::start);
+        log.info("Ingestion worker {} started ({} job slots)", jobQueue.getOwner(), ingestionConfig.getMaxInFlight());
+    }
+
+    @PreDestroy
+    public void stop() {
+        // Leased jobs are not released: their leases expire and another node (or the restart) resumes them
+        stages().forEach(PipelineStage::stop);
+    }
+
+    @Override
+    public Document submit(MultipartFile file, UUID userId, List<String> userTags, List<String> domainTags) {
+        documentProcessingService.validateFile(file);
+
+        if (jobRepository.countDueIngestJobs() >= ingestionConfig.getMaxQueued()) {
+            log.warn("Ingestion backlog full, shedding upload {}", file.getOriginalFilename());
+            throw new IngestionRejectedException("Document processing is at capacity, retry later",
+                    ingestionConfig.getRetryAfterSeconds());
+        }
+
+        Document document = documentProcessingService.createDocument(file, userId, userTags);
+        domainTags.forEach(document::addDomainTag);
+
+        Document saved = transactionTemplate.execute(status -> {
+            Document created = documentRepository.save(document);
+            if (!reuseProcessedDuplicate(created)) {
+                jobQueue.enqueue(ProcessingJob.Type.INGEST_DOCUMENT, created.getId(), userId, 0);
+            }
+            return created;
+        });
+
+        if (saved.getProcessingStatus() == ProcessingStatus.COMPLETED) {
+            return saved;
+        }
+        log.info("Document {} queued for ingestion", saved.getId());
+        poll(); // start right away when this node has a free slot
+        return saved;
+    }
+
+    @Override
+    public Map<String, Object> scheduleBulkReprocess(Integer perMinute, boolean includeMissingEmbeddings, UUID requestedBy) {
+        int rate = perMinute != null && perMinute > 0 ? perMinute : ingestionConfig.getReprocessPerMinute();
+        double spacingSeconds = 60.0 / rate;
+
+        // Throughput cap: job i becomes claimable i * spacing seconds from now
+        Map<String, Object> result = new LinkedHashMap<>();
+        int[] scheduled = new int[2];
+        List<UUID> needsReupload = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Document document : documentRepository.findDocumentsForReprocessing()) {
+                // Uploads from before content-addressed storage have no file; they would only fail every attempt
+                if (!hasStoredFile(document)) {
+                    needsReupload.add(document.getId());
+                    continue;
+                }
+                double delay = (scheduled[0] + scheduled[1]) * spacingSeconds;
+                if (jobQueue.enqueue(ProcessingJob.Type.INGEST_DOCUMENT, document.getId(), requestedBy, delay)) {
+                    scheduled[0]++;
+                }
+            }
+            if (includeMissingEmbeddings) {
+                for (UUID documentId : chunkRepository.findDocumentIdsWithChunksMissingEmbeddings(PageRequest.of(0, 10_000))) {
+                    double delay = (scheduled[0] + scheduled[1]) * spacingSeconds;
+                    if (jobQueue.enqueue(ProcessingJob.Type.EMBED_CHUNKS, documentId, requestedBy, delay)) {
+                        scheduled[1]++;
+                    }
+                }
+            }
+        });
+
+        result.put("reprocessJobs", scheduled[0]);
+        result.put("reembedJobs", scheduled[1]);
+        result.put("needsReupload", needsReupload.size());
+        result.put("needsReuploadDocumentIds", needsReupload.stream()
+                .limit(NEEDS_REUPLOAD_REPORT_LIMIT).map(UUID::toString).toList());
+        result.put("perMinute", rate);
+        result.put("estimatedMinutes", Math.ceil((scheduled[0] + scheduled[1]) / (double) rate));
+        log.info("Bulk reprocess scheduled: {}", result);
+        return result;
+    }
+
+    @Override
+    public Page<ProcessingJob> getDeadLetters(int page, int size) {
+        return jobRepository.findByStatusOrderByUpdatedAtDesc(ProcessingJob.Status.DEAD, PageRequest.of(page, size));
+    }
+
+    @Override
+    public boolean retryDeadLetter(UUID jobId) {
+        return jobQueue.requeueDead(jobId);
+    }
+
+    @Override
+    public Map<String, Object> getPipelineStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("node", jobQueue.getOwner());
+        status.put("inFlight", ingestionConfig.getMaxInFlight() - inFlight.availablePermits());
+        status.put("maxInFlight", ingestionConfig.getMaxInFlight());
+        for (ProcessingJob.Status jobStatus : List.of(ProcessingJob.Status.QUEUED, ProcessingJob.Status.RUNNING,
+                ProcessingJob.Status.DEAD)) {
+            status.put("jobs" + jobStatus.name().charAt(0) + jobStatus.name().substring(1).toLowerCase(),
+                    jobRepository.countByStatus(jobStatus));
+        }
+        status.put("ingestJobsDue", jobRepository.countDueIngestJobs());
+        status.put("maxQueued", ingestionConfig.getMaxQueued());
+        for (PipelineStage<?> stage : stages()) {
+            status.put(stage.getName(), Map.of(
+                    "queued", stage.getQueued(),
+                    "active", stage.getActive(),
+                    "completed", stage.getCompleted()));
+        }
+        return status;
+    }
+
+    /**
+     * Claim due jobs for the free slots of this node
+     */
+    @Scheduled(fixedDelayString = "${app.ingestion.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            log.error("Ingestion job poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keep the leases of running jobs from expiring
+     */
+    @Scheduled(fixedDelayString = "#{${app.ingestion.lease-seconds:300} * 1000 / 3}")
+    public void renewLeases() {
+        try {
+            jobQueue.renewLeases(List.copyOf(leasedJobs));
+        } catch (Exception e) {
+            log.error("Job lease renewal failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queue re-embedding for processed documents whose chunks are missing embeddings
+     */
+    @Scheduled(fixedDelayString = "${app.ingestion.embed-sweep-interval-ms:300000}")
+    public void sweepMissingEmbeddings() {
+        try {
+            Integer queued = transactionTemplate.execute(status -> {
+                int count = 0;
+                for (UUID documentId : chunkRepository.findDocumentIdsWithChunksMissingEmbeddings(
+                        PageRequest.of(0, EMBED_SWEEP_BATCH))) {
+                    // Dead-lettered documents wait for an explicit retry or bulk reprocess
+                    if (!jobRepository.existsByJobTypeAndDocumentIdAndStatus(
+                            ProcessingJob.Type.EMBED_CHUNKS, documentId, ProcessingJob.Status.DEAD)) {
+                        count += jobQueue.enqueue(ProcessingJob.Type.EMBED_CHUNKS, documentId, null, 0) ? 1 : 0;
+                    }
+                }
+                return count;
+            });
+            if (queued != null && queued > 0) {
+                log.info("Queued re-embedding for {} documents with missing chunk embeddings", queued);
+            }
+        } catch (Exception e) {
+            log.error("Missing-embedding sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    // Stage steps
+
+    private void extract(IngestionJob job) {
+        Document document = transactionTemplate.execute(status -> {
+            Document pending = loadDocument(job.getDocumentId());
+            pending.startProcessing();
+            return documentRepository.save(pending);
+        });
+
+        // Outside any transaction: extraction can take a while
+        ExtractedText extractedText = documentProcessingService.extractDocumentText(document);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Document processing = loadDocument(job.getDocumentId());
+            processing.setExtractedText(extractedText.text());
+            processing.setTotalPages(document.getTotalPages());
+            processing.updateProgress(PROGRESS_EXTRACTED);
+            documentRepository.save(processing);
+        });
+        job.setExtractedText(extractedText);
+    }
+
+    private void chunk(IngestionJob job) {
+        Document document = loadDocument(job.getDocumentId());
+        job.setChunks(documentProcessingService.chunkDocument(document, job.getExtractedText()));
+        job.setExtractedText(null);
+        updateProgress(job.getDocumentId(), PROGRESS_CHUNKED);
+    }
+
+    private void embed(IngestionJob job) {
+        List<DocumentChunk> chunks = job.getChunks();
+        List<float[]> embeddings = new ArrayList<>(chunks.size());
+        int batchSize = Math.max(1, ingestionConfig.getEmbedBatchSize());
+
+        for (int from = 0; from < chunks.size(); from += batchSize) {
+            embeddings.addAll(embedChunks(chunks.subList(from, Math.min(chunks.size(), from + batchSize))));
+            updateProgress(job.getDocumentId(), PROGRESS_CHUNKED
+                    + (PROGRESS_EMBEDDED - PROGRESS_CHUNKED) * embeddings.size() / chunks.size());
+        }
+        job.setEmbeddings(embeddings);
+    }
+
+    private void persist(IngestionJob job) {
+        List<UUID> embeddedChunkIds = transactionTemplate.execute(status -> {
+            Document document = loadDocument(job.getDocumentId());
+
+            // Replaces the chunks of a previous run (reprocess, or an attempt whose lease was lost)
+            documentChunkingService.deleteDocumentChunks(document.getId());
+
+            List<DocumentChunk> chunks = job.getChunks();
+            List<DocumentChunk> embedded = new ArrayList<>();
+            for (int i = 0; i < chunks.size(); i++) {
+                DocumentChunk chunk = chunks.get(i);
+                chunk.setDocument(document);
+                float[] embedding = i < job.getEmbeddings().size() ? job.getEmbeddings().get(i) : null;
+                if (isUsable(embedding)) {
+                    chunk.setEmbeddingFromFloatArray(embedding);
+                    embedded.add(chunk);
+                }
+            }
+            chunkRepository.saveAll(chunks);
+            document.setTotalChunks(chunks.size());
+            document.completeProcessing();
+            documentRepository.saveAndFlush(document);
+
+            if (embedded.isEmpty()) {
+                return List.of();
+            }
+            documentRepository.refreshDocumentEmbedding(document.getId());
+            List<UUID> ids = embedded.stream().map(DocumentChunk::getId).toList();
+            eventPublisher.publishEvent(new ChunkEmbeddingsUpdatedEvent(document.getId(), ids));
+            return ids;
+        });
+
+        finish(job.getQueuedJob());
+        log.info("Document {} ingested in {} ms ({} chunks, {} embedded)", job.getDocumentId(),
+                System.currentTimeMillis() - job.getAcceptedAt(), job.getChunks().size(), embeddedChunkIds.size());
+        // Chunks left without embedding are picked up by the missing-embedding sweep
+    }
+
+    /**
+     * Embed the chunks that have no embedding yet; fails (and is retried) while any remain
+     */
+    private void reembed(ProcessingJob job) {
+        try {
+            List<DocumentChunk> chunks = chunkRepository.findByDocumentIdAndEmbeddingIsNullOrderByChunkIndex(job.getDocumentId());
+            List<float[]> embeddings = embedChunks(chunks);
+
+            List<DocumentChunk> embedded = new ArrayList<>();
+            for (int i = 0; i < chunks.size(); i++) {
+                if (isUsable(embeddings.get(i))) {
+                    chunks.get(i).setEmbeddingFromFloatArray(embeddings.get(i));
+                    embedded.add(chunks.get(i));
+                }
+            }
+            if (!embedded.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    chunkRepository.saveAll(embedded);
+                    chunkRepository.flush();
+                    documentRepository.refreshDocumentEmbedding(job.getDocumentId());
+                    eventPublisher.publishEvent(new ChunkEmbeddingsUpdatedEvent(
+                            job.getDocumentId(), embedded.stream().map(DocumentChunk::getId).toList()));
+                });
+            }
+
+            if (embedded.size() < chunks.size()) {
+                throw new IllegalStateException((chunks.size() - embedded.size()) + " chunks could not be embedded");
+            }
+            finish(job);
+            log.info("Re-embedded {} chunks of document {}", embedded.size(), job.getDocumentId());
+
+        } catch (Exception e) {
+            fail(job, e);
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Lease due jobs for the free slots and route them to their first stage
+     */
+    private synchronized void dispatch() {
+        List<ProcessingJob> claimed = jobQueue.claim(inFlight.availablePermits());
+        for (ProcessingJob job : claimed) {
+            if (job.getAttempts() > job.getMaxAttempts()) {
+                // Only reachable when the lease expired on every attempt (node crashes mid-job)
+                jobQueue.deadLetter(job, "Lease expired on every attempt");
+                continue;
+            }
+
+            inFlight.acquireUninterruptibly();
+            leasedJobs.add(job.getId());
+            try {
+                route(job);
+            } catch (Exception e) {
+                fail(job, e);
+            }
+        }
+    }
+
+    private void route(ProcessingJob job) {
+        switch (job.getJobType()) {
+            case INGEST_DOCUMENT -> {
+                Document document = loadDocument(job.getDocumentId());
+                if (!Boolean.TRUE.equals(document.getIsActive())) {
+                    finish(job); // deleted while queued
+                    return;
+                }
+                // Never started: an identical upload may have been processed while this one waited
+                if (document.getStartedAt() == null && Boolean.TRUE.equals(transactionTemplate.execute(
+                        status -> reuseProcessedDuplicate(loadDocument(job.getDocumentId()))))) {
+                    finish(job);
+                    return;
+                }
+                accept(extractStage.offer(new IngestionJob(job, Path.of(document.getFilePath()), document.getFileType())),
+                        extractStage);
+            }
+            case EMBED_CHUNKS -> accept(reembedStage.offer(job), reembedStage);
+        }
+    }
+
+    /**
+     * A rejected offer would leave the claimed job holding its slot and lease forever;
+     * failing it instead records the attempt, releases the slot and lets the job be retried
+     */
+    private void accept(boolean offered, PipelineStage<?> stage) {
+        if (!offered) {
+            throw new IllegalStateException("Ingestion stage " + stage.getName() + " is full");
+        }
+    }
+
+    /**
+     * Run one step and hand the job on; a failed step records the attempt and frees the slot
+     */
+    private void runStage(IngestionJob job, Consumer<IngestionJob> step,
+                          PipelineStage<IngestionJob> next) throws InterruptedException {
+        try {
+            step.accept(job);
+        } catch (Exception e) {
+            fail(job.getQueuedJob(), e);
+            return;
+        }
+
+        if (next != null) {
+            next.put(job);
+        }
+    }
+
+    private void finish(ProcessingJob job) {
+        try {
+            jobQueue.complete(job.getId());
+        } finally {
+            release(job);
+        }
+    }
+
+    private void fail(ProcessingJob job, Exception e) {
+        log.error("Job {} for document {} failed: {}", job.getId(), job.getDocumentId(), e.getMessage(), e);
+        try {
+            boolean dead = jobQueue.fail(job, e.getMessage());
+            if (job.getJobType() == ProcessingJob.Type.INGEST_DOCUMENT) {
+                markDocument(job.getDocumentId(), dead, e.getMessage());
+            }
+        } catch (Exception recordError) {
+            log.error("Could not record failure of job {}: {}", job.getId(), recordError.getMessage());
+        } finally {
+            release(job);
+        }
+    }
+
+    private void release(ProcessingJob job) {
+        if (leasedJobs.remove(job.getId())) {
+            inFlight.release();
+        }
+    }
+
+    /**
+     * Give a new document the extraction, chunks and embeddings of a processed document with the
+     * same content hash (chunks copied in one INSERT ... SELECT). Runs in the caller's transaction;
+     * false when there is nothing to reuse and the document has to go through the pipeline
+     */
+    private boolean reuseProcessedDuplicate(Document document) {
+        if (!ingestionConfig.isReuseDuplicates() || document.getContentHash() == null) {
+            return false;
+        }
+        List<Document> processed = documentRepository.findProcessedByContentHash(
+                document.getContentHash(), document.getId(), PageRequest.of(0, 1));
+        if (processed.isEmpty()) {
+            return false;
+        }
+
+        Document source = processed.get(0);
+        document.startProcessing();
+        document.setExtractedText(source.getExtractedText());
+        document.setTotalPages(source.getTotalPages());
+        document.setLanguageCode(source.getLanguageCode());
+        document.setQualityScore(source.getQualityScore());
+        document.setTotalChunks(source.getTotalChunks());
+        document.completeProcessing();
+        documentRepository.saveAndFlush(document);
+
+        List<UUID> embeddedChunkIds = chunkRepository.copyChunks(source.getId(), document.getId());
+        if (!embeddedChunkIds.isEmpty()) {
+            documentRepository.refreshDocumentEmbedding(document.getId());
+            eventPublisher.publishEvent(new ChunkEmbeddingsUpdatedEvent(document.getId(), embeddedChunkIds));
+        }
+        log.info("Document {} reuses processing of identical document {} ({} chunks, {} embedded)",
+                document.getId(), source.getId(), source.getTotalChunks(), embeddedChunkIds.size());
+        return true;
+    }
+
+    /**
+     * Embeddings for the chunks, taking stored ones for texts embedded before (text_hash);
+     * only texts without a known embedding are sent to the model, each distinct text once
+     */
+    private List<float[]> embedChunks(List<DocumentChunk> chunks) {
+        List<String> texts = chunks.stream().map(DocumentChunk::getChunkText).toList();
+        if (!ingestionConfig.isReuseChunkEmbeddings()) {
+            return embedBatch(texts);
+        }
+
+        List<String> hashes = texts.stream().map(DocumentChunk::hashText).toList();
+        Map<String, float[]> known = new HashMap<>();
+        try {
+            known.putAll(chunkRepository.findEmbeddingsByTextHash(new HashSet<>(hashes)));
+        } catch (Exception e) {
+            log.warn("Embedding reuse lookup failed, embedding all {} chunks: {}", texts.size(), e.getMessage());
+        }
+        int reused = known.size();
+
+        List<Integer> missing = EmbeddingReuse.missingIndexes(hashes, known);
+        if (!missing.isEmpty()) {
+            List<float[]> computed = embedBatch(missing.stream().map(texts::get).toList());
+            for (int i = 0; i < missing.size(); i++) {
+                if (isUsable(computed.get(i))) {
+                    known.put(hashes.get(missing.get(i)), computed.get(i));
+                }
+            }
+        }
+        log.debug("Embedded {} distinct chunk texts, reused {} stored embeddings", missing.size(), reused);
+        return EmbeddingReuse.assemble(hashes, known);
+    }
+
+    /**
+     * Batch embedding with per-text fallback; failed texts stay without embedding
+     */
+    private List<float[]> embedBatch(List<String> texts) {
+        try {
+            List<float[]> embeddings = embeddingService.embedBatch(texts);
+            if (embeddings.size() == texts.size()) {
+                return embeddings;
+            }
+        } catch (Exception e) {
+            log.warn("Batch embedding of {} chunks failed, embedding individually: {}", texts.size(), e.getMessage());
+        }
+
+        List<float[]> embeddings = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            try {
+                embeddings.add(embeddingService.embedText(text));
+            } catch (Exception e) {
+                log.warn("Embedding failed for chunk: {}", e.getMessage());
+                embeddings.add(null);
+            }
+        }
+        return embeddings;
+    }
+
+    /**
+     * Zero vectors are failure/empty-text fallbacks, never stored as embeddings
+     */
+    private boolean isUsable(float[] embedding) {
+        return embedding != null && embedding.length > 0 && VectorMath.norm(embedding) > 0f;
+    }
+
+    private boolean hasStoredFile(Document document) {
+        return document.getFilePath() != null && Files.isRegularFile(Path.of(document.getFilePath()));
+    }
+
+    private Document loadDocument(UUID documentId) {
+        return documentRepository.findById(documentId)
+                .orElseThrow(() -> new IllegalArgumentException("Document not found: " + documentId));
+    }
+
+    private void updateProgress(UUID documentId, int progress) {
+        transactionTemplate.executeWithoutResult(status -> documentRepository.updateProgress(documentId, progress));
+    }
+
+    /**
+     * FAILED once the job is dead-lettered, otherwise PENDING until the retry starts
+     */
+    private void markDocument(UUID documentId, boolean dead, String errorMessage) {
+        String message = errorMessage != null && errorMessage.length() > 2000 ? errorMessage.substring(0, 2000) : errorMessage;
+        transactionTemplate.executeWithoutResult(status -> documentRepository.findById(documentId)
+                .ifPresent(document -> {
+                    if (dead) {
+                        document.failProcessing(message);
+                    } else {
+                        document.setProcessingStatus(ProcessingStatus.PENDING);
+                        document.setErrorMessage(message);
+                        document.updateProgress(0);
+                    }
+                    documentRepository.save(document);
+                }));
+    }
+
+    private List<PipelineStage<?>> stages() {
+        return List.of(extractStage, chunkStage, embedStage, persistStage, reembedStage);
+    }
+}
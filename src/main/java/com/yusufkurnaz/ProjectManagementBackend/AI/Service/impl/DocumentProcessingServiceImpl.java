@@ -2,22 +2,35 @@ package com.yusufkurnaz.ProjectManagementBackend.AI.Service.impl;
 
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.ProcessingJob;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.DocumentDeactivatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Extraction.ExtractedText;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Extraction.PdfExtractionResult;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Extraction.PdfTextExtractor;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion.ProcessingJobQueue;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentProcessingService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentStorageService;
 import com.yusufkurnaz.ProjectManagementBackend.Common.Model.enums.FileType;
+import com.yusufkurnaz.ProjectManagementBackend.Common.Model.enums.ProcessingStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.security.MessageDigest;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Implementation of DocumentProcessingService
@@ -29,7 +42,13 @@ import java.util.UUID;
 @Transactional
 public class DocumentProcessingServiceImpl implements DocumentProcessingService {
 
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+
     private final DocumentRepository documentRepository;
+    private final DocumentStorageService storageService;
+    private final PdfTextExtractor pdfTextExtractor;
+    private final ProcessingJobQueue jobQueue;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Document processDocument(MultipartFile file, UUID userId, List<String> userTags) {
@@ -39,34 +58,21 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
             // Step 1: Validate file
             validateFile(file);
             
-            // Step 2: Create document entity
-            Document document = Document.builder()
-                    .originalFilename(file.getOriginalFilename())
-                    .storedFilename(generateStoredFilename(file.getOriginalFilename()))
-                    .filePath("/uploads/" + generateStoredFilename(file.getOriginalFilename()))
-                    .fileType(FileType.fromFileName(file.getOriginalFilename()))
-                    .fileSize(file.getSize())
-                    .mimeType(file.getContentType())
-                    .uploadedBy(userId)
-                    .contentHash(generateContentHash(file))
-                    .build();
-            
-            // Step 3: Add user tags
-            userTags.forEach(document::addUserTag);
+            // Step 2: Store the upload and create document entity
+            Document document = createDocument(file, userId, userTags);
             
-            // Step 4: Start processing
+            // Step 3: Start processing
             document.startProcessing();
             
-            // Step 5: Extract text
-            String extractedText = extractTextFromFile(file);
-            document.setExtractedText(extractedText);
+            // Step 4: Extract text from the stored file
+            ExtractedText extractedText = extractDocumentText(document);
             
-            // Step 6: Create chunks (simplified for now)
+            // Step 5: Create chunks (simplified for now)
             List<DocumentChunk> chunks = chunkDocument(document, extractedText);
             document.getChunks().addAll(chunks);
             document.updateChunksCount();
             
-            // Step 7: Complete processing
+            // Step 6: Complete processing
             document.completeProcessing();
             
             Document savedDocument = documentRepository.save(document);
@@ -80,49 +86,121 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
         }
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // file I/O only
+    public Document createDocument(MultipartFile file, UUID userId, List<String> userTags) {
+        // Single pass over the upload: hash + write to disk
+        DocumentStorageService.StoredFile storedFile = storageService.store(file);
+        
+        Document document = Document.builder()
+                .originalFilename(file.getOriginalFilename())
+                .storedFilename(storedFile.storedFilename())
+                .filePath(storedFile.path().toString())
+                .fileType(FileType.fromFileName(file.getOriginalFilename()))
+                .fileSize(storedFile.size())
+                .mimeType(file.getContentType())
+                .uploadedBy(userId)
+                .contentHash(storedFile.contentHash())
+                .build();
+        
+        userTags.forEach(document::addUserTag);
+        return document;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // no DB work; don't hold a connection while extracting
+    public ExtractedText extractDocumentText(Document document) {
+        Path path = Path.of(document.getFilePath());
+        
+        ExtractedText extractedText;
+        if (document.getFileType() == FileType.PDF) {
+            try {
+                PdfExtractionResult extraction = pdfTextExtractor.extract(path);
+                document.setTotalPages(extraction.pageCount());
+                extractedText = extraction.toExtractedText();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Text extraction failed: " + e.getMessage(), e);
+            }
+        } else {
+            extractedText = ExtractedText.of(extractTextFromFile(path, document.getFileType()));
+        }
+        
+        document.setExtractedText(extractedText.text());
+        return extractedText;
+    }
+
     @Override
     public Document reprocessDocument(UUID documentId) {
-        // Implement reprocessing logic
-        throw new UnsupportedOperationException("Reprocessing not implemented yet");
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new IllegalArgumentException("Document not found: " + documentId));
+        
+        if (document.getFilePath() == null || !Files.isRegularFile(Path.of(document.getFilePath()))) {
+            throw new IllegalStateException("Stored file of document " + documentId + " is missing, upload it again");
+        }
+        
+        // Runs in the ingestion pipeline; existing chunks stay searchable until the new ones replace them
+        if (jobQueue.enqueue(ProcessingJob.Type.INGEST_DOCUMENT, documentId, null, 0)) {
+            document.setProcessingStatus(ProcessingStatus.PENDING);
+            document.updateProgress(0);
+            document = documentRepository.save(document);
+            log.info("Document {} queued for reprocessing", documentId);
+        } else {
+            log.info("Document {} already has a pending processing job", documentId);
+        }
+        return document;
     }
 
     @Override
-    public String extractTextFromFile(MultipartFile file) {
+    public String extractTextFromFile(Path path, FileType fileType) {
         try {
-            FileType fileType = FileType.fromFileName(file.getOriginalFilename());
-            
             return switch (fileType) {
-                case PDF -> extractTextFromPDF(file);
-                case TXT -> new String(file.getBytes());
+                case PDF -> pdfTextExtractor.extract(path).text();
+                case TXT -> new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
                 default -> throw new UnsupportedOperationException("File type not supported: " + fileType);
             };
             
         } catch (Exception e) {
-            log.error("Error extracting text from file: {}", file.getOriginalFilename(), e);
+            log.error("Error extracting text from file: {}", path, e);
             throw new RuntimeException("Text extraction failed: " + e.getMessage(), e);
         }
     }
 
     @Override
-    public List<DocumentChunk> chunkDocument(Document document, String extractedText) {
+    public List<DocumentChunk> chunkDocument(Document document, ExtractedText extractedText) {
         List<DocumentChunk> chunks = new ArrayList<>();
         
         // Simple chunking strategy - split by sentences/paragraphs
-        String[] paragraphs = extractedText.split("\\n\\s*\\n");
+        String text = extractedText.text();
+        Matcher breaks = PARAGRAPH_BREAK.matcher(text);
+        int paragraphStart = 0;
         int chunkIndex = 0;
         
-        for (String paragraph : paragraphs) {
-            if (paragraph.trim().length() > 50) { // Skip very short paragraphs
+        while (paragraphStart <= text.length()) {
+            boolean found = breaks.find();
+            int paragraphEnd = found ? breaks.start() : text.length();
+            String paragraph = text.substring(paragraphStart, paragraphEnd);
+            String trimmed = paragraph.trim();
+            
+            if (trimmed.length() > 50) { // Skip very short paragraphs
+                int start = paragraphStart + paragraph.indexOf(trimmed);
                 DocumentChunk chunk = DocumentChunk.builder()
                         .document(document)
-                        .chunkText(paragraph.trim())
+                        .chunkText(trimmed)
                         .chunkIndex(chunkIndex++)
+                        .startPosition(start)
+                        .endPosition(start + trimmed.length())
+                        .pageNumber(extractedText.pageAt(start))
                         .tokenCount(estimateTokenCount(paragraph))
                         .confidenceScore(1.0f) // Default confidence
                         .build();
                 
                 chunks.add(chunk);
             }
+            
+            if (!found) {
+                break;
+            }
+            paragraphStart = breaks.end();
         }
         
         log.info("Created {} chunks for document: {}", chunks.size(), document.getOriginalFilename());
@@ -182,6 +260,7 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
         
         document.setIsActive(false);
         documentRepository.save(document);
+        eventPublisher.publishEvent(new DocumentDeactivatedEvent(documentId));
         
         log.info("Document soft deleted: {} by user: {}", documentId, userId);
     }
@@ -226,38 +305,6 @@ public class DocumentProcessingServiceImpl implements DocumentProcessingService
 
     // Private helper methods
     
-    private String extractTextFromPDF(MultipartFile file) throws IOException {
-        try (PDDocument document = org.apache.pdfbox.Loader.loadPDF(file.getBytes())) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
-        }
-    }
-    
-    private String generateStoredFilename(String originalFilename) {
-        String extension = originalFilename.substring(originalFilename.lastIndexOf('.'));
-        return UUID.randomUUID().toString() + extension;
-    }
-    
-    private String generateContentHash(MultipartFile file) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(file.getBytes());
-            StringBuilder hexString = new StringBuilder();
-            
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            
-            return hexString.toString();
-        } catch (Exception e) {
-            return UUID.randomUUID().toString(); // Fallback
-        }
-    }
-    
     private int estimateTokenCount(String text) {
         // Simple estimation: ~4 characters per token
         return text.length() / 4;
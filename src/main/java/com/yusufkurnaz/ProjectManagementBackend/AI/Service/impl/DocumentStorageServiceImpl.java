@@ -0,0 +1,124 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Service.impl;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.FileStorageConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentStorageService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Content-addressed file storage for uploads
+ * Follows SRP - Single responsibility: Writing uploads to disk
+ *
+ * The multipart body is read exactly once: it is copied through a SHA-256
+ * DigestInputStream into a temp file inside the upload directory, then moved to
+ * {@code <upload-dir>/<hash[0..2]>/<hash><ext>}. Identical content lands on the same
+ * path, so a repeated upload only costs the copy. Heap use is the copy buffer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentStorageServiceImpl implements DocumentStorageService {
+
+    private static final String INCOMING_DIR = ".incoming";
+
+    private final FileStorageConfiguration storageConfig;
+
+    @Override
+    public StoredFile store(MultipartFile file) {
+        Path uploadRoot = storageConfig.getUploadPath();
+        Path incoming = null;
+
+        try {
+            Path incomingDir = Files.createDirectories(uploadRoot.resolve(INCOMING_DIR));
+            incoming = Files.createTempFile(incomingDir, "upload-", ".part");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, incoming, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String storedFilename = contentHash + extensionOf(file.getOriginalFilename());
+            Path target = resolve(storedFilename);
+            Files.createDirectories(target.getParent());
+
+            if (Files.exists(target)) {
+                log.debug("Upload {} already stored as {}", file.getOriginalFilename(), storedFilename);
+            } else {
+                moveIntoPlace(incoming, target);
+            }
+
+            return new StoredFile(target, storedFilename, contentHash, size);
+
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store upload " + file.getOriginalFilename(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            deleteQuietly(incoming);
+        }
+    }
+
+    @Override
+    public Path resolve(String storedFilename) {
+        Path uploadRoot = storageConfig.getUploadPath();
+        Path path = uploadRoot.resolve(storedFilename.substring(0, 2)).resolve(storedFilename).normalize();
+        if (!path.startsWith(uploadRoot)) {
+            throw new IllegalArgumentException("Invalid stored filename: " + storedFilename);
+        }
+        return path;
+    }
+
+    // Private helper methods
+
+    /**
+     * Atomic rename within the upload directory; a concurrent upload of the same content may win the race
+     */
+    private void moveIntoPlace(Path incoming, Path target) throws IOException {
+        try {
+            Files.move(incoming, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            log.debug("Stored file {} written concurrently", target.getFileName());
+        } catch (IOException e) {
+            if (Files.exists(target)) {
+                return;
+            }
+            throw e;
+        }
+    }
+
+    private String extensionOf(String originalFilename) {
+        if (originalFilename == null || originalFilename.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.')).toLowerCase(Locale.ROOT);
+        return extension.matches("\\.[a-z0-9]{1,10}") ? extension : "";
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp upload {}: {}", path, e.getMessage());
+        }
+    }
+}
@@ -5,8 +5,11 @@ import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentDomainTag;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentDomainTagRepository;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentTaggingService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.DocumentHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.NeighborGraphManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +30,7 @@ public class DocumentTaggingServiceImpl implements DocumentTaggingService {
 
     private final DocumentDomainTagRepository tagRepository;
     private final DocumentRepository documentRepository;
+    private final ObjectProvider<NeighborGraphManager> neighborGraph;
 
     // Predefined domain categories for Turkish healthcare and software domains
     private static final Set<String> VALID_DOMAINS = Set.of(
@@ -285,6 +289,15 @@ public class DocumentTaggingServiceImpl implements DocumentTaggingService {
                 .map(this::normalizeTag)
                 .collect(Collectors.toList());
 
+        // Precomputed document neighbours in the domain, most similar first
+        NeighborGraphManager graph = neighborGraph.getIfAvailable();
+        if (graph != null) {
+            List<DocumentHit> related = graph.relatedDocuments(documentId, normalizedTags, limit);
+            if (!related.isEmpty()) {
+                return documentRepository.findAllByIdInOrder(related.stream().map(DocumentHit::documentId).toList());
+            }
+        }
+
         List<Document> similarDocs = tagRepository.findDocumentsForSimilaritySearch(normalizedTags);
         
         // Filter out the source document and limit results
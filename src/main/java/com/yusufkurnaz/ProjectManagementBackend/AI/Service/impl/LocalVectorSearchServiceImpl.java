@@ -0,0 +1,224 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Service.impl;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.VectorSearchService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkFilter;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.LocalVectorEngine;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.MmrDiversifier;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.QuantizationReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.StorageBenchmarkReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredOrdinal;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * VectorSearchService backed by an in-process index
+ * Follows OCP - Alternative engines selected with app.vector.engine=hnsw, ivfpq or partitioned
+ *
+ * Falls back to the pgvector implementation until the index is ready.
+ */
+@Service
+@Primary
+@ConditionalOnExpression("'${app.vector.engine:pgvector}' == '" + VectorSearchConfiguration.ENGINE_HNSW
+        + "' or '${app.vector.engine:pgvector}' == '" + VectorSearchConfiguration.ENGINE_IVFPQ
+        + "' or '${app.vector.engine:pgvector}' == '" + VectorSearchConfiguration.ENGINE_PARTITIONED + "'")
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class LocalVectorSearchServiceImpl implements VectorSearchService {
+
+    private final LocalVectorEngine indexManager;
+    private final VectorSearchServiceImpl pgvectorSearchService;
+    private final DocumentChunkRepository documentChunkRepository;
+    private final EmbeddingService embeddingService;
+    private final VectorSearchConfiguration vectorConfig;
+
+    @Override
+    public List<DocumentChunk> findSimilarContent(
+            String queryText,
+            List<String> domainTags,
+            Float minSimilarityScore,
+            Integer limit) {
+
+        return toChunks(searchScored(queryText, VectorQuery.builder()
+                .domainTags(domainTags)
+                .minSimilarity(minSimilarityScore)
+                .limit(limit != null ? limit : 10)
+                .build()));
+    }
+
+    @Override
+    public List<ScoredChunk> searchScored(String queryText, VectorQuery options) {
+        log.info("Searching local index for similar content with query: '{}'", queryText);
+
+        try {
+            float[] queryEmbedding = embeddingService.embedText(queryText);
+            return searchScored(options.toBuilder().embedding(queryEmbedding).build());
+        } catch (Exception e) {
+            log.error("Error during local vector search: {}", e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<ScoredChunk> searchScored(VectorQuery query) {
+        if (!indexManager.isReady()) {
+            return pgvectorSearchService.searchScored(query);
+        }
+
+        try {
+            VectorQuery pool = query.candidatePool(vectorConfig.getMmr().getCandidateFactor());
+            List<VectorHit> hits = indexManager.search(pool);
+
+            if (query.hasMinSimilarity()) {
+                hits = hits.stream()
+                        .filter(hit -> hit.score() >= query.getMinSimilarity())
+                        .toList();
+            }
+            return MmrDiversifier.diversify(documentChunkRepository.findScoredChunks(hits), query);
+
+        } catch (Exception e) {
+            log.error("Error during local vector search: {}", e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<ScoredChunk> searchHybrid(String queryText, VectorQuery options) {
+        return pgvectorSearchService.searchHybrid(queryText, options, this::searchScored);
+    }
+
+    @Override
+    public List<ScoredChunk> searchDocument(float[] queryEmbedding, UUID documentId, int limit, float minSimilarity) {
+        return pgvectorSearchService.searchDocument(queryEmbedding, documentId, limit, minSimilarity);
+    }
+
+    @Override
+    public List<DocumentChunk> findSimilarToChunk(
+            String chunkId,
+            List<String> domainTags,
+            Integer limit) {
+
+        if (!indexManager.isReady()) {
+            return pgvectorSearchService.findSimilarToChunk(chunkId, domainTags, limit);
+        }
+
+        try {
+            UUID chunkUuid = UUID.fromString(chunkId);
+            List<DocumentChunk> neighbors = pgvectorSearchService.findStoredNeighbors(chunkUuid, domainTags, limit);
+            if (neighbors != null) {
+                return neighbors;
+            }
+
+            float[] embedding = indexManager.getEmbedding(chunkUuid);
+            if (embedding == null) {
+                log.warn("Source chunk {} is not in the local index", chunkId);
+                return new ArrayList<>();
+            }
+
+            return toChunks(searchScored(VectorQuery.builder()
+                    .embedding(embedding)
+                    .domainTags(domainTags)
+                    .limit(limit != null ? limit : 10)
+                    .build()));
+
+        } catch (Exception e) {
+            log.error("Error finding similar chunks to {}: {}", chunkId, e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<Document> findRelatedDocuments(UUID documentId, int limit) {
+        return pgvectorSearchService.findRelatedDocuments(documentId, limit);
+    }
+
+    @Override
+    public List<DocumentChunk> semanticSearch(
+            String searchQuery,
+            List<String> includeTypes,
+            List<String> excludeTypes,
+            Integer limit) {
+
+        return toChunks(searchScored(searchQuery, VectorQuery.builder()
+                .filter(ChunkFilter.contentTypes(includeTypes, excludeTypes))
+                .limit(limit != null ? limit : 20)
+                .build()));
+    }
+
+    @Override
+    public float[] getTextEmbedding(String text) {
+        return pgvectorSearchService.getTextEmbedding(text);
+    }
+
+    @Override
+    public List<float[]> getTextEmbeddings(List<String> texts) {
+        return pgvectorSearchService.getTextEmbeddings(texts);
+    }
+
+    @Override
+    public float calculateSimilarity(float[] embedding1, float[] embedding2) {
+        return pgvectorSearchService.calculateSimilarity(embedding1, embedding2);
+    }
+
+    @Override
+    public List<ScoredOrdinal> findTopKSimilar(
+            float[] queryEmbedding,
+            List<float[]> candidates,
+            int k,
+            float minSimilarity) {
+
+        return pgvectorSearchService.findTopKSimilar(queryEmbedding, candidates, k, minSimilarity);
+    }
+
+    @Override
+    public QuantizationReport evaluateQuantization(int k, int sampleSize) {
+        return pgvectorSearchService.evaluateQuantization(k, sampleSize);
+    }
+
+    @Override
+    public StorageBenchmarkReport benchmarkHalfPrecision(int k, int queryCount) {
+        return pgvectorSearchService.benchmarkHalfPrecision(k, queryCount);
+    }
+
+    @Override
+    public List<DocumentChunk> getRelatedContent(
+            String currentContent,
+            List<String> userDomainTags,
+            Integer limit) {
+
+        return findSimilarContent(currentContent, userDomainTags, 0.3f, limit);
+    }
+
+    @Override
+    public List<DocumentChunk> getPersonalizedRecommendations(
+            String userId,
+            Integer limit) {
+
+        return pgvectorSearchService.getPersonalizedRecommendations(userId, limit);
+    }
+
+    // Private helper methods
+
+    private List<DocumentChunk> toChunks(List<ScoredChunk> scoredChunks) {
+        return scoredChunks.stream()
+                .map(ScoredChunk::chunk)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -5,6 +5,8 @@ import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.RAGService;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.VectorSearchService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
 import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.LLMService;
 import com.yusufkurnaz.ProjectManagementBackend.Integration.PlantUML.Service.DiagramGenerationService;
 import lombok.RequiredArgsConstructor;
@@ -47,13 +49,17 @@ public class RAGServiceImpl implements RAGService {
     @Value("${app.rag.max-context-tokens:3000}")
     private Integer maxContextTokens;
 
+    @Value("${app.rag.hybrid-search:false}")
+    private boolean hybridSearch;
+
     @Override
     public RAGQueryResponse queryWithRAG(
             String query,
             UUID userId,
             List<String> domainTags,
             Integer maxChunks,
-            Float minSimilarity) {
+            Float minSimilarity,
+            Float mmrLambda) {
 
         long startTime = System.currentTimeMillis();
         
@@ -64,20 +70,28 @@ public class RAGServiceImpl implements RAGService {
             maxChunks = maxChunks != null ? maxChunks : defaultMaxChunks;
             minSimilarity = minSimilarity != null ? minSimilarity : defaultMinSimilarity;
             
-            // 2. Vector similarity search
-            List<DocumentChunk> relevantChunks = vectorSearchService.findSimilarContent(
-                    query, domainTags, minSimilarity, maxChunks * 2 // Fazladan getir, sonra filtrele
-            );
+            // 2. Retrieval (query tek sefer embed edilir, skorlar DB/ANN'den gelir)
+            //    Hybrid: tam metin + vektör sonuçları reciprocal-rank fusion ile birleştirilir
+            VectorQuery retrievalQuery = VectorQuery.builder()
+                    .domainTags(domainTags)
+                    .minSimilarity(minSimilarity)
+                    .limit(maxChunks)
+                    .mmrLambda(mmrLambda)
+                    .build();
+            List<ScoredChunk> scoredChunks = hybridSearch
+                    ? vectorSearchService.searchHybrid(query, retrievalQuery)
+                    : vectorSearchService.searchScored(query, retrievalQuery);
             
-            if (relevantChunks.isEmpty()) {
+            if (scoredChunks.isEmpty()) {
                 log.warn("No relevant chunks found for query: '{}'", query);
                 return RAGQueryResponse.error(query, 
                     "İlgili doküman bulunamadı. Lütfen farklı kelimeler kullanarak tekrar deneyin.");
             }
             
-            // 3. Chunk'ları relevance'a göre sırala ve optimize et
-            List<DocumentChunk> rankedChunks = rankChunksByRelevance(query, relevantChunks);
-            List<DocumentChunk> optimizedChunks = optimizeContextWindow(rankedChunks, maxContextTokens);
+            // 3. Sonuçlar zaten similarity (mmrLambda verildiyse MMR) sırasında; context penceresine sığdır
+            List<DocumentChunk> relevantChunks = scoredChunks.stream().map(ScoredChunk::chunk).toList();
+            Map<UUID, Float> similarityScores = toScoreMap(scoredChunks);
+            List<DocumentChunk> optimizedChunks = optimizeContextWindow(relevantChunks, maxContextTokens);
             
             // 4. Context oluştur
             String context = buildContext(optimizedChunks);
@@ -97,11 +111,11 @@ public class RAGServiceImpl implements RAGService {
                     .llmModel("Llama-2-7b-chat")
                     .domainTags(domainTags)
                     .minSimilarityThreshold(minSimilarity)
-                    .queryType("simple")
+                    .queryType(hybridSearch ? "hybrid" : "simple")
                     .build();
             
             RAGQueryResponse response = RAGQueryResponse.success(
-                    query, llmResponse, optimizedChunks, responseTime, metadata
+                    query, llmResponse, optimizedChunks, similarityScores, responseTime, metadata
             );
             
             // 7. Önerilen sorular ekle
@@ -127,31 +141,26 @@ public class RAGServiceImpl implements RAGService {
             Float minSimilarity) {
         
         try {
-            // Sadece belirtilen dokümana ait chunk'ları al
-            List<DocumentChunk> documentChunks = chunkRepository.findByDocumentIdOrderByChunkIndex(documentId);
+            // Sadece belirtilen dokümana ait chunk'ları ara (yüklüyse bellek eşlemli vektör deposundan)
+            long chunkCount = chunkRepository.countByDocumentId(documentId);
             
-            if (documentChunks.isEmpty()) {
+            if (chunkCount == 0) {
                 return RAGQueryResponse.error(query, "Belirtilen doküman bulunamadı veya işlenmemiş.");
             }
             
-            // Query embedding'i ile similarity hesapla
             float[] queryEmbedding = vectorSearchService.getTextEmbedding(query);
             
-            List<DocumentChunk> relevantChunks = documentChunks.stream()
-                    .filter(chunk -> {
-                        if (chunk.getEmbeddingAsFloatArray().length == 0) return false;
-                        float similarity = vectorSearchService.calculateSimilarity(
-                                queryEmbedding, chunk.getEmbeddingAsFloatArray()
-                        );
-                        return similarity >= (minSimilarity != null ? minSimilarity : defaultMinSimilarity);
-                    })
-                    .sorted((c1, c2) -> {
-                        float sim1 = vectorSearchService.calculateSimilarity(queryEmbedding, c1.getEmbeddingAsFloatArray());
-                        float sim2 = vectorSearchService.calculateSimilarity(queryEmbedding, c2.getEmbeddingAsFloatArray());
-                        return Float.compare(sim2, sim1); // Descending
-                    })
-                    .limit(maxChunks != null ? maxChunks : defaultMaxChunks)
+            List<ScoredChunk> topChunks = vectorSearchService.searchDocument(
+                    queryEmbedding,
+                    documentId,
+                    maxChunks != null ? maxChunks : defaultMaxChunks,
+                    minSimilarity != null ? minSimilarity : defaultMinSimilarity
+            );
+            List<DocumentChunk> relevantChunks = topChunks.stream()
+                    .map(ScoredChunk::chunk)
                     .collect(Collectors.toList());
+            Map<UUID, Float> similarityScores = topChunks.stream()
+                    .collect(Collectors.toMap(ScoredChunk::chunkId, ScoredChunk::score));
             
             if (relevantChunks.isEmpty()) {
                 return RAGQueryResponse.error(query, 
@@ -165,12 +174,12 @@ public class RAGServiceImpl implements RAGService {
             RAGQueryResponse.QueryMetadata metadata = RAGQueryResponse.QueryMetadata.builder()
                     .timestamp(LocalDateTime.now())
                     .userId(userId)
-                    .totalChunksSearched(documentChunks.size())
+                    .totalChunksSearched((int) chunkCount)
                     .chunksUsedInContext(relevantChunks.size())
                     .queryType("document-specific")
                     .build();
             
-            return RAGQueryResponse.success(query, llmResponse, relevantChunks, 0L, metadata);
+            return RAGQueryResponse.success(query, llmResponse, relevantChunks, similarityScores, 0L, metadata);
             
         } catch (Exception e) {
             log.error("Document-specific RAG query failed: {}", e.getMessage(), e);
@@ -277,18 +286,25 @@ public class RAGServiceImpl implements RAGService {
     public List<DocumentChunk> rankChunksByRelevance(String query, List<DocumentChunk> chunks) {
         float[] queryEmbedding = vectorSearchService.getTextEmbedding(query);
         
-        return chunks.stream()
-                .filter(chunk -> chunk.getEmbeddingAsFloatArray().length > 0)
-                .sorted((c1, c2) -> {
-                    float sim1 = vectorSearchService.calculateSimilarity(queryEmbedding, c1.getEmbeddingAsFloatArray());
-                    float sim2 = vectorSearchService.calculateSimilarity(queryEmbedding, c2.getEmbeddingAsFloatArray());
-                    return Float.compare(sim2, sim1); // Descending
-                })
+        // Each chunk is scored once; chunks without embeddings are dropped
+        return vectorSearchService.findTopKSimilar(
+                        queryEmbedding,
+                        chunks.stream().map(DocumentChunk::getEmbeddingAsFloatArray).toList(),
+                        chunks.size(),
+                        -1.0f)
+                .stream()
+                .map(scored -> chunks.get(scored.ordinal()))
                 .collect(Collectors.toList());
     }
 
     // Private helper methods
     
+    private Map<UUID, Float> toScoreMap(List<ScoredChunk> scoredChunks) {
+        Map<UUID, Float> scores = new HashMap<>();
+        scoredChunks.forEach(scored -> scores.put(scored.chunkId(), scored.score()));
+        return scores;
+    }
+    
     private String buildContext(List<DocumentChunk> chunks) {
         StringBuilder context = new StringBuilder();
         context.append("İlgili Doküman İçerikleri:\n\n");
@@ -1,30 +1,82 @@
 package com.yusufkurnaz.ProjectManagementBackend.AI.Service.impl;
 
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.Document;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
 import com.yusufkurnaz.ProjectManagementBackend.AI.Service.VectorSearchService;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ChunkFilter;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.DocumentHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.EmbeddingStoreManager;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.MmrDiversifier;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.NeighborGraphManager;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.QuantizationReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.RankFusion;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredChunk;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.ScoredOrdinal;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.StorageBenchmarkReport;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorHit;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMath;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMatrix;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorQuery;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorStorage;
 import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of VectorSearchService for semantic similarity search
  * Uses pgvector for efficient vector similarity queries
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
 public class VectorSearchServiceImpl implements VectorSearchService {
 
     private final DocumentChunkRepository documentChunkRepository;
+    private final DocumentRepository documentRepository;
     private final EmbeddingService embeddingService;
+    private final VectorSearchConfiguration vectorConfig;
+    private final Executor searchExecutor;
+    private final ObjectProvider<EmbeddingStoreManager> embeddingStore;
+    private final ObjectProvider<NeighborGraphManager> neighborGraph;
+
+    public VectorSearchServiceImpl(
+            DocumentChunkRepository documentChunkRepository,
+            DocumentRepository documentRepository,
+            EmbeddingService embeddingService,
+            VectorSearchConfiguration vectorConfig,
+            @Qualifier("vectorTaskExecutor") Executor searchExecutor,
+            ObjectProvider<EmbeddingStoreManager> embeddingStore,
+            ObjectProvider<NeighborGraphManager> neighborGraph) {
+        this.documentChunkRepository = documentChunkRepository;
+        this.documentRepository = documentRepository;
+        this.embeddingService = embeddingService;
+        this.vectorConfig = vectorConfig;
+        this.searchExecutor = searchExecutor;
+        this.embeddingStore = embeddingStore;
+        this.neighborGraph = neighborGraph;
+    }
 
     @Override
     public List<DocumentChunk> findSimilarContent(
@@ -33,42 +85,34 @@ public class VectorSearchServiceImpl implements VectorSearchService {
             Float minSimilarityScore,
             Integer limit) {
         
+        return toChunks(searchScored(queryText, VectorQuery.builder()
+                .domainTags(domainTags)
+                .minSimilarity(minSimilarityScore)
+                .limit(limit != null ? limit : 10)
+                .build()));
+    }
+
+    @Override
+    public List<ScoredChunk> searchScored(String queryText, VectorQuery options) {
         log.info("Searching for similar content with query: '{}'", queryText);
         
         try {
-            // Generate embedding for the search query
+            // Generate embedding for the search query (once per request)
             float[] queryEmbedding = embeddingService.embedText(queryText);
-            String embeddingString = floatArrayToString(queryEmbedding);
+            return searchScored(options.toBuilder().embedding(queryEmbedding).build());
             
-            // Convert domain tags to array
-            String[] domainTagsArray = domainTags != null ? 
-                domainTags.toArray(new String[0]) : null;
-            
-            // Use similarity threshold search if specified
-            if (minSimilarityScore != null && minSimilarityScore > 0) {
-                List<Object[]> results = documentChunkRepository.findSimilarChunksWithScore(
-                        embeddingString, 
-                        minSimilarityScore, 
-                        domainTagsArray, 
-                        limit != null ? limit : 10
-                );
-                
-                // Convert Object[] results to DocumentChunk entities
-                List<DocumentChunk> chunks = new ArrayList<>();
-                for (Object[] result : results) {
-                    if (result[0] instanceof DocumentChunk) {
-                        chunks.add((DocumentChunk) result[0]);
-                    }
-                }
-                return chunks;
-            } else {
-                // Use basic similarity search
-                return documentChunkRepository.findSimilarChunks(
-                        embeddingString, 
-                        domainTagsArray, 
-                        limit != null ? limit : 10
-                );
-            }
+        } catch (Exception e) {
+            log.error("Error during vector search: {}", e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<ScoredChunk> searchScored(VectorQuery query) {
+        try {
+            VectorQuery pool = query.candidatePool(vectorConfig.getMmr().getCandidateFactor());
+            List<VectorHit> hits = searchHits(pool);
+            return MmrDiversifier.diversify(documentChunkRepository.findScoredChunks(hits), query);
             
         } catch (Exception e) {
             log.error("Error during vector search: {}", e.getMessage(), e);
@@ -76,6 +120,60 @@ public class VectorSearchServiceImpl implements VectorSearchService {
         }
     }
 
+    @Override
+    public List<ScoredChunk> searchHybrid(String queryText, VectorQuery options) {
+        return searchHybrid(queryText, options, this::searchScored);
+    }
+
+    /**
+     * Hybrid search with the vector leg supplied by the calling engine
+     * The lexical leg (always tsvector in the database) runs while the query is embedded.
+     */
+    public List<ScoredChunk> searchHybrid(String queryText, VectorQuery options,
+                                          Function<VectorQuery, List<ScoredChunk>> vectorSearch) {
+        log.info("Hybrid search for query: '{}'", queryText);
+        VectorQuery pool = options.candidatePool(vectorConfig.getMmr().getCandidateFactor());
+        CompletableFuture<List<VectorHit>> lexicalLeg = startLexicalSearch(queryText, pool);
+
+        float[] queryEmbedding = null;
+        List<ScoredChunk> vectorResults = List.of();
+        try {
+            queryEmbedding = embeddingService.embedText(queryText);
+            vectorResults = vectorSearch.apply(pool.toBuilder().embedding(queryEmbedding).build());
+        } catch (Exception e) {
+            log.error("Vector leg of hybrid search failed, using lexical results only: {}", e.getMessage());
+        }
+
+        List<ScoredChunk> fused = fuse(queryEmbedding, vectorResults, awaitLexicalSearch(lexicalLeg), pool.getLimit());
+        return MmrDiversifier.diversify(fused, options);
+    }
+
+    @Override
+    public List<ScoredChunk> searchDocument(float[] queryEmbedding, UUID documentId, int limit, float minSimilarity) {
+        if (queryEmbedding == null || queryEmbedding.length == 0) {
+            return new ArrayList<>();
+        }
+
+        EmbeddingStoreManager store = readyStore();
+        if (store != null) {
+            return documentChunkRepository.findScoredChunks(
+                    store.searchDocument(queryEmbedding, documentId, limit, minSimilarity));
+        }
+
+        List<DocumentChunk> documentChunks = documentChunkRepository.findByDocumentIdOrderByChunkIndex(documentId);
+        return findTopKSimilar(
+                queryEmbedding,
+                documentChunks.stream().map(DocumentChunk::getEmbeddingAsFloatArray).toList(),
+                limit,
+                minSimilarity
+        ).stream()
+                .map(scored -> {
+                    DocumentChunk chunk = documentChunks.get(scored.ordinal());
+                    return new ScoredChunk(chunk.getId(), scored.score(), chunk);
+                })
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
     @Override
     public List<DocumentChunk> findSimilarToChunk(
             String chunkId, 
@@ -84,22 +182,30 @@ public class VectorSearchServiceImpl implements VectorSearchService {
         
         try {
             UUID chunkUuid = UUID.fromString(chunkId);
-            DocumentChunk sourceChunk = documentChunkRepository.findById(chunkUuid)
-                    .orElseThrow(() -> new IllegalArgumentException("Chunk not found: " + chunkId));
-            
-            if (sourceChunk.getEmbedding() == null) {
-                log.warn("Source chunk {} has no embedding", chunkId);
-                return new ArrayList<>();
+            List<DocumentChunk> neighbors = findStoredNeighbors(chunkUuid, domainTags, limit);
+            if (neighbors != null) {
+                return neighbors;
+            }
+
+            EmbeddingStoreManager store = readyStore();
+            float[] embedding = store != null ? store.getEmbedding(chunkUuid) : null;
+
+            if (embedding == null) {
+                DocumentChunk sourceChunk = documentChunkRepository.findById(chunkUuid)
+                        .orElseThrow(() -> new IllegalArgumentException("Chunk not found: " + chunkId));
+
+                if (!sourceChunk.hasEmbedding()) {
+                    log.warn("Source chunk {} has no embedding", chunkId);
+                    return new ArrayList<>();
+                }
+                embedding = sourceChunk.getEmbedding();
             }
             
-            String[] domainTagsArray = domainTags != null ? 
-                domainTags.toArray(new String[0]) : null;
-            
-            return documentChunkRepository.findSimilarChunks(
-                    sourceChunk.getEmbedding(), 
-                    domainTagsArray, 
-                    limit != null ? limit : 10
-            );
+            return toChunks(searchScored(VectorQuery.builder()
+                    .embedding(embedding)
+                    .domainTags(domainTags)
+                    .limit(limit != null ? limit : 10)
+                    .build()));
             
         } catch (Exception e) {
             log.error("Error finding similar chunks to {}: {}", chunkId, e.getMessage());
@@ -107,29 +213,55 @@ public class VectorSearchServiceImpl implements VectorSearchService {
         }
     }
 
+    /**
+     * Similar chunks from the precomputed neighbour graph; null when the graph cannot answer
+     */
+    public List<DocumentChunk> findStoredNeighbors(UUID chunkId, List<String> domainTags, Integer limit) {
+        NeighborGraphManager graph = neighborGraph.getIfAvailable();
+        if (graph == null) {
+            return null;
+        }
+        ChunkFilter filter = domainTags != null && !domainTags.isEmpty() ? ChunkFilter.anyTag(domainTags) : null;
+        List<VectorHit> neighbors = graph.similarChunks(chunkId, filter, limit != null ? limit : 10);
+        return neighbors != null ? toChunks(documentChunkRepository.findScoredChunks(neighbors)) : null;
+    }
+
+    @Override
+    public List<Document> findRelatedDocuments(UUID documentId, int limit) {
+        NeighborGraphManager graph = neighborGraph.getIfAvailable();
+        if (graph != null) {
+            List<DocumentHit> related = graph.relatedDocuments(documentId, List.of(), limit);
+            if (!related.isEmpty()) {
+                return documentRepository.findAllByIdInOrder(related.stream().map(DocumentHit::documentId).toList());
+            }
+        }
+
+        // Graph not computed for this document yet: nearest document embeddings, live
+        float[] documentEmbedding = documentRepository.findById(documentId)
+                .map(Document::getDocumentEmbedding)
+                .orElse(null);
+        if (documentEmbedding == null) {
+            return new ArrayList<>();
+        }
+        List<UUID> nearest = documentChunkRepository.searchDocuments(
+                VectorQuery.builder().embedding(documentEmbedding).build(), limit + 1);
+        return documentRepository.findAllByIdInOrder(nearest.stream()
+                .filter(id -> !id.equals(documentId))
+                .limit(limit)
+                .toList());
+    }
+
     @Override
     public List<DocumentChunk> semanticSearch(
             String searchQuery,
             List<String> includeTypes,
             List<String> excludeTypes,
             Integer limit) {
-        
-        try {
-            float[] queryEmbedding = embeddingService.embedText(searchQuery);
-            String embeddingString = floatArrayToString(queryEmbedding);
-            
-            // Basic search without type filtering for now
-            // Implement content type filtering
-            return documentChunkRepository.findSimilarChunks(
-                    embeddingString, 
-                    null, // No domain tag filtering
-                    limit != null ? limit : 20
-            );
-            
-        } catch (Exception e) {
-            log.error("Error during semantic search: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+
+        return toChunks(searchScored(searchQuery, VectorQuery.builder()
+                .filter(ChunkFilter.contentTypes(includeTypes, excludeTypes))
+                .limit(limit != null ? limit : 20)
+                .build()));
     }
 
     @Override
@@ -142,33 +274,99 @@ public class VectorSearchServiceImpl implements VectorSearchService {
         }
     }
 
+    @Override
+    public List<float[]> getTextEmbeddings(List<String> texts) {
+        try {
+            return embeddingService.embedBatch(texts);
+        } catch (Exception e) {
+            log.error("Error generating embeddings for {} texts: {}", texts.size(), e.getMessage());
+            List<float[]> empty = new ArrayList<>(texts.size());
+            texts.forEach(text -> empty.add(new float[0]));
+            return empty;
+        }
+    }
+
     @Override
     public float calculateSimilarity(float[] embedding1, float[] embedding2) {
-        if (embedding1 == null || embedding2 == null || 
-            embedding1.length == 0 || embedding2.length == 0 ||
-            embedding1.length != embedding2.length) {
+        // Unit-length embeddings (EmbeddingService contract): cosine is the dot product (SIMD when available)
+        if (embedding1 == null || embedding2 == null || embedding1.length == 0
+                || embedding1.length != embedding2.length) {
             return 0.0f;
         }
+        return VectorMath.dot(embedding1, embedding2);
+    }
+
+    @Override
+    public List<ScoredOrdinal> findTopKSimilar(
+            float[] queryEmbedding,
+            List<float[]> candidates,
+            int k,
+            float minSimilarity) {
         
-        // Cosine similarity calculation
-        float dotProduct = 0.0f;
-        float magnitude1 = 0.0f;
-        float magnitude2 = 0.0f;
-        
-        for (int i = 0; i < embedding1.length; i++) {
-            dotProduct += embedding1[i] * embedding2[i];
-            magnitude1 += embedding1[i] * embedding1[i];
-            magnitude2 += embedding2[i] * embedding2[i];
+        if (queryEmbedding == null || queryEmbedding.length == 0 || candidates.isEmpty()) {
+            return new ArrayList<>();
         }
         
-        magnitude1 = (float) Math.sqrt(magnitude1);
-        magnitude2 = (float) Math.sqrt(magnitude2);
-        
-        if (magnitude1 == 0.0f || magnitude2 == 0.0f) {
-            return 0.0f;
+        return VectorMatrix.of(candidates, queryEmbedding.length)
+                .topK(queryEmbedding, k, minSimilarity);
+    }
+
+    @Override
+    public QuantizationReport evaluateQuantization(int k, int sampleSize) {
+        // Start at a random id: chunk ids are random UUIDs, so the page is an unbiased sample
+        Map<UUID, float[]> sample = new LinkedHashMap<>();
+        documentChunkRepository.findActiveEmbeddingsAfter(UUID.randomUUID(), PageRequest.of(0, sampleSize))
+                .forEach(row -> sample.put(row.chunkId(), row.embedding()));
+        if (sample.size() < sampleSize) {
+            documentChunkRepository.findActiveEmbeddingsAfter(
+                            new UUID(0L, 0L), PageRequest.of(0, sampleSize - sample.size()))
+                    .forEach(row -> sample.putIfAbsent(row.chunkId(), row.embedding()));
         }
-        
-        return dotProduct / (magnitude1 * magnitude2);
+
+        int queryCount = Math.min(100, Math.max(1, sample.size() / 10));
+        return QuantizationReport.evaluate(new ArrayList<>(sample.values()), vectorConfig.getDimension(), queryCount, k,
+                vectorConfig.getHnsw().getRerankFactor());
+    }
+
+    @Override
+    public StorageBenchmarkReport benchmarkHalfPrecision(int k, int queryCount) {
+        VectorStorage baseline = VectorStorage.FLOAT32;
+        VectorStorage candidate = VectorStorage.HALFVEC_SHADOW;
+        if (!documentChunkRepository.hasStorage(baseline) || !documentChunkRepository.hasStorage(candidate)) {
+            throw new IllegalStateException("Both float32 and halfvec shadow embedding columns are required (apply V7, before the cutover)");
+        }
+
+        List<float[]> queries = documentChunkRepository
+                .findActiveEmbeddingsAfter(UUID.randomUUID(), PageRequest.of(0, queryCount)).stream()
+                .map(row -> row.embedding())
+                .toList();
+        long[] baselineNanos = new long[queries.size()];
+        long[] candidateNanos = new long[queries.size()];
+        double recallSum = 0.0;
+
+        for (int i = 0; i < queries.size(); i++) {
+            VectorQuery query = VectorQuery.builder().embedding(queries.get(i)).limit(k).build();
+            // Alternate which column goes first so neither always runs on a warmer cache
+            boolean baselineFirst = i % 2 == 0;
+            long start = System.nanoTime();
+            List<VectorHit> first = documentChunkRepository.searchSimilar(query, baselineFirst ? baseline : candidate);
+            long middle = System.nanoTime();
+            List<VectorHit> second = documentChunkRepository.searchSimilar(query, baselineFirst ? candidate : baseline);
+            long end = System.nanoTime();
+
+            List<VectorHit> baselineHits = baselineFirst ? first : second;
+            List<VectorHit> candidateHits = baselineFirst ? second : first;
+            baselineNanos[i] = baselineFirst ? middle - start : end - middle;
+            candidateNanos[i] = baselineFirst ? end - middle : middle - start;
+
+            Set<UUID> truth = new HashSet<>();
+            baselineHits.forEach(hit -> truth.add(hit.chunkId()));
+            long found = candidateHits.stream().filter(hit -> truth.contains(hit.chunkId())).count();
+            recallSum += truth.isEmpty() ? 1.0 : (double) found / truth.size();
+        }
+
+        return StorageBenchmarkReport.of(baseline, candidate, k, recallSum, baselineNanos, candidateNanos,
+                documentChunkRepository.storageFootprint(baseline), documentChunkRepository.storageFootprint(candidate));
     }
 
     @Override
@@ -185,28 +383,113 @@ public class VectorSearchServiceImpl implements VectorSearchService {
             String userId,
             Integer limit) {
         
-        //Implement personalized recommendations based on user history
-        // For now, return high-quality chunks
+        int resultLimit = limit != null ? limit : 10;
+        EmbeddingStoreManager store = readyStore();
+        if (store != null && userId != null) {
+            try {
+                // Profile = mean embedding of the user's own documents; recommend chunks from other documents
+                Set<UUID> ownDocuments = store.documentsUploadedBy(UUID.fromString(userId));
+                float[] profile = store.profileVector(ownDocuments);
+                if (profile != null) {
+                    return toChunks(documentChunkRepository.findScoredChunks(
+                            store.search(profile, resultLimit, 0.0f, ownDocuments)));
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid user id for recommendations: {}", userId);
+            }
+        }
+
+        // No history (or store not loaded yet): return high-quality chunks
         return documentChunkRepository.findHighQualityChunks(0.8f)
                 .stream()
-                .limit(limit != null ? limit : 10)
+                .limit(resultLimit)
                 .toList();
     }
 
+    // Private helper methods
+
     /**
-     * Convert float array to comma-separated string for database storage
+     * Two-stage search (top documents, then only their chunks) when enabled; all chunks otherwise
+     * Falls back to the flat search while no document embeddings exist yet
      */
-    private String floatArrayToString(float[] array) {
-        if (array == null || array.length == 0) {
-            return "[]";
+    private List<VectorHit> searchHits(VectorQuery query) {
+        VectorSearchConfiguration.Hierarchical hierarchical = vectorConfig.getHierarchical();
+        int documentCandidates = query.getDocumentCandidates() != null ? query.getDocumentCandidates()
+                : hierarchical.isEnabled() ? hierarchical.getDocumentCandidates() : 0;
+
+        if (documentCandidates > 0) {
+            List<UUID> documentIds = documentChunkRepository.searchDocuments(query, documentCandidates);
+            if (!documentIds.isEmpty()) {
+                log.debug("Two-stage search: scoring chunks of {} documents", documentIds.size());
+                return documentChunkRepository.searchSimilarInDocuments(query, documentIds);
+            }
         }
-        
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < array.length; i++) {
-            if (i > 0) sb.append(",");
-            sb.append(array[i]);
+        return documentChunkRepository.searchSimilar(query);
+    }
+
+    private EmbeddingStoreManager readyStore() {
+        EmbeddingStoreManager store = embeddingStore.getIfAvailable();
+        return store != null && store.isReady() ? store : null;
+    }
+
+    private CompletableFuture<List<VectorHit>> startLexicalSearch(String queryText, VectorQuery options) {
+        try {
+            return CompletableFuture.supplyAsync(
+                    () -> documentChunkRepository.searchLexical(queryText, options), searchExecutor);
+        } catch (RuntimeException e) {
+            log.warn("Lexical search not scheduled ({}), running it inline", e.getMessage());
+            return CompletableFuture.completedFuture(documentChunkRepository.searchLexical(queryText, options));
         }
-        sb.append("]");
-        return sb.toString();
     }
-}
\ No newline at end of file
+
+    private List<VectorHit> awaitLexicalSearch(CompletableFuture<List<VectorHit>> lexicalLeg) {
+        try {
+            return lexicalLeg.get(vectorConfig.getHybrid().getLexicalTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Lexical leg of hybrid search failed, using vector results only: {}", e.getMessage());
+        }
+        lexicalLeg.cancel(true);
+        return List.of();
+    }
+
+    /**
+     * Reciprocal-rank fusion of both legs; the reported score stays a similarity
+     * (lexical-only chunks are scored against the query embedding)
+     */
+    private List<ScoredChunk> fuse(float[] queryEmbedding, List<ScoredChunk> vectorResults,
+                                   List<VectorHit> lexicalHits, int limit) {
+        List<VectorHit> fused = RankFusion.reciprocalRank(List.of(
+                vectorResults.stream().map(ScoredChunk::chunkId).toList(),
+                lexicalHits.stream().map(VectorHit::chunkId).toList()),
+                vectorConfig.getHybrid().getRrfK(), limit);
+
+        Map<UUID, ScoredChunk> resultsById = new HashMap<>();
+        vectorResults.forEach(result -> resultsById.put(result.chunkId(), result));
+        List<UUID> lexicalOnly = fused.stream()
+                .map(VectorHit::chunkId)
+                .filter(chunkId -> !resultsById.containsKey(chunkId))
+                .toList();
+        if (!lexicalOnly.isEmpty()) {
+            for (DocumentChunk chunk : documentChunkRepository.findAllById(lexicalOnly)) {
+                float score = queryEmbedding == null || !chunk.hasEmbedding() ? 0.0f
+                        : chunk.hasNormalizedEmbedding()
+                        ? VectorMath.dot(queryEmbedding, chunk.getEmbedding())
+                        : VectorMath.cosine(queryEmbedding, chunk.getEmbedding());
+                resultsById.put(chunk.getId(), new ScoredChunk(chunk.getId(), score, chunk));
+            }
+        }
+
+        return fused.stream()
+                .map(hit -> resultsById.get(hit.chunkId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private List<DocumentChunk> toChunks(List<ScoredChunk> scoredChunks) {
+        return scoredChunks.stream()
+                .map(ScoredChunk::chunk)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,13 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Filterable attributes of one indexed chunk
+ */
+public record ChunkAttributes(Collection<String> domainTags, String contentType, UUID uploadedBy) {
+
+    public static final ChunkAttributes NONE = new ChunkAttributes(List.of(), null, null);
+}
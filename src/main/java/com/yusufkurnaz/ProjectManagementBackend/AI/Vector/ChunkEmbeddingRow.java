@@ -0,0 +1,9 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.UUID;
+
+/**
+ * Lightweight projection of a chunk embedding plus its filter attributes (no chunk text loaded)
+ */
+public record ChunkEmbeddingRow(UUID chunkId, UUID documentId, String contentType, UUID uploadedBy, float[] embedding) {
+}
@@ -0,0 +1,126 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Boolean filter over chunk attributes (domain tag, content type, uploader)
+ * Follows OCP - One filter model evaluated as bitmaps locally and as SQL on pgvector
+ *
+ * Only active documents are ever searched, so "active" is implicit in every filter.
+ */
+public sealed interface ChunkFilter {
+
+    /**
+     * Document has at least one of the domain tags
+     */
+    record AnyTag(Set<String> tags) implements ChunkFilter {
+    }
+
+    /**
+     * Chunk content type is one of the values
+     */
+    record ContentTypeIn(Set<String> contentTypes) implements ChunkFilter {
+    }
+
+    /**
+     * Document was uploaded by the user
+     */
+    record UploadedBy(UUID userId) implements ChunkFilter {
+    }
+
+    record And(List<ChunkFilter> filters) implements ChunkFilter {
+    }
+
+    record Or(List<ChunkFilter> filters) implements ChunkFilter {
+    }
+
+    record Not(ChunkFilter filter) implements ChunkFilter {
+    }
+
+    static ChunkFilter anyTag(Collection<String> tags) {
+        return new AnyTag(Set.copyOf(tags));
+    }
+
+    static ChunkFilter contentTypeIn(Collection<String> contentTypes) {
+        return new ContentTypeIn(Set.copyOf(contentTypes));
+    }
+
+    static ChunkFilter uploadedBy(UUID userId) {
+        return new UploadedBy(Objects.requireNonNull(userId));
+    }
+
+    static ChunkFilter not(ChunkFilter filter) {
+        return new Not(Objects.requireNonNull(filter));
+    }
+
+    static ChunkFilter or(ChunkFilter... filters) {
+        return new Or(List.of(filters));
+    }
+
+    /**
+     * AND of the non-null filters; null when nothing is left (= no filter)
+     */
+    static ChunkFilter and(ChunkFilter... filters) {
+        List<ChunkFilter> parts = new ArrayList<>();
+        Arrays.stream(filters).filter(Objects::nonNull).forEach(parts::add);
+        if (parts.isEmpty()) {
+            return null;
+        }
+        return parts.size() == 1 ? parts.get(0) : new And(List.copyOf(parts));
+    }
+
+    /**
+     * Include/exclude content-type lists as used by semanticSearch (null/empty = unrestricted)
+     */
+    static ChunkFilter contentTypes(Collection<String> includeTypes, Collection<String> excludeTypes) {
+        ChunkFilter include = includeTypes != null && !includeTypes.isEmpty()
+                ? contentTypeIn(new LinkedHashSet<>(includeTypes)) : null;
+        ChunkFilter exclude = excludeTypes != null && !excludeTypes.isEmpty()
+                ? not(contentTypeIn(new LinkedHashSet<>(excludeTypes))) : null;
+        return and(include, exclude);
+    }
+
+    /**
+     * Uploaders every matching chunk belongs to; null = not restricted by uploader
+     * Lets owner-partitioned engines search only the partitions that can match
+     */
+    static Set<UUID> uploaders(ChunkFilter filter) {
+        if (filter instanceof UploadedBy uploadedBy) {
+            return Set.of(uploadedBy.userId());
+        }
+        if (filter instanceof And and) {
+            Set<UUID> result = null;
+            for (ChunkFilter part : and.filters()) {
+                Set<UUID> owners = uploaders(part);
+                if (owners != null) {
+                    if (result == null) {
+                        result = new HashSet<>(owners);
+                    } else {
+                        result.retainAll(owners);
+                    }
+                }
+            }
+            return result;
+        }
+        if (filter instanceof Or or) {
+            Set<UUID> result = new HashSet<>();
+            for (ChunkFilter part : or.filters()) {
+                Set<UUID> owners = uploaders(part);
+                if (owners == null) {
+                    return null;
+                }
+                result.addAll(owners);
+            }
+            return result;
+        }
+        return null; // tags, content types and negations say nothing about the uploader
+    }
+}
@@ -0,0 +1,210 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compressed ordinal bitmaps per domain tag, content type and uploader
+ * Follows SRP - Single responsibility: Attribute filters for the local vector index
+ *
+ * Ordinals are never reused, so removal only clears the live bitmap; stale
+ * attribute bits disappear when the owner rebuilds (remaps) the index.
+ */
+public final class ChunkFilterIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+    private final Map<String, RoaringBitmap> byContentType = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> byUploader = new HashMap<>();
+
+    public void add(int ordinal, ChunkAttributes attributes) {
+        lock.writeLock().lock();
+        try {
+            live.add(ordinal);
+            if (attributes.domainTags() != null) {
+                attributes.domainTags().forEach(tag -> byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(ordinal));
+            }
+            if (attributes.contentType() != null) {
+                byContentType.computeIfAbsent(attributes.contentType(), key -> new RoaringBitmap()).add(ordinal);
+            }
+            if (attributes.uploadedBy() != null) {
+                byUploader.computeIfAbsent(attributes.uploadedBy(), key -> new RoaringBitmap()).add(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int ordinal) {
+        lock.writeLock().lock();
+        try {
+            live.remove(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Live ordinals matching the filter (a new bitmap owned by the caller)
+     */
+    public RoaringBitmap evaluate(ChunkFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = filter == null ? live.clone() : evaluateNode(filter);
+            result.and(live);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int liveCount() {
+        lock.readLock().lock();
+        try {
+            return live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy live memberships to new ordinals (newOrdinals[old] = new, or -1 when dropped)
+     */
+    public ChunkFilterIndex remap(int[] newOrdinals) {
+        ChunkFilterIndex remapped = new ChunkFilterIndex();
+        lock.readLock().lock();
+        try {
+            remapped.live.or(remapOrdinals(live, newOrdinals));
+            byTag.forEach((tag, bitmap) -> remapped.byTag.put(tag, remapOrdinals(bitmap, newOrdinals)));
+            byContentType.forEach((type, bitmap) -> remapped.byContentType.put(type, remapOrdinals(bitmap, newOrdinals)));
+            byUploader.forEach((user, bitmap) -> remapped.byUploader.put(user, remapOrdinals(bitmap, newOrdinals)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return remapped;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            live.serialize(out);
+            writeMap(out, byTag, out::writeUTF);
+            writeMap(out, byContentType, out::writeUTF);
+            writeMap(out, byUploader, user -> {
+                out.writeLong(user.getMostSignificantBits());
+                out.writeLong(user.getLeastSignificantBits());
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static ChunkFilterIndex readFrom(DataInput in) throws IOException {
+        ChunkFilterIndex index = new ChunkFilterIndex();
+        index.live.deserialize(in);
+        readMap(in, index.byTag, DataInput::readUTF);
+        readMap(in, index.byContentType, DataInput::readUTF);
+        readMap(in, index.byUploader, input -> new UUID(input.readLong(), input.readLong()));
+        return index;
+    }
+
+    // Private helper methods
+
+    private RoaringBitmap evaluateNode(ChunkFilter filter) {
+        if (filter instanceof ChunkFilter.AnyTag anyTag) {
+            return union(byTag, anyTag.tags());
+        }
+        if (filter instanceof ChunkFilter.ContentTypeIn contentTypeIn) {
+            return union(byContentType, contentTypeIn.contentTypes());
+        }
+        if (filter instanceof ChunkFilter.UploadedBy uploadedBy) {
+            RoaringBitmap bitmap = byUploader.get(uploadedBy.userId());
+            return bitmap != null ? bitmap.clone() : new RoaringBitmap();
+        }
+        if (filter instanceof ChunkFilter.And and) {
+            RoaringBitmap result = null;
+            for (ChunkFilter child : and.filters()) {
+                RoaringBitmap bitmap = evaluateNode(child);
+                if (result == null) {
+                    result = bitmap;
+                } else {
+                    result.and(bitmap);
+                }
+                if (result.isEmpty()) {
+                    break; // nothing can match any more
+                }
+            }
+            return result != null ? result : live.clone();
+        }
+        if (filter instanceof ChunkFilter.Or or) {
+            RoaringBitmap result = new RoaringBitmap();
+            or.filters().forEach(child -> result.or(evaluateNode(child)));
+            return result;
+        }
+        if (filter instanceof ChunkFilter.Not not) {
+            return RoaringBitmap.andNot(live, evaluateNode(not.filter()));
+        }
+        throw new IllegalArgumentException("Unsupported chunk filter: " + filter);
+    }
+
+    private static <K> RoaringBitmap union(Map<K, RoaringBitmap> bitmaps, Iterable<K> keys) {
+        RoaringBitmap result = new RoaringBitmap();
+        for (K key : keys) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    private static RoaringBitmap remapOrdinals(RoaringBitmap source, int[] newOrdinals) {
+        RoaringBitmap target = new RoaringBitmap();
+        IntIterator ordinals = source.getIntIterator();
+        while (ordinals.hasNext()) {
+            int ordinal = ordinals.next();
+            if (ordinal < newOrdinals.length && newOrdinals[ordinal] >= 0) {
+                target.add(newOrdinals[ordinal]);
+            }
+        }
+        target.runOptimize();
+        return target;
+    }
+
+    private static <K> void writeMap(DataOutput out, Map<K, RoaringBitmap> bitmaps, KeyWriter<K> keyWriter) throws IOException {
+        out.writeInt(bitmaps.size());
+        for (Map.Entry<K, RoaringBitmap> entry : bitmaps.entrySet()) {
+            keyWriter.write(entry.getKey());
+            entry.getValue().serialize(out);
+        }
+    }
+
+    private static <K> void readMap(DataInput in, Map<K, RoaringBitmap> bitmaps, KeyReader<K> keyReader) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            K key = keyReader.read(in);
+            RoaringBitmap bitmap = new RoaringBitmap();
+            bitmap.deserialize(in);
+            bitmaps.put(key, bitmap);
+        }
+    }
+
+    @FunctionalInterface
+    private interface KeyWriter<K> {
+        void write(K key) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface KeyReader<K> {
+        K read(DataInput in) throws IOException;
+    }
+}
@@ -0,0 +1,9 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.UUID;
+
+/**
+ * Document id with similarity score (document-level neighbour graph)
+ */
+public record DocumentHit(UUID documentId, float score) {
+}
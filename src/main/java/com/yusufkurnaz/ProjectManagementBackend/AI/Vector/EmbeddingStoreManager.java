@@ -0,0 +1,348 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunkEmbeddingsUpdatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunksRemovedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.DocumentDeactivatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the memory-mapped embedding store in sync with document_chunks
+ * Follows SRP - Single responsibility: Store lifecycle (bootstrap, updates, compaction)
+ *
+ * After a restart only rows changed since the last sync are read from the database;
+ * in-process scoring paths (single document, similar-to-chunk, recommendations) read
+ * vectors from the mapping instead of loading entities.
+ */
+@Component
+@ConditionalOnProperty(name = "app.vector.store.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class EmbeddingStoreManager {
+
+    private static final Duration CATCH_UP_MARGIN = Duration.ofSeconds(60);
+
+    private final DocumentChunkRepository chunkRepository;
+    private final VectorSearchConfiguration vectorConfig;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile MappedEmbeddingStore store;
+    private volatile boolean ready;
+
+    /**
+     * Open the store and catch up with the database without blocking startup
+     */
+    @Async("vectorTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long start = System.currentTimeMillis();
+        Instant bootstrapStartedAt = Instant.now();
+
+        try {
+            MappedEmbeddingStore opened = openOrReset();
+            Instant syncedAt = opened.syncedAt();
+            if (syncedAt == null) {
+                loadFromDatabase(opened);
+                syncedAt = bootstrapStartedAt;
+            }
+
+            updateLock.lock();
+            try {
+                store = opened;
+                catchUp(opened, syncedAt);
+                opened.markSynced(bootstrapStartedAt);
+                opened.force();
+            } finally {
+                updateLock.unlock();
+            }
+            ready = true;
+            log.info("Embedding store ready with {} vectors in {} ms",
+                    opened.liveCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Embedding store bootstrap failed, scoring stays on the database: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Check if the store can serve reads
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Stored (unit-length) embedding of a chunk, or null if not stored
+     */
+    public float[] getEmbedding(UUID chunkId) {
+        MappedEmbeddingStore current = store;
+        return current != null ? current.vector(chunkId) : null;
+    }
+
+    /**
+     * Top-k chunks of one document by cosine similarity
+     */
+    public List<VectorHit> searchDocument(float[] queryEmbedding, UUID documentId, int limit, float minSimilarity) {
+        MappedEmbeddingStore current = store;
+        return current != null ? current.searchDocument(queryEmbedding, documentId, limit, minSimilarity) : List.of();
+    }
+
+    /**
+     * Top-k chunks over all documents except the excluded ones
+     */
+    public List<VectorHit> search(float[] queryEmbedding, int limit, float minSimilarity, Collection<UUID> excludedDocuments) {
+        MappedEmbeddingStore current = store;
+        return current != null ? current.search(queryEmbedding, limit, minSimilarity, excludedDocuments) : List.of();
+    }
+
+    /**
+     * Documents of the user that have stored embeddings
+     */
+    public Set<UUID> documentsUploadedBy(UUID userId) {
+        MappedEmbeddingStore current = store;
+        return current != null ? current.documentsUploadedBy(userId) : Set.of();
+    }
+
+    /**
+     * Normalized mean embedding of the documents (a simple interest profile), or null
+     */
+    public float[] profileVector(Collection<UUID> documentIds) {
+        MappedEmbeddingStore current = store;
+        return current != null ? current.centroid(documentIds) : null;
+    }
+
+    /**
+     * Exact re-scoring of approximate (quantized) candidates, best first, at most limit
+     * Candidates missing from the store keep their approximate score
+     */
+    public List<VectorHit> rerank(float[] queryEmbedding, List<VectorHit> candidates, int limit) {
+        float[] query = VectorMath.normalize(queryEmbedding);
+        List<VectorHit> rescored = new ArrayList<>(candidates.size());
+        for (VectorHit candidate : candidates) {
+            float[] vector = getEmbedding(candidate.chunkId());
+            rescored.add(vector != null ? new VectorHit(candidate.chunkId(), VectorMath.dot(query, vector)) : candidate);
+        }
+        rescored.sort(Comparator.comparingDouble(VectorHit::score).reversed());
+        return rescored.size() > limit ? new ArrayList<>(rescored.subList(0, limit)) : rescored;
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunkEmbeddingsUpdated(ChunkEmbeddingsUpdatedEvent event) {
+        if (store == null || event.chunkIds().isEmpty()) {
+            return; // bootstrap catch-up picks these up
+        }
+
+        List<ChunkEmbeddingRow> rows = chunkRepository.findEmbeddingsByIds(event.chunkIds());
+        updateLock.lock();
+        try {
+            Set<UUID> found = new HashSet<>();
+            for (ChunkEmbeddingRow row : rows) {
+                upsert(store, row);
+                found.add(row.chunkId());
+            }
+            for (UUID chunkId : event.chunkIds()) {
+                if (!found.contains(chunkId)) {
+                    store.remove(chunkId);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Embedding store update failed for document {}: {}", event.documentId(), e.getMessage());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunksRemoved(ChunksRemovedEvent event) {
+        if (store == null) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            event.chunkIds().forEach(store::remove);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentDeactivated(DocumentDeactivatedEvent event) {
+        if (store == null) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            store.removeDocument(event.documentId());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Record the sync point and rewrite the files without tombstones once they pass the threshold
+     */
+    @Scheduled(fixedDelayString = "${app.vector.store.maintenance-interval-ms:300000}")
+    public void maintain() {
+        if (!ready) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            MappedEmbeddingStore current = store;
+            current.markSynced(Instant.now());
+
+            int deleted = current.deletedCount();
+            int total = deleted + current.liveCount();
+            if (total == 0 || (double) deleted / total < vectorConfig.getStore().getCompactionThreshold()) {
+                current.force();
+                return;
+            }
+
+            long start = System.currentTimeMillis();
+            store = compact(current);
+            log.info("Embedding store compacted: dropped {} tombstones, {} vectors kept in {} ms",
+                    deleted, store.liveCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Embedding store maintenance failed: {}", e.getMessage(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        MappedEmbeddingStore current = store;
+        if (current == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            if (ready) {
+                current.markSynced(Instant.now());
+            }
+            current.close();
+        } catch (IOException e) {
+            log.warn("Could not close embedding store: {}", e.getMessage());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // Private helper methods
+
+    private MappedEmbeddingStore openOrReset() throws IOException {
+        Path path = storePath();
+        try {
+            return MappedEmbeddingStore.open(path, vectorConfig.getDimension(), vectorConfig.getStore().getSegmentCapacity());
+        } catch (IOException e) {
+            log.warn("Embedding store at {} is unusable, rebuilding: {}", path, e.getMessage());
+            MappedEmbeddingStore.delete(path);
+            return MappedEmbeddingStore.open(path, vectorConfig.getDimension(), vectorConfig.getStore().getSegmentCapacity());
+        }
+    }
+
+    private void loadFromDatabase(MappedEmbeddingStore target) throws IOException {
+        int pageSize = vectorConfig.getStore().getBootstrapPageSize();
+        UUID afterId = new UUID(0L, 0L); // smallest uuid in Postgres (unsigned byte) order
+
+        while (true) {
+            List<ChunkEmbeddingRow> page = chunkRepository.findActiveEmbeddingsAfter(afterId, PageRequest.of(0, pageSize));
+            for (ChunkEmbeddingRow row : page) {
+                if (row.embedding() != null && row.embedding().length == target.dimension()) {
+                    target.append(row.chunkId(), row.documentId(), row.uploadedBy(), row.embedding());
+                }
+            }
+            if (page.size() < pageSize) {
+                return;
+            }
+            afterId = page.get(page.size() - 1).chunkId();
+        }
+    }
+
+    /**
+     * Reconcile with the database: drop chunks no longer active, apply newer embeddings
+     */
+    private void catchUp(MappedEmbeddingStore target, Instant since) throws IOException {
+        Set<UUID> activeIds = new HashSet<>(chunkRepository.findActiveEmbeddedChunkIds());
+        List<UUID> stale = target.chunkIds().stream()
+                .filter(chunkId -> !activeIds.contains(chunkId))
+                .toList();
+        stale.forEach(target::remove);
+
+        LocalDateTime changedSince = LocalDateTime.ofInstant(since.minus(CATCH_UP_MARGIN), ZoneId.systemDefault());
+        List<ChunkEmbeddingRow> changed = chunkRepository.findEmbeddingsUpdatedSince(changedSince);
+        for (ChunkEmbeddingRow row : changed) {
+            upsert(target, row);
+        }
+
+        log.debug("Embedding store catch-up: {} stale chunks removed, {} changed chunks applied", stale.size(), changed.size());
+    }
+
+    private void upsert(MappedEmbeddingStore target, ChunkEmbeddingRow row) throws IOException {
+        if (row.embedding() == null || row.embedding().length != target.dimension()) {
+            return;
+        }
+        float[] stored = target.vector(row.chunkId());
+        if (stored != null && Arrays.equals(stored, VectorMath.normalize(row.embedding()))) {
+            return;
+        }
+        target.append(row.chunkId(), row.documentId(), row.uploadedBy(), row.embedding());
+    }
+
+    /**
+     * Write live vectors to a sibling directory, then swap directories; caller holds updateLock
+     */
+    private MappedEmbeddingStore compact(MappedEmbeddingStore current) throws IOException {
+        Path path = storePath();
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Path old = path.resolveSibling(path.getFileName() + ".old");
+        MappedEmbeddingStore.delete(compacted);
+        MappedEmbeddingStore.delete(old);
+
+        current.compactTo(compacted);
+        current.close();
+        Files.move(path, old, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(compacted, path, StandardCopyOption.ATOMIC_MOVE);
+        MappedEmbeddingStore.delete(old);
+        return MappedEmbeddingStore.open(path, vectorConfig.getDimension(), vectorConfig.getStore().getSegmentCapacity());
+    }
+
+    private Path storePath() {
+        return Paths.get(vectorConfig.getStore().getPath());
+    }
+}
@@ -0,0 +1,631 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Hierarchical Navigable Small World graph (Malkov &amp; Yashunin)
+ * Vectors are stored unit-normalized, so similarity is a plain dot product (cosine)
+ * With a {@link ScalarQuantizer} nodes keep int8 codes only (a quarter of the heap);
+ * queries stay float and are scored asymmetrically against the codes.
+ *
+ * Thread-safety: searches run concurrently under a read lock, inserts and
+ * removals are serialized under the write lock.
+ */
+public class HnswIndex implements VectorIndex {
+
+    private static final int SNAPSHOT_VERSION = 2; // 2 = optional int8 codes
+    private static final int MAX_LEVEL = 16;
+
+    private static final Comparator<ScoredOrdinal> BEST_FIRST =
+            Comparator.comparingDouble(ScoredOrdinal::score).reversed();
+    private static final Comparator<ScoredOrdinal> WORST_FIRST =
+            Comparator.comparingDouble(ScoredOrdinal::score);
+
+    private final int dimension;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final ScalarQuantizer quantizer; // null = float32 vectors
+    private final SplittableRandom random;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<VisitedSet> visitedSets = ThreadLocal.withInitial(VisitedSet::new);
+
+    private volatile int efSearch;
+    private Node[] nodes = new Node[1024];
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int liveCount;
+    private int deletedCount;
+
+    public HnswIndex(int dimension, int m, int efConstruction, int efSearch) {
+        this(dimension, m, efConstruction, efSearch, 42L);
+    }
+
+    public HnswIndex(int dimension, int m, int efConstruction, int efSearch, long seed) {
+        this(dimension, m, efConstruction, efSearch, seed, null);
+    }
+
+    /**
+     * Index storing int8 codes of the given quantizer instead of float vectors
+     */
+    public HnswIndex(int dimension, int m, int efConstruction, int efSearch, ScalarQuantizer quantizer) {
+        this(dimension, m, efConstruction, efSearch, 42L, quantizer);
+    }
+
+    public HnswIndex(int dimension, int m, int efConstruction, int efSearch, long seed, ScalarQuantizer quantizer) {
+        if (dimension <= 0 || m < 2) {
+            throw new IllegalArgumentException("Invalid HNSW parameters: dimension=" + dimension + ", m=" + m);
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.efSearch = Math.max(efSearch, 1);
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+        if (quantizer != null && quantizer.dimension() != dimension) {
+            throw new IllegalArgumentException("Quantizer dimension mismatch, expected " + dimension);
+        }
+        this.quantizer = quantizer;
+    }
+
+    private static final class Node {
+        final float[] vector; // null when quantized
+        final byte[] codes;   // null when float32
+        final int[][] neighbors; // per level, exact-size arrays replaced on write
+        boolean deleted;
+
+        Node(float[] vector, byte[] codes, int level) {
+            this.vector = vector;
+            this.codes = codes;
+            this.neighbors = new int[level + 1][];
+            Arrays.fill(neighbors, new int[0]);
+        }
+
+        int level() {
+            return neighbors.length - 1;
+        }
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    public int getEfSearch() {
+        return efSearch;
+    }
+
+    public void setEfSearch(int efSearch) {
+        this.efSearch = Math.max(efSearch, 1);
+    }
+
+    public VectorQuantization quantization() {
+        return quantizer != null ? VectorQuantization.INT8 : VectorQuantization.NONE;
+    }
+
+    /**
+     * Check if the stored vector of a live ordinal equals the (normalized, possibly quantized) vector
+     */
+    public boolean matches(int ordinal, float[] vector) {
+        lock.readLock().lock();
+        try {
+            Node node = ordinal >= 0 && ordinal < nodes.length ? nodes[ordinal] : null;
+            if (node == null || node.deleted || vector == null || vector.length != dimension) {
+                return false;
+            }
+            float[] normalized = VectorMath.normalize(vector);
+            return quantizer != null
+                    ? Arrays.equals(node.codes, quantizer.encode(normalized))
+                    : Arrays.equals(node.vector, normalized);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(int ordinal, float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Vector dimension mismatch, expected " + dimension);
+        }
+
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(ordinal);
+            if (nodes[ordinal] != null) {
+                throw new IllegalArgumentException("Ordinal already indexed: " + ordinal);
+            }
+
+            int level = randomLevel();
+            float[] normalized = VectorMath.normalize(vector);
+            Node node = quantizer != null
+                    ? new Node(null, quantizer.encode(normalized), level)
+                    : new Node(normalized, null, level);
+            nodes[ordinal] = node;
+            liveCount++;
+
+            if (entryPoint < 0) {
+                entryPoint = ordinal;
+                topLevel = level;
+                return;
+            }
+
+            Query query = query(normalized);
+            int current = entryPoint;
+            for (int l = topLevel; l > level; l--) {
+                current = greedyClosest(query, current, l);
+            }
+
+            for (int l = Math.min(level, topLevel); l >= 0; l--) {
+                List<ScoredOrdinal> candidates = searchLayer(query, current, efConstruction, l, null, 0);
+                candidates.sort(BEST_FIRST);
+                int[] selected = selectNeighbors(candidates, m);
+                node.neighbors[l] = selected;
+
+                for (int neighbor : selected) {
+                    connect(neighbor, ordinal, l);
+                }
+                current = candidates.get(0).ordinal();
+            }
+
+            if (level > topLevel) {
+                topLevel = level;
+                entryPoint = ordinal;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int ordinal) {
+        lock.writeLock().lock();
+        try {
+            Node node = ordinal < nodes.length ? nodes[ordinal] : null;
+            if (node != null && !node.deleted) {
+                node.deleted = true;
+                liveCount--;
+                deletedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(int ordinal) {
+        lock.readLock().lock();
+        try {
+            Node node = ordinal >= 0 && ordinal < nodes.length ? nodes[ordinal] : null;
+            return node != null && !node.deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stored vector; decoded (approximate) from the int8 codes in quantized mode
+     */
+    @Override
+    public float[] vector(int ordinal) {
+        lock.readLock().lock();
+        try {
+            Node node = ordinal >= 0 && ordinal < nodes.length ? nodes[ordinal] : null;
+            if (node == null) {
+                return null;
+            }
+            return quantizer != null ? quantizer.decode(node.codes) : node.vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ScoredOrdinal> search(float[] query, int k, IntPredicate filter) {
+        return search(query, k, efSearch, filter);
+    }
+
+    /**
+     * Top-k search with a per-query candidate list size (ef)
+     */
+    public List<ScoredOrdinal> search(float[] query, int k, int ef, IntPredicate filter) {
+        if (query == null || query.length != dimension || k <= 0) {
+            return List.of();
+        }
+
+        Query normalized = query(VectorMath.normalize(query));
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0 || liveCount == 0) {
+                return List.of();
+            }
+
+            int current = entryPoint;
+            for (int l = topLevel; l > 0; l--) {
+                current = greedyClosest(normalized, current, l);
+            }
+
+            IntPredicate accept = ordinal -> !nodes[ordinal].deleted && (filter == null || filter.test(ordinal));
+            List<ScoredOrdinal> results = searchLayer(normalized, current, Math.max(ef, k), 0, accept, k);
+            results.sort(BEST_FIRST);
+            return results.size() > k ? new ArrayList<>(results.subList(0, k)) : results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Brute-force scoring of the candidates; cheaper than graph traversal for selective filters
+     */
+    @Override
+    public List<ScoredOrdinal> searchExact(float[] query, int k, int[] candidates) {
+        if (query == null || query.length != dimension || k <= 0 || candidates.length == 0) {
+            return List.of();
+        }
+
+        Query normalized = query(VectorMath.normalize(query));
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(Math.min(k, candidates.length) + 1, WORST_FIRST);
+        lock.readLock().lock();
+        try {
+            for (int ordinal : candidates) {
+                Node node = ordinal >= 0 && ordinal < nodes.length ? nodes[ordinal] : null;
+                if (node == null || node.deleted) {
+                    continue;
+                }
+                float score = similarity(normalized, ordinal);
+                if (heap.size() < k) {
+                    heap.add(new ScoredOrdinal(ordinal, score));
+                } else if (score > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new ScoredOrdinal(ordinal, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<ScoredOrdinal> results = new ArrayList<>(heap);
+        results.sort(BEST_FIRST);
+        return results;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serialize graph (vectors, levels, adjacency, tombstones)
+     */
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(dimension);
+            out.writeInt(m);
+            out.writeInt(efConstruction);
+            out.writeInt(efSearch);
+            out.writeInt(entryPoint);
+            out.writeInt(topLevel);
+            out.writeBoolean(quantizer != null);
+            if (quantizer != null) {
+                quantizer.writeTo(out);
+            }
+
+            int highest = nodes.length - 1;
+            while (highest >= 0 && nodes[highest] == null) {
+                highest--;
+            }
+            out.writeInt(highest + 1);
+
+            for (int ordinal = 0; ordinal <= highest; ordinal++) {
+                Node node = nodes[ordinal];
+                out.writeBoolean(node != null);
+                if (node == null) {
+                    continue;
+                }
+                out.writeBoolean(node.deleted);
+                out.writeInt(node.level());
+                if (quantizer != null) {
+                    out.write(node.codes);
+                } else {
+                    for (float value : node.vector) {
+                        out.writeFloat(value);
+                    }
+                }
+                for (int[] levelNeighbors : node.neighbors) {
+                    out.writeInt(levelNeighbors.length);
+                    for (int neighbor : levelNeighbors) {
+                        out.writeInt(neighbor);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restore a graph written by {@link #writeTo(DataOutput)}
+     */
+    public static HnswIndex readFrom(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != 1 && version != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported HNSW snapshot version: " + version);
+        }
+
+        int dimension = in.readInt();
+        int m = in.readInt();
+        int efConstruction = in.readInt();
+        int efSearch = in.readInt();
+        int entryPoint = in.readInt();
+        int topLevel = in.readInt();
+        ScalarQuantizer quantizer = version >= 2 && in.readBoolean() ? ScalarQuantizer.readFrom(in) : null;
+        HnswIndex index = new HnswIndex(dimension, m, efConstruction, efSearch, quantizer);
+        index.entryPoint = entryPoint;
+        index.topLevel = topLevel;
+
+        int count = in.readInt();
+        index.nodes = new Node[Math.max(count, 1024)];
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (!in.readBoolean()) {
+                continue;
+            }
+            boolean deleted = in.readBoolean();
+            int level = in.readInt();
+            Node node;
+            if (quantizer != null) {
+                byte[] codes = new byte[dimension];
+                in.readFully(codes);
+                node = new Node(null, codes, level);
+            } else {
+                float[] vector = new float[dimension];
+                for (int i = 0; i < dimension; i++) {
+                    vector[i] = in.readFloat();
+                }
+                node = new Node(vector, null, level);
+            }
+            node.deleted = deleted;
+            for (int l = 0; l <= level; l++) {
+                int[] levelNeighbors = new int[in.readInt()];
+                for (int i = 0; i < levelNeighbors.length; i++) {
+                    levelNeighbors[i] = in.readInt();
+                }
+                node.neighbors[l] = levelNeighbors;
+            }
+
+            index.nodes[ordinal] = node;
+            if (deleted) {
+                index.deletedCount++;
+            } else {
+                index.liveCount++;
+            }
+        }
+        return index;
+    }
+
+    // Private helper methods
+
+    private int randomLevel() {
+        double uniform = 1.0 - random.nextDouble(); // (0, 1]
+        return Math.min(MAX_LEVEL, (int) (-Math.log(uniform) * levelMultiplier));
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Ordinal must be non-negative: " + ordinal);
+        }
+        if (ordinal >= nodes.length) {
+            nodes = Arrays.copyOf(nodes, Math.max(ordinal + 1, nodes.length * 2));
+        }
+    }
+
+    private Query query(float[] normalized) {
+        return new Query(normalized, quantizer != null ? quantizer.prepare(normalized) : null);
+    }
+
+    private float similarity(Query query, int ordinal) {
+        Node node = nodes[ordinal];
+        return query.prepared != null ? query.prepared.score(node.codes) : VectorMath.dot(query.vector, node.vector);
+    }
+
+    private float similarity(int a, int b) {
+        return quantizer != null
+                ? quantizer.dot(nodes[a].codes, nodes[b].codes)
+                : VectorMath.dot(nodes[a].vector, nodes[b].vector);
+    }
+
+    /**
+     * Greedy walk towards the query on a single upper level
+     */
+    private int greedyClosest(Query query, int start, int level) {
+        int current = start;
+        float best = similarity(query, current);
+        boolean improved = true;
+
+        while (improved) {
+            improved = false;
+            for (int neighbor : neighborsAt(current, level)) {
+                float score = similarity(query, neighbor);
+                if (score > best) {
+                    best = score;
+                    current = neighbor;
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Beam search on one level.
+     * When accept is given, traversal still visits rejected nodes (tombstones,
+     * filtered chunks) but only accepted nodes are collected, up to limit.
+     */
+    private List<ScoredOrdinal> searchLayer(Query query, int start, int ef, int level,
+                                            IntPredicate accept, int limit) {
+        VisitedSet visited = visitedSets.get();
+        visited.reset(nodes.length);
+
+        PriorityQueue<ScoredOrdinal> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<ScoredOrdinal> frontier = new PriorityQueue<>(WORST_FIRST);
+        PriorityQueue<ScoredOrdinal> accepted = accept != null ? new PriorityQueue<>(WORST_FIRST) : frontier;
+        int acceptedLimit = accept != null ? Math.max(limit, ef) : ef;
+
+        ScoredOrdinal first = new ScoredOrdinal(start, similarity(query, start));
+        visited.add(start);
+        candidates.add(first);
+        frontier.add(first);
+        if (accept != null && accept.test(start)) {
+            accepted.add(first);
+        }
+
+        while (!candidates.isEmpty()) {
+            ScoredOrdinal candidate = candidates.poll();
+            if (frontier.size() >= ef && candidate.score() < frontier.peek().score()) {
+                break;
+            }
+
+            for (int neighbor : neighborsAt(candidate.ordinal(), level)) {
+                if (!visited.add(neighbor)) {
+                    continue;
+                }
+
+                float score = similarity(query, neighbor);
+                if (frontier.size() < ef || score > frontier.peek().score()) {
+                    ScoredOrdinal scored = new ScoredOrdinal(neighbor, score);
+                    candidates.add(scored);
+                    frontier.add(scored);
+                    if (frontier.size() > ef) {
+                        frontier.poll();
+                    }
+                    if (accept != null && accept.test(neighbor)) {
+                        accepted.add(scored);
+                        if (accepted.size() > acceptedLimit) {
+                            accepted.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        return new ArrayList<>(accepted);
+    }
+
+    /**
+     * Neighbour selection heuristic (keeps diverse links, fills up with best remaining)
+     */
+    private int[] selectNeighbors(List<ScoredOrdinal> candidatesBestFirst, int maxNeighbors) {
+        List<Integer> selected = new ArrayList<>(maxNeighbors);
+        List<Integer> pruned = new ArrayList<>();
+
+        for (ScoredOrdinal candidate : candidatesBestFirst) {
+            if (selected.size() >= maxNeighbors) {
+                break;
+            }
+            boolean diverse = true;
+            for (int chosen : selected) {
+                if (similarity(candidate.ordinal(), chosen) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate.ordinal());
+            } else {
+                pruned.add(candidate.ordinal());
+            }
+        }
+
+        for (int i = 0; i < pruned.size() && selected.size() < maxNeighbors; i++) {
+            selected.add(pruned.get(i));
+        }
+        return selected.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void connect(int from, int to, int level) {
+        Node node = nodes[from];
+        int[] current = node.neighbors[level];
+        int[] extended = Arrays.copyOf(current, current.length + 1);
+        extended[current.length] = to;
+
+        int limit = level == 0 ? maxM0 : m;
+        if (extended.length <= limit) {
+            node.neighbors[level] = extended;
+            return;
+        }
+
+        List<ScoredOrdinal> scored = new ArrayList<>(extended.length);
+        for (int neighbor : extended) {
+            scored.add(new ScoredOrdinal(neighbor, similarity(from, neighbor)));
+        }
+        scored.sort(BEST_FIRST);
+        node.neighbors[level] = selectNeighbors(scored, limit);
+    }
+
+    private int[] neighborsAt(int ordinal, int level) {
+        int[][] neighbors = nodes[ordinal].neighbors;
+        return level < neighbors.length ? neighbors[level] : new int[0];
+    }
+
+    /**
+     * Normalized query, with precomputed int8 weights in quantized mode
+     */
+    private record Query(float[] vector, ScalarQuantizer.PreparedQuery prepared) {
+    }
+
+    /**
+     * Per-thread visited marks with generation counter (no clearing per search)
+     */
+    private static final class VisitedSet {
+        private int[] marks = new int[0];
+        private int generation;
+
+        void reset(int capacity) {
+            if (marks.length < capacity) {
+                marks = new int[capacity];
+                generation = 0;
+            }
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+
+        boolean add(int ordinal) {
+            if (marks[ordinal] == generation) {
+                return false;
+            }
+            marks[ordinal] = generation;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,588 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Inverted file index with product-quantized residuals (IVF-PQ, Jégou et al.)
+ * Vectors are normalized and assigned to the closest of nlist coarse centroids;
+ * the residual to that centroid is split into subspaces, each encoded as one byte
+ * (index into a 256-entry codebook), so a vector costs subspaces bytes plus its ordinal.
+ *
+ * Search probes the nprobe closest lists. Scores are asymmetric inner products:
+ * q·x ≈ q·centroid + Σ table[m][code_m], with the per-subspace tables computed
+ * once per query (they do not depend on the list, so probing more lists is cheap).
+ *
+ * Thread-safety: searches run concurrently under a read lock, adds and removals
+ * are serialized under the write lock. Training happens once, before any add.
+ */
+public class IvfPqIndex implements VectorIndex {
+
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int CODEBOOK_SIZE = 256;
+    private static final int TRAINING_ITERATIONS = 12;
+
+    private static final Comparator<ScoredOrdinal> BEST_FIRST =
+            Comparator.comparingDouble(ScoredOrdinal::score).reversed();
+    private static final Comparator<ScoredOrdinal> WORST_FIRST =
+            Comparator.comparingDouble(ScoredOrdinal::score);
+
+    private final int dimension;
+    private final int lists;
+    private final int subspaces;
+    private final int subDimension;
+    private final float[] centroids;  // lists x dimension
+    private final float[] codebooks;  // subspaces x CODEBOOK_SIZE x subDimension
+    private final PostingList[] postings;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile int nprobe;
+    private int[] listOf = new int[1024];     // ordinal -> list, -1 = absent
+    private int[] positionOf = new int[1024]; // ordinal -> position in its list
+    private final BitSet deleted = new BitSet();
+    private int liveCount;
+    private int deletedCount;
+
+    private IvfPqIndex(int dimension, int subspaces, float[] centroids, float[] codebooks, int nprobe) {
+        this.dimension = dimension;
+        this.lists = centroids.length / dimension;
+        this.subspaces = subspaces;
+        this.subDimension = dimension / subspaces;
+        this.centroids = centroids;
+        this.codebooks = codebooks;
+        this.postings = new PostingList[lists];
+        for (int list = 0; list < lists; list++) {
+            postings[list] = new PostingList();
+        }
+        this.nprobe = Math.max(1, nprobe);
+        Arrays.fill(listOf, -1);
+    }
+
+    /**
+     * Train coarse centroids (spherical k-means) and residual codebooks (k-means per subspace)
+     * on a sample; the returned index is empty
+     */
+    public static IvfPqIndex train(List<float[]> sample, int dimension, int lists, int subspaces, int nprobe, long seed) {
+        if (subspaces <= 0 || dimension % subspaces != 0) {
+            throw new IllegalArgumentException("Dimension " + dimension + " is not divisible into " + subspaces + " subspaces");
+        }
+        List<float[]> vectors = sample.stream()
+                .filter(vector -> vector != null && vector.length == dimension)
+                .map(VectorMath::normalize)
+                .toList();
+        if (vectors.isEmpty()) {
+            throw new IllegalArgumentException("No training vectors of dimension " + dimension);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int listCount = Math.max(1, Math.min(lists, vectors.size()));
+        float[] data = flatten(vectors, dimension);
+        float[] centroids = kMeans(data, vectors.size(), dimension, 0, dimension, listCount, true, random);
+
+        // Residuals to the assigned centroid, then one codebook per subspace
+        int subDimension = dimension / subspaces;
+        float[] residuals = new float[data.length];
+        for (int row = 0; row < vectors.size(); row++) {
+            int list = nearestByDot(centroids, listCount, dimension, data, row * dimension);
+            for (int i = 0; i < dimension; i++) {
+                residuals[row * dimension + i] = data[row * dimension + i] - centroids[list * dimension + i];
+            }
+        }
+        float[] codebooks = new float[subspaces * CODEBOOK_SIZE * subDimension];
+        for (int m = 0; m < subspaces; m++) {
+            float[] codebook = kMeans(residuals, vectors.size(), dimension, m * subDimension, subDimension,
+                    Math.min(CODEBOOK_SIZE, vectors.size()), false, random);
+            System.arraycopy(codebook, 0, codebooks, m * CODEBOOK_SIZE * subDimension, codebook.length);
+        }
+        return new IvfPqIndex(dimension, subspaces, centroids, codebooks, nprobe);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    public int lists() {
+        return lists;
+    }
+
+    public int subspaces() {
+        return subspaces;
+    }
+
+    public int getNprobe() {
+        return nprobe;
+    }
+
+    public void setNprobe(int nprobe) {
+        this.nprobe = Math.max(1, nprobe);
+    }
+
+    /**
+     * Heap bytes per indexed vector (code plus posting ordinal and ordinal maps)
+     */
+    public long bytesPerVector() {
+        return subspaces + 3L * Integer.BYTES;
+    }
+
+    @Override
+    public void add(int ordinal, float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Vector dimension mismatch, expected " + dimension);
+        }
+
+        float[] normalized = VectorMath.normalize(vector);
+        int list = nearestByDot(centroids, lists, dimension, normalized, 0);
+        byte[] code = encodeResidual(normalized, list);
+
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(ordinal);
+            if (listOf[ordinal] >= 0) {
+                throw new IllegalArgumentException("Ordinal already indexed: " + ordinal);
+            }
+            listOf[ordinal] = list;
+            positionOf[ordinal] = postings[list].add(ordinal, code);
+            liveCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int ordinal) {
+        lock.writeLock().lock();
+        try {
+            if (ordinal >= 0 && ordinal < listOf.length && listOf[ordinal] >= 0 && !deleted.get(ordinal)) {
+                deleted.set(ordinal);
+                liveCount--;
+                deletedCount++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(int ordinal) {
+        lock.readLock().lock();
+        try {
+            return ordinal >= 0 && ordinal < listOf.length && listOf[ordinal] >= 0 && !deleted.get(ordinal);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstructed (approximate) vector: centroid plus decoded residual
+     */
+    @Override
+    public float[] vector(int ordinal) {
+        lock.readLock().lock();
+        try {
+            if (ordinal < 0 || ordinal >= listOf.length || listOf[ordinal] < 0) {
+                return null;
+            }
+            int list = listOf[ordinal];
+            PostingList posting = postings[list];
+            int codeOffset = positionOf[ordinal] * subspaces;
+
+            float[] vector = Arrays.copyOfRange(centroids, list * dimension, (list + 1) * dimension);
+            for (int m = 0; m < subspaces; m++) {
+                int codeword = codewordOffset(m, posting.codes[codeOffset + m] & 0xFF);
+                for (int i = 0; i < subDimension; i++) {
+                    vector[m * subDimension + i] += codebooks[codeword + i];
+                }
+            }
+            return vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ScoredOrdinal> search(float[] query, int k, IntPredicate filter) {
+        return search(query, k, nprobe, filter);
+    }
+
+    /**
+     * Top-k over the nprobe closest lists, with a per-query nprobe
+     */
+    public List<ScoredOrdinal> search(float[] query, int k, int probes, IntPredicate filter) {
+        if (query == null || query.length != dimension || k <= 0) {
+            return List.of();
+        }
+
+        float[] normalized = VectorMath.normalize(query);
+        float[] table = distanceTable(normalized);
+        float[] coarse = new float[lists];
+        for (int list = 0; list < lists; list++) {
+            coarse[list] = VectorMath.dot(normalized, 0, centroids, list * dimension, dimension);
+        }
+
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        lock.readLock().lock();
+        try {
+            for (int list : closestLists(coarse, Math.min(Math.max(1, probes), lists))) {
+                PostingList posting = postings[list];
+                for (int position = 0; position < posting.size; position++) {
+                    int ordinal = posting.ordinals[position];
+                    if (deleted.get(ordinal) || (filter != null && !filter.test(ordinal))) {
+                        continue;
+                    }
+                    offer(heap, k, ordinal, coarse[list] + score(table, posting.codes, position * subspaces));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sorted(heap);
+    }
+
+    /**
+     * Scores every candidate with its stored code (no list probing); used for selective filters
+     */
+    @Override
+    public List<ScoredOrdinal> searchExact(float[] query, int k, int[] candidates) {
+        if (query == null || query.length != dimension || k <= 0 || candidates.length == 0) {
+            return List.of();
+        }
+
+        float[] normalized = VectorMath.normalize(query);
+        float[] table = distanceTable(normalized);
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(Math.min(k, candidates.length) + 1, WORST_FIRST);
+        lock.readLock().lock();
+        try {
+            for (int ordinal : candidates) {
+                if (ordinal < 0 || ordinal >= listOf.length || listOf[ordinal] < 0 || deleted.get(ordinal)) {
+                    continue;
+                }
+                int list = listOf[ordinal];
+                float coarse = VectorMath.dot(normalized, 0, centroids, list * dimension, dimension);
+                offer(heap, k, ordinal, coarse + score(table, postings[list].codes, positionOf[ordinal] * subspaces));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return sorted(heap);
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Serialize trained parameters, posting lists and tombstones
+     */
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(dimension);
+            out.writeInt(subspaces);
+            out.writeInt(lists);
+            out.writeInt(nprobe);
+            writeFloats(out, centroids);
+            writeFloats(out, codebooks);
+
+            for (PostingList posting : postings) {
+                out.writeInt(posting.size);
+                for (int position = 0; position < posting.size; position++) {
+                    int ordinal = posting.ordinals[position];
+                    out.writeInt(ordinal);
+                    out.writeBoolean(deleted.get(ordinal));
+                }
+                out.write(posting.codes, 0, posting.size * subspaces);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restore an index written by {@link #writeTo(DataOutput)}
+     */
+    public static IvfPqIndex readFrom(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unsupported IVF-PQ snapshot version: " + version);
+        }
+
+        int dimension = in.readInt();
+        int subspaces = in.readInt();
+        int lists = in.readInt();
+        int nprobe = in.readInt();
+        float[] centroids = readFloats(in, lists * dimension);
+        float[] codebooks = readFloats(in, subspaces * CODEBOOK_SIZE * (dimension / subspaces));
+        IvfPqIndex index = new IvfPqIndex(dimension, subspaces, centroids, codebooks, nprobe);
+
+        for (int list = 0; list < lists; list++) {
+            int size = in.readInt();
+            int[] ordinals = new int[size];
+            boolean[] removed = new boolean[size];
+            for (int position = 0; position < size; position++) {
+                ordinals[position] = in.readInt();
+                removed[position] = in.readBoolean();
+            }
+            byte[] codes = new byte[size * subspaces];
+            in.readFully(codes);
+
+            PostingList posting = index.postings[list];
+            for (int position = 0; position < size; position++) {
+                int ordinal = ordinals[position];
+                index.ensureCapacity(ordinal);
+                index.listOf[ordinal] = list;
+                index.positionOf[ordinal] = posting.add(ordinal,
+                        Arrays.copyOfRange(codes, position * subspaces, (position + 1) * subspaces));
+                if (removed[position]) {
+                    index.deleted.set(ordinal);
+                    index.deletedCount++;
+                } else {
+                    index.liveCount++;
+                }
+            }
+        }
+        return index;
+    }
+
+    // Private helper methods
+
+    private byte[] encodeResidual(float[] normalized, int list) {
+        byte[] code = new byte[subspaces];
+        for (int m = 0; m < subspaces; m++) {
+            int best = 0;
+            float bestDistance = Float.POSITIVE_INFINITY;
+            for (int j = 0; j < CODEBOOK_SIZE; j++) {
+                int codeword = codewordOffset(m, j);
+                float distance = 0.0f;
+                for (int i = 0; i < subDimension; i++) {
+                    float residual = normalized[m * subDimension + i] - centroids[list * dimension + m * subDimension + i];
+                    float diff = residual - codebooks[codeword + i];
+                    distance += diff * diff;
+                }
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    best = j;
+                }
+            }
+            code[m] = (byte) best;
+        }
+        return code;
+    }
+
+    /**
+     * table[m * 256 + j] = query subvector m · codeword j of subspace m
+     */
+    private float[] distanceTable(float[] query) {
+        float[] table = new float[subspaces * CODEBOOK_SIZE];
+        for (int m = 0; m < subspaces; m++) {
+            for (int j = 0; j < CODEBOOK_SIZE; j++) {
+                table[m * CODEBOOK_SIZE + j] = VectorMath.dot(query, m * subDimension, codebooks,
+                        codewordOffset(m, j), subDimension);
+            }
+        }
+        return table;
+    }
+
+    private float score(float[] table, byte[] codes, int offset) {
+        float sum = 0.0f;
+        for (int m = 0; m < subspaces; m++) {
+            sum += table[m * CODEBOOK_SIZE + (codes[offset + m] & 0xFF)];
+        }
+        return sum;
+    }
+
+    private int codewordOffset(int subspace, int codeword) {
+        return (subspace * CODEBOOK_SIZE + codeword) * subDimension;
+    }
+
+    private void ensureCapacity(int ordinal) {
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("Ordinal must be non-negative: " + ordinal);
+        }
+        if (ordinal >= listOf.length) {
+            int capacity = Math.max(ordinal + 1, listOf.length * 2);
+            int previous = listOf.length;
+            listOf = Arrays.copyOf(listOf, capacity);
+            positionOf = Arrays.copyOf(positionOf, capacity);
+            Arrays.fill(listOf, previous, capacity, -1);
+        }
+    }
+
+    private static int[] closestLists(float[] coarse, int probes) {
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(probes + 1, WORST_FIRST);
+        for (int list = 0; list < coarse.length; list++) {
+            offer(heap, probes, list, coarse[list]);
+        }
+        return heap.stream().mapToInt(ScoredOrdinal::ordinal).toArray();
+    }
+
+    private static void offer(PriorityQueue<ScoredOrdinal> heap, int k, int ordinal, float score) {
+        if (heap.size() < k) {
+            heap.add(new ScoredOrdinal(ordinal, score));
+        } else if (score > heap.peek().score()) {
+            heap.poll();
+            heap.add(new ScoredOrdinal(ordinal, score));
+        }
+    }
+
+    private static List<ScoredOrdinal> sorted(PriorityQueue<ScoredOrdinal> heap) {
+        List<ScoredOrdinal> results = new ArrayList<>(heap);
+        results.sort(BEST_FIRST);
+        return results;
+    }
+
+    private static int nearestByDot(float[] centroids, int count, int dimension, float[] data, int offset) {
+        int best = 0;
+        float bestScore = Float.NEGATIVE_INFINITY;
+        for (int c = 0; c < count; c++) {
+            float score = VectorMath.dot(data, offset, centroids, c * dimension, dimension);
+            if (score > bestScore) {
+                bestScore = score;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lloyd's k-means over one column range of row-major data; spherical = max dot product
+     * assignment and normalized centroids (coarse quantizer), otherwise squared L2 (codebooks)
+     */
+    private static float[] kMeans(float[] data, int rows, int stride, int offset, int width, int k,
+                                  boolean spherical, SplittableRandom random) {
+        float[] centers = new float[k * width];
+        int[] picks = random.ints(0, rows).distinct().limit(k).toArray();
+        for (int c = 0; c < k; c++) {
+            System.arraycopy(data, picks[c] * stride + offset, centers, c * width, width);
+        }
+
+        int[] assignment = new int[rows];
+        for (int iteration = 0; iteration < TRAINING_ITERATIONS; iteration++) {
+            float[] current = centers;
+            IntStream.range(0, rows).parallel().forEach(row ->
+                    assignment[row] = nearestCenter(current, k, width, data, row * stride + offset, spherical));
+
+            float[] sums = new float[k * width];
+            int[] counts = new int[k];
+            for (int row = 0; row < rows; row++) {
+                int c = assignment[row];
+                counts[c]++;
+                for (int i = 0; i < width; i++) {
+                    sums[c * width + i] += data[row * stride + offset + i];
+                }
+            }
+
+            float[] next = new float[k * width];
+            for (int c = 0; c < k; c++) {
+                if (counts[c] == 0) {
+                    // Empty cluster: re-seed from a random row
+                    System.arraycopy(data, random.nextInt(rows) * stride + offset, next, c * width, width);
+                    continue;
+                }
+                for (int i = 0; i < width; i++) {
+                    next[c * width + i] = sums[c * width + i] / counts[c];
+                }
+                if (spherical) {
+                    float[] center = VectorMath.normalize(Arrays.copyOfRange(next, c * width, (c + 1) * width));
+                    System.arraycopy(center, 0, next, c * width, width);
+                }
+            }
+            centers = next;
+        }
+
+        if (k < CODEBOOK_SIZE && !spherical) {
+            return Arrays.copyOf(centers, CODEBOOK_SIZE * width); // unused codewords stay zero
+        }
+        return centers;
+    }
+
+    private static int nearestCenter(float[] centers, int k, int width, float[] data, int offset, boolean spherical) {
+        if (spherical) {
+            return nearestByDot(centers, k, width, data, offset);
+        }
+        int best = 0;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        for (int c = 0; c < k; c++) {
+            float distance = 0.0f;
+            for (int i = 0; i < width; i++) {
+                float diff = data[offset + i] - centers[c * width + i];
+                distance += diff * diff;
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private static float[] flatten(List<float[]> vectors, int dimension) {
+        float[] data = new float[vectors.size() * dimension];
+        for (int row = 0; row < vectors.size(); row++) {
+            System.arraycopy(vectors.get(row), 0, data, row * dimension, dimension);
+        }
+        return data;
+    }
+
+    private static void writeFloats(DataOutput out, float[] values) throws IOException {
+        for (float value : values) {
+            out.writeFloat(value);
+        }
+    }
+
+    private static float[] readFloats(DataInput in, int count) throws IOException {
+        float[] values = new float[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = in.readFloat();
+        }
+        return values;
+    }
+
+    /**
+     * Growable ordinals and codes of one inverted list
+     */
+    private final class PostingList {
+        int[] ordinals = new int[16];
+        byte[] codes = new byte[16 * subspaces];
+        int size;
+
+        int add(int ordinal, byte[] code) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                codes = Arrays.copyOf(codes, size * 2 * subspaces);
+            }
+            ordinals[size] = ordinal;
+            System.arraycopy(code, 0, codes, size * subspaces, subspaces);
+            return size++;
+        }
+    }
+}
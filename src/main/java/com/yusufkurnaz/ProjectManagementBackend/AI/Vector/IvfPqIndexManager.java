@@ -0,0 +1,556 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunkEmbeddingsUpdatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunksRemovedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.DocumentDeactivatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the in-process IVF-PQ index over active chunk embeddings
+ * Follows SRP - Single responsibility: Compressed index lifecycle (training, updates, retraining, snapshots)
+ *
+ * Training (k-means over a sample of stored embeddings) runs as a background job
+ * after startup; new embeddings are encoded incrementally with the trained codebooks.
+ * The index is retrained and rebuilt in the background when the corpus has grown
+ * past retrain-growth-factor or tombstones pass the compaction threshold.
+ * Approximate candidates are re-scored from the memory-mapped embedding store.
+ */
+@Component
+@ConditionalOnProperty(name = "app.vector.engine", havingValue = VectorSearchConfiguration.ENGINE_IVFPQ)
+@RequiredArgsConstructor
+@Slf4j
+public class IvfPqIndexManager implements LocalVectorEngine {
+
+    private static final int SNAPSHOT_MAGIC = 0x49565051; // "IVPQ"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final long CATCH_UP_MARGIN_SECONDS = 60;
+    private static final UUID FIRST_ID = new UUID(0L, 0L); // smallest uuid in Postgres (unsigned byte) order
+
+    private final DocumentChunkRepository chunkRepository;
+    private final DocumentRepository documentRepository;
+    private final VectorSearchConfiguration vectorConfig;
+    private final ObjectProvider<EmbeddingStoreManager> fullPrecisionStore;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Segment segment;
+    private volatile boolean ready;
+
+    /**
+     * Load the snapshot (or train and build from the database) without blocking startup
+     */
+    @Async("vectorTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long start = System.currentTimeMillis();
+        LocalDateTime bootstrapStartedAt = LocalDateTime.now();
+
+        try {
+            Segment loaded = loadSnapshot();
+            if (loaded != null) {
+                updateLock.lock();
+                try {
+                    segment = loaded;
+                    catchUp(loaded, loaded.asOf);
+                } finally {
+                    updateLock.unlock();
+                }
+                log.info("IVF-PQ index restored from snapshot with {} vectors in {} ms",
+                        loaded.index.size(), System.currentTimeMillis() - start);
+            } else {
+                Segment built = buildFromDatabase();
+                if (built == null) {
+                    log.info("No embeddings to train the IVF-PQ index on yet, searches stay on pgvector");
+                    return;
+                }
+                install(built, bootstrapStartedAt);
+                log.info("IVF-PQ index trained and built with {} vectors in {} ms",
+                        built.index.size(), System.currentTimeMillis() - start);
+            }
+            ready = true;
+        } catch (Exception e) {
+            log.error("IVF-PQ index bootstrap failed, searches stay on pgvector: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Top-k chunks; nprobe comes from query.probes (null = configured default)
+     *
+     * Selective filters are scored over the bitmap directly; otherwise nprobe is
+     * scaled by the filter's selectivity so the probed lists hold enough matches.
+     */
+    @Override
+    public List<VectorHit> search(VectorQuery query) {
+        Segment current = segment;
+        float[] embedding = query.getEmbedding();
+        if (current == null || embedding == null || embedding.length != current.index.dimension()) {
+            return List.of();
+        }
+
+        VectorSearchConfiguration.IvfPq ivfpq = vectorConfig.getIvfpq();
+        int limit = query.getLimit();
+        int candidates = limit * Math.max(1, ivfpq.getRerankFactor());
+        int probes = query.getProbes() != null ? query.getProbes() : current.index.getNprobe();
+        ChunkFilter filter = query.effectiveFilter();
+
+        List<ScoredOrdinal> results;
+        if (filter == null) {
+            results = current.index.search(embedding, candidates, probes, null);
+        } else {
+            RoaringBitmap allowed = current.filters.evaluate(filter);
+            int matches = allowed.getCardinality();
+            if (matches == 0) {
+                return List.of();
+            } else if (matches <= Math.max(ivfpq.getExactSearchThreshold(), candidates)) {
+                results = current.index.searchExact(embedding, candidates, allowed.toArray());
+            } else {
+                long scaled = (long) probes * Math.max(1, current.index.size()) / matches;
+                int filteredProbes = (int) Math.min(current.index.lists(), Math.max(probes, scaled));
+                results = current.index.search(embedding, candidates, filteredProbes, allowed::contains);
+            }
+        }
+
+        List<VectorHit> hits = new ArrayList<>(results.size());
+        for (ScoredOrdinal result : results) {
+            hits.add(new VectorHit(current.chunkIds[result.ordinal()], result.score()));
+        }
+
+        EmbeddingStoreManager store = fullPrecisionStore.getIfAvailable();
+        if (store == null || !store.isReady()) {
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        }
+        return store.rerank(embedding, hits, limit);
+    }
+
+    /**
+     * Full-precision embedding from the store, else the (approximate) reconstruction
+     */
+    @Override
+    public float[] getEmbedding(UUID chunkId) {
+        EmbeddingStoreManager store = fullPrecisionStore.getIfAvailable();
+        float[] stored = store != null && store.isReady() ? store.getEmbedding(chunkId) : null;
+        if (stored != null) {
+            return stored;
+        }
+
+        Segment current = segment;
+        Integer ordinal = current != null ? current.ordinalByChunk.get(chunkId) : null;
+        return ordinal != null ? VectorMath.normalize(current.index.vector(ordinal)) : null;
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunkEmbeddingsUpdated(ChunkEmbeddingsUpdatedEvent event) {
+        if (segment == null || event.chunkIds().isEmpty()) {
+            return; // bootstrap catch-up picks these up
+        }
+
+        List<ChunkEmbeddingRow> rows = chunkRepository.findEmbeddingsByIds(event.chunkIds());
+        Map<UUID, List<String>> domainTags = loadDomainTags(rows);
+        updateLock.lock();
+        try {
+            Set<UUID> found = new HashSet<>();
+            for (ChunkEmbeddingRow row : rows) {
+                upsert(segment, row, domainTags);
+                found.add(row.chunkId());
+            }
+            for (UUID chunkId : event.chunkIds()) {
+                if (!found.contains(chunkId)) {
+                    tombstone(segment, chunkId);
+                }
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("IVF-PQ index updated with {} chunks of document {}", rows.size(), event.documentId());
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunksRemoved(ChunksRemovedEvent event) {
+        if (segment == null) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            event.chunkIds().forEach(chunkId -> tombstone(segment, chunkId));
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentDeactivated(DocumentDeactivatedEvent event) {
+        if (segment == null) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            Set<Integer> ordinals = segment.ordinalsByDocument.get(event.documentId());
+            if (ordinals != null) {
+                new ArrayList<>(ordinals).forEach(ordinal -> tombstone(segment, segment.chunkIds[ordinal]));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Retrain on a fresh sample and rebuild once the corpus outgrew the training or tombstones pile up
+     * Searches keep using the current index until the rebuilt one is swapped in.
+     */
+    @Scheduled(fixedDelayString = "${app.vector.ivfpq.maintenance-interval-ms:600000}")
+    public void retrainIfNeeded() {
+        Segment current = segment;
+        if (!ready || current == null) {
+            return;
+        }
+
+        VectorSearchConfiguration.IvfPq ivfpq = vectorConfig.getIvfpq();
+        int live = current.index.size();
+        int deleted = current.index.deletedCount();
+        boolean grown = live > current.trainedCount * ivfpq.getRetrainGrowthFactor();
+        boolean fragmented = live + deleted > 0 && (double) deleted / (live + deleted) >= ivfpq.getCompactionThreshold();
+        if (!grown && !fragmented) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            Segment rebuilt = buildFromDatabase();
+            if (rebuilt != null) {
+                install(rebuilt, startedAt);
+                log.info("IVF-PQ index retrained ({} vectors, trained on {}, {} tombstones dropped) in {} ms",
+                        rebuilt.index.size(), current.trainedCount, deleted, System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.error("IVF-PQ retraining failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!ready) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            writeSnapshot();
+        } catch (Exception e) {
+            log.warn("Could not write IVF-PQ snapshot on shutdown: {}", e.getMessage());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Swap in a freshly built segment, applying changes made while it was built
+     */
+    private void install(Segment built, LocalDateTime buildStartedAt) {
+        updateLock.lock();
+        try {
+            catchUp(built, buildStartedAt);
+            segment = built;
+            writeSnapshot();
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Train on a sample, then encode every active embedding; null when there is nothing to train on
+     */
+    private Segment buildFromDatabase() {
+        VectorSearchConfiguration.IvfPq ivfpq = vectorConfig.getIvfpq();
+        List<float[]> sample = trainingSample(ivfpq.getTrainingSampleSize());
+        if (sample.isEmpty()) {
+            return null;
+        }
+
+        long trainingStart = System.currentTimeMillis();
+        IvfPqIndex index = IvfPqIndex.train(sample, vectorConfig.getDimension(), ivfpq.getLists(),
+                ivfpq.getSubspaces(), ivfpq.getNprobe(), System.nanoTime());
+        log.info("IVF-PQ trained {} lists x {} subspaces on {} vectors in {} ms ({} bytes per vector, float32 uses {})",
+                index.lists(), index.subspaces(), sample.size(), System.currentTimeMillis() - trainingStart,
+                index.bytesPerVector(), VectorQuantization.NONE.bytesPerVector(index.dimension()));
+
+        Segment built = new Segment(index, LocalDateTime.now(), 1024);
+        int pageSize = ivfpq.getBootstrapPageSize();
+        UUID afterId = FIRST_ID;
+        while (true) {
+            List<ChunkEmbeddingRow> page = chunkRepository.findActiveEmbeddingsAfter(afterId, PageRequest.of(0, pageSize));
+            Map<UUID, List<String>> domainTags = loadDomainTags(page);
+            for (ChunkEmbeddingRow row : page) {
+                if (row.embedding() != null && row.embedding().length == index.dimension()) {
+                    int ordinal = append(built, row.chunkId(), row.documentId(), row.embedding());
+                    built.filters.add(ordinal, attributesOf(row, domainTags));
+                }
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).chunkId();
+        }
+        built.trainedCount = Math.max(1, built.index.size());
+        return built;
+    }
+
+    /**
+     * Random-start keyset page (chunk ids are random UUIDs), topped up from the first id
+     */
+    private List<float[]> trainingSample(int sampleSize) {
+        Map<UUID, float[]> sample = new LinkedHashMap<>();
+        chunkRepository.findActiveEmbeddingsAfter(UUID.randomUUID(), PageRequest.of(0, sampleSize))
+                .forEach(row -> sample.put(row.chunkId(), row.embedding()));
+        if (sample.size() < sampleSize) {
+            chunkRepository.findActiveEmbeddingsAfter(FIRST_ID, PageRequest.of(0, sampleSize - sample.size()))
+                    .forEach(row -> sample.putIfAbsent(row.chunkId(), row.embedding()));
+        }
+        return sample.values().stream()
+                .filter(vector -> vector != null && vector.length == vectorConfig.getDimension())
+                .toList();
+    }
+
+    /**
+     * Reconcile a segment with the database: drop chunks no longer active, apply newer embeddings
+     */
+    private void catchUp(Segment target, LocalDateTime since) {
+        Set<UUID> activeIds = new HashSet<>(chunkRepository.findActiveEmbeddedChunkIds());
+        List<UUID> stale = target.ordinalByChunk.keySet().stream()
+                .filter(chunkId -> !activeIds.contains(chunkId))
+                .toList();
+        stale.forEach(chunkId -> tombstone(target, chunkId));
+
+        List<ChunkEmbeddingRow> changed = chunkRepository.findEmbeddingsUpdatedSince(
+                since.minusSeconds(CATCH_UP_MARGIN_SECONDS));
+        Map<UUID, List<String>> domainTags = loadDomainTags(changed);
+        changed.forEach(row -> upsert(target, row, domainTags));
+
+        log.debug("IVF-PQ catch-up: {} stale chunks removed, {} changed chunks applied", stale.size(), changed.size());
+    }
+
+    private void upsert(Segment target, ChunkEmbeddingRow row, Map<UUID, List<String>> domainTags) {
+        if (row.embedding() == null || row.embedding().length != target.index.dimension()) {
+            return;
+        }
+        tombstone(target, row.chunkId());
+        int ordinal = append(target, row.chunkId(), row.documentId(), row.embedding());
+        target.filters.add(ordinal, attributesOf(row, domainTags));
+    }
+
+    private Map<UUID, List<String>> loadDomainTags(List<ChunkEmbeddingRow> rows) {
+        Set<UUID> documentIds = new HashSet<>();
+        rows.forEach(row -> documentIds.add(row.documentId()));
+        Map<UUID, List<String>> domainTags = new HashMap<>();
+        if (documentIds.isEmpty()) {
+            return domainTags;
+        }
+        for (Object[] pair : documentRepository.findDomainTagPairs(documentIds)) {
+            domainTags.computeIfAbsent((UUID) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return domainTags;
+    }
+
+    private ChunkAttributes attributesOf(ChunkEmbeddingRow row, Map<UUID, List<String>> domainTags) {
+        return new ChunkAttributes(domainTags.getOrDefault(row.documentId(), List.of()),
+                row.contentType(), row.uploadedBy());
+    }
+
+    private int append(Segment target, UUID chunkId, UUID documentId, float[] embedding) {
+        int ordinal = target.nextOrdinal++;
+        if (ordinal >= target.chunkIds.length) {
+            int capacity = Math.max(ordinal + 1, target.chunkIds.length * 2);
+            target.documentIds = Arrays.copyOf(target.documentIds, capacity);
+            target.chunkIds = Arrays.copyOf(target.chunkIds, capacity);
+        }
+        target.chunkIds[ordinal] = chunkId;
+        target.documentIds[ordinal] = documentId;
+        target.index.add(ordinal, embedding);
+        target.ordinalByChunk.put(chunkId, ordinal);
+        target.ordinalsByDocument.computeIfAbsent(documentId, id -> ConcurrentHashMap.newKeySet()).add(ordinal);
+        return ordinal;
+    }
+
+    private void tombstone(Segment target, UUID chunkId) {
+        Integer ordinal = target.ordinalByChunk.remove(chunkId);
+        if (ordinal == null) {
+            return;
+        }
+        target.index.remove(ordinal);
+        target.filters.remove(ordinal);
+        Set<Integer> ordinals = target.ordinalsByDocument.get(target.documentIds[ordinal]);
+        if (ordinals != null) {
+            ordinals.remove(ordinal);
+            if (ordinals.isEmpty()) {
+                target.ordinalsByDocument.remove(target.documentIds[ordinal]);
+            }
+        }
+    }
+
+    /**
+     * Write snapshot atomically (temp file + move); caller holds updateLock
+     */
+    private void writeSnapshot() {
+        Segment current = segment;
+        Path path = Paths.get(vectorConfig.getIvfpq().getSnapshotPath());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            LocalDateTime asOf = LocalDateTime.now();
+
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(asOf.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(current.trainedCount);
+                out.writeInt(current.nextOrdinal);
+                for (int ordinal = 0; ordinal < current.nextOrdinal; ordinal++) {
+                    UUID chunkId = current.chunkIds[ordinal];
+                    UUID documentId = current.documentIds[ordinal];
+                    out.writeLong(chunkId.getMostSignificantBits());
+                    out.writeLong(chunkId.getLeastSignificantBits());
+                    out.writeLong(documentId.getMostSignificantBits());
+                    out.writeLong(documentId.getLeastSignificantBits());
+                }
+                current.index.writeTo(out);
+                current.filters.writeTo(out);
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("IVF-PQ snapshot written to {} ({} ordinals)", path, current.nextOrdinal);
+        } catch (IOException e) {
+            log.warn("Could not write IVF-PQ snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Segment loadSnapshot() {
+        VectorSearchConfiguration.IvfPq ivfpq = vectorConfig.getIvfpq();
+        Path path = Paths.get(ivfpq.getSnapshotPath());
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not an IVF-PQ snapshot");
+            }
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported IVF-PQ snapshot version");
+            }
+            LocalDateTime asOf = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+            int trainedCount = in.readInt();
+            int count = in.readInt();
+
+            UUID[] chunkIds = new UUID[count];
+            UUID[] documentIds = new UUID[count];
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                chunkIds[ordinal] = new UUID(in.readLong(), in.readLong());
+                documentIds[ordinal] = new UUID(in.readLong(), in.readLong());
+            }
+
+            IvfPqIndex index = IvfPqIndex.readFrom(in);
+            ChunkFilterIndex filters = ChunkFilterIndex.readFrom(in);
+            if (index.dimension() != vectorConfig.getDimension() || index.subspaces() != ivfpq.getSubspaces()) {
+                log.warn("IVF-PQ snapshot geometry ({} dims, {} subspaces) does not match configuration, retraining",
+                        index.dimension(), index.subspaces());
+                return null;
+            }
+            index.setNprobe(ivfpq.getNprobe());
+
+            Segment loaded = new Segment(index, asOf, Math.max(count, 1024));
+            loaded.trainedCount = trainedCount;
+            loaded.nextOrdinal = count;
+            loaded.filters = filters;
+            System.arraycopy(chunkIds, 0, loaded.chunkIds, 0, count);
+            System.arraycopy(documentIds, 0, loaded.documentIds, 0, count);
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                if (index.contains(ordinal)) {
+                    loaded.ordinalByChunk.put(chunkIds[ordinal], ordinal);
+                    loaded.ordinalsByDocument
+                            .computeIfAbsent(documentIds[ordinal], id -> ConcurrentHashMap.newKeySet())
+                            .add(ordinal);
+                }
+            }
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load IVF-PQ snapshot from {}, retraining: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Index plus ordinal mappings; swapped as a whole after retraining
+     */
+    private static final class Segment {
+        final IvfPqIndex index;
+        final LocalDateTime asOf;
+        final Map<UUID, Integer> ordinalByChunk = new ConcurrentHashMap<>();
+        final Map<UUID, Set<Integer>> ordinalsByDocument = new ConcurrentHashMap<>();
+        volatile ChunkFilterIndex filters = new ChunkFilterIndex();
+        volatile UUID[] chunkIds;
+        volatile UUID[] documentIds;
+        int nextOrdinal;
+        int trainedCount;
+
+        Segment(IvfPqIndex index, LocalDateTime asOf, int capacity) {
+            this.index = index;
+            this.asOf = asOf;
+            this.chunkIds = new UUID[capacity];
+            this.documentIds = new UUID[capacity];
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process vector engine (index lifecycle plus chunk id mapping)
+ * Follows DIP - LocalVectorSearchServiceImpl depends on this contract, not on a concrete index
+ */
+public interface LocalVectorEngine {
+
+    /**
+     * Check if the engine can serve searches (until then callers fall back to pgvector)
+     */
+    boolean isReady();
+
+    /**
+     * Top query.limit chunks for query.embedding, honouring the effective filter and
+     * the engine's tuning knob of the query (efSearch or probes)
+     */
+    List<VectorHit> search(VectorQuery query);
+
+    /**
+     * Normalized embedding of an indexed chunk, or null if not indexed
+     */
+    float[] getEmbedding(UUID chunkId);
+}
@@ -0,0 +1,589 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunkEmbeddingsUpdatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunksRemovedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.DocumentDeactivatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns the in-process HNSW index over active chunk embeddings
+ * Follows SRP - Single responsibility: Local index lifecycle (bootstrap, updates, compaction, snapshots)
+ *
+ * Chunks are mapped to dense int ordinals; updates and deletes leave tombstones
+ * that are removed by a background rebuild once they pass the compaction threshold.
+ * Tag/content-type/uploader bitmaps over the same ordinals drive filtered search.
+ * In INT8 mode the graph holds quantized vectors only; the best candidates are
+ * re-scored with full-precision vectors from the memory-mapped embedding store.
+ */
+@Component
+@ConditionalOnProperty(name = "app.vector.engine", havingValue = VectorSearchConfiguration.ENGINE_HNSW)
+@RequiredArgsConstructor
+@Slf4j
+public class LocalVectorIndexManager implements LocalVectorEngine {
+
+    private static final int SNAPSHOT_MAGIC = 0x484E5357; // "HNSW"
+    private static final int SNAPSHOT_VERSION = 2; // 2 = with filter bitmaps
+    private static final long CATCH_UP_MARGIN_SECONDS = 60;
+
+    private final DocumentChunkRepository chunkRepository;
+    private final DocumentRepository documentRepository;
+    private final VectorSearchConfiguration vectorConfig;
+    private final ObjectProvider<EmbeddingStoreManager> fullPrecisionStore;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile Segment segment;
+    private volatile boolean ready;
+
+    /**
+     * Load the snapshot (or rebuild from the database) without blocking startup
+     */
+    @Async("vectorTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long start = System.currentTimeMillis();
+        LocalDateTime bootstrapStartedAt = LocalDateTime.now();
+
+        try {
+            Segment loaded = loadSnapshot();
+            if (loaded != null) {
+                updateLock.lock();
+                try {
+                    segment = loaded;
+                    catchUp(loaded.asOf);
+                } finally {
+                    updateLock.unlock();
+                }
+                log.info("HNSW index restored from snapshot with {} vectors in {} ms",
+                        loaded.index.size(), System.currentTimeMillis() - start);
+            } else {
+                Segment built = buildFromDatabase();
+                updateLock.lock();
+                try {
+                    segment = built;
+                    catchUp(bootstrapStartedAt);
+                    writeSnapshot();
+                } finally {
+                    updateLock.unlock();
+                }
+                log.info("HNSW index built from database with {} vectors in {} ms",
+                        built.index.size(), System.currentTimeMillis() - start);
+            }
+            ready = true;
+        } catch (Exception e) {
+            log.error("HNSW index bootstrap failed, searches stay on pgvector: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Check if the index can serve searches
+     */
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public List<VectorHit> search(VectorQuery query) {
+        return search(query.getEmbedding(), query.getLimit(), query.effectiveFilter(), query.getEfSearch());
+    }
+
+    /**
+     * Top-k chunks by cosine similarity, optionally restricted by an attribute filter
+     */
+    public List<VectorHit> search(float[] queryEmbedding, int limit, ChunkFilter filter) {
+        return search(queryEmbedding, limit, filter, null);
+    }
+
+    /**
+     * Top-k search with optional per-query efSearch (null = configured default)
+     *
+     * Selective filters (few matching chunks) are scored exactly over the bitmap;
+     * otherwise the bitmap is applied during graph traversal with ef scaled by
+     * the filter's selectivity, so discarded chunks never reach the result list.
+     */
+    public List<VectorHit> search(float[] queryEmbedding, int limit, ChunkFilter filter, Integer efSearch) {
+        Segment current = segment;
+        if (current == null || queryEmbedding == null || queryEmbedding.length != current.index.dimension()) {
+            return List.of();
+        }
+
+        boolean quantized = current.index.quantization() == VectorQuantization.INT8;
+        int candidates = quantized ? limit * Math.max(1, vectorConfig.getHnsw().getRerankFactor()) : limit;
+        int ef = efSearch != null ? efSearch : current.index.getEfSearch();
+        List<ScoredOrdinal> results;
+        if (filter == null) {
+            results = current.index.search(queryEmbedding, candidates, ef, null);
+        } else {
+            RoaringBitmap allowed = current.filters.evaluate(filter);
+            int matches = allowed.getCardinality();
+            int exactThreshold = vectorConfig.getHnsw().getExactSearchThreshold();
+
+            if (matches == 0) {
+                return List.of();
+            } else if (matches <= Math.max(exactThreshold, candidates)) {
+                results = current.index.searchExact(queryEmbedding, candidates, allowed.toArray());
+            } else {
+                long scaled = (long) Math.max(ef, candidates) * Math.max(1, current.index.size()) / matches;
+                int filteredEf = (int) Math.min(Math.max(ef, scaled), Math.max(ef, exactThreshold));
+                results = current.index.search(queryEmbedding, candidates, filteredEf, allowed::contains);
+            }
+        }
+
+        List<VectorHit> hits = new ArrayList<>(results.size());
+        for (ScoredOrdinal result : results) {
+            hits.add(new VectorHit(current.chunkIds[result.ordinal()], result.score()));
+        }
+        return quantized ? rerank(queryEmbedding, hits, limit) : hits;
+    }
+
+    /**
+     * Indexed (normalized) embedding of a chunk, or null if not indexed
+     * In INT8 mode the full-precision vector is preferred over the decoded codes
+     */
+    @Override
+    public float[] getEmbedding(UUID chunkId) {
+        Segment current = segment;
+        if (current == null) {
+            return null;
+        }
+        Integer ordinal = current.ordinalByChunk.get(chunkId);
+        return ordinal != null ? fullPrecisionVector(current, chunkId, ordinal) : null;
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunkEmbeddingsUpdated(ChunkEmbeddingsUpdatedEvent event) {
+        if (segment == null || event.chunkIds().isEmpty()) {
+            return; // bootstrap catch-up picks these up
+        }
+
+        List<ChunkEmbeddingRow> rows = chunkRepository.findEmbeddingsByIds(event.chunkIds());
+        Map<UUID, List<String>> domainTags = loadDomainTags(rows);
+        updateLock.lock();
+        try {
+            Set<UUID> found = new HashSet<>();
+            for (ChunkEmbeddingRow row : rows) {
+                upsert(segment, row, domainTags);
+                found.add(row.chunkId());
+            }
+            for (UUID chunkId : event.chunkIds()) {
+                if (!found.contains(chunkId)) {
+                    tombstone(segment, chunkId);
+                }
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("HNSW index updated with {} chunks of document {}", rows.size(), event.documentId());
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunksRemoved(ChunksRemovedEvent event) {
+        if (segment == null) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            event.chunkIds().forEach(chunkId -> tombstone(segment, chunkId));
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("HNSW index tombstoned {} chunks of document {}", event.chunkIds().size(), event.documentId());
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentDeactivated(DocumentDeactivatedEvent event) {
+        if (segment == null) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            Set<Integer> ordinals = segment.ordinalsByDocument.get(event.documentId());
+            if (ordinals != null) {
+                new ArrayList<>(ordinals).forEach(ordinal -> tombstone(segment, segment.chunkIds[ordinal]));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("HNSW index tombstoned document {}", event.documentId());
+    }
+
+    /**
+     * Rebuild the graph without tombstones once they pass the threshold
+     */
+    @Scheduled(fixedDelayString = "${app.vector.hnsw.compaction-interval-ms:300000}")
+    public void compactIfNeeded() {
+        Segment current = segment;
+        if (!ready || current == null) {
+            return;
+        }
+
+        int deleted = current.index.deletedCount();
+        int total = deleted + current.index.size();
+        if (total == 0 || (double) deleted / total < vectorConfig.getHnsw().getCompactionThreshold()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        updateLock.lock();
+        try {
+            current = segment;
+            Segment compacted = newSegment(LocalDateTime.now(), recalibrate(current));
+            int[] newOrdinals = new int[current.nextOrdinal];
+            Arrays.fill(newOrdinals, -1);
+            for (Map.Entry<UUID, Integer> entry : current.ordinalByChunk.entrySet()) {
+                int ordinal = entry.getValue();
+                newOrdinals[ordinal] = append(compacted, entry.getKey(), current.documentIds[ordinal],
+                        fullPrecisionVector(current, entry.getKey(), ordinal));
+            }
+            compacted.filters = current.filters.remap(newOrdinals);
+            segment = compacted;
+            writeSnapshot();
+            log.info("HNSW index compacted: dropped {} tombstones, {} vectors kept in {} ms",
+                    deleted, compacted.index.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("HNSW index compaction failed: {}", e.getMessage(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!ready) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            writeSnapshot();
+        } catch (Exception e) {
+            log.warn("Could not write HNSW snapshot on shutdown: {}", e.getMessage());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    // Private helper methods
+
+    private Segment buildFromDatabase() {
+        UUID afterId = new UUID(0L, 0L); // smallest uuid in Postgres (unsigned byte) order
+        ScalarQuantizer quantizer = null;
+        if (vectorConfig.getHnsw().getQuantization() == VectorQuantization.INT8) {
+            List<float[]> sample = chunkRepository.findActiveEmbeddingsAfter(afterId,
+                            PageRequest.of(0, vectorConfig.getHnsw().getCalibrationSampleSize())).stream()
+                    .map(row -> row.embedding() != null ? VectorMath.normalize(row.embedding()) : null)
+                    .toList();
+            quantizer = ScalarQuantizer.calibrate(sample, vectorConfig.getDimension());
+        }
+
+        Segment built = newSegment(LocalDateTime.now(), quantizer);
+        int pageSize = vectorConfig.getHnsw().getBootstrapPageSize();
+
+        while (true) {
+            List<ChunkEmbeddingRow> page = chunkRepository.findActiveEmbeddingsAfter(afterId, PageRequest.of(0, pageSize));
+            Map<UUID, List<String>> domainTags = loadDomainTags(page);
+            for (ChunkEmbeddingRow row : page) {
+                if (row.embedding() != null && row.embedding().length == built.index.dimension()) {
+                    int ordinal = append(built, row.chunkId(), row.documentId(), row.embedding());
+                    built.filters.add(ordinal, attributesOf(row, domainTags));
+                }
+            }
+            if (page.size() < pageSize) {
+                return built;
+            }
+            afterId = page.get(page.size() - 1).chunkId();
+        }
+    }
+
+    /**
+     * Reconcile the index with the database: drop chunks no longer active, apply newer embeddings
+     */
+    private void catchUp(LocalDateTime since) {
+        Set<UUID> activeIds = new HashSet<>(chunkRepository.findActiveEmbeddedChunkIds());
+        List<UUID> stale = segment.ordinalByChunk.keySet().stream()
+                .filter(chunkId -> !activeIds.contains(chunkId))
+                .toList();
+        stale.forEach(chunkId -> tombstone(segment, chunkId));
+
+        List<ChunkEmbeddingRow> changed = chunkRepository.findEmbeddingsUpdatedSince(
+                since.minusSeconds(CATCH_UP_MARGIN_SECONDS));
+        Map<UUID, List<String>> domainTags = loadDomainTags(changed);
+        changed.forEach(row -> upsert(segment, row, domainTags));
+
+        log.debug("HNSW catch-up: {} stale chunks removed, {} changed chunks applied", stale.size(), changed.size());
+    }
+
+    private void upsert(Segment target, ChunkEmbeddingRow row, Map<UUID, List<String>> domainTags) {
+        if (row.embedding() == null || row.embedding().length != target.index.dimension()) {
+            return;
+        }
+        Integer existing = target.ordinalByChunk.get(row.chunkId());
+        if (existing != null && target.index.matches(existing, row.embedding())) {
+            return;
+        }
+        tombstone(target, row.chunkId());
+        int ordinal = append(target, row.chunkId(), row.documentId(), row.embedding());
+        target.filters.add(ordinal, attributesOf(row, domainTags));
+    }
+
+    /**
+     * Domain tags per document for a page of rows (one query per page)
+     */
+    private Map<UUID, List<String>> loadDomainTags(List<ChunkEmbeddingRow> rows) {
+        Set<UUID> documentIds = new HashSet<>();
+        rows.forEach(row -> documentIds.add(row.documentId()));
+        Map<UUID, List<String>> domainTags = new HashMap<>();
+        if (documentIds.isEmpty()) {
+            return domainTags;
+        }
+        for (Object[] pair : documentRepository.findDomainTagPairs(documentIds)) {
+            domainTags.computeIfAbsent((UUID) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return domainTags;
+    }
+
+    private ChunkAttributes attributesOf(ChunkEmbeddingRow row, Map<UUID, List<String>> domainTags) {
+        return new ChunkAttributes(domainTags.getOrDefault(row.documentId(), List.of()),
+                row.contentType(), row.uploadedBy());
+    }
+
+    /**
+     * Add the vector under the next ordinal (filter attributes are added by the caller)
+     */
+    private int append(Segment target, UUID chunkId, UUID documentId, float[] embedding) {
+        int ordinal = target.nextOrdinal++;
+        if (ordinal >= target.chunkIds.length) {
+            int capacity = Math.max(ordinal + 1, target.chunkIds.length * 2);
+            target.documentIds = Arrays.copyOf(target.documentIds, capacity);
+            target.chunkIds = Arrays.copyOf(target.chunkIds, capacity);
+        }
+        target.chunkIds[ordinal] = chunkId;
+        target.documentIds[ordinal] = documentId;
+        target.index.add(ordinal, embedding);
+        target.ordinalByChunk.put(chunkId, ordinal);
+        target.ordinalsByDocument.computeIfAbsent(documentId, id -> ConcurrentHashMap.newKeySet()).add(ordinal);
+        return ordinal;
+    }
+
+    private void tombstone(Segment target, UUID chunkId) {
+        Integer ordinal = target.ordinalByChunk.remove(chunkId);
+        if (ordinal == null) {
+            return;
+        }
+        target.index.remove(ordinal);
+        target.filters.remove(ordinal);
+        Set<Integer> ordinals = target.ordinalsByDocument.get(target.documentIds[ordinal]);
+        if (ordinals != null) {
+            ordinals.remove(ordinal);
+            if (ordinals.isEmpty()) {
+                target.ordinalsByDocument.remove(target.documentIds[ordinal]);
+            }
+        }
+    }
+
+    private Segment newSegment(LocalDateTime asOf, ScalarQuantizer quantizer) {
+        VectorSearchConfiguration.Hnsw hnsw = vectorConfig.getHnsw();
+        HnswIndex index = new HnswIndex(vectorConfig.getDimension(), hnsw.getM(),
+                hnsw.getEfConstruction(), hnsw.getEfSearch(), quantizer);
+        return new Segment(index, asOf, 1024);
+    }
+
+    /**
+     * Quantizer for a rebuilt segment, calibrated on the current live vectors (null = float32)
+     */
+    private ScalarQuantizer recalibrate(Segment current) {
+        if (vectorConfig.getHnsw().getQuantization() != VectorQuantization.INT8) {
+            return null;
+        }
+        List<float[]> sample = current.ordinalByChunk.entrySet().stream()
+                .limit(vectorConfig.getHnsw().getCalibrationSampleSize())
+                .map(entry -> fullPrecisionVector(current, entry.getKey(), entry.getValue()))
+                .toList();
+        return ScalarQuantizer.calibrate(sample, vectorConfig.getDimension());
+    }
+
+    /**
+     * Vector from the embedding store when the graph is quantized, otherwise the graph's own copy
+     */
+    private float[] fullPrecisionVector(Segment current, UUID chunkId, int ordinal) {
+        if (current.index.quantization() == VectorQuantization.INT8) {
+            EmbeddingStoreManager store = fullPrecisionStore.getIfAvailable();
+            float[] vector = store != null && store.isReady() ? store.getEmbedding(chunkId) : null;
+            if (vector != null) {
+                return vector;
+            }
+        }
+        return current.index.vector(ordinal);
+    }
+
+    /**
+     * Exact re-scoring of quantized candidates; keeps the quantized order while the store is not loaded
+     */
+    private List<VectorHit> rerank(float[] queryEmbedding, List<VectorHit> candidates, int limit) {
+        EmbeddingStoreManager store = fullPrecisionStore.getIfAvailable();
+        if (store == null || !store.isReady()) {
+            return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+        }
+        return store.rerank(queryEmbedding, candidates, limit);
+    }
+
+    /**
+     * Write snapshot atomically (temp file + move); caller holds updateLock
+     */
+    private void writeSnapshot() {
+        Segment current = segment;
+        Path path = Paths.get(vectorConfig.getHnsw().getSnapshotPath());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            LocalDateTime asOf = LocalDateTime.now();
+
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(asOf.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(current.nextOrdinal);
+                for (int ordinal = 0; ordinal < current.nextOrdinal; ordinal++) {
+                    UUID chunkId = current.chunkIds[ordinal];
+                    UUID documentId = current.documentIds[ordinal];
+                    out.writeLong(chunkId.getMostSignificantBits());
+                    out.writeLong(chunkId.getLeastSignificantBits());
+                    out.writeLong(documentId.getMostSignificantBits());
+                    out.writeLong(documentId.getLeastSignificantBits());
+                }
+                current.index.writeTo(out);
+                current.filters.writeTo(out);
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("HNSW snapshot written to {} ({} ordinals)", path, current.nextOrdinal);
+        } catch (IOException e) {
+            log.warn("Could not write HNSW snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    private Segment loadSnapshot() {
+        Path path = Paths.get(vectorConfig.getHnsw().getSnapshotPath());
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not an HNSW snapshot");
+            }
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported HNSW snapshot version");
+            }
+            LocalDateTime asOf = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+            int count = in.readInt();
+
+            UUID[] chunkIds = new UUID[count];
+            UUID[] documentIds = new UUID[count];
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                chunkIds[ordinal] = new UUID(in.readLong(), in.readLong());
+                documentIds[ordinal] = new UUID(in.readLong(), in.readLong());
+            }
+
+            HnswIndex index = HnswIndex.readFrom(in);
+            ChunkFilterIndex filters = ChunkFilterIndex.readFrom(in);
+            if (index.dimension() != vectorConfig.getDimension()) {
+                log.warn("HNSW snapshot dimension {} does not match configured {}, rebuilding",
+                        index.dimension(), vectorConfig.getDimension());
+                return null;
+            }
+            if (index.quantization() != vectorConfig.getHnsw().getQuantization()) {
+                log.info("HNSW snapshot quantization {} does not match configured {}, rebuilding",
+                        index.quantization(), vectorConfig.getHnsw().getQuantization());
+                return null;
+            }
+            index.setEfSearch(vectorConfig.getHnsw().getEfSearch());
+
+            Segment loaded = new Segment(index, asOf, Math.max(count, 1024));
+            loaded.nextOrdinal = count;
+            loaded.filters = filters;
+            System.arraycopy(chunkIds, 0, loaded.chunkIds, 0, count);
+            System.arraycopy(documentIds, 0, loaded.documentIds, 0, count);
+            for (int ordinal = 0; ordinal < count; ordinal++) {
+                if (index.contains(ordinal)) {
+                    loaded.ordinalByChunk.put(chunkIds[ordinal], ordinal);
+                    loaded.ordinalsByDocument
+                            .computeIfAbsent(documentIds[ordinal], id -> ConcurrentHashMap.newKeySet())
+                            .add(ordinal);
+                }
+            }
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load HNSW snapshot from {}, rebuilding: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Index plus ordinal mappings; swapped as a whole on compaction
+     */
+    private static final class Segment {
+        final HnswIndex index;
+        final LocalDateTime asOf;
+        final Map<UUID, Integer> ordinalByChunk = new ConcurrentHashMap<>();
+        final Map<UUID, Set<Integer>> ordinalsByDocument = new ConcurrentHashMap<>();
+        volatile ChunkFilterIndex filters = new ChunkFilterIndex();
+        volatile UUID[] chunkIds;
+        volatile UUID[] documentIds;
+        int nextOrdinal;
+
+        Segment(HnswIndex index, LocalDateTime asOf, int capacity) {
+            this.index = index;
+            this.asOf = asOf;
+            this.chunkIds = new UUID[capacity];
+            this.documentIds = new UUID[capacity];
+        }
+    }
+}
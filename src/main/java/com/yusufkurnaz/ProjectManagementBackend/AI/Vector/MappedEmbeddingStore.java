@@ -0,0 +1,576 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped float32 embedding store
+ * Follows SRP - Single responsibility: Off-heap vector storage with ordinal mapping and tombstones
+ *
+ * Vectors live in fixed-capacity segment files mapped into memory, so they stay off-heap
+ * and survive restarts; opening a store only scans the id region of each segment.
+ * Segment layout: header | capacity x (chunk, document, uploader ids + deleted flag) |
+ * capacity x float[dimension]. A record is committed by bumping the header count after
+ * its bytes are written. Vectors are stored unit length, so scores are dot products.
+ */
+public final class MappedEmbeddingStore implements Closeable {
+
+    private static final int MAGIC = 0x56535447; // "VSTG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int ID_BYTES = 56;
+    private static final int COUNT_OFFSET = 16;
+    private static final int SYNCED_AT_OFFSET = 24; // segment 0 only, epoch millis (0 = never)
+    private static final int DELETED_OFFSET = 48;
+
+    private final Path directory;
+    private final int dimension;
+    private final int segmentCapacity;
+    private final long segmentBytes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<UUID, Integer> ordinalByChunk = new HashMap<>();
+    private final Map<UUID, RoaringBitmap> ordinalsByDocument = new HashMap<>();
+    private final Map<UUID, UUID> uploaderByDocument = new HashMap<>();
+    private final Map<UUID, Set<UUID>> documentsByUploader = new HashMap<>();
+    private int size;
+
+    private MappedEmbeddingStore(Path directory, int dimension, int segmentCapacity) {
+        long bytes = HEADER_BYTES + (long) segmentCapacity * (ID_BYTES + (long) dimension * Float.BYTES);
+        if (dimension <= 0 || segmentCapacity <= 0 || bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid store geometry: dimension=" + dimension
+                    + ", segmentCapacity=" + segmentCapacity);
+        }
+        this.directory = directory;
+        this.dimension = dimension;
+        this.segmentCapacity = segmentCapacity;
+        this.segmentBytes = bytes;
+    }
+
+    /**
+     * Open (or create) a store; fails with IOException if the files have another geometry
+     */
+    public static MappedEmbeddingStore open(Path directory, int dimension, int segmentCapacity) throws IOException {
+        Files.createDirectories(directory);
+        MappedEmbeddingStore store = new MappedEmbeddingStore(directory, dimension, segmentCapacity);
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Remove a store directory and its segment files
+     */
+    public static void delete(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Append a vector (stored unit length); an existing vector of the chunk is tombstoned
+     */
+    public int append(UUID chunkId, UUID documentId, UUID uploadedBy, float[] vector) throws IOException {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Expected a vector of dimension " + dimension);
+        }
+
+        lock.writeLock().lock();
+        try {
+            remove(chunkId);
+            Segment segment = writableSegment();
+            int slot = segment.count;
+            int ordinal = (segments.size() - 1) * segmentCapacity + slot;
+
+            int idOffset = HEADER_BYTES + slot * ID_BYTES;
+            putUuid(segment.bytes, idOffset, chunkId);
+            putUuid(segment.bytes, idOffset + 16, documentId);
+            putUuid(segment.bytes, idOffset + 32, uploadedBy);
+            segment.bytes.putInt(idOffset + DELETED_OFFSET, 0);
+            segment.vectors.put(slot * dimension, VectorMath.normalizeInPlace(vector.clone()));
+
+            segment.count = slot + 1;
+            segment.bytes.putInt(COUNT_OFFSET, segment.count); // commit
+            size++;
+            register(ordinal, chunkId, documentId, uploadedBy);
+            return ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tombstone the chunk's vector; false if it was not stored
+     */
+    public boolean remove(UUID chunkId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalByChunk.remove(chunkId);
+            if (ordinal == null) {
+                return false;
+            }
+            Segment segment = segments.get(ordinal / segmentCapacity);
+            int idOffset = HEADER_BYTES + (ordinal % segmentCapacity) * ID_BYTES;
+            segment.bytes.putInt(idOffset + DELETED_OFFSET, 1);
+            live.remove(ordinal);
+
+            UUID documentId = getUuid(segment.bytes, idOffset + 16);
+            RoaringBitmap ordinals = ordinalsByDocument.get(documentId);
+            if (ordinals != null) {
+                ordinals.remove(ordinal);
+                if (ordinals.isEmpty()) {
+                    ordinalsByDocument.remove(documentId);
+                    UUID uploader = uploaderByDocument.remove(documentId);
+                    Set<UUID> documents = uploader != null ? documentsByUploader.get(uploader) : null;
+                    if (documents != null) {
+                        documents.remove(documentId);
+                        if (documents.isEmpty()) {
+                            documentsByUploader.remove(uploader);
+                        }
+                    }
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tombstone all vectors of a document; returns the number removed
+     */
+    public int removeDocument(UUID documentId) {
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap ordinals = ordinalsByDocument.get(documentId);
+            if (ordinals == null) {
+                return 0;
+            }
+            List<UUID> chunkIds = new ArrayList<>(ordinals.getCardinality());
+            IntIterator iterator = ordinals.getIntIterator();
+            while (iterator.hasNext()) {
+                chunkIds.add(chunkIdAt(iterator.next()));
+            }
+            chunkIds.forEach(this::remove);
+            return chunkIds.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copy of the stored (unit-length) vector, or null if the chunk is not stored
+     */
+    public float[] vector(UUID chunkId) {
+        lock.readLock().lock();
+        try {
+            Integer ordinal = ordinalByChunk.get(chunkId);
+            if (ordinal == null) {
+                return null;
+            }
+            float[] vector = new float[dimension];
+            readVector(ordinal, vector);
+            return vector;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID chunkId) {
+        lock.readLock().lock();
+        try {
+            return ordinalByChunk.containsKey(chunkId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best k chunks over all live vectors, skipping the excluded documents
+     */
+    public List<VectorHit> search(float[] query, int k, float minScore, Collection<UUID> excludedDocuments) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = live.clone();
+            if (excludedDocuments != null) {
+                for (UUID documentId : excludedDocuments) {
+                    RoaringBitmap ordinals = ordinalsByDocument.get(documentId);
+                    if (ordinals != null) {
+                        candidates.andNot(ordinals);
+                    }
+                }
+            }
+            return scan(query, k, minScore, candidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best k chunks of one document
+     */
+    public List<VectorHit> searchDocument(float[] query, UUID documentId, int k, float minScore) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap ordinals = ordinalsByDocument.get(documentId);
+            return ordinals != null ? scan(query, k, minScore, ordinals) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalized mean of the documents' vectors, or null if none are stored
+     */
+    public float[] centroid(Collection<UUID> documentIds) {
+        lock.readLock().lock();
+        try {
+            float[] sum = new float[dimension];
+            float[] vector = new float[dimension];
+            int count = 0;
+            for (UUID documentId : documentIds) {
+                RoaringBitmap ordinals = ordinalsByDocument.get(documentId);
+                if (ordinals == null) {
+                    continue;
+                }
+                IntIterator iterator = ordinals.getIntIterator();
+                while (iterator.hasNext()) {
+                    readVector(iterator.next(), vector);
+                    for (int i = 0; i < dimension; i++) {
+                        sum[i] += vector[i];
+                    }
+                    count++;
+                }
+            }
+            return count > 0 ? VectorMath.normalizeInPlace(sum) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<UUID> documentsUploadedBy(UUID uploadedBy) {
+        lock.readLock().lock();
+        try {
+            Set<UUID> documents = documentsByUploader.get(uploadedBy);
+            return documents != null ? Set.copyOf(documents) : Set.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<UUID> chunkIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(ordinalByChunk.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int liveCount() {
+        lock.readLock().lock();
+        try {
+            return live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int deletedCount() {
+        lock.readLock().lock();
+        try {
+            return size - live.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Time up to which the store reflects the database (null = never synced)
+     */
+    public Instant syncedAt() {
+        lock.readLock().lock();
+        try {
+            long millis = segments.get(0).bytes.getLong(SYNCED_AT_OFFSET);
+            return millis > 0 ? Instant.ofEpochMilli(millis) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void markSynced(Instant syncedAt) {
+        lock.writeLock().lock();
+        try {
+            segments.get(0).bytes.putLong(SYNCED_AT_OFFSET, syncedAt.toEpochMilli());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Write dirty pages to disk
+     */
+    public void force() {
+        lock.readLock().lock();
+        try {
+            segments.forEach(segment -> segment.mapped.force());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write the live vectors into a new store at target (sync time is kept)
+     */
+    public void compactTo(Path target) throws IOException {
+        lock.readLock().lock();
+        try (MappedEmbeddingStore compacted = open(target, dimension, segmentCapacity)) {
+            float[] vector = new float[dimension];
+            IntIterator iterator = live.getIntIterator();
+            while (iterator.hasNext()) {
+                int ordinal = iterator.next();
+                Segment segment = segments.get(ordinal / segmentCapacity);
+                int idOffset = HEADER_BYTES + (ordinal % segmentCapacity) * ID_BYTES;
+                readVector(ordinal, vector);
+                compacted.append(getUuid(segment.bytes, idOffset), getUuid(segment.bytes, idOffset + 16),
+                        getUuid(segment.bytes, idOffset + 32), vector);
+            }
+            long syncedAt = segments.get(0).bytes.getLong(SYNCED_AT_OFFSET);
+            if (syncedAt > 0) {
+                compacted.markSynced(Instant.ofEpochMilli(syncedAt));
+            }
+            compacted.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            IOException failure = null;
+            for (Segment segment : segments) {
+                try {
+                    segment.mapped.force();
+                    segment.channel.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            segments.clear();
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Private helper methods
+
+    private void load() throws IOException {
+        for (int index = 0; ; index++) {
+            Path path = segmentPath(index);
+            if (!Files.exists(path)) {
+                break;
+            }
+            Segment segment = mapSegment(path, false);
+            segments.add(segment);
+            if (segment.bytes.getInt(0) != MAGIC || segment.bytes.getInt(4) != VERSION
+                    || segment.bytes.getInt(8) != dimension || segment.bytes.getInt(12) != segmentCapacity) {
+                throw new IOException("Incompatible embedding store segment " + path);
+            }
+            segment.count = segment.bytes.getInt(COUNT_OFFSET);
+            if (segment.count < 0 || segment.count > segmentCapacity) {
+                throw new IOException("Corrupt embedding store segment " + path);
+            }
+
+            for (int slot = 0; slot < segment.count; slot++) {
+                int idOffset = HEADER_BYTES + slot * ID_BYTES;
+                if (segment.bytes.getInt(idOffset + DELETED_OFFSET) != 0) {
+                    continue;
+                }
+                UUID chunkId = getUuid(segment.bytes, idOffset);
+                Integer previous = ordinalByChunk.get(chunkId);
+                if (previous != null) {
+                    remove(chunkId); // crash between append and tombstone of the old vector
+                }
+                register(index * segmentCapacity + slot, chunkId,
+                        getUuid(segment.bytes, idOffset + 16), getUuid(segment.bytes, idOffset + 32));
+            }
+            size = index * segmentCapacity + segment.count;
+            if (segment.count < segmentCapacity) {
+                break; // only the last segment can be partially filled
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(mapSegment(segmentPath(0), true));
+        }
+    }
+
+    private Segment writableSegment() throws IOException {
+        Segment last = segments.get(segments.size() - 1);
+        if (last.count < segmentCapacity) {
+            return last;
+        }
+        Segment created = mapSegment(segmentPath(segments.size()), true);
+        segments.add(created);
+        return created;
+    }
+
+    private Segment mapSegment(Path path, boolean create) throws IOException {
+        FileChannel channel = create
+                ? FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (!create && channel.size() != segmentBytes) {
+                throw new IOException("Unexpected size of embedding store segment " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            ByteBuffer bytes = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            int vectorOffset = HEADER_BYTES + segmentCapacity * ID_BYTES;
+            FloatBuffer vectors = mapped.slice(vectorOffset, (int) segmentBytes - vectorOffset)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asFloatBuffer();
+            if (create) {
+                bytes.putInt(0, MAGIC);
+                bytes.putInt(4, VERSION);
+                bytes.putInt(8, dimension);
+                bytes.putInt(12, segmentCapacity);
+                bytes.putInt(COUNT_OFFSET, 0);
+            }
+            return new Segment(channel, mapped, bytes, vectors);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("segment-%05d.bin", index));
+    }
+
+    private void register(int ordinal, UUID chunkId, UUID documentId, UUID uploadedBy) {
+        live.add(ordinal);
+        ordinalByChunk.put(chunkId, ordinal);
+        ordinalsByDocument.computeIfAbsent(documentId, id -> new RoaringBitmap()).add(ordinal);
+        if (uploadedBy != null) {
+            uploaderByDocument.put(documentId, uploadedBy);
+            documentsByUploader.computeIfAbsent(uploadedBy, id -> new HashSet<>()).add(documentId);
+        }
+    }
+
+    /**
+     * Bounded min-heap over the candidate ordinals; vectors are copied slot by slot from the mapping
+     */
+    private List<VectorHit> scan(float[] query, int k, float minScore, RoaringBitmap candidates) {
+        if (query == null || query.length != dimension || k <= 0) {
+            return List.of();
+        }
+        float[] unitQuery = VectorMath.normalize(query);
+        float[] vector = new float[dimension];
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(ScoredOrdinal::score));
+
+        IntIterator iterator = candidates.getIntIterator();
+        while (iterator.hasNext()) {
+            int ordinal = iterator.next();
+            if (!live.contains(ordinal)) {
+                continue;
+            }
+            readVector(ordinal, vector);
+            float score = VectorMath.dot(unitQuery, vector);
+            if (score < minScore) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(new ScoredOrdinal(ordinal, score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new ScoredOrdinal(ordinal, score));
+            }
+        }
+
+        List<ScoredOrdinal> best = new ArrayList<>(heap);
+        best.sort(Comparator.comparingDouble(ScoredOrdinal::score).reversed());
+        List<VectorHit> hits = new ArrayList<>(best.size());
+        for (ScoredOrdinal scored : best) {
+            hits.add(new VectorHit(chunkIdAt(scored.ordinal()), scored.score()));
+        }
+        return hits;
+    }
+
+    private void readVector(int ordinal, float[] target) {
+        segments.get(ordinal / segmentCapacity).vectors.get((ordinal % segmentCapacity) * dimension, target);
+    }
+
+    private UUID chunkIdAt(int ordinal) {
+        return getUuid(segments.get(ordinal / segmentCapacity).bytes, HEADER_BYTES + (ordinal % segmentCapacity) * ID_BYTES);
+    }
+
+    private static void putUuid(ByteBuffer bytes, int offset, UUID value) {
+        bytes.putLong(offset, value != null ? value.getMostSignificantBits() : 0L);
+        bytes.putLong(offset + 8, value != null ? value.getLeastSignificantBits() : 0L);
+    }
+
+    private static UUID getUuid(ByteBuffer bytes, int offset) {
+        long most = bytes.getLong(offset);
+        long least = bytes.getLong(offset + 8);
+        return most == 0L && least == 0L ? null : new UUID(most, least);
+    }
+
+    private static final class Segment {
+        final FileChannel channel;
+        final MappedByteBuffer mapped;
+        final ByteBuffer bytes;
+        final FloatBuffer vectors;
+        int count;
+
+        Segment(FileChannel channel, MappedByteBuffer mapped, ByteBuffer bytes, FloatBuffer vectors) {
+            this.channel = channel;
+            this.mapped = mapped;
+            this.bytes = bytes;
+            this.vectors = vectors;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maximal-marginal-relevance re-ranking of retrieved chunks
+ * Follows SRP - Single responsibility: Dropping near-duplicate results (e.g. overlapping chunks)
+ *
+ * Works on the embeddings already decoded on the candidate entities; relevance is
+ * the retrieval score, redundancy the cosine to chunks picked before.
+ */
+public final class MmrDiversifier {
+
+    private MmrDiversifier() {
+    }
+
+    /**
+     * Apply the query's MMR setting; results are returned unchanged when it is off
+     */
+    public static List<ScoredChunk> diversify(List<ScoredChunk> candidates, VectorQuery query) {
+        if (!query.isDiversified()) {
+            return candidates;
+        }
+        return diversify(candidates, query.getLimit(), query.getMmrLambda());
+    }
+
+    /**
+     * k chunks in MMR order (lambda 1.0 = pure relevance, 0.0 = pure diversity)
+     */
+    public static List<ScoredChunk> diversify(List<ScoredChunk> candidates, int k, float lambda) {
+        if (candidates.size() <= 1 || k <= 0) {
+            return new ArrayList<>(candidates.subList(0, Math.min(Math.max(k, 0), candidates.size())));
+        }
+
+        int dimension = 0;
+        List<float[]> vectors = new ArrayList<>(candidates.size());
+        float[] relevance = new float[candidates.size()];
+        for (int i = 0; i < candidates.size(); i++) {
+            ScoredChunk candidate = candidates.get(i);
+            float[] embedding = candidate.chunk() != null ? candidate.chunk().getEmbedding() : null;
+            if (dimension == 0 && embedding != null) {
+                dimension = embedding.length;
+            }
+            vectors.add(embedding);
+            relevance[i] = candidate.score();
+        }
+        if (dimension == 0) {
+            return new ArrayList<>(candidates.subList(0, Math.min(k, candidates.size())));
+        }
+
+        int[] rows = VectorMatrix.of(vectors, dimension).maximalMarginalRelevance(relevance, k, lambda);
+        List<ScoredChunk> selected = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            selected.add(candidates.get(row));
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,135 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunkEmbeddingsUpdatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.DocumentDeactivatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+
+/**
+ * Maintains the precomputed k-nearest-neighbour graphs of chunks and documents (V9)
+ * Follows SRP - Single responsibility: Neighbour list refresh and graph lookups
+ *
+ * Lists of freshly embedded chunks (and their document) are refreshed as soon as the
+ * embeddings are committed; a periodic sweep picks up everything else that is missing
+ * or stale, so restarts and other nodes' writes converge without coordination.
+ * Each list refresh runs in its own transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "app.vector.neighbors.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class NeighborGraphManager {
+
+    private final DocumentChunkRepository chunkRepository;
+    private final VectorSearchConfiguration vectorConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    /**
+     * Stored neighbours of a chunk, or null when the graph cannot answer the lookup
+     * (list not computed yet, limit above k, or the filter leaves fewer than limit)
+     */
+    public List<VectorHit> similarChunks(UUID chunkId, ChunkFilter filter, int limit) {
+        if (limit > vectorConfig.getNeighbors().getK()) {
+            return null;
+        }
+        List<VectorHit> neighbors = chunkRepository.findChunkNeighbors(chunkId, filter, limit);
+        return neighbors.size() >= limit ? neighbors : null;
+    }
+
+    /**
+     * Stored neighbours of a document with one of the tags (empty = any); empty when not computed yet
+     */
+    public List<DocumentHit> relatedDocuments(UUID documentId, Collection<String> domainTags, int limit) {
+        return chunkRepository.findDocumentNeighbors(documentId, domainTags,
+                Math.min(limit, vectorConfig.getNeighbors().getK()));
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunkEmbeddingsUpdated(ChunkEmbeddingsUpdatedEvent event) {
+        int k = vectorConfig.getNeighbors().getK();
+        int refreshed = 0;
+        for (UUID chunkId : event.chunkIds()) {
+            refreshed += refresh(chunkId, k, chunkRepository::refreshChunkNeighbors) ? 1 : 0;
+        }
+        refresh(event.documentId(), k, chunkRepository::refreshDocumentNeighbors);
+        log.debug("Neighbour lists refreshed for {} chunks of document {}", refreshed, event.documentId());
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentDeactivated(DocumentDeactivatedEvent event) {
+        try {
+            Integer invalidated = transactionTemplate.execute(
+                    status -> chunkRepository.invalidateNeighborListsPointingTo(event.documentId()));
+            log.debug("{} neighbour lists pointing into document {} marked stale", invalidated, event.documentId());
+        } catch (Exception e) {
+            log.warn("Could not invalidate neighbour lists of document {}: {}", event.documentId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute a batch of missing or stale lists of each kind
+     */
+    @Scheduled(fixedDelayString = "${app.vector.neighbors.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            VectorSearchConfiguration.Neighbors neighbors = vectorConfig.getNeighbors();
+            int chunks = refreshAll(chunkRepository.findChunksWithStaleNeighbors(neighbors.getBatchSize()),
+                    neighbors.getK(), chunkRepository::refreshChunkNeighbors);
+            int documents = refreshAll(chunkRepository.findDocumentsWithStaleNeighbors(neighbors.getBatchSize()),
+                    neighbors.getK(), chunkRepository::refreshDocumentNeighbors);
+            if (chunks + documents > 0) {
+                log.info("Neighbour graph sweep refreshed {} chunk and {} document lists in {} ms",
+                        chunks, documents, System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.error("Neighbour graph sweep failed: {}", e.getMessage(), e);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    // Private helper methods
+
+    private int refreshAll(List<UUID> ids, int k, BiPredicate<UUID, Integer> refresher) {
+        int refreshed = 0;
+        for (UUID id : ids) {
+            refreshed += refresh(id, k, refresher) ? 1 : 0;
+        }
+        return refreshed;
+    }
+
+    /**
+     * One list in its own transaction; a failure (e.g. a deadlock with another node) is retried by the next sweep
+     */
+    private boolean refresh(UUID id, int k, BiPredicate<UUID, Integer> refresher) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> refresher.test(id, k)));
+        } catch (Exception e) {
+            log.warn("Neighbour list refresh failed for {}: {}", id, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,623 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunkEmbeddingsUpdatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.ChunksRemovedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Event.DocumentDeactivatedEvent;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Owns one in-process HNSW partition per uploader
+ * Follows SRP - Single responsibility: Owner partition lifecycle and scatter-gather search
+ *
+ * Queries whose filter pins the uploader (ChunkFilter.uploaders) only search those
+ * partitions, so a large tenant never slows down the graph walk of a small one.
+ * Unrestricted queries scatter over all partitions in parallel groups and merge the
+ * per-partition top-k with a heap. Small partitions are scored exactly.
+ *
+ * Partitions are evicted after app.vector.partitioned.idle-eviction-ms without
+ * searches and reloaded from the database on the next query that needs them;
+ * updates for evicted partitions are dropped (the reload reads current rows).
+ * Tombstones are compacted per partition, independently of the others.
+ */
+@Component
+@ConditionalOnProperty(name = "app.vector.engine", havingValue = VectorSearchConfiguration.ENGINE_PARTITIONED)
+@Slf4j
+public class PartitionedVectorIndexManager implements LocalVectorEngine {
+
+    private static final long CATCH_UP_MARGIN_SECONDS = 60;
+
+    private final DocumentChunkRepository chunkRepository;
+    private final DocumentRepository documentRepository;
+    private final VectorSearchConfiguration vectorConfig;
+    private final Executor searchExecutor;
+
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Map<UUID, Partition> partitions = new ConcurrentHashMap<>();
+    private final Set<UUID> owners = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, UUID> ownerByChunk = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> ownerByDocument = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Partition>> loads = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public PartitionedVectorIndexManager(
+            DocumentChunkRepository chunkRepository,
+            DocumentRepository documentRepository,
+            VectorSearchConfiguration vectorConfig,
+            @Qualifier("vectorSearchExecutor") Executor searchExecutor) {
+        this.chunkRepository = chunkRepository;
+        this.documentRepository = documentRepository;
+        this.vectorConfig = vectorConfig;
+        this.searchExecutor = searchExecutor;
+    }
+
+    /**
+     * Build every partition from the database without blocking startup
+     */
+    @Async("vectorTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long start = System.currentTimeMillis();
+        LocalDateTime bootstrapStartedAt = LocalDateTime.now();
+
+        try {
+            Map<UUID, Partition> built = buildFromDatabase();
+            updateLock.lock();
+            try {
+                built.forEach(this::install);
+                catchUp(chunkRepository.findActiveEmbeddedChunkIds(), bootstrapStartedAt, null);
+            } finally {
+                updateLock.unlock();
+            }
+            ready = true;
+            log.info("Partitioned vector index built with {} partitions, {} vectors in {} ms",
+                    built.size(), ownerByChunk.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Partitioned vector index bootstrap failed, searches stay on pgvector: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Scatter the query over the partitions its filter allows, gather the global top-k
+     * The calling thread searches the first group; the others run on the search executor.
+     */
+    @Override
+    public List<VectorHit> search(VectorQuery query) {
+        float[] embedding = query.getEmbedding();
+        if (!ready || embedding == null || embedding.length != vectorConfig.getDimension()) {
+            return List.of();
+        }
+
+        ChunkFilter filter = query.effectiveFilter();
+        Set<UUID> scope = ChunkFilter.uploaders(filter);
+        List<UUID> targets = (scope != null ? scope : owners).stream()
+                .filter(owners::contains)
+                .toList();
+        if (targets.isEmpty()) {
+            return List.of();
+        }
+
+        List<List<UUID>> groups = balance(targets, vectorConfig.getPartitioned().getSearchParallelism());
+        List<CompletableFuture<List<VectorHit>>> scattered = new ArrayList<>(groups.size() - 1);
+        for (List<UUID> group : groups.subList(1, groups.size())) {
+            scattered.add(CompletableFuture.supplyAsync(() -> searchGroup(group, query, filter), searchExecutor));
+        }
+
+        List<List<VectorHit>> gathered = new ArrayList<>(groups.size());
+        gathered.add(searchGroup(groups.get(0), query, filter));
+        scattered.forEach(future -> gathered.add(future.join()));
+        return TopKMerge.merge(gathered, query.getLimit());
+    }
+
+    /**
+     * Indexed (normalized) embedding of a chunk; read from the database when its partition is evicted
+     */
+    @Override
+    public float[] getEmbedding(UUID chunkId) {
+        UUID owner = ownerByChunk.get(chunkId);
+        Partition partition = owner != null ? partitions.get(owner) : null;
+        Integer ordinal = partition != null ? partition.ordinalByChunk.get(chunkId) : null;
+        if (ordinal != null) {
+            return partition.index.vector(ordinal);
+        }
+
+        return chunkRepository.findEmbeddingsByIds(List.of(chunkId)).stream()
+                .map(ChunkEmbeddingRow::embedding)
+                .filter(embedding -> embedding != null && embedding.length == vectorConfig.getDimension())
+                .map(VectorMath::normalize)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunkEmbeddingsUpdated(ChunkEmbeddingsUpdatedEvent event) {
+        if (!ready || event.chunkIds().isEmpty()) {
+            return; // bootstrap catch-up picks these up
+        }
+
+        List<ChunkEmbeddingRow> rows = chunkRepository.findEmbeddingsByIds(event.chunkIds());
+        Map<UUID, List<String>> domainTags = loadDomainTags(rows);
+        updateLock.lock();
+        try {
+            Set<UUID> found = new HashSet<>();
+            for (ChunkEmbeddingRow row : rows) {
+                upsert(row, domainTags);
+                found.add(row.chunkId());
+            }
+            for (UUID chunkId : event.chunkIds()) {
+                if (!found.contains(chunkId)) {
+                    tombstone(chunkId);
+                }
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("Partitioned index updated with {} chunks of document {}", rows.size(), event.documentId());
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChunksRemoved(ChunksRemovedEvent event) {
+        if (!ready) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            event.chunkIds().forEach(this::tombstone);
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("Partitioned index tombstoned {} chunks of document {}", event.chunkIds().size(), event.documentId());
+    }
+
+    @Async("vectorTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDocumentDeactivated(DocumentDeactivatedEvent event) {
+        if (!ready) {
+            return;
+        }
+
+        updateLock.lock();
+        try {
+            UUID owner = ownerByDocument.get(event.documentId());
+            Partition partition = owner != null ? partitions.get(owner) : null;
+            Set<Integer> ordinals = partition != null ? partition.ordinalsByDocument.get(event.documentId()) : null;
+            if (ordinals != null) {
+                new ArrayList<>(ordinals).forEach(ordinal -> tombstone(partition.chunkIds[ordinal]));
+            }
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("Partitioned index tombstoned document {}", event.documentId());
+    }
+
+    /**
+     * Evict idle partitions and rebuild those whose tombstones pass the compaction threshold
+     */
+    @Scheduled(fixedDelayString = "${app.vector.partitioned.maintenance-interval-ms:300000}")
+    public void maintain() {
+        if (!ready) {
+            return;
+        }
+
+        long idleEvictionMs = vectorConfig.getPartitioned().getIdleEvictionMs();
+        long now = System.currentTimeMillis();
+        for (UUID owner : new ArrayList<>(partitions.keySet())) {
+            Partition partition = partitions.get(owner);
+            if (partition == null) {
+                continue;
+            }
+            if (idleEvictionMs > 0 && now - partition.lastAccessMillis > idleEvictionMs) {
+                evict(owner);
+                continue;
+            }
+
+            int deleted = partition.index.deletedCount();
+            int total = deleted + partition.index.size();
+            if (total > 0 && (double) deleted / total >= vectorConfig.getHnsw().getCompactionThreshold()) {
+                compact(owner);
+            }
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * One keyset scan over all embeddings, rows routed to their uploader's partition
+     */
+    private Map<UUID, Partition> buildFromDatabase() {
+        Map<UUID, Partition> built = new HashMap<>();
+        UUID afterId = new UUID(0L, 0L); // smallest uuid in Postgres (unsigned byte) order
+        int pageSize = vectorConfig.getHnsw().getBootstrapPageSize();
+
+        while (true) {
+            List<ChunkEmbeddingRow> page = chunkRepository.findActiveEmbeddingsAfter(afterId, PageRequest.of(0, pageSize));
+            Map<UUID, List<String>> domainTags = loadDomainTags(page);
+            for (ChunkEmbeddingRow row : page) {
+                if (row.uploadedBy() != null && row.embedding() != null
+                        && row.embedding().length == vectorConfig.getDimension()) {
+                    Partition partition = built.computeIfAbsent(row.uploadedBy(), owner -> newPartition());
+                    int ordinal = append(partition, row.chunkId(), row.documentId(), row.embedding());
+                    partition.filters.add(ordinal, attributesOf(row, domainTags));
+                }
+            }
+            if (page.size() < pageSize) {
+                return built;
+            }
+            afterId = page.get(page.size() - 1).chunkId();
+        }
+    }
+
+    /**
+     * Resident partition of an owner, loading it from the database when evicted
+     * Concurrent queries for the same cold owner share one load.
+     */
+    private Partition residentPartition(UUID owner) {
+        Partition partition = partitions.get(owner);
+        if (partition != null || !owners.contains(owner)) {
+            return partition;
+        }
+
+        CompletableFuture<Partition> load = new CompletableFuture<>();
+        CompletableFuture<Partition> running = loads.putIfAbsent(owner, load);
+        if (running != null) {
+            return running.join();
+        }
+
+        try {
+            partition = partitions.get(owner); // installed while this thread was checking
+            if (partition == null) {
+                partition = loadPartition(owner);
+            }
+            load.complete(partition);
+            return partition;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(owner);
+        }
+    }
+
+    private Partition loadPartition(UUID owner) {
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStartedAt = LocalDateTime.now();
+        Partition loaded = newPartition();
+        UUID afterId = new UUID(0L, 0L);
+        int pageSize = vectorConfig.getHnsw().getBootstrapPageSize();
+
+        while (true) {
+            List<ChunkEmbeddingRow> page = chunkRepository.findActiveEmbeddingsByUploaderAfter(
+                    owner, afterId, PageRequest.of(0, pageSize));
+            Map<UUID, List<String>> domainTags = loadDomainTags(page);
+            for (ChunkEmbeddingRow row : page) {
+                if (row.embedding() != null && row.embedding().length == vectorConfig.getDimension()) {
+                    int ordinal = append(loaded, row.chunkId(), row.documentId(), row.embedding());
+                    loaded.filters.add(ordinal, attributesOf(row, domainTags));
+                }
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).chunkId();
+        }
+
+        updateLock.lock();
+        try {
+            install(owner, loaded);
+            catchUp(chunkRepository.findActiveEmbeddedChunkIdsByUploader(owner), loadStartedAt, owner);
+        } finally {
+            updateLock.unlock();
+        }
+        log.debug("Partition of {} loaded with {} vectors in {} ms",
+                owner, loaded.index.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    /**
+     * Make a partition visible to searches and updates; caller holds updateLock
+     */
+    private void install(UUID owner, Partition partition) {
+        partitions.put(owner, partition);
+        owners.add(owner);
+        partition.ordinalByChunk.keySet().forEach(chunkId -> ownerByChunk.put(chunkId, owner));
+        partition.ordinalsByDocument.keySet().forEach(documentId -> ownerByDocument.put(documentId, owner));
+    }
+
+    private void evict(UUID owner) {
+        updateLock.lock();
+        try {
+            Partition evicted = partitions.remove(owner);
+            if (evicted != null) {
+                evicted.ordinalByChunk.keySet().forEach(ownerByChunk::remove);
+                evicted.ordinalsByDocument.keySet().forEach(ownerByDocument::remove);
+                log.debug("Partition of {} evicted ({} vectors)", owner, evicted.index.size());
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild one partition without tombstones; the others keep serving untouched
+     */
+    private void compact(UUID owner) {
+        long start = System.currentTimeMillis();
+        updateLock.lock();
+        try {
+            Partition current = partitions.get(owner);
+            if (current == null) {
+                return;
+            }
+            Partition compacted = newPartition();
+            int[] newOrdinals = new int[current.nextOrdinal];
+            Arrays.fill(newOrdinals, -1);
+            for (Map.Entry<UUID, Integer> entry : current.ordinalByChunk.entrySet()) {
+                int ordinal = entry.getValue();
+                newOrdinals[ordinal] = append(compacted, entry.getKey(), current.documentIds[ordinal],
+                        current.index.vector(ordinal));
+            }
+            compacted.filters = current.filters.remap(newOrdinals);
+            compacted.lastAccessMillis = current.lastAccessMillis;
+            partitions.put(owner, compacted);
+            log.info("Partition of {} compacted: dropped {} tombstones, {} vectors kept in {} ms",
+                    owner, current.index.deletedCount(), compacted.index.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Partition compaction failed for {}: {}", owner, e.getMessage(), e);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Reconcile resident partitions (or one owner's) with the database; caller holds updateLock
+     */
+    private void catchUp(Collection<UUID> activeChunkIds, LocalDateTime since, UUID onlyOwner) {
+        Set<UUID> activeIds = new HashSet<>(activeChunkIds);
+        List<UUID> stale = ownerByChunk.entrySet().stream()
+                .filter(entry -> onlyOwner == null || onlyOwner.equals(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .filter(chunkId -> !activeIds.contains(chunkId))
+                .toList();
+        stale.forEach(this::tombstone);
+
+        List<ChunkEmbeddingRow> changed = chunkRepository.findEmbeddingsUpdatedSince(
+                        since.minusSeconds(CATCH_UP_MARGIN_SECONDS)).stream()
+                .filter(row -> onlyOwner == null || onlyOwner.equals(row.uploadedBy()))
+                .toList();
+        Map<UUID, List<String>> domainTags = loadDomainTags(changed);
+        changed.forEach(row -> upsert(row, domainTags));
+
+        log.debug("Partition catch-up: {} stale chunks removed, {} changed chunks applied", stale.size(), changed.size());
+    }
+
+    /**
+     * Apply a row to its owner's partition; rows of evicted partitions only register the owner
+     */
+    private void upsert(ChunkEmbeddingRow row, Map<UUID, List<String>> domainTags) {
+        if (row.uploadedBy() == null || row.embedding() == null
+                || row.embedding().length != vectorConfig.getDimension()) {
+            return;
+        }
+        owners.add(row.uploadedBy());
+        Partition partition = partitions.get(row.uploadedBy());
+        if (partition == null) {
+            return;
+        }
+
+        Integer existing = partition.ordinalByChunk.get(row.chunkId());
+        if (existing != null && partition.index.matches(existing, row.embedding())) {
+            return;
+        }
+        tombstone(row.chunkId());
+        int ordinal = append(partition, row.chunkId(), row.documentId(), row.embedding());
+        partition.filters.add(ordinal, attributesOf(row, domainTags));
+        ownerByChunk.put(row.chunkId(), row.uploadedBy());
+        ownerByDocument.put(row.documentId(), row.uploadedBy());
+    }
+
+    private void tombstone(UUID chunkId) {
+        UUID owner = ownerByChunk.remove(chunkId);
+        Partition partition = owner != null ? partitions.get(owner) : null;
+        Integer ordinal = partition != null ? partition.ordinalByChunk.remove(chunkId) : null;
+        if (ordinal == null) {
+            return;
+        }
+        partition.index.remove(ordinal);
+        partition.filters.remove(ordinal);
+        UUID documentId = partition.documentIds[ordinal];
+        Set<Integer> ordinals = partition.ordinalsByDocument.get(documentId);
+        if (ordinals != null) {
+            ordinals.remove(ordinal);
+            if (ordinals.isEmpty()) {
+                partition.ordinalsByDocument.remove(documentId);
+                ownerByDocument.remove(documentId);
+            }
+        }
+    }
+
+    /**
+     * Search a group of partitions sequentially and keep the group's top-k
+     */
+    private List<VectorHit> searchGroup(List<UUID> group, VectorQuery query, ChunkFilter filter) {
+        List<List<VectorHit>> partials = new ArrayList<>(group.size());
+        for (UUID owner : group) {
+            try {
+                Partition partition = residentPartition(owner);
+                if (partition != null) {
+                    partials.add(searchPartition(partition, query, filter));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Search of partition {} failed, skipping it: {}", owner, e.getMessage());
+            }
+        }
+        return TopKMerge.merge(partials, query.getLimit());
+    }
+
+    /**
+     * Exact scoring for small partitions and selective filters, filtered graph traversal otherwise
+     */
+    private List<VectorHit> searchPartition(Partition partition, VectorQuery query, ChunkFilter filter) {
+        partition.lastAccessMillis = System.currentTimeMillis();
+        int limit = query.getLimit();
+        int ef = query.getEfSearch() != null ? query.getEfSearch() : partition.index.getEfSearch();
+        int exactThreshold = vectorConfig.getHnsw().getExactSearchThreshold();
+        int size = partition.index.size();
+
+        List<ScoredOrdinal> results;
+        if (filter == null && size > exactThreshold) {
+            results = partition.index.search(query.getEmbedding(), limit, ef, null);
+        } else {
+            RoaringBitmap allowed = partition.filters.evaluate(filter);
+            int matches = allowed.getCardinality();
+            if (matches == 0) {
+                return List.of();
+            } else if (matches <= Math.max(exactThreshold, limit)) {
+                results = partition.index.searchExact(query.getEmbedding(), limit, allowed.toArray());
+            } else {
+                long scaled = (long) Math.max(ef, limit) * Math.max(1, size) / matches;
+                int filteredEf = (int) Math.min(Math.max(ef, scaled), Math.max(ef, exactThreshold));
+                results = partition.index.search(query.getEmbedding(), limit, filteredEf, allowed::contains);
+            }
+        }
+
+        List<VectorHit> hits = new ArrayList<>(results.size());
+        for (ScoredOrdinal result : results) {
+            hits.add(new VectorHit(partition.chunkIds[result.ordinal()], result.score()));
+        }
+        return hits;
+    }
+
+    /**
+     * Split owners into at most parallelism groups of similar total size (largest partitions first)
+     * Cold partitions count as empty; their load time is not known in advance.
+     */
+    private List<List<UUID>> balance(List<UUID> targets, int parallelism) {
+        int groupCount = Math.max(1, Math.min(parallelism, targets.size()));
+        List<List<UUID>> groups = new ArrayList<>(groupCount);
+        long[] groupSizes = new long[groupCount];
+        for (int i = 0; i < groupCount; i++) {
+            groups.add(new ArrayList<>());
+        }
+
+        List<UUID> bySizeDescending = new ArrayList<>(targets);
+        bySizeDescending.sort(Comparator.comparingInt(this::residentSize).reversed());
+        for (UUID owner : bySizeDescending) {
+            int lightest = 0;
+            for (int i = 1; i < groupCount; i++) {
+                if (groupSizes[i] < groupSizes[lightest]) {
+                    lightest = i;
+                }
+            }
+            groups.get(lightest).add(owner);
+            groupSizes[lightest] += Math.max(1, residentSize(owner));
+        }
+        return groups;
+    }
+
+    private int residentSize(UUID owner) {
+        Partition partition = partitions.get(owner);
+        return partition != null ? partition.index.size() : 0;
+    }
+
+    /**
+     * Domain tags per document for a page of rows (one query per page)
+     */
+    private Map<UUID, List<String>> loadDomainTags(List<ChunkEmbeddingRow> rows) {
+        Set<UUID> documentIds = new HashSet<>();
+        rows.forEach(row -> documentIds.add(row.documentId()));
+        Map<UUID, List<String>> domainTags = new HashMap<>();
+        if (documentIds.isEmpty()) {
+            return domainTags;
+        }
+        for (Object[] pair : documentRepository.findDomainTagPairs(documentIds)) {
+            domainTags.computeIfAbsent((UUID) pair[0], id -> new ArrayList<>()).add((String) pair[1]);
+        }
+        return domainTags;
+    }
+
+    private ChunkAttributes attributesOf(ChunkEmbeddingRow row, Map<UUID, List<String>> domainTags) {
+        return new ChunkAttributes(domainTags.getOrDefault(row.documentId(), List.of()),
+                row.contentType(), row.uploadedBy());
+    }
+
+    /**
+     * Add the vector under the partition's next ordinal (filter attributes are added by the caller)
+     */
+    private int append(Partition target, UUID chunkId, UUID documentId, float[] embedding) {
+        int ordinal = target.nextOrdinal++;
+        if (ordinal >= target.chunkIds.length) {
+            int capacity = Math.max(ordinal + 1, target.chunkIds.length * 2);
+            target.documentIds = Arrays.copyOf(target.documentIds, capacity);
+            target.chunkIds = Arrays.copyOf(target.chunkIds, capacity);
+        }
+        target.chunkIds[ordinal] = chunkId;
+        target.documentIds[ordinal] = documentId;
+        target.index.add(ordinal, embedding);
+        target.ordinalByChunk.put(chunkId, ordinal);
+        target.ordinalsByDocument.computeIfAbsent(documentId, id -> ConcurrentHashMap.newKeySet()).add(ordinal);
+        return ordinal;
+    }
+
+    private Partition newPartition() {
+        VectorSearchConfiguration.Hnsw hnsw = vectorConfig.getHnsw();
+        HnswIndex index = new HnswIndex(vectorConfig.getDimension(), hnsw.getM(),
+                hnsw.getEfConstruction(), hnsw.getEfSearch());
+        return new Partition(index, 64);
+    }
+
+    /**
+     * One owner's graph plus ordinal mappings; swapped as a whole on compaction
+     */
+    private static final class Partition {
+        final HnswIndex index;
+        final Map<UUID, Integer> ordinalByChunk = new ConcurrentHashMap<>();
+        final Map<UUID, Set<Integer>> ordinalsByDocument = new ConcurrentHashMap<>();
+        volatile ChunkFilterIndex filters = new ChunkFilterIndex();
+        volatile UUID[] chunkIds;
+        volatile UUID[] documentIds;
+        volatile long lastAccessMillis = System.currentTimeMillis();
+        int nextOrdinal;
+
+        Partition(HnswIndex index, int capacity) {
+            this.index = index;
+            this.chunkIds = new UUID[capacity];
+            this.documentIds = new UUID[capacity];
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Recall and memory trade-off of int8 quantization measured on a vector sample
+ * Follows SRP - Single responsibility: Quantization quality reporting
+ *
+ * The first queryCount sample vectors are used as queries against the rest;
+ * recall@k compares brute-force int8 results (without and with exact re-ranking
+ * of k * rerankFactor candidates) to exact float32 results, so it isolates the
+ * quantization error from graph search error.
+ */
+public record QuantizationReport(
+        int dimension,
+        int corpusSize,
+        int queryCount,
+        int k,
+        int rerankFactor,
+        double int8RecallAtK,
+        double int8RerankedRecallAtK,
+        long float32BytesPerMillion,
+        long int8BytesPerMillion) {
+
+    private static final long MILLION = 1_000_000L;
+
+    public static QuantizationReport evaluate(List<float[]> sample, int dimension, int queryCount, int k, int rerankFactor) {
+        List<float[]> vectors = sample.stream()
+                .filter(vector -> vector != null && vector.length == dimension)
+                .map(VectorMath::normalize)
+                .toList();
+        int queries = Math.max(0, Math.min(queryCount, vectors.size() - k));
+        List<float[]> corpus = vectors.subList(queries, vectors.size());
+        int candidates = Math.max(k, k * Math.max(1, rerankFactor));
+
+        ScalarQuantizer quantizer = ScalarQuantizer.calibrate(corpus, dimension);
+        byte[][] codes = new byte[corpus.size()][];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = quantizer.encode(corpus.get(i));
+        }
+        VectorMatrix exact = VectorMatrix.of(corpus, dimension);
+
+        double recall = 0.0;
+        double rerankedRecall = 0.0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = vectors.get(q);
+            Set<Integer> truth = ordinals(exact.topK(query, k, Float.NEGATIVE_INFINITY));
+
+            List<ScoredOrdinal> approximate = quantizedTopK(quantizer.prepare(query), codes, candidates);
+            recall += overlap(truth, approximate.subList(0, Math.min(k, approximate.size())), k);
+
+            int[] rows = approximate.stream().mapToInt(ScoredOrdinal::ordinal).toArray();
+            rerankedRecall += overlap(truth, rerank(query, corpus, rows, k), k);
+        }
+
+        return new QuantizationReport(dimension, corpus.size(), queries, k, rerankFactor,
+                queries > 0 ? recall / queries : 0.0,
+                queries > 0 ? rerankedRecall / queries : 0.0,
+                VectorQuantization.NONE.bytesPerVector(dimension) * MILLION,
+                VectorQuantization.INT8.bytesPerVector(dimension) * MILLION);
+    }
+
+    // Private helper methods
+
+    private static List<ScoredOrdinal> quantizedTopK(ScalarQuantizer.PreparedQuery query, byte[][] codes, int k) {
+        float[] scores = new float[codes.length];
+        for (int row = 0; row < codes.length; row++) {
+            scores[row] = query.score(codes[row]);
+        }
+        return topK(scores, k);
+    }
+
+    private static List<ScoredOrdinal> rerank(float[] query, List<float[]> corpus, int[] rows, int k) {
+        float[] scores = new float[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            scores[i] = VectorMath.dot(query, corpus.get(rows[i]));
+        }
+        return topK(scores, k).stream()
+                .map(scored -> new ScoredOrdinal(rows[scored.ordinal()], scored.score()))
+                .toList();
+    }
+
+    private static List<ScoredOrdinal> topK(float[] scores, int k) {
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(k + 1, Comparator.comparingDouble(ScoredOrdinal::score));
+        for (int i = 0; i < scores.length; i++) {
+            if (heap.size() < k) {
+                heap.add(new ScoredOrdinal(i, scores[i]));
+            } else if (scores[i] > heap.peek().score()) {
+                heap.poll();
+                heap.add(new ScoredOrdinal(i, scores[i]));
+            }
+        }
+        List<ScoredOrdinal> results = new ArrayList<>(heap);
+        results.sort(Comparator.comparingDouble(ScoredOrdinal::score).reversed());
+        return results;
+    }
+
+    private static Set<Integer> ordinals(List<ScoredOrdinal> results) {
+        Set<Integer> ordinals = new HashSet<>();
+        results.forEach(result -> ordinals.add(result.ordinal()));
+        return ordinals;
+    }
+
+    private static double overlap(Set<Integer> truth, List<ScoredOrdinal> results, int k) {
+        long found = results.stream().filter(result -> truth.contains(result.ordinal())).count();
+        return (double) found / Math.min(k, Math.max(1, truth.size()));
+    }
+}
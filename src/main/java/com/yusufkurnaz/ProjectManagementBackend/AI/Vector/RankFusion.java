@@ -0,0 +1,40 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reciprocal-rank fusion of several ranked chunk lists
+ * Follows SRP - Single responsibility: Merging rankings whose scores are not comparable
+ *
+ * score(chunk) = sum over lists of 1 / (k + rank), rank starting at 1. Only ranks are
+ * used, so cosine similarities and ts_rank values can be fused without normalization.
+ */
+public final class RankFusion {
+
+    public static final int DEFAULT_K = 60;
+
+    private RankFusion() {
+    }
+
+    /**
+     * Fused ranking, best first, at most limit entries (ties keep first-seen order)
+     */
+    public static List<VectorHit> reciprocalRank(List<List<UUID>> rankings, int k, int limit) {
+        Map<UUID, Float> fused = new LinkedHashMap<>();
+        for (List<UUID> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                fused.merge(ranking.get(rank), 1.0f / (k + rank + 1), Float::sum);
+            }
+        }
+
+        List<VectorHit> hits = new ArrayList<>(fused.size());
+        fused.forEach((chunkId, score) -> hits.add(new VectorHit(chunkId, score)));
+        hits.sort(Comparator.comparingDouble(VectorHit::score).reversed());
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+}
@@ -0,0 +1,171 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Per-dimension int8 scalar quantization of embedding vectors
+ * Follows SRP - Single responsibility: Calibration, encoding and quantized scoring
+ *
+ * Each dimension is mapped linearly from its calibrated [min, max] range onto 256
+ * levels (values outside the range are clamped). Queries stay float: a prepared
+ * query folds the per-dimension scale and offset into its weights, so scoring a
+ * code is one multiply-add per dimension.
+ */
+public final class ScalarQuantizer {
+
+    private static final int LEVELS = 255;
+    private static final int CODE_OFFSET = 128; // stored byte = level - 128
+
+    private final float[] min;
+    private final float[] step;
+
+    private ScalarQuantizer(float[] min, float[] step) {
+        this.min = min;
+        this.step = step;
+    }
+
+    /**
+     * Range [-1, 1] in every dimension, valid for any unit-length vector
+     */
+    public static ScalarQuantizer unitRange(int dimension) {
+        float[] min = new float[dimension];
+        float[] max = new float[dimension];
+        Arrays.fill(min, -1.0f);
+        Arrays.fill(max, 1.0f);
+        return fromRange(min, max);
+    }
+
+    /**
+     * Calibrate per-dimension min/max from sample vectors (vectors of another dimension are skipped)
+     */
+    public static ScalarQuantizer calibrate(Iterable<float[]> sample, int dimension) {
+        float[] min = new float[dimension];
+        float[] max = new float[dimension];
+        Arrays.fill(min, Float.POSITIVE_INFINITY);
+        Arrays.fill(max, Float.NEGATIVE_INFINITY);
+
+        boolean any = false;
+        for (float[] vector : sample) {
+            if (vector == null || vector.length != dimension) {
+                continue;
+            }
+            any = true;
+            for (int i = 0; i < dimension; i++) {
+                min[i] = Math.min(min[i], vector[i]);
+                max[i] = Math.max(max[i], vector[i]);
+            }
+        }
+        return any ? fromRange(min, max) : unitRange(dimension);
+    }
+
+    public int dimension() {
+        return min.length;
+    }
+
+    /**
+     * Quantize a vector to one signed byte per dimension
+     */
+    public byte[] encode(float[] vector) {
+        byte[] codes = new byte[min.length];
+        for (int i = 0; i < codes.length; i++) {
+            int level = step[i] > 0.0f ? Math.round((vector[i] - min[i]) / step[i]) : 0;
+            codes[i] = (byte) (Math.max(0, Math.min(LEVELS, level)) - CODE_OFFSET);
+        }
+        return codes;
+    }
+
+    /**
+     * Approximate float vector of the codes
+     */
+    public float[] decode(byte[] codes) {
+        float[] vector = new float[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            vector[i] = value(codes, i);
+        }
+        return vector;
+    }
+
+    /**
+     * Fold the quantization parameters into a float query for repeated scoring
+     */
+    public PreparedQuery prepare(float[] query) {
+        float[] weights = new float[min.length];
+        float offset = 0.0f;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = query[i] * step[i];
+            offset += query[i] * min[i] + weights[i] * CODE_OFFSET;
+        }
+        return new PreparedQuery(weights, offset);
+    }
+
+    /**
+     * Approximate dot product of two quantized vectors (used while building a graph)
+     */
+    public float dot(byte[] a, byte[] b) {
+        float sum = 0.0f;
+        for (int i = 0; i < a.length; i++) {
+            sum += value(a, i) * value(b, i);
+        }
+        return sum;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(min.length);
+        for (int i = 0; i < min.length; i++) {
+            out.writeFloat(min[i]);
+            out.writeFloat(step[i]);
+        }
+    }
+
+    public static ScalarQuantizer readFrom(DataInput in) throws IOException {
+        int dimension = in.readInt();
+        float[] min = new float[dimension];
+        float[] step = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            min[i] = in.readFloat();
+            step[i] = in.readFloat();
+        }
+        return new ScalarQuantizer(min, step);
+    }
+
+    // Private helper methods
+
+    private static ScalarQuantizer fromRange(float[] min, float[] max) {
+        float[] step = new float[min.length];
+        for (int i = 0; i < min.length; i++) {
+            step[i] = (max[i] - min[i]) / LEVELS;
+        }
+        return new ScalarQuantizer(min, step);
+    }
+
+    private float value(byte[] codes, int i) {
+        return min[i] + step[i] * (codes[i] + CODE_OFFSET);
+    }
+
+    /**
+     * Query weights with the constant part of the dot product precomputed
+     */
+    public static final class PreparedQuery {
+        private final float[] weights;
+        private final float offset;
+
+        private PreparedQuery(float[] weights, float offset) {
+            this.weights = weights;
+            this.offset = offset;
+        }
+
+        /**
+         * Approximate dot product of the query with a quantized vector
+         */
+        public float score(byte[] codes) {
+            float sum = offset;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i] * codes[i];
+            }
+            return sum;
+        }
+    }
+}
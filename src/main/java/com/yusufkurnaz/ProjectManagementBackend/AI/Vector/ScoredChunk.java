@@ -0,0 +1,13 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+
+import java.util.UUID;
+
+/**
+ * Retrieval result: chunk id with the engine's similarity score and the chunk entity
+ * The score comes from the database or ANN index and is carried end to end
+ * (never recomputed). The chunk is hydrated in one bulk query; its document stays lazy.
+ */
+public record ScoredChunk(UUID chunkId, float score, DocumentChunk chunk) {
+}
@@ -0,0 +1,7 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+/**
+ * Search hit inside a local vector index (ordinal + similarity score)
+ */
+public record ScoredOrdinal(int ordinal, float score) {
+}
@@ -0,0 +1,65 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels on the incubating Vector API (jdk.incubator.vector)
+ * Only loaded by VectorMath when the module is present (--add-modules jdk.incubator.vector)
+ */
+final class SimdVectorKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private SimdVectorKernel() {
+    }
+
+    /**
+     * Dot product of a[aOffset..aOffset+length) and b[bOffset..bOffset+length)
+     */
+    static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    /**
+     * Cosine similarity in a single pass (dot product and both squared norms)
+     */
+    static float cosine(float[] a, float[] b) {
+        FloatVector dot = FloatVector.zero(SPECIES);
+        FloatVector normA = FloatVector.zero(SPECIES);
+        FloatVector normB = FloatVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(a.length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            dot = va.fma(vb, dot);
+            normA = va.fma(va, normA);
+            normB = vb.fma(vb, normB);
+        }
+
+        float d = dot.reduceLanes(VectorOperators.ADD);
+        float na = normA.reduceLanes(VectorOperators.ADD);
+        float nb = normB.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            d += a[i] * b[i];
+            na += a[i] * a[i];
+            nb += b[i] * b[i];
+        }
+        return VectorMath.cosineFromParts(d, na, nb);
+    }
+}
@@ -0,0 +1,61 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.Arrays;
+
+/**
+ * Recall, latency and size of half-precision chunk embeddings compared to float32
+ * Follows SRP - Single responsibility: Storage benchmark reporting
+ *
+ * Both columns are queried through their own HNSW index with the same query vectors;
+ * recall@k is the share of the float32 results also returned from the halfvec column.
+ */
+public record StorageBenchmarkReport(
+        VectorStorage baseline,
+        VectorStorage candidate,
+        int queryCount,
+        int k,
+        double recallAtK,
+        double baselineMeanMs,
+        double baselineP95Ms,
+        double candidateMeanMs,
+        double candidateP95Ms,
+        double baselineBytesPerVector,
+        double candidateBytesPerVector,
+        long baselineIndexBytes,
+        long candidateIndexBytes) {
+
+    /**
+     * Storage footprint of one embedding column
+     */
+    public record Footprint(double bytesPerVector, long indexBytes) {
+    }
+
+    public static StorageBenchmarkReport of(
+            VectorStorage baseline, VectorStorage candidate, int k, double recallSum,
+            long[] baselineNanos, long[] candidateNanos, Footprint baselineFootprint, Footprint candidateFootprint) {
+
+        int queries = baselineNanos.length;
+        return new StorageBenchmarkReport(baseline, candidate, queries, k,
+                queries > 0 ? recallSum / queries : 0.0,
+                meanMillis(baselineNanos), percentileMillis(baselineNanos, 0.95),
+                meanMillis(candidateNanos), percentileMillis(candidateNanos, 0.95),
+                baselineFootprint.bytesPerVector(), candidateFootprint.bytesPerVector(),
+                baselineFootprint.indexBytes(), candidateFootprint.indexBytes());
+    }
+
+    // Private helper methods
+
+    private static double meanMillis(long[] nanos) {
+        return nanos.length > 0 ? Arrays.stream(nanos).average().orElse(0.0) / 1_000_000.0 : 0.0;
+    }
+
+    private static double percentileMillis(long[] nanos, double percentile) {
+        if (nanos.length == 0) {
+            return 0.0;
+        }
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Gather step of scatter-gather search over index partitions
+ * Follows SRP - Single responsibility: Merging per-partition top-k lists into one
+ *
+ * Partition scores are comparable (same metric, same query), so a bounded min-heap
+ * of size limit keeps the global top-k without sorting every partial result.
+ */
+public final class TopKMerge {
+
+    private static final Comparator<VectorHit> WORST_FIRST = Comparator.comparingDouble(VectorHit::score);
+
+    private TopKMerge() {
+    }
+
+    /**
+     * Best limit hits over all partial lists, best first
+     */
+    public static List<VectorHit> merge(Collection<List<VectorHit>> partials, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        PriorityQueue<VectorHit> heap = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (List<VectorHit> partial : partials) {
+            for (VectorHit hit : partial) {
+                if (heap.size() < limit) {
+                    heap.add(hit);
+                } else if (hit.score() > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(hit);
+                }
+            }
+        }
+
+        List<VectorHit> merged = new ArrayList<>(heap);
+        merged.sort(WORST_FIRST.reversed());
+        return merged;
+    }
+}
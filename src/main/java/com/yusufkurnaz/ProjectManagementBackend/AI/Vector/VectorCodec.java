@@ -0,0 +1,164 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Encoding helpers for float32 embedding vectors
+ * Follows SRP - Single responsibility: Vector (de)serialization
+ *
+ * Supported formats:
+ * - pgvector binary send/recv: int16 dim, int16 unused, float4[dim] (big-endian)
+ * - pgvector halfvec binary send/recv: int16 dim, int16 unused, float16[dim] (big-endian)
+ * - packed float32: float4[dim] (little-endian), used for caches and local files
+ * - pgvector text "[0.1,0.2,...]": only used when the JDBC driver falls back to text
+ */
+public final class VectorCodec {
+
+    public static final float[] EMPTY = new float[0];
+
+    private static final int PG_HEADER_BYTES = 4;
+
+    private VectorCodec() {
+    }
+
+    /**
+     * Size of a vector in pgvector binary format
+     */
+    public static int pgBinaryLength(int dimension) {
+        return PG_HEADER_BYTES + dimension * Float.BYTES;
+    }
+
+    /**
+     * Write vector in pgvector binary format into target buffer
+     */
+    public static void writePgBinary(float[] vector, byte[] target, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(target, offset, pgBinaryLength(vector.length))
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putShort((short) vector.length);
+        buffer.putShort((short) 0);
+        buffer.asFloatBuffer().put(vector);
+    }
+
+    /**
+     * Read vector from pgvector binary format
+     */
+    public static float[] readPgBinary(byte[] source, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(source, offset, source.length - offset)
+                .order(ByteOrder.BIG_ENDIAN);
+        int dimension = Short.toUnsignedInt(buffer.getShort());
+        buffer.getShort(); // unused
+        float[] vector = new float[dimension];
+        buffer.asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * Size of a vector in pgvector halfvec binary format
+     */
+    public static int pgHalfBinaryLength(int dimension) {
+        return PG_HEADER_BYTES + dimension * Short.BYTES;
+    }
+
+    /**
+     * Write vector in halfvec binary format (rounded to the nearest float16)
+     */
+    public static void writePgHalfBinary(float[] vector, byte[] target, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(target, offset, pgHalfBinaryLength(vector.length))
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putShort((short) vector.length);
+        buffer.putShort((short) 0);
+        for (float value : vector) {
+            buffer.putShort(Float.floatToFloat16(value));
+        }
+    }
+
+    /**
+     * Read vector from halfvec binary format, widened to float32
+     */
+    public static float[] readPgHalfBinary(byte[] source, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(source, offset, source.length - offset)
+                .order(ByteOrder.BIG_ENDIAN);
+        int dimension = Short.toUnsignedInt(buffer.getShort());
+        buffer.getShort(); // unused
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = Float.float16ToFloat(buffer.getShort());
+        }
+        return vector;
+    }
+
+    /**
+     * Pack vector as little-endian float32 bytes
+     */
+    public static byte[] pack(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    /**
+     * Unpack little-endian float32 bytes into a vector
+     */
+    public static float[] unpack(byte[] packed) {
+        if (packed == null || packed.length == 0) {
+            return EMPTY;
+        }
+        float[] vector = new float[packed.length / Float.BYTES];
+        ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * Parse pgvector text format: [0.1,0.2,0.3]
+     * Single pass scan, no regex / split allocations
+     */
+    public static float[] parseText(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        int start = text.indexOf('[') + 1;
+        int end = text.lastIndexOf(']');
+        if (end < 0) {
+            end = text.length();
+        }
+        if (end <= start || text.substring(start, end).isBlank()) {
+            return EMPTY;
+        }
+
+        int dimension = 1;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == ',') {
+                dimension++;
+            }
+        }
+
+        float[] vector = new float[dimension];
+        int index = 0;
+        int tokenStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || text.charAt(i) == ',') {
+                vector[index++] = Float.parseFloat(text.substring(tokenStart, i).trim());
+                tokenStart = i + 1;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Format vector in pgvector text format
+     */
+    public static String formatText(float[] vector) {
+        if (vector == null) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder(vector.length * 12 + 2).append('[');
+        for (int i = 0; i < vector.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(vector[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
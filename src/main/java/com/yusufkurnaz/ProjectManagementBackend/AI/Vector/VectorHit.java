@@ -0,0 +1,9 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.UUID;
+
+/**
+ * Chunk id with similarity score returned by a vector engine
+ */
+public record VectorHit(UUID chunkId, float score) {
+}
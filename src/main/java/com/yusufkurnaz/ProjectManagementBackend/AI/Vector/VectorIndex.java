@@ -0,0 +1,66 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * In-process approximate nearest neighbour index over int ordinals
+ * Follows ISP - Minimal contract shared by local vector engines
+ *
+ * Ordinals are assigned by the caller and never reused; removed entries
+ * stay as tombstones until the owner rebuilds the index.
+ */
+public interface VectorIndex {
+
+    /**
+     * Vector dimension accepted by this index
+     */
+    int dimension();
+
+    /**
+     * Insert a vector under the given ordinal
+     */
+    void add(int ordinal, float[] vector);
+
+    /**
+     * Mark an ordinal as deleted (tombstone)
+     */
+    void remove(int ordinal);
+
+    /**
+     * Check if ordinal is present and not deleted
+     */
+    boolean contains(int ordinal);
+
+    /**
+     * Stored vector for ordinal (read-only, may be normalized)
+     */
+    float[] vector(int ordinal);
+
+    /**
+     * Top-k search by similarity; filter is applied during traversal
+     */
+    List<ScoredOrdinal> search(float[] query, int k, IntPredicate filter);
+
+    /**
+     * Exact top-k over an explicit candidate set (pre-filtered search)
+     */
+    List<ScoredOrdinal> searchExact(float[] query, int k, int[] candidates);
+
+    /**
+     * Number of live (non-deleted) entries
+     */
+    int size();
+
+    /**
+     * Number of tombstoned entries
+     */
+    int deletedCount();
+
+    /**
+     * Serialize index state for snapshot persistence
+     */
+    void writeTo(DataOutput out) throws IOException;
+}
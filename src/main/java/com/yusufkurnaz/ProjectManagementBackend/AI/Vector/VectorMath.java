@@ -0,0 +1,149 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vector arithmetic used by search and ranking
+ * Uses SIMD kernels when jdk.incubator.vector is available, scalar loops otherwise
+ */
+@Slf4j
+public final class VectorMath {
+
+    private static final boolean SIMD_ENABLED = detectSimd();
+    private static final float UNIT_TOLERANCE = 1e-3f;
+
+    private VectorMath() {
+    }
+
+    /**
+     * Check if the SIMD kernels are in use
+     */
+    public static boolean isSimdEnabled() {
+        return SIMD_ENABLED;
+    }
+
+    /**
+     * Dot product of two vectors of equal length
+     */
+    public static float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Dot product of two slices (e.g. a query against a row of a contiguous matrix)
+     */
+    public static float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        if (SIMD_ENABLED) {
+            return SimdVectorKernel.dot(a, aOffset, b, bOffset, length);
+        }
+        return scalarDot(a, aOffset, b, bOffset, length);
+    }
+
+    /**
+     * Cosine similarity; 0 for null, empty, zero or mismatched vectors
+     */
+    public static float cosine(float[] a, float[] b) {
+        if (a == null || b == null || a.length == 0 || a.length != b.length) {
+            return 0.0f;
+        }
+        if (SIMD_ENABLED) {
+            return SimdVectorKernel.cosine(a, b);
+        }
+
+        float dot = 0.0f;
+        float normA = 0.0f;
+        float normB = 0.0f;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return cosineFromParts(dot, normA, normB);
+    }
+
+    /**
+     * Euclidean norm of a vector
+     */
+    public static float norm(float[] vector) {
+        return (float) Math.sqrt(dot(vector, vector));
+    }
+
+    /**
+     * Return a unit-length copy of the vector (zero vectors stay zero)
+     */
+    public static float[] normalize(float[] vector) {
+        float[] normalized = vector.clone();
+        float norm = norm(vector);
+        if (norm > 0.0f) {
+            for (int i = 0; i < normalized.length; i++) {
+                normalized[i] /= norm;
+            }
+        }
+        return normalized;
+    }
+
+    /**
+     * Scale the vector to unit length in place and return it (zero vectors stay zero)
+     */
+    public static float[] normalizeInPlace(float[] vector) {
+        float norm = norm(vector);
+        if (norm > 0.0f && norm != 1.0f) {
+            float inverse = 1.0f / norm;
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inverse;
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Check if the vector is unit length within float rounding
+     */
+    public static boolean isUnitLength(float[] vector) {
+        return vector != null && vector.length > 0 && Math.abs(dot(vector, vector) - 1.0f) <= UNIT_TOLERANCE;
+    }
+
+    static float cosineFromParts(float dot, float squaredNormA, float squaredNormB) {
+        if (squaredNormA == 0.0f || squaredNormB == 0.0f) {
+            return 0.0f;
+        }
+        return (float) (dot / (Math.sqrt(squaredNormA) * Math.sqrt(squaredNormB)));
+    }
+
+    // Private helper methods
+
+    /**
+     * Four independent accumulators so the JIT can pipeline the multiply-adds
+     */
+    private static float scalarDot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float s0 = 0.0f;
+        float s1 = 0.0f;
+        float s2 = 0.0f;
+        float s3 = 0.0f;
+        int i = 0;
+        for (int bound = length & ~3; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static boolean detectSimd() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.info("jdk.incubator.vector not available, using scalar vector kernels");
+            return false;
+        }
+        try {
+            float[] probe = {1.0f, 2.0f, 3.0f};
+            return SimdVectorKernel.dot(probe, 0, probe, 0, probe.length) == 14.0f;
+        } catch (Throwable e) {
+            log.warn("SIMD vector kernels unavailable, using scalar: {}", e.getMessage());
+            return false;
+        }
+    }
+}
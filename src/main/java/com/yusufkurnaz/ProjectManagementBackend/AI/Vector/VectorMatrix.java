@@ -0,0 +1,164 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Row-major matrix of candidate vectors stored in one contiguous float array
+ * Follows SRP - Single responsibility: Batch scoring of one query against many vectors
+ *
+ * Row norms are computed once at construction, so scoring a query costs one
+ * dot product per row instead of a full cosine computation.
+ */
+public final class VectorMatrix {
+
+    private final float[] data;
+    private final float[] inverseNorms;
+    private final int rows;
+    private final int dimension;
+
+    private VectorMatrix(float[] data, float[] inverseNorms, int rows, int dimension) {
+        this.data = data;
+        this.inverseNorms = inverseNorms;
+        this.rows = rows;
+        this.dimension = dimension;
+    }
+
+    /**
+     * Copy vectors into a contiguous matrix; rows with a different dimension never match
+     */
+    public static VectorMatrix of(List<float[]> vectors, int dimension) {
+        int rows = vectors.size();
+        float[] data = new float[rows * dimension];
+        float[] inverseNorms = new float[rows];
+
+        for (int row = 0; row < rows; row++) {
+            float[] vector = vectors.get(row);
+            if (vector == null || vector.length != dimension) {
+                continue; // inverse norm 0 -> excluded from results
+            }
+            System.arraycopy(vector, 0, data, row * dimension, dimension);
+            float norm = VectorMath.norm(vector);
+            inverseNorms[row] = norm > 0.0f ? 1.0f / norm : 0.0f;
+        }
+        return new VectorMatrix(data, inverseNorms, rows, dimension);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    /**
+     * Cosine similarity of the query against every row (NaN for excluded rows)
+     */
+    public float[] scoreAll(float[] query) {
+        float[] scores = new float[rows];
+        float queryInverseNorm = inverseNorm(query);
+        for (int row = 0; row < rows; row++) {
+            scores[row] = score(query, queryInverseNorm, row);
+        }
+        return scores;
+    }
+
+    /**
+     * Best k rows by cosine similarity at or above minSimilarity, best first
+     * Bounded min-heap: O(rows * log k)
+     */
+    public List<ScoredOrdinal> topK(float[] query, int k, float minSimilarity) {
+        if (query == null || query.length != dimension || k <= 0 || rows == 0) {
+            return List.of();
+        }
+
+        float queryInverseNorm = inverseNorm(query);
+        if (queryInverseNorm == 0.0f) {
+            return List.of();
+        }
+
+        PriorityQueue<ScoredOrdinal> heap = new PriorityQueue<>(
+                Math.min(k, rows) + 1, Comparator.comparingDouble(ScoredOrdinal::score));
+        for (int row = 0; row < rows; row++) {
+            float score = score(query, queryInverseNorm, row);
+            if (Float.isNaN(score) || score < minSimilarity) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(new ScoredOrdinal(row, score));
+            } else if (score > heap.peek().score()) {
+                heap.poll();
+                heap.add(new ScoredOrdinal(row, score));
+            }
+        }
+
+        List<ScoredOrdinal> results = new ArrayList<>(heap);
+        results.sort(Comparator.comparingDouble(ScoredOrdinal::score).reversed());
+        return results;
+    }
+
+    /**
+     * Maximal marginal relevance: k rows in selection order, each maximizing
+     * lambda * relevance - (1 - lambda) * (max cosine to the rows already selected)
+     * Incremental O(k * rows): one row-against-all pass per selected row
+     */
+    public int[] maximalMarginalRelevance(float[] relevance, int k, float lambda) {
+        int count = Math.max(0, Math.min(k, rows));
+        int[] selected = new int[count];
+        boolean[] taken = new boolean[rows];
+        float[] redundancy = new float[rows];
+
+        for (int pick = 0; pick < count; pick++) {
+            int best = -1;
+            float bestScore = Float.NEGATIVE_INFINITY;
+            for (int row = 0; row < rows; row++) {
+                if (taken[row]) {
+                    continue;
+                }
+                float score = lambda * relevance[row] - (1.0f - lambda) * redundancy[row];
+                if (best < 0 || score > bestScore) {
+                    best = row;
+                    bestScore = score;
+                }
+            }
+            selected[pick] = best;
+            taken[best] = true;
+
+            if (inverseNorms[best] == 0.0f) {
+                continue; // no vector: not redundant with anything
+            }
+            for (int row = 0; row < rows; row++) {
+                if (taken[row] || inverseNorms[row] == 0.0f) {
+                    continue;
+                }
+                float similarity = VectorMath.dot(data, best * dimension, data, row * dimension, dimension)
+                        * inverseNorms[best] * inverseNorms[row];
+                if (similarity > redundancy[row]) {
+                    redundancy[row] = similarity;
+                }
+            }
+        }
+        return selected;
+    }
+
+    // Private helper methods
+
+    private float score(float[] query, float queryInverseNorm, int row) {
+        if (inverseNorms[row] == 0.0f) {
+            return Float.NaN;
+        }
+        float dot = VectorMath.dot(query, 0, data, row * dimension, dimension);
+        return dot * queryInverseNorm * inverseNorms[row];
+    }
+
+    private float inverseNorm(float[] query) {
+        if (query == null || query.length != dimension) {
+            return 0.0f;
+        }
+        float norm = VectorMath.norm(query);
+        return norm > 0.0f ? 1.0f / norm : 0.0f;
+    }
+}
@@ -0,0 +1,78 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+/**
+ * pgvector distance metrics with their operator and index operator class
+ * Follows OCP - SQL is generated from the metric, never hard-coded per query
+ *
+ * The distance operator must match the operator class of the embedding index,
+ * otherwise Postgres cannot use the index for ORDER BY ... LIMIT.
+ */
+public enum VectorMetric {
+
+    /**
+     * Cosine distance, similarity = 1 - distance
+     */
+    COSINE("<=>", "vector_cosine_ops"),
+
+    /**
+     * Negative inner product, similarity = -distance (equals cosine for unit vectors)
+     */
+    INNER_PRODUCT("<#>", "vector_ip_ops"),
+
+    /**
+     * Euclidean distance, similarity = 1 / (1 + distance)
+     */
+    L2("<->", "vector_l2_ops");
+
+    private final String operator;
+    private final String operatorClass;
+
+    VectorMetric(String operator, String operatorClass) {
+        this.operator = operator;
+        this.operatorClass = operatorClass;
+    }
+
+    public String getOperator() {
+        return operator;
+    }
+
+    public String getOperatorClass() {
+        return operatorClass;
+    }
+
+    /**
+     * SQL distance expression, usable in ORDER BY for index scans
+     */
+    public String distanceSql(String column, String queryVector) {
+        return column + " " + operator + " " + queryVector;
+    }
+
+    /**
+     * SQL similarity expression (higher is more similar)
+     */
+    public String similaritySql(String column, String queryVector) {
+        return similarityOfDistanceSql("(" + distanceSql(column, queryVector) + ")");
+    }
+
+    /**
+     * SQL similarity of an already computed distance (e.g. a column of a subquery)
+     */
+    public String similarityOfDistanceSql(String distance) {
+        return switch (this) {
+            case COSINE -> "1 - " + distance;
+            case INNER_PRODUCT -> "-1 * " + distance;
+            case L2 -> "1 / (1 + " + distance + ")";
+        };
+    }
+
+    /**
+     * Largest distance that still satisfies a minimum similarity
+     */
+    public double maxDistance(double minSimilarity) {
+        return switch (this) {
+            case COSINE -> 1.0 - minSimilarity;
+            case INNER_PRODUCT -> -minSimilarity;
+            case L2 -> minSimilarity > 0 ? (1.0 / minSimilarity) - 1.0 : Double.MAX_VALUE;
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+/**
+ * Storage precision of vectors held by the in-process HNSW index
+ */
+public enum VectorQuantization {
+
+    /**
+     * Full-precision float32 vectors on the heap
+     */
+    NONE(Float.BYTES),
+
+    /**
+     * One byte per dimension; top candidates are re-scored from the full-precision store
+     */
+    INT8(Byte.BYTES);
+
+    private final int bytesPerDimension;
+
+    VectorQuantization(int bytesPerDimension) {
+        this.bytesPerDimension = bytesPerDimension;
+    }
+
+    /**
+     * Heap bytes of the vector payload per stored vector (graph links not included)
+     */
+    public long bytesPerVector(int dimension) {
+        return (long) bytesPerDimension * dimension;
+    }
+}
@@ -0,0 +1,76 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Vector similarity query specification
+ * Follows SRP - Single responsibility: Search parameters shared by all vector engines
+ *
+ * efSearch and probes are per-query ANN tuning knobs (HNSW / IVFFlat, IVF-PQ);
+ * null means the configured default. domainTags is shorthand for an AnyTag
+ * filter and is combined (AND) with filter. mmrLambda enables MMR
+ * diversification of the top limit results out of a larger candidate pool.
+ * documentCandidates sets the first stage of two-stage (document -> chunk)
+ * search: null = configured default, 0 = search all chunks directly.
+ */
+@Value
+@Builder(toBuilder = true)
+public class VectorQuery {
+
+    float[] embedding;
+
+    List<String> domainTags;
+
+    ChunkFilter filter;
+
+    Float minSimilarity;
+
+    @Builder.Default
+    int limit = 10;
+
+    Integer efSearch;
+
+    Integer probes;
+
+    /**
+     * MMR relevance/diversity trade-off (1.0 = relevance only); null = no diversification
+     */
+    Float mmrLambda;
+
+    /**
+     * Documents selected before chunk scoring (two-stage search); null = configured default, 0 = off
+     */
+    Integer documentCandidates;
+
+    public boolean hasDomainTags() {
+        return domainTags != null && !domainTags.isEmpty();
+    }
+
+    /**
+     * domainTags and filter combined; null = no attribute filter
+     */
+    public ChunkFilter effectiveFilter() {
+        return ChunkFilter.and(hasDomainTags() ? ChunkFilter.anyTag(domainTags) : null, filter);
+    }
+
+    public boolean isDiversified() {
+        return mmrLambda != null && mmrLambda < 1.0f;
+    }
+
+    /**
+     * Query for the MMR candidate pool (limit * candidateFactor, no diversification); this when off
+     */
+    public VectorQuery candidatePool(int candidateFactor) {
+        if (!isDiversified()) {
+            return this;
+        }
+        return toBuilder().limit(limit * Math.max(1, candidateFactor)).mmrLambda(null).build();
+    }
+
+    public boolean hasMinSimilarity() {
+        return minSimilarity != null && minSimilarity > 0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+/**
+ * Column pgvector similarity queries read chunk embeddings from
+ * Follows OCP - Column and query cast are generated from the storage mode, never hard-coded per query
+ *
+ * Migration path to half precision:
+ * 1. V7 adds the embedding_half shadow column (dual-written by trigger, backfilled, HNSW indexed)
+ * 2. Switch reads to HALFVEC_SHADOW and compare with GET /api/v1/ai/search/storage-benchmark
+ * 3. Run db/halfvec/cutover_chunk_embeddings_to_halfvec.sql (embedding becomes halfvec, shadow column dropped) and switch to HALFVEC
+ */
+public enum VectorStorage {
+
+    /**
+     * float32 vector column (4 bytes per dimension)
+     */
+    FLOAT32("embedding", "vector", "idx_chunks_embedding_hnsw"),
+
+    /**
+     * float16 shadow column kept in sync with the float32 column (migration phase)
+     */
+    HALFVEC_SHADOW("embedding_half", "halfvec", "idx_chunks_embedding_half_hnsw"),
+
+    /**
+     * Embedding column converted to halfvec (2 bytes per dimension)
+     */
+    HALFVEC("embedding", "halfvec", "idx_chunks_embedding_hnsw");
+
+    private final String column;
+    private final String sqlType;
+    private final String indexName;
+
+    VectorStorage(String column, String sqlType, String indexName) {
+        this.column = column;
+        this.sqlType = sqlType;
+        this.indexName = indexName;
+    }
+
+    /**
+     * Embedding column of document_chunks
+     */
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * pgvector type of the column (vector or halfvec)
+     */
+    public String getSqlType() {
+        return sqlType;
+    }
+
+    /**
+     * HNSW index over the column
+     */
+    public String getIndexName() {
+        return indexName;
+    }
+
+    /**
+     * Query vector cast to the column type, so the operator matches the index operator class
+     */
+    public String castSql(String parameter) {
+        return "CAST(:" + parameter + " AS " + sqlType + ")";
+    }
+
+    /**
+     * Index operator class of the column for a metric (e.g. halfvec_ip_ops)
+     */
+    public String operatorClass(VectorMetric metric) {
+        return metric.getOperatorClass().replaceFirst("^vector_", sqlType + "_");
+    }
+}
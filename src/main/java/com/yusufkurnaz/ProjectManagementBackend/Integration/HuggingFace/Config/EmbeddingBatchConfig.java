@@ -0,0 +1,34 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for embedding batching: coalescing concurrent embedText calls
+ * and splitting large embedBatch calls into bounded HTTP requests
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.embedding.batch")
+@Data
+public class EmbeddingBatchConfig {
+    private boolean enabled = true;
+    private int maxBatchSize = 32;
+    private Duration maxWait = Duration.ofMillis(5);
+    private int dispatchThreads = 4;
+    /**
+     * Upper bound a caller waits for its coalesced batch
+     */
+    private Duration requestTimeout = Duration.ofSeconds(90);
+
+    /**
+     * Starting token budget per HTTP request (estimated as chars / 4); shrinks on
+     * payload/timeout failures and grows back on success
+     */
+    private int requestMaxTokens = 8192;
+    private int requestMaxItems = 64;
+    private int parallelRequests = 4;
+    private Duration retryBackoff = Duration.ofMillis(500);
+}
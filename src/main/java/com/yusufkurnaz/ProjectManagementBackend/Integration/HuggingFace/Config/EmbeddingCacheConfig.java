@@ -0,0 +1,26 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the two-tier embedding cache (on-heap L1, optional Redis L2)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.embedding.cache")
+@Data
+public class EmbeddingCacheConfig {
+    private boolean enabled = true;
+    private long l1MaxEntries = 10000;
+    private Duration l1Ttl = Duration.ofHours(1);
+    private boolean redisEnabled = false;
+    private Duration redisTtl = Duration.ofDays(1);
+    private String redisKeyPrefix = "emb:v1:";
+    /**
+     * Skip Redis for this long after a Redis error (avoid adding latency while it is down)
+     */
+    private Duration redisBackoff = Duration.ofSeconds(30);
+}
@@ -0,0 +1,35 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the in-process ONNX embedding runtime (profile "onnx")
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.embedding.onnx")
+@Data
+public class OnnxEmbeddingConfig {
+    /**
+     * Sentence-transformer exported to ONNX (inputs input_ids/attention_mask[/token_type_ids])
+     */
+    private String modelPath = "models/all-MiniLM-L6-v2/model.onnx";
+    private String vocabPath = "models/all-MiniLM-L6-v2/vocab.txt";
+    /**
+     * Reported model name; keep equal to the hosted model so cached vectors stay shared
+     */
+    private String modelName = "sentence-transformers/all-MiniLM-L6-v2";
+    private boolean lowerCase = true;
+    private int maxSequenceLength = 256;
+    private int maxBatchSize = 32;
+    /**
+     * Concurrent inference runs on the shared session
+     */
+    private int sessionPoolSize = 2;
+    /**
+     * ONNX intra-op threads per run (0 = runtime default)
+     */
+    private int intraOpThreads = 0;
+    private long tokenCacheSize = 50000;
+}
@@ -2,6 +2,11 @@ package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service
 
 import java.util.List;
 
+/**
+ * Text embedding contract shared by all backends
+ * Returned vectors are L2-normalized (unit length), so cosine similarity is a plain
+ * dot product; blank text yields a zero vector.
+ */
 public interface EmbeddingService {
 
     /**
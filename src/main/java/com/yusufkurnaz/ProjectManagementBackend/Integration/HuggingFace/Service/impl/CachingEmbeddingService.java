@@ -0,0 +1,228 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorCodec;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config.EmbeddingCacheConfig;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Caching decorator for EmbeddingService
+ * Follows OCP - Adds an on-heap L1 and optional Redis L2 without touching the backend
+ *
+ * Key = model name + normalized text. Only single-text (query) embeddings are cached;
+ * batches pass straight through. Only real embeddings are cached: empty or all-zero
+ * vectors (backend failure fallbacks) always go back to the backend.
+ */
+@Service
+@Primary
+@Slf4j
+public class CachingEmbeddingService implements EmbeddingService {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String KEY_VERSION = "u1"; // bump when the cached vector format changes (u1 = unit length)
+
+    private final EmbeddingService delegate;
+    private final EmbeddingCacheConfig cacheConfig;
+    private final Cache<String, float[]> l1;
+    private final RedisTemplate<String, byte[]> l2;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+
+    private volatile long l2DisabledUntil;
+
+    public CachingEmbeddingService(
+            @Qualifier("embeddingBackend") EmbeddingService delegate,
+            EmbeddingCacheConfig cacheConfig,
+            MeterRegistry meterRegistry,
+            ObjectProvider<RedisConnectionFactory> redisConnectionFactory) {
+
+        this.delegate = delegate;
+        this.cacheConfig = cacheConfig;
+        this.l1 = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getL1MaxEntries())
+                .expireAfterWrite(cacheConfig.getL1Ttl())
+                .recordStats()
+                .build();
+        this.l2 = cacheConfig.isRedisEnabled() ? createRedisTemplate(redisConnectionFactory) : null;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "embedding-l1");
+        this.l1Hits = counter(meterRegistry, "l1", "hit");
+        this.l1Misses = counter(meterRegistry, "l1", "miss");
+        this.l2Hits = counter(meterRegistry, "l2", "hit");
+        this.l2Misses = counter(meterRegistry, "l2", "miss");
+        this.l2Errors = counter(meterRegistry, "l2", "error");
+    }
+
+    @Override
+    public float[] embedText(String text) {
+        if (!cacheConfig.isEnabled() || text == null || text.isBlank()) {
+            return delegate.embedText(text);
+        }
+
+        String key = cacheKey(text);
+        float[] cached = lookup(key);
+        if (cached != null) {
+            return cached.clone();
+        }
+
+        float[] embedding = delegate.embedText(text);
+        store(key, embedding);
+        return embedding;
+    }
+
+    /**
+     * Not cached: batches come from ingestion, whose chunk texts would evict the query embeddings
+     * (repeated chunk text is reused through text_hash instead)
+     */
+    @Override
+    public List<float[]> embedBatch(List<String> texts) {
+        return delegate.embedBatch(texts);
+    }
+
+    @Override
+    public String getModelName() {
+        return delegate.getModelName();
+    }
+
+    /**
+     * Drop all L1 entries (e.g. after switching embedding models)
+     */
+    public void invalidateLocal() {
+        l1.invalidateAll();
+    }
+
+    // Private helper methods
+
+    private float[] lookup(String key) {
+        float[] local = l1.getIfPresent(key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        l1Misses.increment();
+
+        if (!isL2Available()) {
+            return null;
+        }
+        try {
+            byte[] packed = l2.opsForValue().get(redisKey(key));
+            if (packed == null) {
+                l2Misses.increment();
+                return null;
+            }
+            l2Hits.increment();
+            float[] remote = VectorCodec.unpack(packed);
+            l1.put(key, remote);
+            return remote;
+        } catch (Exception e) {
+            onL2Error(e);
+            return null;
+        }
+    }
+
+    private void store(String key, float[] embedding) {
+        if (!isCacheable(embedding)) {
+            return;
+        }
+        float[] copy = embedding.clone();
+        l1.put(key, copy);
+
+        if (!isL2Available()) {
+            return;
+        }
+        try {
+            l2.opsForValue().set(redisKey(key), VectorCodec.pack(copy), cacheConfig.getRedisTtl());
+        } catch (Exception e) {
+            onL2Error(e);
+        }
+    }
+
+    private boolean isCacheable(float[] embedding) {
+        if (embedding == null || embedding.length == 0) {
+            return false;
+        }
+        for (float value : embedding) {
+            if (value != 0.0f) {
+                return true;
+            }
+        }
+        return false; // zero vector = failed embedding
+    }
+
+    private boolean isL2Available() {
+        return l2 != null && System.currentTimeMillis() >= l2DisabledUntil;
+    }
+
+    private void onL2Error(Exception e) {
+        l2Errors.increment();
+        l2DisabledUntil = System.currentTimeMillis() + cacheConfig.getRedisBackoff().toMillis();
+        log.warn("Embedding L2 cache unavailable, skipping Redis for {}: {}",
+                cacheConfig.getRedisBackoff(), e.getMessage());
+    }
+
+    private String cacheKey(String text) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC).trim())
+                .replaceAll(" ");
+        return KEY_VERSION + '\u0000' + delegate.getModelName() + '\u0000' + normalized;
+    }
+
+    /**
+     * Redis key uses a digest so long query texts do not become long keys
+     */
+    private String redisKey(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return cacheConfig.getRedisKeyPrefix() + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static RedisTemplate<String, byte[]> createRedisTemplate(
+            ObjectProvider<RedisConnectionFactory> connectionFactory) {
+
+        RedisConnectionFactory factory = connectionFactory.getIfAvailable();
+        if (factory == null) {
+            log.warn("Embedding L2 cache enabled but no Redis connection factory available");
+            return null;
+        }
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(factory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    private static Counter counter(MeterRegistry registry, String level, String result) {
+        return Counter.builder("embedding.cache.requests")
+                .description("Embedding cache lookups")
+                .tag("level", level)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,85 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config.EmbeddingBatchConfig;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * EmbeddingService decorator that coalesces concurrent embedText calls
+ * Follows OCP - Sits between the cache and the embedding runtime without changing either
+ *
+ * The inference endpoint throttles on request rate, so N concurrent single-text
+ * calls become one embedBatch request. Batch calls pass straight through.
+ */
+@Service
+@Qualifier("embeddingBackend")
+@Slf4j
+public class CoalescingEmbeddingService implements EmbeddingService {
+
+    private final EmbeddingService delegate;
+    private final EmbeddingBatchConfig batchConfig;
+    private final EmbeddingMicroBatcher batcher;
+
+    public CoalescingEmbeddingService(
+            @Qualifier("embeddingRuntime") EmbeddingService delegate,
+            EmbeddingBatchConfig batchConfig) {
+
+        this.delegate = delegate;
+        this.batchConfig = batchConfig;
+        this.batcher = batchConfig.isEnabled()
+                ? new EmbeddingMicroBatcher(delegate::embedBatch, batchConfig.getMaxBatchSize(),
+                        batchConfig.getMaxWait(), batchConfig.getDispatchThreads())
+                : null;
+    }
+
+    @Override
+    public float[] embedText(String text) {
+        if (batcher == null || text == null || text.isBlank()) {
+            return delegate.embedText(text);
+        }
+
+        try {
+            float[] embedding = batcher.submit(text)
+                    .get(batchConfig.getRequestTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            if (embedding == null) {
+                throw new IllegalStateException("Failed to generate embedding");
+            }
+            return embedding;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for embedding", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Embedding request timed out after " + batchConfig.getRequestTimeout(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Embedding batch failed", e.getCause());
+        }
+    }
+
+    @Override
+    public List<float[]> embedBatch(List<String> texts) {
+        return delegate.embedBatch(texts);
+    }
+
+    @Override
+    public String getModelName() {
+        return delegate.getModelName();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+}
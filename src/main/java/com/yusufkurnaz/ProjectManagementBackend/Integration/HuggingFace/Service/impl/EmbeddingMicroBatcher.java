@@ -0,0 +1,150 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collects concurrent single-text embedding requests into one batch call
+ * Follows SRP - Single responsibility: Request coalescing, no HTTP or caching concerns
+ *
+ * A batch is dispatched when it reaches maxBatchSize texts or maxWait after its first
+ * text arrived, whichever comes first. Identical texts within one window share a result.
+ */
+final class EmbeddingMicroBatcher implements AutoCloseable {
+
+    private final Function<List<String>, List<float[]>> backend;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+
+    private final Object lock = new Object();
+    private Map<String, CompletableFuture<float[]>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> flushTimer;
+
+    EmbeddingMicroBatcher(Function<List<String>, List<float[]>> backend,
+                          int maxBatchSize,
+                          Duration maxWait,
+                          int dispatchThreads) {
+        if (maxBatchSize < 1 || dispatchThreads < 1) {
+            throw new IllegalArgumentException("maxBatchSize and dispatchThreads must be positive");
+        }
+        this.backend = backend;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("embedding-batch-timer-"));
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, daemonThreads("embedding-batch-"));
+    }
+
+    /**
+     * Queue a text; the future completes with its embedding once its batch returns
+     */
+    CompletableFuture<float[]> submit(String text) {
+        Map<String, CompletableFuture<float[]>> ready = null;
+        CompletableFuture<float[]> future;
+
+        synchronized (lock) {
+            CompletableFuture<float[]> existing = pending.get(text);
+            if (existing != null) {
+                // Same text already waiting: share the call, but never the array instance
+                return existing.thenApply(embedding -> embedding != null ? embedding.clone() : null);
+            }
+
+            future = new CompletableFuture<>();
+            pending.put(text, future);
+            if (pending.size() >= maxBatchSize) {
+                ready = drain();
+            } else if (pending.size() == 1) {
+                flushTimer = timer.schedule(this::flushPending, maxWaitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (ready != null) {
+            dispatch(ready);
+        }
+        return future;
+    }
+
+    @Override
+    public void close() {
+        flushPending();
+        timer.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    // Private helper methods
+
+    private void flushPending() {
+        Map<String, CompletableFuture<float[]>> ready;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            ready = drain();
+        }
+        dispatch(ready);
+    }
+
+    /**
+     * Must be called while holding the lock
+     */
+    private Map<String, CompletableFuture<float[]>> drain() {
+        Map<String, CompletableFuture<float[]>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (flushTimer != null) {
+            flushTimer.cancel(false);
+            flushTimer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<String, CompletableFuture<float[]>> batch) {
+        try {
+            dispatcher.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            execute(batch); // shutting down: run on the caller thread
+        }
+    }
+
+    private void execute(Map<String, CompletableFuture<float[]>> batch) {
+        List<String> texts = new ArrayList<>(batch.keySet());
+        try {
+            List<float[]> embeddings = backend.apply(texts);
+            int returned = embeddings != null ? embeddings.size() : 0;
+
+            for (int i = 0; i < texts.size(); i++) {
+                CompletableFuture<float[]> future = batch.get(texts.get(i));
+                if (i < returned) {
+                    future.complete(embeddings.get(i));
+                } else {
+                    future.completeExceptionally(new IllegalStateException(String.format(
+                            "Embedding backend returned %d results for %d texts", returned, texts.size())));
+                }
+            }
+        } catch (Exception e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming parser for feature-extraction responses
+ * Follows SRP - Single responsibility: JSON token stream to float vectors
+ *
+ * Numbers are written straight into a reusable primitive buffer, so no boxed
+ * Float or intermediate float[][][] tree is built. Each top-level item may be a
+ * flat vector (pooled sentence embedding) or nested arrays (token embeddings),
+ * in which case the first row is used, as before.
+ */
+final class EmbeddingResponseParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private float[] buffer = new float[1024];
+
+    /**
+     * Parse one response body; an empty item yields a null entry
+     */
+    List<float[]> parse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            JsonToken first = parser.nextToken();
+            if (first == JsonToken.START_OBJECT) {
+                throw new IOException("Embedding API returned an object instead of vectors: " + readError(parser));
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new IOException("Unexpected embedding response token: " + first);
+            }
+
+            List<float[]> vectors = new ArrayList<>();
+            JsonToken token = parser.nextToken();
+            if (token != null && token.isNumeric()) {
+                vectors.add(readNumbers(parser, token)); // single flat vector
+                return vectors;
+            }
+
+            while (token == JsonToken.START_ARRAY) {
+                vectors.add(readVector(parser));
+                token = parser.nextToken();
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("Malformed embedding response near token: " + token);
+            }
+            return vectors;
+        }
+    }
+
+    // Private helper methods
+
+    /**
+     * Called after the item's START_ARRAY; consumes through its END_ARRAY
+     */
+    private float[] readVector(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != null && token.isNumeric()) {
+            return readNumbers(parser, token);
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IOException("Unexpected token inside embedding: " + token);
+        }
+
+        float[] vector = readVector(parser);
+        while ((token = parser.nextToken()) == JsonToken.START_ARRAY) {
+            parser.skipChildren(); // remaining token rows are not used
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Unexpected token inside embedding: " + token);
+        }
+        return vector;
+    }
+
+    private float[] readNumbers(JsonParser parser, JsonToken token) throws IOException {
+        int length = 0;
+        while (token != null && token.isNumeric()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            buffer[length++] = parser.getFloatValue();
+            token = parser.nextToken();
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Unexpected token inside embedding: " + token);
+        }
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private String readError(JsonParser parser) throws IOException {
+        String message = "unknown error";
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("error".equals(field) && value == JsonToken.VALUE_STRING) {
+                message = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return message;
+    }
+}
@@ -1,27 +1,46 @@
 package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
 
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMath;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config.EmbeddingBatchConfig;
 import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Primary;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.SocketTimeoutException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Real implementation of EmbeddingService using Hugging Face Inference API
  * Generates embeddings for Turkish text using optimized models
  */
 @Service
-@Primary
+@Profile("!onnx")
+@Qualifier("embeddingRuntime")
 @RequiredArgsConstructor
 @Slf4j
 public class EmbeddingServiceImpl implements EmbeddingService {
 
+    private static final int MIN_TOKEN_BUDGET = 256;
+
     private final RestTemplate restTemplate;
+    private final EmbeddingBatchConfig batchConfig;
+
+    private final AtomicInteger tokenBudget = new AtomicInteger();
+    private ExecutorService requestExecutor;
 
     @Value("${app.huggingface.api-key}")
     private String apiKey;
@@ -33,102 +52,58 @@ public class EmbeddingServiceImpl implements EmbeddingService {
     @Value("${app.huggingface.embedding-model:sentence-transformers/paraphrase-multilingual-MiniLM-L12-v2}")
     private String embeddingModel;
 
+    @Value("${app.huggingface.max-retries:3}")
+    private int maxRetries;
+
     @Override
     public float[] embedText(String text) {
         if (text == null || text.trim().isEmpty()) {
             return new float[384]; // Return zero vector for empty text
         }
 
-        try {
-            log.debug("Generating embedding for text: '{}'", text.substring(0, Math.min(text.length(), 50)));
-
-            String url = apiUrl + "/pipeline/feature-extraction/" + embeddingModel;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-
-            Map<String, Object> requestBody = Map.of(
-                    "inputs", text,
-                    "options", Map.of("wait_for_model", true)
-            );
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
+        log.debug("Generating embedding for text: '{}'", text.substring(0, Math.min(text.length(), 50)));
 
-            ResponseEntity<float[][]> response = restTemplate.exchange(
-                    url, HttpMethod.POST, request, float[][].class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                float[][] embeddings = response.getBody();
-                if (embeddings.length > 0) {
-                    log.debug("Successfully generated embedding with dimension: {}", embeddings[0].length);
-                    return embeddings[0]; // Return first embedding
-                }
-            }
-
-            log.warn("Failed to generate embedding, returning zero vector");
-            return new float[384];
-
-        } catch (Exception e) {
-            log.error("Error generating embedding for text: {}", e.getMessage());
-            // Return zero vector as fallback
-            return new float[384];
+        float[] embedding = embedBatch(List.of(text)).get(0);
+        if (embedding == null) {
+            // Never hand out a zero vector for a failed call: it would be cached or persisted
+            throw new IllegalStateException("Failed to generate embedding");
         }
+        return embedding;
     }
 
+    /**
+     * Texts are split into sub-requests by token budget and sent with bounded parallelism.
+     * A failed sub-request is retried and split until single items remain;
+     * items that still fail are returned as null (never as zero vectors).
+     */
     @Override
     public List<float[]> embedBatch(List<String> texts) {
         if (texts == null || texts.isEmpty()) {
             return Collections.emptyList();
         }
 
-        try {
-            log.debug("Generating embeddings for batch of {} texts", texts.size());
-
-            String url = apiUrl + "/pipeline/feature-extraction/" + embeddingModel;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(apiKey);
-
-            Map<String, Object> requestBody = Map.of(
-                    "inputs", texts,
-                    "options", Map.of("wait_for_model", true)
-            );
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            ResponseEntity<float[][][]> response = restTemplate.exchange(
-                    url, HttpMethod.POST, request, float[][][].class);
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                float[][][] batchEmbeddings = response.getBody();
-                List<float[]> results = new ArrayList<>();
-                
-                for (float[][] embedding : batchEmbeddings) {
-                    if (embedding.length > 0) {
-                        results.add(embedding[0]);
-                    } else {
-                        results.add(new float[384]); // Zero vector fallback
-                    }
-                }
+        log.debug("Generating embeddings for batch of {} texts", texts.size());
 
-                log.debug("Successfully generated {} embeddings", results.size());
-                return results;
-            }
+        float[][] results = new float[texts.size()][];
+        List<int[]> ranges = planRequests(texts);
 
-            log.warn("Failed to generate batch embeddings, returning zero vectors");
-            return texts.stream()
-                    .map(text -> new float[384])
-                    .toList();
+        if (ranges.size() == 1) {
+            embedRange(texts, 0, texts.size(), results);
+        } else {
+            CompletableFuture.allOf(ranges.stream()
+                    .map(range -> CompletableFuture.runAsync(
+                            () -> embedRange(texts, range[0], range[1], results), requestExecutor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        }
 
-        } catch (Exception e) {
-            log.error("Error generating batch embeddings: {}", e.getMessage());
-            // Return zero vectors as fallback
-            return texts.stream()
-                    .map(text -> new float[384])
-                    .toList();
+        long failed = Arrays.stream(results).filter(Objects::isNull).count();
+        if (failed > 0) {
+            log.warn("Failed to generate {} of {} embeddings", failed, texts.size());
+        } else {
+            log.debug("Successfully generated {} embeddings in {} requests", results.length, ranges.size());
         }
+        return Arrays.asList(results);
     }
 
     @Override
@@ -176,4 +151,157 @@ public class EmbeddingServiceImpl implements EmbeddingService {
             return Collections.emptyMap();
         }
     }
+
+    @PostConstruct
+    void startRequestExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        requestExecutor = Executors.newFixedThreadPool(batchConfig.getParallelRequests(), runnable -> {
+            Thread thread = new Thread(runnable, "embedding-request-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        tokenBudget.set(batchConfig.getRequestMaxTokens());
+    }
+
+    @PreDestroy
+    void stopRequestExecutor() {
+        requestExecutor.shutdownNow();
+    }
+
+    // Private helper methods
+
+    /**
+     * Consecutive [from, to) ranges within the current token budget and item cap
+     */
+    private List<int[]> planRequests(List<String> texts) {
+        int budget = tokenBudget.get();
+        int maxItems = batchConfig.getRequestMaxItems();
+
+        List<int[]> ranges = new ArrayList<>();
+        int from = 0;
+        int tokens = 0;
+        for (int i = 0; i < texts.size(); i++) {
+            int itemTokens = estimateTokens(texts.get(i));
+            if (i > from && (tokens + itemTokens > budget || i - from >= maxItems)) {
+                ranges.add(new int[]{from, i});
+                from = i;
+                tokens = 0;
+            }
+            tokens += itemTokens;
+        }
+        ranges.add(new int[]{from, texts.size()});
+        return ranges;
+    }
+
+    /**
+     * Embed texts[from, to) into results; split on failure down to single items
+     */
+    private void embedRange(List<String> texts, int from, int to, float[][] results) {
+        int attempt = 0;
+        while (true) {
+            try {
+                List<float[]> embeddings = requestEmbeddings(texts.subList(from, to));
+                if (embeddings.size() != to - from) {
+                    throw new IllegalStateException(String.format(
+                            "Embedding API returned %d vectors for %d texts", embeddings.size(), to - from));
+                }
+                for (int i = from; i < to; i++) {
+                    float[] embedding = embeddings.get(i - from);
+                    results[i] = embedding != null && embedding.length > 0 ? VectorMath.normalizeInPlace(embedding) : null;
+                }
+                growTokenBudget();
+                return;
+
+            } catch (HttpStatusCodeException e) {
+                int status = e.getStatusCode().value();
+                if (status == 413) {
+                    shrinkTokenBudget(texts, from, to);
+                    break; // payload too large: split
+                }
+                if (!isTransient(status) || attempt++ >= maxRetries) {
+                    log.error("Embedding request for {} texts failed with status {}", to - from, status);
+                    return; // not worth splitting (auth, bad request, still throttled)
+                }
+                backoff(attempt);
+
+            } catch (ResourceAccessException e) {
+                if (!(e.getCause() instanceof SocketTimeoutException)) {
+                    log.error("Embedding API unreachable: {}", e.getMessage());
+                    return;
+                }
+                shrinkTokenBudget(texts, from, to);
+                break; // read timeout: split
+
+            } catch (Exception e) {
+                log.warn("Embedding request for {} texts failed: {}", to - from, e.getMessage());
+                if (to - from > 1 || attempt++ >= maxRetries) {
+                    break; // malformed response: isolate the offending item
+                }
+                backoff(attempt);
+            }
+        }
+
+        if (to - from > 1) {
+            int mid = (from + to) >>> 1;
+            embedRange(texts, from, mid, results);
+            embedRange(texts, mid, to, results);
+        } else {
+            log.error("Giving up on embedding for item {} after retries", from);
+        }
+    }
+
+    private List<float[]> requestEmbeddings(List<String> texts) {
+        String url = apiUrl + "/pipeline/feature-extraction/" + embeddingModel;
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.setBearerAuth(apiKey);
+
+        Map<String, Object> requestBody = Map.of(
+                "inputs", texts,
+                "options", Map.of("wait_for_model", true)
+        );
+
+        List<float[]> embeddings = restTemplate.execute(url, HttpMethod.POST,
+                restTemplate.httpEntityCallback(new HttpEntity<>(requestBody, headers)),
+                response -> new EmbeddingResponseParser().parse(response.getBody()));
+
+        if (embeddings == null) {
+            throw new IllegalStateException("Empty embedding response");
+        }
+        return embeddings;
+    }
+
+    private boolean isTransient(int status) {
+        return status == 408 || status == 429 || status == 502 || status == 503 || status == 504;
+    }
+
+    private void shrinkTokenBudget(List<String> texts, int from, int to) {
+        int failedTokens = 0;
+        for (int i = from; i < to; i++) {
+            failedTokens += estimateTokens(texts.get(i));
+        }
+        int shrunk = Math.max(MIN_TOKEN_BUDGET, failedTokens / 2);
+        tokenBudget.accumulateAndGet(shrunk, Math::min);
+        log.warn("Embedding request of ~{} tokens rejected, token budget now {}", failedTokens, tokenBudget.get());
+    }
+
+    private void growTokenBudget() {
+        int max = batchConfig.getRequestMaxTokens();
+        tokenBudget.updateAndGet(budget -> Math.min(max, budget + Math.max(1, max / 16)));
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(batchConfig.getRetryBackoff().toMillis() * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int estimateTokens(String text) {
+        // Rough estimation: 1 token ≈ 4 characters for Turkish
+        return text == null ? 1 : Math.max(1, text.length() / 4);
+    }
 }
@@ -2,6 +2,7 @@ package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMath;
 import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config.HuggingFaceConfig;
 import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
 import lombok.RequiredArgsConstructor;
@@ -76,7 +77,7 @@ public class HuggingFaceEmbeddingService implements EmbeddingService {
         for (int i = 0; i < arr.size(); i++) {
             vec[i] = (float) arr.get(i).asDouble();
         }
-        return vec;
+        return VectorMath.normalizeInPlace(vec);
     }
 
     @Override
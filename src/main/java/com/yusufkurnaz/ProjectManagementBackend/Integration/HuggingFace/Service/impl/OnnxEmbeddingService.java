@@ -0,0 +1,232 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import ai.onnxruntime.NodeInfo;
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import ai.onnxruntime.TensorInfo;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Vector.VectorMath;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Config.OnnxEmbeddingConfig;
+import com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.EmbeddingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+
+/**
+ * In-process EmbeddingService running a sentence-transformer exported to ONNX
+ * Follows OCP - Replaces the HTTP backend under the "onnx" profile, like LLMServiceStub
+ *
+ * Mean pooling over the attention mask plus L2 normalization reproduces the
+ * sentence-transformers output, so vectors stay compatible with stored chunks.
+ */
+@Service
+@Profile("onnx")
+@Qualifier("embeddingRuntime")
+@RequiredArgsConstructor
+@Slf4j
+public class OnnxEmbeddingService implements EmbeddingService {
+
+    private static final int DEFAULT_DIMENSION = 384;
+
+    private final OnnxEmbeddingConfig config;
+
+    private OrtEnvironment environment;
+    private OrtSession session;
+    private WordPieceTokenizer tokenizer;
+    private Semaphore runPermits;
+    private boolean usesTokenTypeIds;
+    private String outputName;
+    private int dimension = DEFAULT_DIMENSION;
+
+    @PostConstruct
+    void loadModel() throws OrtException, IOException {
+        tokenizer = WordPieceTokenizer.load(Path.of(config.getVocabPath()), config.isLowerCase(), config.getTokenCacheSize());
+
+        environment = OrtEnvironment.getEnvironment();
+        OrtSession.SessionOptions options = new OrtSession.SessionOptions();
+        options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+        if (config.getIntraOpThreads() > 0) {
+            options.setIntraOpNumThreads(config.getIntraOpThreads());
+        }
+        session = environment.createSession(config.getModelPath(), options);
+        runPermits = new Semaphore(Math.max(1, config.getSessionPoolSize()));
+
+        usesTokenTypeIds = session.getInputNames().contains("token_type_ids");
+        Map<String, NodeInfo> outputs = session.getOutputInfo();
+        outputName = outputs.containsKey("sentence_embedding") ? "sentence_embedding"
+                : outputs.containsKey("last_hidden_state") ? "last_hidden_state"
+                : outputs.keySet().iterator().next();
+        if (outputs.get(outputName).getInfo() instanceof TensorInfo tensorInfo) {
+            long[] shape = tensorInfo.getShape();
+            if (shape[shape.length - 1] > 0) {
+                dimension = (int) shape[shape.length - 1];
+            }
+        }
+
+        log.info("Loaded ONNX embedding model {} (output: {}, dimension: {})",
+                config.getModelPath(), outputName, dimension);
+    }
+
+    @PreDestroy
+    void close() throws OrtException {
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    @Override
+    public float[] embedText(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return new float[dimension]; // Same as the HTTP backend for empty text
+        }
+
+        float[] embedding = embedBatch(List.of(text)).get(0);
+        if (embedding == null) {
+            throw new IllegalStateException("Failed to generate embedding");
+        }
+        return embedding;
+    }
+
+    @Override
+    public List<float[]> embedBatch(List<String> texts) {
+        if (texts == null || texts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int[][] encoded = new int[texts.size()][];
+        for (int i = 0; i < texts.size(); i++) {
+            encoded[i] = tokenizer.encode(texts.get(i), config.getMaxSequenceLength());
+        }
+
+        // Length-sorted batches keep padding (wasted compute) small
+        int[] order = IntStream.range(0, encoded.length).boxed()
+                .sorted(Comparator.comparingInt(i -> encoded[i].length))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        float[][] results = new float[texts.size()][];
+        int batchSize = Math.max(1, config.getMaxBatchSize());
+        for (int from = 0; from < order.length; from += batchSize) {
+            int[] batch = Arrays.copyOfRange(order, from, Math.min(order.length, from + batchSize));
+            try {
+                float[][] embeddings = runBatch(batch, encoded);
+                for (int i = 0; i < batch.length; i++) {
+                    results[batch[i]] = embeddings[i];
+                }
+            } catch (Exception e) {
+                log.error("ONNX inference failed for batch of {} texts: {}", batch.length, e.getMessage());
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public String getModelName() {
+        return config.getModelName();
+    }
+
+    // Private helper methods
+
+    private float[][] runBatch(int[] batch, int[][] encoded) throws OrtException, InterruptedException {
+        int rows = batch.length;
+        int sequenceLength = 0;
+        for (int index : batch) {
+            sequenceLength = Math.max(sequenceLength, encoded[index].length);
+        }
+
+        long[] inputIds = new long[rows * sequenceLength];
+        long[] attentionMask = new long[rows * sequenceLength];
+        Arrays.fill(inputIds, tokenizer.padId);
+        for (int row = 0; row < rows; row++) {
+            int[] ids = encoded[batch[row]];
+            for (int t = 0; t < ids.length; t++) {
+                inputIds[row * sequenceLength + t] = ids[t];
+                attentionMask[row * sequenceLength + t] = 1L;
+            }
+        }
+
+        long[] shape = {rows, sequenceLength};
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put("input_ids", OnnxTensor.createTensor(environment, LongBuffer.wrap(inputIds), shape));
+            inputs.put("attention_mask", OnnxTensor.createTensor(environment, LongBuffer.wrap(attentionMask), shape));
+            if (usesTokenTypeIds) {
+                inputs.put("token_type_ids", OnnxTensor.createTensor(environment, LongBuffer.wrap(new long[rows * sequenceLength]), shape));
+            }
+
+            runPermits.acquire();
+            try (OrtSession.Result result = session.run(inputs, Collections.singleton(outputName))) {
+                OnnxTensor output = (OnnxTensor) result.get(0);
+                long[] outputShape = output.getInfo().getShape();
+                FloatBuffer buffer = output.getFloatBuffer();
+                float[] flat = new float[buffer.remaining()];
+                buffer.get(flat);
+
+                float[][] embeddings = outputShape.length == 3
+                        ? meanPool(flat, attentionMask, rows, sequenceLength, (int) outputShape[2])
+                        : splitRows(flat, rows, (int) outputShape[outputShape.length - 1]);
+
+                for (float[] embedding : embeddings) {
+                    VectorMath.normalizeInPlace(embedding); // EmbeddingService contract: unit length
+                }
+                return embeddings;
+            } finally {
+                runPermits.release();
+            }
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    /**
+     * Average token vectors where attention_mask = 1 (sentence-transformers mean pooling)
+     */
+    static float[][] meanPool(float[] hidden, long[] attentionMask, int rows, int sequenceLength, int hiddenSize) {
+        float[][] pooled = new float[rows][hiddenSize];
+        for (int row = 0; row < rows; row++) {
+            float[] sum = pooled[row];
+            int tokens = 0;
+            for (int t = 0; t < sequenceLength; t++) {
+                if (attentionMask[row * sequenceLength + t] == 0L) {
+                    continue;
+                }
+                int offset = (row * sequenceLength + t) * hiddenSize;
+                for (int d = 0; d < hiddenSize; d++) {
+                    sum[d] += hidden[offset + d];
+                }
+                tokens++;
+            }
+            float scale = 1.0f / Math.max(1, tokens);
+            for (int d = 0; d < hiddenSize; d++) {
+                sum[d] *= scale;
+            }
+        }
+        return pooled;
+    }
+
+    private static float[][] splitRows(float[] flat, int rows, int width) {
+        float[][] split = new float[rows][];
+        for (int row = 0; row < rows; row++) {
+            split[row] = Arrays.copyOfRange(flat, row * width, (row + 1) * width);
+        }
+        return split;
+    }
+}
@@ -0,0 +1,200 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BERT WordPiece tokenizer (basic tokenization + greedy longest-match sub-words)
+ * Follows SRP - Single responsibility: Text to vocabulary ids for local models
+ *
+ * Matches the HuggingFace BertTokenizer for uncased/cased vocabularies so a
+ * locally exported model sees the same ids as the hosted one. Sub-word splits
+ * are cached per word, since chunk texts repeat the same vocabulary heavily.
+ */
+final class WordPieceTokenizer {
+
+    static final String CLS = "[CLS]";
+    static final String SEP = "[SEP]";
+    static final String PAD = "[PAD]";
+    static final String UNK = "[UNK]";
+
+    private static final int MAX_CHARS_PER_WORD = 100;
+
+    private final Map<String, Integer> vocab;
+    private final boolean lowerCase;
+    private final Cache<String, int[]> wordCache;
+
+    final int clsId;
+    final int sepId;
+    final int padId;
+    final int unkId;
+
+    WordPieceTokenizer(List<String> vocabLines, boolean lowerCase, long cacheSize) {
+        this.vocab = new HashMap<>(vocabLines.size() * 2);
+        for (int i = 0; i < vocabLines.size(); i++) {
+            vocab.putIfAbsent(vocabLines.get(i).strip(), i);
+        }
+        this.lowerCase = lowerCase;
+        this.wordCache = Caffeine.newBuilder().maximumSize(cacheSize).build();
+        this.clsId = requireToken(CLS);
+        this.sepId = requireToken(SEP);
+        this.padId = requireToken(PAD);
+        this.unkId = requireToken(UNK);
+    }
+
+    static WordPieceTokenizer load(Path vocabFile, boolean lowerCase, long cacheSize) throws IOException {
+        return new WordPieceTokenizer(Files.readAllLines(vocabFile, StandardCharsets.UTF_8), lowerCase, cacheSize);
+    }
+
+    /**
+     * [CLS] tokens [SEP], truncated to maxLength ids
+     */
+    int[] encode(String text, int maxLength) {
+        int[] ids = new int[Math.max(2, maxLength)];
+        int length = 0;
+        ids[length++] = clsId;
+
+        int limit = ids.length - 1; // room for [SEP]
+        for (String word : basicTokenize(text)) {
+            int[] pieces = wordCache.get(word, this::wordPiece);
+            int count = Math.min(pieces.length, limit - length);
+            System.arraycopy(pieces, 0, ids, length, count);
+            length += count;
+            if (length == limit) {
+                break;
+            }
+        }
+        ids[length++] = sepId;
+        return length == ids.length ? ids : Arrays.copyOf(ids, length);
+    }
+
+    /**
+     * Whitespace/punctuation split with optional lower-casing and accent stripping
+     */
+    List<String> basicTokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+
+        String normalized = lowerCase ? stripAccents(text.toLowerCase(Locale.ROOT)) : text;
+        StringBuilder current = new StringBuilder();
+
+        int i = 0;
+        while (i < normalized.length()) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (cp == 0 || cp == 0xFFFD || isControl(cp)) {
+                continue;
+            }
+            if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+                flush(current, words);
+            } else if (isPunctuation(cp) || isCjk(cp)) {
+                flush(current, words);
+                words.add(new String(Character.toChars(cp)));
+            } else {
+                current.appendCodePoint(cp);
+            }
+        }
+        flush(current, words);
+        return words;
+    }
+
+    /**
+     * Greedy longest-match-first split into vocabulary pieces
+     */
+    int[] wordPiece(String word) {
+        if (word.codePointCount(0, word.length()) > MAX_CHARS_PER_WORD) {
+            return new int[]{unkId};
+        }
+
+        List<Integer> pieces = new ArrayList<>();
+        int start = 0;
+        while (start < word.length()) {
+            int end = word.length();
+            Integer match = null;
+            while (start < end) {
+                String candidate = word.substring(start, end);
+                if (start > 0) {
+                    candidate = "##" + candidate;
+                }
+                match = vocab.get(candidate);
+                if (match != null) {
+                    break;
+                }
+                end = word.offsetByCodePoints(end, -1);
+            }
+            if (match == null) {
+                return new int[]{unkId}; // whole word unknown, as in BERT
+            }
+            pieces.add(match);
+            start = end;
+        }
+        return pieces.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Private helper methods
+
+    private int requireToken(String token) {
+        Integer id = vocab.get(token);
+        if (id == null) {
+            throw new IllegalArgumentException("Vocabulary is missing special token " + token);
+        }
+        return id;
+    }
+
+    private static void flush(StringBuilder current, List<String> words) {
+        if (current.length() > 0) {
+            words.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static String stripAccents(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder stripped = new StringBuilder(decomposed.length());
+        decomposed.codePoints()
+                .filter(cp -> Character.getType(cp) != Character.NON_SPACING_MARK)
+                .forEach(stripped::appendCodePoint);
+        return stripped.toString();
+    }
+
+    private static boolean isControl(int cp) {
+        if (cp == '\t' || cp == '\n' || cp == '\r') {
+            return false;
+        }
+        int type = Character.getType(cp);
+        return type == Character.CONTROL || type == Character.FORMAT;
+    }
+
+    private static boolean isPunctuation(int cp) {
+        if ((cp >= 33 && cp <= 47) || (cp >= 58 && cp <= 64) || (cp >= 91 && cp <= 96) || (cp >= 123 && cp <= 126)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.CONNECTOR_PUNCTUATION || type == Character.DASH_PUNCTUATION
+                || type == Character.START_PUNCTUATION || type == Character.END_PUNCTUATION
+                || type == Character.INITIAL_QUOTE_PUNCTUATION || type == Character.FINAL_QUOTE_PUNCTUATION
+                || type == Character.OTHER_PUNCTUATION;
+    }
+
+    private static boolean isCjk(int cp) {
+        return (cp >= 0x4E00 && cp <= 0x9FFF) || (cp >= 0x3400 && cp <= 0x4DBF)
+                || (cp >= 0x20000 && cp <= 0x2A6DF) || (cp >= 0x2A700 && cp <= 0x2B73F)
+                || (cp >= 0x2B740 && cp <= 0x2B81F) || (cp >= 0x2B820 && cp <= 0x2CEAF)
+                || (cp >= 0xF900 && cp <= 0xFAFF) || (cp >= 0x2F800 && cp <= 0x2FA1F);
+    }
+}
@@ -0,0 +1,22 @@
+-- Cutover of chunk embeddings to halfvec (run manually after V7, once reads use halfvec-shadow)
+-- Not a versioned migration on purpose: it drops the float32 values. Switch to
+-- app.vector.pgvector.storage=halfvec together with this script; the entity keeps
+-- reading and writing float[] (pgvector casts vector to halfvec on write).
+
+DROP TRIGGER IF EXISTS trg_chunks_embedding_half ON document_chunks;
+DROP FUNCTION IF EXISTS sync_chunk_embedding_half();
+
+DROP INDEX IF EXISTS idx_chunks_embedding_hnsw;
+
+ALTER TABLE document_chunks
+    ALTER COLUMN embedding TYPE halfvec(384) USING embedding_half;
+
+ALTER TABLE document_chunks
+    DROP COLUMN embedding_half;
+
+CREATE INDEX IF NOT EXISTS idx_chunks_embedding_hnsw
+    ON document_chunks USING hnsw (embedding halfvec_ip_ops)
+    WITH (m = 16, ef_construction = 64);
+
+-- ALTER COLUMN TYPE rewrote the table, so the float32 space is already reclaimed
+ANALYZE document_chunks;
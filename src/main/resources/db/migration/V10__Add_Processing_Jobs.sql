@@ -0,0 +1,41 @@
+-- Durable processing job queue shared by all application nodes
+-- Workers claim due jobs with SELECT ... FOR UPDATE SKIP LOCKED and hold a lease
+-- (leased_until) that they renew while working. A RUNNING job whose lease has expired
+-- (node crashed or stalled) becomes claimable again; failures are retried with
+-- exponential backoff (available_at) until max_attempts, then dead-lettered (DEAD).
+
+CREATE TABLE IF NOT EXISTS processing_jobs (
+    id UUID PRIMARY KEY,
+    job_type VARCHAR(50) NOT NULL,
+    document_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    max_attempts INTEGER NOT NULL,
+    available_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    lease_owner VARCHAR(200),
+    leased_until TIMESTAMP,
+    last_error VARCHAR(2000),
+    completed_at TIMESTAMP,
+
+    -- Base entity fields
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_by UUID,
+    updated_by UUID,
+    encryption_key_id VARCHAR(100),
+    hash_version VARCHAR(50),
+
+    CONSTRAINT fk_processing_jobs_document FOREIGN KEY (document_id) REFERENCES ai_documents(id) ON DELETE CASCADE
+);
+
+-- Claim scan: due queued jobs and expired leases
+CREATE INDEX IF NOT EXISTS idx_processing_jobs_due ON processing_jobs(available_at) WHERE status = 'QUEUED';
+CREATE INDEX IF NOT EXISTS idx_processing_jobs_leases ON processing_jobs(leased_until) WHERE status = 'RUNNING';
+CREATE INDEX IF NOT EXISTS idx_processing_jobs_status ON processing_jobs(status, updated_at DESC);
+
+-- At most one pending job of a kind per document (enqueue uses ON CONFLICT DO NOTHING)
+CREATE UNIQUE INDEX IF NOT EXISTS idx_processing_jobs_pending
+    ON processing_jobs(job_type, document_id) WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE TRIGGER update_processing_jobs_updated_at BEFORE UPDATE ON processing_jobs FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
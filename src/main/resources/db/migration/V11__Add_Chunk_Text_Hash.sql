@@ -0,0 +1,18 @@
+-- Content reuse across documents
+-- text_hash is the SHA-256 (hex) of the chunk text's UTF-8 bytes, set by the application
+-- on every chunk write and backfilled here with the same function. Chunks whose text was
+-- already embedded (overlapping documents, repeated boilerplate) reuse that embedding
+-- instead of calling the embedding model. Whole-file duplicates are matched on
+-- ai_documents.content_hash (idx_documents_content_hash) and copy the processed document.
+
+ALTER TABLE document_chunks
+    ADD COLUMN IF NOT EXISTS text_hash VARCHAR(64);
+
+UPDATE document_chunks
+SET text_hash = encode(sha256(convert_to(chunk_text, 'UTF8')), 'hex')
+WHERE text_hash IS NULL;
+
+-- Only embedded chunks are reuse candidates
+CREATE INDEX IF NOT EXISTS idx_chunks_text_hash_embedded
+    ON document_chunks(text_hash)
+    WHERE embedding IS NOT NULL;
@@ -0,0 +1,12 @@
+-- HNSW index for chunk embeddings
+-- Replaces the IVFFlat index from V2: it was built on an empty table (no useful
+-- lists) and ORDER BY used <-> (L2), which cannot use a vector_cosine_ops index.
+-- Queries now order by <=> (cosine); per-query recall is tuned with hnsw.ef_search.
+-- If app.vector.metric is changed, recreate this index with the matching operator class
+-- (vector_ip_ops for INNER_PRODUCT, vector_l2_ops for L2).
+
+DROP INDEX IF EXISTS idx_chunks_embedding;
+
+CREATE INDEX IF NOT EXISTS idx_chunks_embedding_hnsw
+    ON document_chunks USING hnsw (embedding vector_cosine_ops)
+    WITH (m = 16, ef_construction = 64);
@@ -0,0 +1,18 @@
+-- Stored tsvector columns for full-text search
+-- The V2 expression indexes only helped the WHERE clause: ts_rank recomputed
+-- to_tsvector for every matching row. Chunk-level text_search also serves the
+-- lexical leg of hybrid (lexical + vector) retrieval.
+
+ALTER TABLE ai_documents
+    ADD COLUMN IF NOT EXISTS text_search tsvector
+    GENERATED ALWAYS AS (to_tsvector('turkish', COALESCE(extracted_text, ''))) STORED;
+
+ALTER TABLE document_chunks
+    ADD COLUMN IF NOT EXISTS text_search tsvector
+    GENERATED ALWAYS AS (to_tsvector('turkish', COALESCE(chunk_text, ''))) STORED;
+
+DROP INDEX IF EXISTS idx_documents_text_search;
+DROP INDEX IF EXISTS idx_chunks_text_search;
+
+CREATE INDEX IF NOT EXISTS idx_documents_text_search ON ai_documents USING gin(text_search);
+CREATE INDEX IF NOT EXISTS idx_chunks_text_search ON document_chunks USING gin(text_search);
@@ -0,0 +1,20 @@
+-- Unit-length chunk embeddings and inner-product index
+-- Embeddings are now L2-normalized once at ingest, so cosine similarity equals the
+-- inner product and queries can use <#> (vector_ip_ops), which skips the per-row
+-- norm computation of <=>. Existing rows are normalized here (pgvector >= 0.7).
+-- Default app.vector.metric is INNER_PRODUCT from this version on.
+
+ALTER TABLE document_chunks
+    ADD COLUMN IF NOT EXISTS embedding_normalized BOOLEAN NOT NULL DEFAULT false;
+
+UPDATE document_chunks
+SET embedding = l2_normalize(embedding),
+    embedding_normalized = true
+WHERE embedding IS NOT NULL
+  AND embedding_normalized = false;
+
+DROP INDEX IF EXISTS idx_chunks_embedding_hnsw;
+
+CREATE INDEX IF NOT EXISTS idx_chunks_embedding_hnsw
+    ON document_chunks USING hnsw (embedding vector_ip_ops)
+    WITH (m = 16, ef_construction = 64);
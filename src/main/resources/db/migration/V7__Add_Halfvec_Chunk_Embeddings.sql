@@ -0,0 +1,31 @@
+-- Half-precision (float16) shadow column for chunk embeddings (pgvector >= 0.7)
+-- halfvec(384) stores 2 bytes per dimension, halving the embedding payload and its
+-- HNSW index. The float32 column stays the source of truth during the migration:
+-- a trigger dual-writes every insert/update (JPA and native SQL alike) and existing
+-- rows are backfilled here. Reads switch with app.vector.pgvector.storage=halfvec-shadow;
+-- db/halfvec/cutover_chunk_embeddings_to_halfvec.sql completes the cutover once the storage benchmark looks right.
+
+ALTER TABLE document_chunks
+    ADD COLUMN IF NOT EXISTS embedding_half halfvec(384);
+
+CREATE OR REPLACE FUNCTION sync_chunk_embedding_half() RETURNS trigger AS $$
+BEGIN
+    NEW.embedding_half := NEW.embedding::halfvec(384);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_chunks_embedding_half ON document_chunks;
+
+CREATE TRIGGER trg_chunks_embedding_half
+    BEFORE INSERT OR UPDATE OF embedding ON document_chunks
+    FOR EACH ROW EXECUTE FUNCTION sync_chunk_embedding_half();
+
+UPDATE document_chunks
+SET embedding_half = embedding::halfvec(384)
+WHERE embedding IS NOT NULL
+  AND embedding_half IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_chunks_embedding_half_hnsw
+    ON document_chunks USING hnsw (embedding_half halfvec_ip_ops)
+    WITH (m = 16, ef_construction = 64);
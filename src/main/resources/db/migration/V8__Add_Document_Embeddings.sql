@@ -0,0 +1,20 @@
+-- Document-level embeddings for two-stage (document -> chunk) retrieval
+-- document_embedding is the unit-length mean of the document's chunk embeddings.
+-- Searches first pick the top-N documents through this index, then score only the
+-- chunks of those documents. Refreshed by the application whenever chunk embeddings
+-- of a document are written or removed; existing documents are backfilled here.
+
+ALTER TABLE ai_documents
+    ADD COLUMN IF NOT EXISTS document_embedding vector(384);
+
+UPDATE ai_documents d
+SET document_embedding = (
+    SELECT l2_normalize(AVG(dc.embedding))
+    FROM document_chunks dc
+    WHERE dc.document_id = d.id
+      AND dc.embedding IS NOT NULL)
+WHERE d.document_embedding IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_documents_embedding_hnsw
+    ON ai_documents USING hnsw (document_embedding vector_ip_ops)
+    WITH (m = 16, ef_construction = 64);
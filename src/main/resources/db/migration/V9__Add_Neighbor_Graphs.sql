@@ -0,0 +1,49 @@
+-- Precomputed k-nearest-neighbour graphs for chunks and documents
+-- "Similar to chunk" and "related documents" read a stored list instead of running a
+-- similarity search per request. A background job (NeighborGraphManager) fills the lists
+-- and keeps them current: each *_neighbor_lists row records the updated_at of the
+-- source row its list was computed from, so a newer updated_at marks the list stale.
+-- When a list is recomputed, the source is also offered to its neighbours' lists
+-- (similarity is symmetric), which are trimmed back to k entries.
+
+CREATE TABLE IF NOT EXISTS chunk_neighbor_lists (
+    chunk_id UUID PRIMARY KEY,
+    source_updated_at TIMESTAMP NOT NULL,
+    computed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_chunk_neighbor_lists_chunk FOREIGN KEY (chunk_id) REFERENCES document_chunks(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS chunk_neighbors (
+    chunk_id UUID NOT NULL,
+    neighbor_id UUID NOT NULL,
+    similarity REAL NOT NULL,
+
+    PRIMARY KEY (chunk_id, neighbor_id),
+    CONSTRAINT fk_chunk_neighbors_chunk FOREIGN KEY (chunk_id) REFERENCES document_chunks(id) ON DELETE CASCADE,
+    CONSTRAINT fk_chunk_neighbors_neighbor FOREIGN KEY (neighbor_id) REFERENCES document_chunks(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_chunk_neighbors_ranked ON chunk_neighbors(chunk_id, similarity DESC);
+CREATE INDEX IF NOT EXISTS idx_chunk_neighbors_neighbor ON chunk_neighbors(neighbor_id);
+
+CREATE TABLE IF NOT EXISTS document_neighbor_lists (
+    document_id UUID PRIMARY KEY,
+    source_updated_at TIMESTAMP NOT NULL,
+    computed_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_document_neighbor_lists_document FOREIGN KEY (document_id) REFERENCES ai_documents(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS document_neighbors (
+    document_id UUID NOT NULL,
+    neighbor_id UUID NOT NULL,
+    similarity REAL NOT NULL,
+
+    PRIMARY KEY (document_id, neighbor_id),
+    CONSTRAINT fk_document_neighbors_document FOREIGN KEY (document_id) REFERENCES ai_documents(id) ON DELETE CASCADE,
+    CONSTRAINT fk_document_neighbors_neighbor FOREIGN KEY (neighbor_id) REFERENCES ai_documents(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_document_neighbors_ranked ON document_neighbors(document_id, similarity DESC);
+CREATE INDEX IF NOT EXISTS idx_document_neighbors_neighbor ON document_neighbors(neighbor_id);
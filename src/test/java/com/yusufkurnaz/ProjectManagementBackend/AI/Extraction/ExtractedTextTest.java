@@ -0,0 +1,38 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Extraction;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExtractedTextTest {
+
+    @Test
+    void pageAt_ShouldReturnPageContainingOffset() {
+        // Given
+        ExtractedText text = new ExtractedText("aaaa bbbb cccc", new int[]{0, 5, 10});
+
+        // When / Then
+        assertEquals(1, text.pageAt(0));
+        assertEquals(1, text.pageAt(4));
+        assertEquals(2, text.pageAt(5));
+        assertEquals(2, text.pageAt(9));
+        assertEquals(3, text.pageAt(13));
+    }
+
+    @Test
+    void pageAt_ShouldSkipEmptyPages() {
+        // Given (page 2 has no text, so it starts where page 3 starts)
+        ExtractedText text = new ExtractedText("aaaa cccc", new int[]{0, 5, 5});
+
+        // When / Then
+        assertEquals(1, text.pageAt(4));
+        assertEquals(3, text.pageAt(5));
+        assertEquals(3, text.pageAt(8));
+    }
+
+    @Test
+    void pageAt_ShouldReturnNullWithoutPageStructure() {
+        // When / Then
+        assertNull(ExtractedText.of("plain text").pageAt(3));
+    }
+}
@@ -0,0 +1,105 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Extraction;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.ExtractionConfiguration;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PdfTextExtractorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void extract_ShouldMatchSequentialTextWhenSplitIntoRanges() throws IOException {
+        // Given
+        Path pdf = writePdf(23);
+
+        // When
+        PdfExtractionResult sequential = extractor(1000, 5).extract(pdf);
+        PdfExtractionResult parallel = extractor(10, 5).extract(pdf);
+
+        // Then
+        assertEquals(1, sequential.ranges());
+        assertEquals(5, parallel.ranges());
+        assertEquals(sequential.text(), parallel.text());
+        assertEquals(23, parallel.pageCount());
+        assertEquals(23, parallel.pageMillis().length);
+        assertTrue(parallel.text().indexOf("Page 9 marker") < parallel.text().indexOf("Page 10 marker"));
+        assertTrue(parallel.text().contains("Page 23 marker"));
+    }
+
+    @Test
+    void extract_ShouldReportPageTiming() throws IOException {
+        // When
+        PdfExtractionResult result = extractor(2, 1).extract(writePdf(3));
+
+        // Then
+        assertEquals(3, result.ranges());
+        assertTrue(result.slowestPage() >= 1 && result.slowestPage() <= 3);
+        assertTrue(result.totalPageMillis() >= 0);
+    }
+
+    @Test
+    void extract_ShouldRecordWherePagesStartAcrossRanges() throws IOException {
+        // When
+        PdfExtractionResult result = extractor(10, 5).extract(writePdf(12));
+        ExtractedText extracted = result.toExtractedText();
+
+        // Then
+        assertEquals(12, result.pageOffsets().length);
+        assertEquals(0, result.pageOffsets()[0]);
+        for (int page = 1; page <= 12; page++) {
+            int offset = result.text().indexOf("Page " + page + " marker");
+            assertEquals(page, extracted.pageAt(offset));
+        }
+    }
+
+    // Helper methods
+
+    private PdfTextExtractor extractor(int threshold, int pagesPerRange) {
+        ExtractionConfiguration config = new ExtractionConfiguration();
+        config.setParallelPageThreshold(threshold);
+        config.setPagesPerRange(pagesPerRange);
+        return new PdfTextExtractor(config, executor);
+    }
+
+    private Path writePdf(int pages) throws IOException {
+        Path path = tempDir.resolve("doc-" + pages + ".pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int i = 1; i <= pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 12);
+                    content.newLineAtOffset(72, 700);
+                    content.showText("Page " + i + " marker");
+                    content.endText();
+                }
+            }
+            document.save(path.toFile());
+        }
+        return path;
+    }
+}
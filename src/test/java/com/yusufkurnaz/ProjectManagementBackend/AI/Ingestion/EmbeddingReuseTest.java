@@ -0,0 +1,56 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Entity.DocumentChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingReuseTest {
+
+    @Test
+    void missingIndexes_ShouldSkipKnownHashesAndRepeatedTexts() {
+        // Given
+        List<String> hashes = List.of("a", "b", "a", "c", "b");
+        Map<String, float[]> known = Map.of("c", new float[]{1f, 0f});
+
+        // When
+        List<Integer> missing = EmbeddingReuse.missingIndexes(hashes, known);
+
+        // Then
+        assertEquals(List.of(0, 1), missing);
+    }
+
+    @Test
+    void assemble_ShouldShareEmbeddingsAndLeaveUnknownNull() {
+        // Given
+        float[] first = {1f, 0f};
+        float[] second = {0f, 1f};
+        Map<String, float[]> known = new HashMap<>(Map.of("a", first, "b", second));
+        List<String> hashes = List.of("a", "b", "a", "x");
+
+        // When
+        List<float[]> embeddings = EmbeddingReuse.assemble(hashes, known);
+
+        // Then
+        assertEquals(4, embeddings.size());
+        assertSame(first, embeddings.get(0));
+        assertSame(second, embeddings.get(1));
+        assertSame(first, embeddings.get(2));
+        assertNull(embeddings.get(3));
+    }
+
+    @Test
+    void hashText_ShouldMatchSqlBackfill() {
+        // When (encode(sha256(convert_to('abc', 'UTF8')), 'hex'))
+        String hash = DocumentChunk.hashText("abc");
+
+        // Then
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", hash);
+        assertEquals(DocumentChunk.hashText("çğü"), DocumentChunk.hashText("çğü"));
+        assertNotEquals(DocumentChunk.hashText("abc"), DocumentChunk.hashText("abd"));
+    }
+}
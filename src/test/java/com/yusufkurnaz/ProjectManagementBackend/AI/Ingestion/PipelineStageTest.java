@@ -0,0 +1,75 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelineStageTest {
+
+    @Test
+    void offer_ShouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        PipelineStage<Integer> stage = new PipelineStage<>("test", 1, 2, item -> {
+            busy.countDown();
+            release.await();
+        });
+        stage.start();
+
+        try {
+            // When
+            assertTrue(stage.offer(1));
+            assertTrue(busy.await(5, TimeUnit.SECONDS)); // worker holds item 1
+            boolean second = stage.offer(2);
+            boolean third = stage.offer(3);
+            boolean fourth = stage.offer(4);
+
+            // Then
+            assertTrue(second);
+            assertTrue(third);
+            assertFalse(fourth);
+            assertEquals(2, stage.getQueued());
+            assertEquals(1, stage.getActive());
+        } finally {
+            release.countDown();
+            stage.stop();
+        }
+    }
+
+    @Test
+    void put_ShouldDeliverItemsToNextStageInOrder() throws InterruptedException {
+        // Given
+        List<Integer> delivered = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(20);
+        PipelineStage<Integer> last = new PipelineStage<>("last", 1, 1, item -> {
+            delivered.add(item);
+            done.countDown();
+        });
+        PipelineStage<Integer> first = new PipelineStage<>("first", 1, 1, item -> last.put(item * 10));
+        last.start();
+        first.start();
+
+        try {
+            // When
+            for (int i = 0; i < 20; i++) {
+                first.put(i);
+            }
+
+            // Then
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(20, delivered.size());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i * 10, delivered.get(i));
+            }
+        } finally {
+            first.stop();
+            last.stop();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Ingestion;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcessingJobQueueTest {
+
+    @Test
+    void backoffSeconds_ShouldDoubleUpToMaximum() {
+        // When (random = 0.5 -> no jitter)
+        double first = ProcessingJobQueue.backoffSeconds(1, 30, 3600, 0.5);
+        double second = ProcessingJobQueue.backoffSeconds(2, 30, 3600, 0.5);
+        double fourth = ProcessingJobQueue.backoffSeconds(4, 30, 3600, 0.5);
+        double capped = ProcessingJobQueue.backoffSeconds(20, 30, 3600, 0.5);
+
+        // Then
+        assertEquals(30.0, first, 1e-9);
+        assertEquals(60.0, second, 1e-9);
+        assertEquals(240.0, fourth, 1e-9);
+        assertEquals(3600.0, capped, 1e-9);
+    }
+
+    @Test
+    void backoffSeconds_ShouldJitterWithinTwentyPercent() {
+        // When
+        double low = ProcessingJobQueue.backoffSeconds(3, 30, 3600, 0.0);
+        double high = ProcessingJobQueue.backoffSeconds(3, 30, 3600, 1.0);
+
+        // Then
+        assertEquals(96.0, low, 1e-9);
+        assertEquals(144.0, high, 1e-9);
+    }
+}
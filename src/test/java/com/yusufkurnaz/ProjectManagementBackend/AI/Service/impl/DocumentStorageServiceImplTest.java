@@ -0,0 +1,73 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Service.impl;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.FileStorageConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Service.DocumentStorageService.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DocumentStorageServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private DocumentStorageServiceImpl storageService;
+
+    @BeforeEach
+    void setUp() {
+        FileStorageConfiguration config = new FileStorageConfiguration();
+        config.setUploadDir(uploadDir.toString());
+        storageService = new DocumentStorageServiceImpl(config);
+    }
+
+    @Test
+    void store_ShouldWriteContentAddressedFileWithHash() throws IOException, NoSuchAlgorithmException {
+        // Given
+        byte[] content = "hello storage".getBytes(StandardCharsets.UTF_8);
+        String expectedHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        // When
+        StoredFile stored = storageService.store(new MockMultipartFile("file", "Notes.TXT", "text/plain", content));
+
+        // Then
+        assertEquals(expectedHash, stored.contentHash());
+        assertEquals(expectedHash + ".txt", stored.storedFilename());
+        assertEquals(content.length, stored.size());
+        assertEquals(uploadDir.toAbsolutePath().normalize()
+                .resolve(expectedHash.substring(0, 2)).resolve(stored.storedFilename()), stored.path());
+        assertArrayEquals(content, Files.readAllBytes(stored.path()));
+    }
+
+    @Test
+    void store_ShouldReuseExistingFileAndLeaveNoTempFiles() throws IOException {
+        // Given
+        byte[] content = "same bytes".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        StoredFile first = storageService.store(new MockMultipartFile("file", "a.pdf", "application/pdf", content));
+        StoredFile second = storageService.store(new MockMultipartFile("file", "b.pdf", "application/pdf", content));
+
+        // Then
+        assertEquals(first.path(), second.path());
+        try (var incoming = Files.list(uploadDir.resolve(".incoming"))) {
+            assertEquals(0, incoming.count());
+        }
+    }
+
+    @Test
+    void resolve_ShouldRejectNamesEscapingUploadDirectory() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> storageService.resolve("../../etc/passwd"));
+    }
+}
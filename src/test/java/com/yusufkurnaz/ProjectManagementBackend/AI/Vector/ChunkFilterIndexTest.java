@@ -0,0 +1,81 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkFilterIndexTest {
+
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+
+    @Test
+    void evaluate_ShouldCombineTagContentTypeAndUploaderFilters() {
+        // Given
+        ChunkFilterIndex index = sampleIndex();
+        ChunkFilter filter = ChunkFilter.and(
+                ChunkFilter.anyTag(List.of("java")),
+                ChunkFilter.contentTypes(null, List.of("CODE")),
+                ChunkFilter.uploadedBy(ALICE));
+
+        // When
+        int[] matches = index.evaluate(filter).toArray();
+
+        // Then
+        assertArrayEquals(new int[]{0}, matches);
+    }
+
+    @Test
+    void evaluate_ShouldSkipRemovedOrdinals() {
+        // Given
+        ChunkFilterIndex index = sampleIndex();
+        index.remove(0);
+
+        // When
+        int[] matches = index.evaluate(ChunkFilter.anyTag(List.of("java"))).toArray();
+
+        // Then
+        assertArrayEquals(new int[]{1}, matches);
+    }
+
+    @Test
+    void remap_ShouldMoveMembershipsAndDropMissingOrdinals() {
+        // Given
+        ChunkFilterIndex index = sampleIndex();
+        index.remove(1);
+
+        // When
+        ChunkFilterIndex remapped = index.remap(new int[]{1, -1, 0});
+
+        // Then
+        assertArrayEquals(new int[]{0, 1}, remapped.evaluate(null).toArray());
+        assertArrayEquals(new int[]{0}, remapped.evaluate(ChunkFilter.uploadedBy(BOB)).toArray());
+    }
+
+    @Test
+    void uploaders_ShouldNarrowAndsAndWidenOrs() {
+        // Given
+        ChunkFilter tagged = ChunkFilter.anyTag(List.of("java"));
+        ChunkFilter eitherUser = ChunkFilter.or(ChunkFilter.uploadedBy(ALICE), ChunkFilter.uploadedBy(BOB));
+
+        // When / Then
+        assertEquals(Set.of(ALICE), ChunkFilter.uploaders(ChunkFilter.and(tagged, ChunkFilter.uploadedBy(ALICE))));
+        assertEquals(Set.of(ALICE, BOB), ChunkFilter.uploaders(eitherUser));
+        assertEquals(Set.of(BOB), ChunkFilter.uploaders(ChunkFilter.and(eitherUser, ChunkFilter.uploadedBy(BOB))));
+        assertNull(ChunkFilter.uploaders(ChunkFilter.or(tagged, ChunkFilter.uploadedBy(ALICE))));
+        assertNull(ChunkFilter.uploaders(ChunkFilter.not(ChunkFilter.uploadedBy(ALICE))));
+        assertNull(ChunkFilter.uploaders(null));
+    }
+
+    private ChunkFilterIndex sampleIndex() {
+        ChunkFilterIndex index = new ChunkFilterIndex();
+        index.add(0, new ChunkAttributes(List.of("java", "spring"), "PARAGRAPH", ALICE));
+        index.add(1, new ChunkAttributes(List.of("java"), "CODE", ALICE));
+        index.add(2, new ChunkAttributes(List.of("python"), "PARAGRAPH", BOB));
+        return index;
+    }
+}
@@ -0,0 +1,156 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+
+    @Test
+    void search_ShouldMatchBruteForceRecall() {
+        // Given
+        float[][] vectors = randomVectors(2000, 1L);
+        HnswIndex index = buildIndex(vectors);
+        float[][] queries = randomVectors(50, 2L);
+
+        // When
+        int found = 0;
+        for (float[] query : queries) {
+            Set<Integer> expected = bruteForce(vectors, query, 10);
+            found += (int) index.search(query, 10, null).stream()
+                    .filter(hit -> expected.contains(hit.ordinal()))
+                    .count();
+        }
+
+        // Then
+        double recall = found / (queries.length * 10.0);
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+    }
+
+    @Test
+    void remove_ShouldExcludeTombstonesFromResults() {
+        // Given
+        float[][] vectors = randomVectors(500, 3L);
+        HnswIndex index = buildIndex(vectors);
+
+        // When
+        index.remove(7);
+        List<ScoredOrdinal> hits = index.search(vectors[7], 5, null);
+
+        // Then
+        assertFalse(index.contains(7));
+        assertEquals(499, index.size());
+        assertEquals(1, index.deletedCount());
+        assertEquals(5, hits.size());
+        assertTrue(hits.stream().noneMatch(hit -> hit.ordinal() == 7));
+    }
+
+    @Test
+    void search_ShouldOnlyReturnFilteredOrdinals() {
+        // Given
+        float[][] vectors = randomVectors(1000, 4L);
+        HnswIndex index = buildIndex(vectors);
+
+        // When
+        List<ScoredOrdinal> hits = index.search(vectors[10], 10, ordinal -> ordinal % 10 == 0);
+
+        // Then
+        assertEquals(10, hits.size());
+        assertEquals(10, hits.get(0).ordinal());
+        assertTrue(hits.stream().allMatch(hit -> hit.ordinal() % 10 == 0));
+    }
+
+    @Test
+    void snapshot_ShouldRestoreSameResults() throws Exception {
+        // Given
+        float[][] vectors = randomVectors(300, 5L);
+        HnswIndex index = buildIndex(vectors);
+        index.remove(3);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // When
+        index.writeTo(new DataOutputStream(bytes));
+        HnswIndex restored = HnswIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertEquals(index.size(), restored.size());
+        assertEquals(index.deletedCount(), restored.deletedCount());
+        assertFalse(restored.contains(3));
+        assertEquals(index.search(vectors[42], 10, null), restored.search(vectors[42], 10, null));
+    }
+
+    @Test
+    void search_ShouldKeepRecallWithInt8CodesAndExactRerank() {
+        // Given
+        float[][] vectors = randomVectors(2000, 6L);
+        List<float[]> normalized = Arrays.stream(vectors).map(VectorMath::normalize).toList();
+        HnswIndex index = new HnswIndex(DIMENSION, 16, 200, 64, ScalarQuantizer.calibrate(normalized, DIMENSION));
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(i, vectors[i]);
+        }
+        float[][] queries = randomVectors(50, 7L);
+
+        // When
+        int found = 0;
+        for (float[] query : queries) {
+            Set<Integer> expected = bruteForce(vectors, query, 10);
+            float[] normalizedQuery = VectorMath.normalize(query);
+            found += (int) index.search(query, 30, null).stream()
+                    .sorted(Comparator.comparingDouble(
+                            (ScoredOrdinal hit) -> VectorMath.dot(normalized.get(hit.ordinal()), normalizedQuery)).reversed())
+                    .limit(10)
+                    .filter(hit -> expected.contains(hit.ordinal()))
+                    .count();
+        }
+
+        // Then
+        double recall = found / (queries.length * 10.0);
+        assertEquals(VectorQuantization.INT8, index.quantization());
+        assertTrue(recall >= 0.9, "int8 recall@10 after re-rank was " + recall);
+    }
+
+    // Helper methods
+
+    private static HnswIndex buildIndex(float[][] vectors) {
+        HnswIndex index = new HnswIndex(DIMENSION, 16, 200, 64);
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(i, vectors[i]);
+        }
+        return index;
+    }
+
+    private static Set<Integer> bruteForce(float[][] vectors, float[] query, int k) {
+        float[] normalizedQuery = VectorMath.normalize(query);
+        return IntStream.range(0, vectors.length)
+                .boxed()
+                .sorted(Comparator.comparingDouble(
+                        (Integer i) -> VectorMath.dot(VectorMath.normalize(vectors[i]), normalizedQuery)).reversed())
+                .limit(k)
+                .collect(Collectors.toSet());
+    }
+
+    private static float[][] randomVectors(int count, long seed) {
+        Random random = new Random(seed);
+        float[][] vectors = new float[count][DIMENSION];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+        }
+        return vectors;
+    }
+}
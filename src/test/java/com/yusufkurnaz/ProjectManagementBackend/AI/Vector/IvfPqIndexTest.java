@@ -0,0 +1,97 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IvfPqIndexTest {
+
+    private static final int DIMENSION = 64;
+
+    @Test
+    void search_ShouldKeepRecallWithEnoughProbesAndExactRerank() throws Exception {
+        // Given
+        List<float[]> vectors = clusteredUnitVectors(3000, 1L);
+        IvfPqIndex index = IvfPqIndex.train(vectors, DIMENSION, 32, 16, 8, 7L);
+        for (int ordinal = 0; ordinal < vectors.size(); ordinal++) {
+            index.add(ordinal, vectors.get(ordinal));
+        }
+        VectorMatrix exact = VectorMatrix.of(vectors, DIMENSION);
+        List<float[]> queries = clusteredUnitVectors(50, 2L);
+
+        // When
+        double recall = 0.0;
+        for (float[] query : queries) {
+            Set<Integer> truth = new HashSet<>();
+            exact.topK(query, 10, Float.NEGATIVE_INFINITY).forEach(hit -> truth.add(hit.ordinal()));
+
+            List<Integer> reranked = index.search(query, 40, null).stream()
+                    .map(ScoredOrdinal::ordinal)
+                    .sorted(Comparator.comparingDouble((Integer ordinal) -> VectorMath.dot(query, vectors.get(ordinal))).reversed())
+                    .limit(10)
+                    .toList();
+            recall += reranked.stream().filter(truth::contains).count() / 10.0;
+        }
+
+        // Then
+        assertTrue(recall / queries.size() >= 0.9, "recall was " + recall / queries.size());
+        assertEquals(16 + 12, index.bytesPerVector());
+    }
+
+    @Test
+    void writeTo_ShouldRoundTripCodesAndTombstones() throws Exception {
+        // Given
+        List<float[]> vectors = clusteredUnitVectors(500, 3L);
+        IvfPqIndex index = IvfPqIndex.train(vectors, DIMENSION, 8, 8, 4, 5L);
+        for (int ordinal = 0; ordinal < vectors.size(); ordinal++) {
+            index.add(ordinal, vectors.get(ordinal));
+        }
+        index.remove(0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+
+        // When
+        IvfPqIndex restored = IvfPqIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertEquals(index.size(), restored.size());
+        assertFalse(restored.contains(0));
+        assertArrayEquals(index.vector(42), restored.vector(42));
+        assertEquals(index.search(vectors.get(7), 5, null), restored.search(vectors.get(7), 5, null));
+    }
+
+    // Helper methods
+
+    private static List<float[]> clusteredUnitVectors(int count, long seed) {
+        Random centres = new Random(11L);
+        float[][] clusters = new float[20][DIMENSION];
+        for (float[] cluster : clusters) {
+            for (int i = 0; i < DIMENSION; i++) {
+                cluster[i] = (float) centres.nextGaussian();
+            }
+        }
+
+        Random random = new Random(seed);
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            float[] cluster = clusters[random.nextInt(clusters.length)];
+            float[] vector = new float[DIMENSION];
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = cluster[i] + 0.5f * (float) random.nextGaussian();
+            }
+            vectors.add(VectorMath.normalize(vector));
+        }
+        return vectors;
+    }
+}
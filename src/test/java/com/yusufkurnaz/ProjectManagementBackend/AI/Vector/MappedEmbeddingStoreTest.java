@@ -0,0 +1,100 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEmbeddingStoreTest {
+
+    private static final UUID DOCUMENT_A = UUID.randomUUID();
+    private static final UUID DOCUMENT_B = UUID.randomUUID();
+    private static final UUID USER = UUID.randomUUID();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopen_ShouldKeepVectorsTombstonesAndSyncPoint() throws IOException {
+        // Given
+        UUID chunk = UUID.randomUUID();
+        UUID replaced = UUID.randomUUID();
+        Instant syncedAt = Instant.ofEpochMilli(1234);
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory, 3, 2)) {
+            store.append(chunk, DOCUMENT_A, USER, new float[]{3, 4, 0});
+            store.append(replaced, DOCUMENT_A, USER, new float[]{1, 0, 0});
+            store.append(replaced, DOCUMENT_A, USER, new float[]{0, 0, 1}); // second segment
+            store.markSynced(syncedAt);
+        }
+
+        // When
+        try (MappedEmbeddingStore reopened = MappedEmbeddingStore.open(directory, 3, 2)) {
+
+            // Then
+            assertEquals(2, reopened.liveCount());
+            assertEquals(1, reopened.deletedCount());
+            assertEquals(syncedAt, reopened.syncedAt());
+            assertArrayEquals(new float[]{0.6f, 0.8f, 0}, reopened.vector(chunk), 1e-6f);
+            assertArrayEquals(new float[]{0, 0, 1}, reopened.vector(replaced), 1e-6f);
+            assertEquals(Set.of(DOCUMENT_A), reopened.documentsUploadedBy(USER));
+        }
+    }
+
+    @Test
+    void searchDocument_ShouldOnlyScoreChunksOfThatDocument() throws IOException {
+        // Given
+        UUID inA = UUID.randomUUID();
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory, 2, 16)) {
+            store.append(inA, DOCUMENT_A, USER, new float[]{0, 1});
+            store.append(UUID.randomUUID(), DOCUMENT_B, USER, new float[]{1, 0});
+
+            // When
+            List<VectorHit> hits = store.searchDocument(new float[]{1, 0}, DOCUMENT_A, 5, -1.0f);
+
+            // Then
+            assertEquals(1, hits.size());
+            assertEquals(inA, hits.get(0).chunkId());
+            assertEquals(0.0f, hits.get(0).score(), 1e-6f);
+        }
+    }
+
+    @Test
+    void compactTo_ShouldDropRemovedDocuments() throws IOException {
+        // Given
+        UUID kept = UUID.randomUUID();
+        Path target = directory.resolve("compacted");
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory.resolve("store"), 2, 4)) {
+            store.append(kept, DOCUMENT_A, USER, new float[]{1, 0});
+            store.append(UUID.randomUUID(), DOCUMENT_B, USER, new float[]{0, 1});
+            store.removeDocument(DOCUMENT_B);
+
+            // When
+            store.compactTo(target);
+        }
+
+        // Then
+        try (MappedEmbeddingStore compacted = MappedEmbeddingStore.open(target, 2, 4)) {
+            assertEquals(1, compacted.liveCount());
+            assertEquals(0, compacted.deletedCount());
+            assertEquals(Set.of(kept), compacted.chunkIds());
+        }
+    }
+
+    @Test
+    void open_ShouldRejectDifferentDimension() throws IOException {
+        // Given
+        try (MappedEmbeddingStore store = MappedEmbeddingStore.open(directory, 2, 4)) {
+            store.append(UUID.randomUUID(), DOCUMENT_A, USER, new float[]{1, 0});
+        }
+
+        // When / Then
+        assertThrows(IOException.class, () -> MappedEmbeddingStore.open(directory, 3, 4));
+    }
+}
@@ -0,0 +1,98 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import com.yusufkurnaz.ProjectManagementBackend.AI.Config.VectorSearchConfiguration;
+import com.yusufkurnaz.ProjectManagementBackend.AI.Repository.DocumentChunkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NeighborGraphManagerTest {
+
+    @Mock
+    private DocumentChunkRepository chunkRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final UUID chunkId = UUID.randomUUID();
+    private final ChunkFilter filter = new ChunkFilter.UploadedBy(UUID.randomUUID());
+
+    private NeighborGraphManager manager;
+
+    @BeforeEach
+    void setUp() {
+        VectorSearchConfiguration config = new VectorSearchConfiguration();
+        config.getNeighbors().setK(5);
+        manager = new NeighborGraphManager(chunkRepository, config, transactionTemplate);
+    }
+
+    @Test
+    void similarChunks_ShouldReturnStoredNeighborsWhenListIsLongEnough() {
+        // Given
+        List<VectorHit> stored = hits(3);
+        when(chunkRepository.findChunkNeighbors(chunkId, filter, 3)).thenReturn(stored);
+
+        // When
+        List<VectorHit> neighbors = manager.similarChunks(chunkId, filter, 3);
+
+        // Then
+        assertSame(stored, neighbors);
+    }
+
+    @Test
+    void similarChunks_ShouldReturnNullWhenStoredListIsTooShort() {
+        // Given (list not computed yet, or the filter leaves fewer neighbours than asked for)
+        when(chunkRepository.findChunkNeighbors(chunkId, filter, 4)).thenReturn(hits(2));
+
+        // When
+        List<VectorHit> neighbors = manager.similarChunks(chunkId, filter, 4);
+
+        // Then
+        assertNull(neighbors);
+    }
+
+    @Test
+    void similarChunks_ShouldReturnNullWithoutLookupWhenLimitExceedsK() {
+        // When
+        List<VectorHit> neighbors = manager.similarChunks(chunkId, filter, 6);
+
+        // Then
+        assertNull(neighbors);
+        verify(chunkRepository, never()).findChunkNeighbors(any(), any(), anyInt());
+    }
+
+    @Test
+    void relatedDocuments_ShouldCapLimitAtK() {
+        // Given
+        UUID documentId = UUID.randomUUID();
+        when(chunkRepository.findDocumentNeighbors(documentId, Set.of(), 5)).thenReturn(List.of());
+
+        // When
+        List<DocumentHit> related = manager.relatedDocuments(documentId, Set.of(), 50);
+
+        // Then
+        assertTrue(related.isEmpty());
+        verify(chunkRepository).findDocumentNeighbors(documentId, Set.of(), 5);
+    }
+
+    // Helper methods
+
+    private List<VectorHit> hits(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new VectorHit(UUID.randomUUID(), 1f - i * 0.1f))
+                .toList();
+    }
+}
@@ -0,0 +1,42 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankFusionTest {
+
+    private static final UUID A = UUID.randomUUID();
+    private static final UUID B = UUID.randomUUID();
+    private static final UUID C = UUID.randomUUID();
+    private static final UUID D = UUID.randomUUID();
+
+    @Test
+    void reciprocalRank_ShouldPreferChunksFoundByBothLists() {
+        // Given
+        List<UUID> vector = List.of(A, B, C);
+        List<UUID> lexical = List.of(D, C);
+
+        // When
+        List<VectorHit> fused = RankFusion.reciprocalRank(List.of(vector, lexical), 60, 10);
+
+        // Then
+        assertEquals(List.of(C, A, D, B), fused.stream().map(VectorHit::chunkId).toList());
+        assertEquals(1.0f / 63 + 1.0f / 62, fused.get(0).score(), 1e-6);
+    }
+
+    @Test
+    void reciprocalRank_ShouldApplyLimitAndHandleEmptyLists() {
+        // Given
+        List<UUID> vector = List.of(A, B, C);
+
+        // When
+        List<VectorHit> fused = RankFusion.reciprocalRank(List.of(vector, List.of()), 60, 2);
+
+        // Then
+        assertEquals(List.of(A, B), fused.stream().map(VectorHit::chunkId).toList());
+    }
+}
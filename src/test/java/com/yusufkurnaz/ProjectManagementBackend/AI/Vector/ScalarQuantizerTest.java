@@ -0,0 +1,62 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalarQuantizerTest {
+
+    private static final int DIMENSION = 64;
+
+    @Test
+    void prepare_ShouldApproximateFloatDotProduct() {
+        // Given
+        List<float[]> vectors = randomUnitVectors(500, 1L);
+        ScalarQuantizer quantizer = ScalarQuantizer.calibrate(vectors, DIMENSION);
+        float[] query = randomUnitVectors(1, 2L).get(0);
+        ScalarQuantizer.PreparedQuery prepared = quantizer.prepare(query);
+
+        // When / Then
+        for (float[] vector : vectors.subList(0, 50)) {
+            byte[] codes = quantizer.encode(vector);
+            assertEquals(VectorMath.dot(query, vector), prepared.score(codes), 0.01f);
+            assertEquals(VectorMath.dot(query, quantizer.decode(codes)), prepared.score(codes), 1e-4f);
+        }
+    }
+
+    @Test
+    void evaluate_ShouldReportRecallAndMemoryPerMillion() {
+        // Given
+        List<float[]> sample = randomUnitVectors(1000, 3L);
+
+        // When
+        QuantizationReport report = QuantizationReport.evaluate(sample, DIMENSION, 50, 10, 3);
+
+        // Then
+        assertEquals(950, report.corpusSize());
+        assertEquals(50, report.queryCount());
+        assertTrue(report.int8RerankedRecallAtK() >= report.int8RecallAtK());
+        assertTrue(report.int8RerankedRecallAtK() >= 0.95, "reranked recall was " + report.int8RerankedRecallAtK());
+        assertEquals(4L * DIMENSION * 1_000_000L, report.float32BytesPerMillion());
+        assertEquals((long) DIMENSION * 1_000_000L, report.int8BytesPerMillion());
+    }
+
+    // Helper methods
+
+    private static List<float[]> randomUnitVectors(int count, long seed) {
+        Random random = new Random(seed);
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            float[] vector = new float[DIMENSION];
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+            vectors.add(VectorMath.normalize(vector));
+        }
+        return vectors;
+    }
+}
@@ -0,0 +1,40 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKMergeTest {
+
+    private static final UUID A = UUID.randomUUID();
+    private static final UUID B = UUID.randomUUID();
+    private static final UUID C = UUID.randomUUID();
+    private static final UUID D = UUID.randomUUID();
+
+    @Test
+    void merge_ShouldKeepGlobalTopKAcrossPartitions() {
+        // Given
+        List<VectorHit> large = List.of(new VectorHit(A, 0.9f), new VectorHit(B, 0.5f));
+        List<VectorHit> small = List.of(new VectorHit(C, 0.7f), new VectorHit(D, 0.6f));
+
+        // When
+        List<VectorHit> merged = TopKMerge.merge(List.of(large, small), 3);
+
+        // Then
+        assertEquals(List.of(A, C, D), merged.stream().map(VectorHit::chunkId).toList());
+        assertEquals(0.9f, merged.get(0).score(), 1e-6);
+    }
+
+    @Test
+    void merge_ShouldHandleEmptyPartitionsAndZeroLimit() {
+        // Given
+        List<VectorHit> only = List.of(new VectorHit(A, 0.4f));
+
+        // When / Then
+        assertEquals(List.of(A), TopKMerge.merge(List.of(List.of(), only), 5).stream().map(VectorHit::chunkId).toList());
+        assertTrue(TopKMerge.merge(List.of(only), 0).isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorCodecTest {
+
+    @Test
+    void pgBinary_ShouldRoundTripVector() {
+        // Given
+        float[] vector = {0.1f, -2.5f, 3.75f, 0.0f};
+        byte[] buffer = new byte[VectorCodec.pgBinaryLength(vector.length)];
+
+        // When
+        VectorCodec.writePgBinary(vector, buffer, 0);
+        float[] decoded = VectorCodec.readPgBinary(buffer, 0);
+
+        // Then
+        assertEquals(4 + vector.length * Float.BYTES, buffer.length);
+        assertEquals(0, buffer[0]);
+        assertEquals(vector.length, buffer[1]);
+        assertArrayEquals(vector, decoded);
+    }
+
+    @Test
+    void pgHalfBinary_ShouldRoundTripWithinFloat16Precision() {
+        // Given
+        float[] vector = {0.1f, -0.5f, 0.0f, 0.0723f};
+        byte[] buffer = new byte[VectorCodec.pgHalfBinaryLength(vector.length)];
+
+        // When
+        VectorCodec.writePgHalfBinary(vector, buffer, 0);
+        float[] decoded = VectorCodec.readPgHalfBinary(buffer, 0);
+
+        // Then
+        assertEquals(4 + vector.length * Short.BYTES, buffer.length);
+        assertEquals(vector.length, buffer[1]);
+        assertArrayEquals(vector, decoded, 1e-3f);
+        assertEquals(-0.5f, decoded[1]);
+    }
+
+    @Test
+    void pack_ShouldRoundTripVector() {
+        // Given
+        float[] vector = {1.0f, -0.5f, 0.25f};
+
+        // When
+        float[] decoded = VectorCodec.unpack(VectorCodec.pack(vector));
+
+        // Then
+        assertArrayEquals(vector, decoded);
+    }
+
+    @Test
+    void parseText_ShouldReadPgvectorTextFormat() {
+        // When
+        float[] decoded = VectorCodec.parseText("[0.1, -0.2,3e-2]");
+
+        // Then
+        assertArrayEquals(new float[]{0.1f, -0.2f, 0.03f}, decoded);
+        assertEquals(0, VectorCodec.parseText("[]").length);
+        assertNull(VectorCodec.parseText(null));
+    }
+
+    @Test
+    void formatText_ShouldBeParseable() {
+        // Given
+        float[] vector = {0.5f, -1.0f};
+
+        // When
+        String text = VectorCodec.formatText(vector);
+
+        // Then
+        assertEquals("[0.5,-1.0]", text);
+        assertArrayEquals(vector, VectorCodec.parseText(text));
+    }
+}
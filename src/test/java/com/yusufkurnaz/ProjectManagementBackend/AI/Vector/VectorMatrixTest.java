@@ -0,0 +1,92 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorMatrixTest {
+
+    @Test
+    void topK_ShouldReturnBestRowsAboveThresholdInOrder() {
+        // Given
+        VectorMatrix matrix = VectorMatrix.of(List.of(
+                new float[]{1.0f, 0.0f, 0.0f},
+                new float[]{0.0f, 1.0f, 0.0f},
+                new float[]{0.7f, 0.7f, 0.0f},
+                new float[0],
+                new float[]{2.0f, 0.1f, 0.0f}
+        ), 3);
+
+        // When
+        List<ScoredOrdinal> top = matrix.topK(new float[]{1.0f, 0.0f, 0.0f}, 2, 0.5f);
+
+        // Then
+        assertEquals(2, top.size());
+        assertEquals(0, top.get(0).ordinal());
+        assertEquals(1.0f, top.get(0).score(), 1e-6f);
+        assertEquals(4, top.get(1).ordinal());
+    }
+
+    @Test
+    void cosine_ShouldMatchScalarDefinition() {
+        // Given
+        float[] a = new float[37];
+        float[] b = new float[37];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = (float) Math.sin(i);
+            b[i] = (float) Math.cos(i * 0.5);
+        }
+        double dot = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+
+        // When
+        float cosine = VectorMath.cosine(a, b);
+
+        // Then
+        assertEquals(dot / Math.sqrt(normA * normB), cosine, 1e-5);
+        assertEquals(0.0f, VectorMath.cosine(a, new float[3]));
+    }
+
+    @Test
+    void maximalMarginalRelevance_ShouldSkipNearDuplicates() {
+        // Given: rows 0 and 1 are near-identical, row 2 is less relevant but different
+        VectorMatrix matrix = VectorMatrix.of(List.of(
+                new float[]{1.0f, 0.0f},
+                new float[]{0.99f, 0.01f},
+                new float[]{0.0f, 1.0f}), 2);
+        float[] relevance = {0.9f, 0.89f, 0.5f};
+
+        // When
+        int[] diversified = matrix.maximalMarginalRelevance(relevance, 2, 0.5f);
+        int[] relevanceOnly = matrix.maximalMarginalRelevance(relevance, 2, 1.0f);
+
+        // Then
+        assertArrayEquals(new int[]{0, 2}, diversified);
+        assertArrayEquals(new int[]{0, 1}, relevanceOnly);
+    }
+
+    @Test
+    void normalizeInPlace_ShouldMakeDotProductEqualCosine() {
+        // Given
+        float[] a = {3.0f, 4.0f, 0.0f};
+        float[] b = {1.0f, 2.0f, 2.0f};
+        float cosine = VectorMath.cosine(a, b);
+
+        // When
+        VectorMath.normalizeInPlace(a);
+        VectorMath.normalizeInPlace(b);
+
+        // Then
+        assertTrue(VectorMath.isUnitLength(a));
+        assertEquals(cosine, VectorMath.dot(a, b), 1e-6f);
+        assertArrayEquals(new float[3], VectorMath.normalizeInPlace(new float[3]));
+    }
+}
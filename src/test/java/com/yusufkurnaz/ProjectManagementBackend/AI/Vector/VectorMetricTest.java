@@ -0,0 +1,36 @@
+package com.yusufkurnaz.ProjectManagementBackend.AI.Vector;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VectorMetricTest {
+
+    @Test
+    void cosine_ShouldUseIndexOperatorForOrderingAndScore() {
+        // When
+        String distance = VectorMetric.COSINE.distanceSql("dc.embedding", ":q");
+        String similarity = VectorMetric.COSINE.similaritySql("dc.embedding", ":q");
+
+        // Then
+        assertEquals("dc.embedding <=> :q", distance);
+        assertEquals("1 - (dc.embedding <=> :q)", similarity);
+        assertEquals("vector_cosine_ops", VectorMetric.COSINE.getOperatorClass());
+    }
+
+    @Test
+    void similarityOfDistanceSql_ShouldScoreAComputedDistance() {
+        // Then
+        assertEquals("-1 * distance", VectorMetric.INNER_PRODUCT.similarityOfDistanceSql("distance"));
+        assertEquals("1 / (1 + distance)", VectorMetric.L2.similarityOfDistanceSql("distance"));
+    }
+
+    @Test
+    void maxDistance_ShouldInvertSimilarityPerMetric() {
+        // Then
+        assertEquals(0.3, VectorMetric.COSINE.maxDistance(0.7), 1e-9);
+        assertEquals(-0.7, VectorMetric.INNER_PRODUCT.maxDistance(0.7), 1e-9);
+        assertEquals(1.0, VectorMetric.L2.maxDistance(0.5), 1e-9);
+        assertEquals(Double.MAX_VALUE, VectorMetric.L2.maxDistance(0.0));
+    }
+}
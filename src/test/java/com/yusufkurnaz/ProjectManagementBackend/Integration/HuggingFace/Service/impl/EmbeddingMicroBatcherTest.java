@@ -0,0 +1,73 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingMicroBatcherTest {
+
+    @Test
+    void submit_ShouldCoalesceConcurrentTextsIntoOneDeduplicatedBatch() throws Exception {
+        // Given
+        List<List<String>> calls = new CopyOnWriteArrayList<>();
+        try (EmbeddingMicroBatcher batcher = new EmbeddingMicroBatcher(texts -> {
+            calls.add(texts);
+            List<float[]> embeddings = new ArrayList<>();
+            texts.forEach(text -> embeddings.add(new float[]{text.length()}));
+            return embeddings;
+        }, 10, Duration.ofMillis(50), 1)) {
+
+            // When
+            CompletableFuture<float[]> first = batcher.submit("a");
+            CompletableFuture<float[]> second = batcher.submit("bbb");
+            CompletableFuture<float[]> duplicate = batcher.submit("a");
+
+            // Then
+            assertEquals(3.0f, second.get(1, TimeUnit.SECONDS)[0]);
+            assertEquals(1.0f, first.get(1, TimeUnit.SECONDS)[0]);
+            assertEquals(1.0f, duplicate.get(1, TimeUnit.SECONDS)[0]);
+            assertNotSame(first.get(), duplicate.get());
+            assertEquals(List.of(List.of("a", "bbb")), calls);
+        }
+    }
+
+    @Test
+    void submit_ShouldDispatchImmediatelyWhenBatchIsFull() throws Exception {
+        // Given
+        try (EmbeddingMicroBatcher batcher = new EmbeddingMicroBatcher(
+                texts -> texts.stream().map(text -> new float[]{1.0f}).toList(),
+                2, Duration.ofMinutes(1), 1)) {
+
+            // When
+            CompletableFuture<float[]> first = batcher.submit("x");
+            CompletableFuture<float[]> second = batcher.submit("y");
+
+            // Then
+            assertNotNull(first.get(1, TimeUnit.SECONDS));
+            assertNotNull(second.get(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void submit_ShouldFailAllCallersWhenBackendThrows() {
+        // Given
+        try (EmbeddingMicroBatcher batcher = new EmbeddingMicroBatcher(texts -> {
+            throw new IllegalStateException("rate limited");
+        }, 2, Duration.ofMillis(1), 1)) {
+
+            // When
+            CompletableFuture<float[]> future = batcher.submit("x");
+
+            // Then
+            Exception e = assertThrows(Exception.class, () -> future.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+        }
+    }
+}
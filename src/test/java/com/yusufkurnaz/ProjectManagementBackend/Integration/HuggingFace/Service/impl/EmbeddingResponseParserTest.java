@@ -0,0 +1,55 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddingResponseParserTest {
+
+    @Test
+    void parse_ShouldReadPooledAndTokenLevelVectors() throws IOException {
+        // Given
+        InputStream pooled = json("[[0.1,0.2],[1,2,3]]");
+        InputStream tokenLevel = json("[[[0.5,0.6],[9,9]],[[1.5]]]");
+
+        // When
+        List<float[]> pooledVectors = new EmbeddingResponseParser().parse(pooled);
+        List<float[]> tokenVectors = new EmbeddingResponseParser().parse(tokenLevel);
+
+        // Then
+        assertArrayEquals(new float[]{0.1f, 0.2f}, pooledVectors.get(0));
+        assertArrayEquals(new float[]{1.0f, 2.0f, 3.0f}, pooledVectors.get(1));
+        assertArrayEquals(new float[]{0.5f, 0.6f}, tokenVectors.get(0)); // first row, as before
+        assertArrayEquals(new float[]{1.5f}, tokenVectors.get(1));
+    }
+
+    @Test
+    void parse_ShouldReturnNullForEmptyItem() throws IOException {
+        // When
+        List<float[]> vectors = new EmbeddingResponseParser().parse(json("[[],[1]]"));
+
+        // Then
+        assertEquals(2, vectors.size());
+        assertNull(vectors.get(0));
+    }
+
+    @Test
+    void parse_ShouldRejectErrorObject() {
+        // Given
+        InputStream error = json("{\"error\":\"Model is loading\",\"estimated_time\":20.0}");
+
+        // When / Then
+        IOException e = assertThrows(IOException.class, () -> new EmbeddingResponseParser().parse(error));
+        assertTrue(e.getMessage().contains("Model is loading"));
+    }
+
+    private InputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
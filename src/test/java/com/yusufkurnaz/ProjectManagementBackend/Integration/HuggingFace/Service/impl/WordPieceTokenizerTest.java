@@ -0,0 +1,62 @@
+package com.yusufkurnaz.ProjectManagementBackend.Integration.HuggingFace.Service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordPieceTokenizerTest {
+
+    private static final List<String> VOCAB = List.of(
+            "[PAD]", "[UNK]", "[CLS]", "[SEP]", "un", "##aff", "##able", "hello", ",", "world", "!", "istanbul");
+
+    @Test
+    void encode_ShouldSplitPunctuationAndSubWords() {
+        // Given
+        WordPieceTokenizer tokenizer = new WordPieceTokenizer(VOCAB, true, 100);
+
+        // When
+        int[] ids = tokenizer.encode("Hello, UNAFFABLE world!", 32);
+
+        // Then
+        assertArrayEquals(new int[]{2, 7, 8, 4, 5, 6, 9, 10, 3}, ids);
+    }
+
+    @Test
+    void encode_ShouldLowerCaseLocaleIndependentlyAndStripAccents() {
+        // Given
+        WordPieceTokenizer tokenizer = new WordPieceTokenizer(VOCAB, true, 100);
+
+        // When
+        int[] ids = tokenizer.encode("İSTANBUL xyz", 32);
+
+        // Then
+        assertArrayEquals(new int[]{2, 11, 1, 3}, ids);
+    }
+
+    @Test
+    void encode_ShouldTruncateAndKeepSeparator() {
+        // Given
+        WordPieceTokenizer tokenizer = new WordPieceTokenizer(VOCAB, true, 100);
+
+        // When
+        int[] ids = tokenizer.encode("hello world hello world", 4);
+
+        // Then
+        assertArrayEquals(new int[]{2, 7, 9, 3}, ids);
+    }
+
+    @Test
+    void meanPool_ShouldIgnorePaddingTokens() {
+        // Given: 1 row, 3 tokens (last is padding), hidden size 2
+        float[] hidden = {1.0f, 2.0f, 3.0f, 4.0f, 100.0f, 100.0f};
+        long[] mask = {1L, 1L, 0L};
+
+        // When
+        float[][] pooled = OnnxEmbeddingService.meanPool(hidden, mask, 1, 3, 2);
+
+        // Then
+        assertArrayEquals(new float[]{2.0f, 3.0f}, pooled[0]);
+    }
+}